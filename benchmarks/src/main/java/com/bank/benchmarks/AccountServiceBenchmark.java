@@ -0,0 +1,96 @@
+package com.bank.benchmarks;
+
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deposits and transfers, single-threaded and with {@code CONTENDED_THREADS}
+ * threads spread over {@code accounts} accounts; two accounts is the worst case.
+ * The stores are rebuilt every iteration so recorded transactions do not pile up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AccountServiceBenchmark {
+    private static final int CONTENDED_THREADS = 8;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"2", "1024"})
+    public int accounts;
+
+    private AccountService accountService;
+    private String[] accountIds;
+
+    @Setup(Level.Iteration)
+    public void openAccounts() {
+        Fixtures.quietAuditLogging();
+        accountService = new AccountService(new AccountRepository(),
+            new TransactionService(new TransactionRepository()), new ValidationService());
+        accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            Account account = accountService.createAccount("CUST" + i, AccountType.CHECKING, OPENING_BALANCE);
+            accountIds[i] = account.getAccountId();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void deposit() {
+        depositToRandomAccount();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public void depositContended() {
+        depositToRandomAccount();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TransactionOutcome transfer() {
+        return transferBetweenRandomAccounts();
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public TransactionOutcome transferContended() {
+        return transferBetweenRandomAccounts();
+    }
+
+    private void depositToRandomAccount() {
+        accountService.deposit(accountIds[ThreadLocalRandom.current().nextInt(accounts)], AMOUNT, null);
+    }
+
+    private TransactionOutcome transferBetweenRandomAccounts() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accounts);
+        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+        return accountService.tryTransfer(accountIds[from], accountIds[to], AMOUNT);
+    }
+}
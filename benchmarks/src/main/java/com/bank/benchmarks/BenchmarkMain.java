@@ -0,0 +1,33 @@
+package com.bank.benchmarks;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks jar.
+ * Delegates to the JMH runner, defaulting to JSON results in
+ * {@code jmh-result-<timestamp>.json} so runs can be compared side by side.
+ */
+public final class BenchmarkMain {
+    private static final DateTimeFormatter RESULT_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkMain() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            options.add("-rff");
+            options.add("jmh-result-" + LocalDateTime.now().format(RESULT_SUFFIX) + ".json");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,86 @@
+package com.bank.benchmarks;
+
+import com.bank.util.CurrencyFormatter;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Currency formatting against a {@link NumberFormat} baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyFormatterBenchmark {
+    private static final int AMOUNTS = 1024;
+
+    @Param({"en-US", "fr-FR"})
+    public String locale;
+
+    private Locale resolvedLocale;
+    private BigDecimal[] amounts;
+    private long[] cents;
+    private StringBuilder buffer;
+
+    @Setup
+    public void prepare() {
+        resolvedLocale = Locale.forLanguageTag(locale);
+        amounts = new BigDecimal[AMOUNTS];
+        cents = new long[AMOUNTS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < AMOUNTS; i++) {
+            cents[i] = random.nextLong(-10_000_000L, 1_000_000_000L);
+            amounts[i] = BigDecimal.valueOf(cents[i], 2);
+        }
+        buffer = new StringBuilder(32);
+    }
+
+    @Benchmark
+    public String format() {
+        return CurrencyFormatter.format(amounts[next()], resolvedLocale);
+    }
+
+    @Benchmark
+    public int formatToReusedBuffer() {
+        buffer.setLength(0);
+        CurrencyFormatter.formatTo(amounts[next()], resolvedLocale, buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int formatCentsTo() {
+        buffer.setLength(0);
+        CurrencyFormatter.formatCentsTo(cents[next()], resolvedLocale, buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public String formatWithSymbol() {
+        return CurrencyFormatter.formatWithSymbol(amounts[next()], "USD");
+    }
+
+    @Benchmark
+    public String numberFormatBaseline() {
+        return NumberFormat.getCurrencyInstance(resolvedLocale).format(amounts[next()]);
+    }
+
+    private static int next() {
+        return ThreadLocalRandom.current().nextInt(AMOUNTS);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bank.benchmarks;
+
+import com.bank.model.Customer;
+import com.bank.repository.CustomerRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Top-20 name searches over {@code customers} customers, the way a call-center agent types
+ * them: a few letters of a surname, a first name with a misspelt surname, and a full name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class CustomerSearchBenchmark {
+    private static final int LIMIT = 20;
+    private static final int QUERIES = 1024;
+
+    @Param({"1000000", "10000000"})
+    public int customers;
+
+    private CustomerRepository customerRepository;
+    private String[] prefixQueries;
+    private String[] typoQueries;
+    private String[] fullNameQueries;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        Fixtures.quietAuditLogging();
+        customerRepository = new CustomerRepository();
+        List<Customer> batch = new ArrayList<>(100_000);
+        for (int i = 0; i < customers; i++) {
+            batch.add(Fixtures.customer(i));
+            if (batch.size() == 100_000) {
+                customerRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        customerRepository.saveAll(batch);
+
+        prefixQueries = new String[QUERIES];
+        typoQueries = new String[QUERIES];
+        fullNameQueries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            Customer customer = Fixtures.customer(ThreadLocalRandom.current().nextInt(customers));
+            String surname = customer.getLastName();
+            prefixQueries[i] = surname.substring(0, 3);
+            typoQueries[i] = customer.getFirstName() + " " + surname.substring(0, 3) + surname.charAt(4)
+                + surname.charAt(3) + surname.substring(5);
+            fullNameQueries[i] = customer.getFullName();
+        }
+    }
+
+    @Benchmark
+    public List<Customer> prefix() {
+        return customerRepository.searchByName(prefixQueries[next()], LIMIT);
+    }
+
+    @Benchmark
+    public List<Customer> firstNameAndMisspeltSurname() {
+        return customerRepository.searchByName(typoQueries[next()], LIMIT);
+    }
+
+    @Benchmark
+    public List<Customer> fullName() {
+        return customerRepository.searchByName(fullNameQueries[next()], LIMIT);
+    }
+
+    private static int next() {
+        return ThreadLocalRandom.current().nextInt(QUERIES);
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.benchmarks;
+
+import com.bank.model.Customer;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared data builders for the benchmark states.
+ */
+final class Fixtures {
+    // Strong reference so the level is not lost when the logger is collected
+    private static final Logger BANK_LOGGER = Logger.getLogger("com.bank");
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "William",
+        "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah",
+        "Charles", "Karen", "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Margaret", "Anthony",
+        "Sandra", "Mark", "Ashley", "Jonathan", "Emily", "Steven", "Michelle", "Andrew", "Dorothy"
+    };
+    private static final String[] SYLLABLES = {
+        "an", "ber", "car", "dal", "el", "fen", "gar", "hol", "is", "jen", "kin", "lo", "mar", "nor",
+        "ol", "per", "quin", "ros", "son", "ter", "ul", "ven", "wil", "yor", "zan", "ton", "ley", "ham"
+    };
+
+    private Fixtures() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Raises the service loggers to WARNING so audit output does not dominate the measurement.
+     */
+    static void quietAuditLogging() {
+        BANK_LOGGER.setLevel(Level.WARNING);
+    }
+
+    static String accountId(int index) {
+        return "ACC" + index;
+    }
+
+    static Transaction transaction(int index, int accounts) {
+        return new Transaction.Builder()
+                .accountId(accountId(index % accounts))
+                .timestamp(BASE_TIME.plusSeconds(index))
+                .type(index % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL)
+                .amount(BigDecimal.valueOf(index % 10_000 + 1, 2))
+                .balanceAfter(BigDecimal.valueOf(index, 2))
+                .description("Benchmark")
+                .build();
+    }
+
+    /**
+     * Customers with common first names and at most 28^4 distinct made-up surnames, so name
+     * search sees a realistic ratio of distinct terms to customers.
+     */
+    static Customer customer(int index) {
+        return new Customer.Builder()
+                .firstName(FIRST_NAMES[index % FIRST_NAMES.length])
+                .lastName(surname(index))
+                .email(email(index))
+                .phoneNumber("555" + index)
+                .dateOfBirth(LocalDate.of(1980, 1, 1))
+                .build();
+    }
+
+    static String surname(int index) {
+        // scatter indexes so neighbouring customers get unrelated surnames
+        long n = (index * 2654435761L) & 0xFFFFFFFFL;
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            String syllable = SYLLABLES[(int) (n % SYLLABLES.length)];
+            name.append(i == 0 ? Character.toUpperCase(syllable.charAt(0)) + syllable.substring(1) : syllable);
+            n /= SYLLABLES.length;
+        }
+        return name.toString();
+    }
+
+    static String email(int index) {
+        return "customer" + index + "@example.com";
+    }
+}
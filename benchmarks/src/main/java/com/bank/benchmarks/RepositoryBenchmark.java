@@ -0,0 +1,88 @@
+package com.bank.benchmarks;
+
+import com.bank.model.Customer;
+import com.bank.model.Transaction;
+import com.bank.repository.CustomerRepository;
+import com.bank.repository.TransactionRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Repository operations against pre-populated stores of {@code rows} transactions
+ * and customers. {@code findByAccountId} reads one account's index, so its cost
+ * tracks the {@value #TRANSACTIONS_PER_ACCOUNT} rows per account rather than the store size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class RepositoryBenchmark {
+    private static final int TRANSACTIONS_PER_ACCOUNT = 10;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    private TransactionRepository transactionRepository;
+    private CustomerRepository customerRepository;
+    private Transaction[] transactions;
+    private String[] transactionIds;
+    private int accounts;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        Fixtures.quietAuditLogging();
+        accounts = Math.max(1, rows / TRANSACTIONS_PER_ACCOUNT);
+        transactionRepository = new TransactionRepository();
+        customerRepository = new CustomerRepository();
+        transactions = new Transaction[rows];
+        transactionIds = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = Fixtures.transaction(i, accounts);
+            transactions[i] = transaction;
+            transactionIds[i] = transaction.getTransactionId();
+            transactionRepository.save(transaction);
+            customerRepository.save(Fixtures.customer(i));
+        }
+    }
+
+    /**
+     * Re-saves an existing row, which keeps the store at {@code rows} across iterations.
+     */
+    @Benchmark
+    public Transaction saveTransaction() {
+        return transactionRepository.save(transactions[ThreadLocalRandom.current().nextInt(rows)]);
+    }
+
+    @Benchmark
+    public Optional<Transaction> findTransactionById() {
+        return transactionRepository.findById(transactionIds[ThreadLocalRandom.current().nextInt(rows)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Transaction> findByAccountId() {
+        return transactionRepository.findByAccountId(
+            Fixtures.accountId(ThreadLocalRandom.current().nextInt(accounts)));
+    }
+
+    @Benchmark
+    public Optional<Customer> findCustomerByEmail() {
+        return customerRepository.findByEmail(Fixtures.email(ThreadLocalRandom.current().nextInt(rows)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.bank.benchmarks;
+
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.TransactionService;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code recordTransaction}, including ID generation and the repository insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionServiceBenchmark {
+    private static final BigDecimal AMOUNT = new BigDecimal("25.00");
+    private static final BigDecimal BALANCE = new BigDecimal("1000.00");
+
+    private TransactionService transactionService;
+
+    @Setup(Level.Iteration)
+    public void resetStore() {
+        Fixtures.quietAuditLogging();
+        transactionService = new TransactionService(new TransactionRepository());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Transaction recordTransaction() {
+        return transactionService.recordTransaction("ACC1", TransactionType.DEPOSIT, AMOUNT, BALANCE, "Deposit");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Transaction recordTransactionContended() {
+        return transactionService.recordTransaction("ACC1", TransactionType.DEPOSIT, AMOUNT, BALANCE, "Deposit");
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.benchmarks;
+
+import com.bank.model.AccountType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import com.bank.wire.WireClient;
+import com.bank.wire.WireResponse;
+import com.bank.wire.WireServer;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round-trip latency of the binary protocol over localhost: one request at a time,
+ * and {@code PIPELINE_DEPTH} requests in flight on the same connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class WireProtocolBenchmark {
+    private static final int PIPELINE_DEPTH = 32;
+
+    private WireServer server;
+    private WireClient client;
+    private String accountId;
+    private final CompletableFuture<?>[] inFlight = new CompletableFuture<?>[PIPELINE_DEPTH];
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        Fixtures.quietAuditLogging();
+        AccountService accountService = new AccountService(new AccountRepository(),
+            new TransactionService(new TransactionRepository()), new ValidationService());
+        accountId = accountService.createAccount("CUST1", AccountType.CHECKING, new BigDecimal("100.00"))
+            .getAccountId();
+        server = new WireServer.Builder()
+            .address(new InetSocketAddress("127.0.0.1", 0))
+            .accountService(accountService)
+            .start();
+        client = WireClient.connect(new InetSocketAddress("127.0.0.1", server.getPort()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public WireResponse getBalanceRoundTrip() throws InterruptedException, ExecutionException {
+        return client.getBalance(accountId).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public void getBalancePipelined() throws InterruptedException, ExecutionException {
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            inFlight[i] = client.getBalance(accountId);
+        }
+        for (CompletableFuture<?> future : inFlight) {
+            future.get();
+        }
+    }
+}
@@ -4,15 +4,37 @@ package com.bank;
  * Hello world!
  *
  */
+import com.bank.api.ApiServer;
+import com.bank.loadtest.LoadTestConfig;
+import com.bank.loadtest.LoadTestReport;
+import com.bank.loadtest.LoadTestRunner;
+import com.bank.metrics.Metrics;
+import com.bank.metrics.MetricsHttpEndpoint;
 import com.bank.model.*;
+import com.bank.trace.ReplayReport;
+import com.bank.trace.TraceReader;
+import com.bank.trace.TraceReplayer;
+import com.bank.trace.TraceWriter;
+import com.bank.trace.TracingAccountService;
+import com.bank.trace.TracingCustomerService;
 import com.bank.repository.*;
 import com.bank.service.*;
+import com.bank.shard.ShardNode;
+import com.bank.time.CachedClock;
+import com.bank.time.Clocks;
+import com.bank.time.SystemClock;
 import com.bank.util.CurrencyFormatter;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -21,12 +43,27 @@ import java.util.logging.Logger;
  */
 public class BankingApplication {
     private static final Logger LOGGER = Logger.getLogger(BankingApplication.class.getName());
+    private static final String METRICS_PORT_PROPERTY = "bank.metrics.port";
+    private static final String TRACE_FILE_PROPERTY = "bank.trace.file";
+    private static final String CLOCK_PROPERTY = "bank.clock";
+    private static final String REPLAY_FLAG = "--replay=";
+    private static final String SERVE_FLAG = "--serve";
+    private static final String SHARD_NODE_FLAG = "--shard-node";
+    private static final int DEFAULT_API_PORT = 8080;
+    private static final int DEFAULT_SHARD_PORT = 9190;
     
     private final AccountService accountService;
     private final CustomerService customerService;
     private final TransactionService transactionService;
 
     public BankingApplication() {
+        this(null);
+    }
+
+    /**
+     * @param traceWriter when non-null, account and customer calls are recorded to it
+     */
+    public BankingApplication(TraceWriter traceWriter) {
         // Initialize repositories
         AccountRepository accountRepository = new AccountRepository();
         CustomerRepository customerRepository = new CustomerRepository();
@@ -35,19 +72,212 @@ public class BankingApplication {
         // Initialize services
         ValidationService validationService = new ValidationService();
         this.transactionService = new TransactionService(transactionRepository);
-        this.accountService = new AccountService(accountRepository, transactionService, validationService);
-        this.customerService = new CustomerService(customerRepository, validationService);
+        if (traceWriter != null) {
+            this.accountService = new TracingAccountService(
+                accountRepository, transactionService, validationService, traceWriter);
+            this.customerService = new TracingCustomerService(customerRepository, validationService, traceWriter);
+        } else {
+            this.accountService = new AccountService(accountRepository, transactionService, validationService);
+            this.customerService = new CustomerService(customerRepository, validationService);
+        }
     }
 
     public static void main(String[] args) {
         LOGGER.info("Starting Banking Management System");
         
-        BankingApplication app = new BankingApplication();
-        app.runDemo(args);
+        Integer apiPort = apiPort(args);
+        if (apiPort != null) {
+            ApiServer.enableNoDelay();
+        }
+        Integer shardPort = shardNodePort(args);
+        boolean loadTest = LoadTestConfig.isRequested(args);
+        CachedClock cachedClock = apiPort != null || shardPort != null || loadTest ? installCachedClock() : null;
+        MetricsHttpEndpoint metricsEndpoint = startMetricsEndpoint();
+        if (loadTest) {
+            boolean passed = runLoadTest(args);
+            stop(metricsEndpoint, cachedClock);
+            System.exit(passed ? 0 : 1);
+        }
+        if (apiPort != null) {
+            boolean served = new BankingApplication().serve(apiPort);
+            stop(metricsEndpoint, cachedClock);
+            System.exit(served ? 0 : 1);
+        }
+        if (shardPort != null) {
+            boolean served = new BankingApplication().serveShard(shardPort);
+            stop(metricsEndpoint, cachedClock);
+            System.exit(served ? 0 : 1);
+        }
+        String replayFile = replayFile(args);
+        if (replayFile != null) {
+            boolean matched = runReplay(replayFile, args);
+            stop(metricsEndpoint, null);
+            System.exit(matched ? 0 : 1);
+        }
+        runDemoWithOptionalTrace(args);
+        stop(metricsEndpoint, null);
         
         LOGGER.info("Banking Management System stopped");
     }
 
+    // Servers and the load test read the time on every operation; -Dbank.clock=system opts out
+    private static CachedClock installCachedClock() {
+        if ("system".equals(System.getProperty(CLOCK_PROPERTY))) {
+            return null;
+        }
+        CachedClock clock = new CachedClock();
+        Clocks.setDefault(clock);
+        return clock;
+    }
+
+    private static void stop(MetricsHttpEndpoint metricsEndpoint, CachedClock cachedClock) {
+        if (metricsEndpoint != null) {
+            metricsEndpoint.close();
+        }
+        if (cachedClock != null) {
+            Clocks.setDefault(SystemClock.INSTANCE);
+            cachedClock.close();
+        }
+    }
+
+    // --loadtest [--customers=N] [--accounts=M] [--threads=T] [--duration=SECONDS] [--skew=S] [--mix=...]
+    private static boolean runLoadTest(String[] args) {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        try {
+            LoadTestReport report = new LoadTestRunner(config).run();
+            report.print(System.out);
+            return report.invariantsHold();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warning("Load test interrupted");
+            return false;
+        }
+    }
+
+    // Records the demo to -Dbank.trace.file=<path> when set
+    private static void runDemoWithOptionalTrace(String[] args) {
+        String traceFile = System.getProperty(TRACE_FILE_PROPERTY);
+        if (traceFile == null) {
+            new BankingApplication().runDemo(args);
+            return;
+        }
+        try (TraceWriter writer = TraceWriter.open(Paths.get(traceFile))) {
+            new BankingApplication(writer).runDemo(args);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write trace " + traceFile, e);
+        }
+    }
+
+    private static String replayFile(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith(REPLAY_FLAG)) {
+                return arg.substring(REPLAY_FLAG.length());
+            }
+        }
+        return null;
+    }
+
+    // --replay=<trace> [--pace=original] replays against fresh in-memory services
+    private static boolean runReplay(String traceFile, String[] args) {
+        TraceReplayer.Pacing pacing = Arrays.asList(args).contains("--pace=original")
+            ? TraceReplayer.Pacing.ORIGINAL_RATE : TraceReplayer.Pacing.AS_FAST_AS_POSSIBLE;
+        try {
+            BankingApplication target = new BankingApplication();
+            ReplayReport report = new TraceReplayer(target.accountService, target.customerService)
+                .replay(TraceReader.readAll(Paths.get(traceFile)), pacing);
+            report.print(System.out);
+            return report.getMismatches() == 0;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not read trace " + traceFile, e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Integer apiPort(String[] args) {
+        for (String arg : args) {
+            if (arg.equals(SERVE_FLAG)) {
+                return DEFAULT_API_PORT;
+            }
+            if (arg.startsWith(SERVE_FLAG + "=")) {
+                return Integer.parseInt(arg.substring(SERVE_FLAG.length() + 1));
+            }
+        }
+        return null;
+    }
+
+    // --serve[=port] runs the HTTP/JSON API until the process is stopped
+    private boolean serve(int port) {
+        CountDownLatch stopped = new CountDownLatch(1);
+        try (ApiServer server = new ApiServer.Builder()
+                .port(port)
+                .customerService(customerService)
+                .accountService(accountService)
+                .transactionService(transactionService)
+                .start()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(stopped::countDown, "api-shutdown"));
+            LOGGER.info("API listening on port " + server.getPort());
+            stopped.await();
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not start API server", e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    private static Integer shardNodePort(String[] args) {
+        for (String arg : args) {
+            if (arg.equals(SHARD_NODE_FLAG)) {
+                return DEFAULT_SHARD_PORT;
+            }
+            if (arg.startsWith(SHARD_NODE_FLAG + "=")) {
+                return Integer.parseInt(arg.substring(SHARD_NODE_FLAG.length() + 1));
+            }
+        }
+        return null;
+    }
+
+    // --shard-node[=port] serves this process's accounts to a ShardRouter until stopped
+    private boolean serveShard(int port) {
+        CountDownLatch stopped = new CountDownLatch(1);
+        try (ShardNode node = new ShardNode.Builder()
+                .port(port)
+                .accountService(accountService)
+                .start()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(stopped::countDown, "shard-shutdown"));
+            LOGGER.info("Shard node listening on port " + node.getPort());
+            stopped.await();
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not start shard node", e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    // Serves GET /metrics when started with -Dbank.metrics.port=<port>
+    private static MetricsHttpEndpoint startMetricsEndpoint() {
+        Integer port = Integer.getInteger(METRICS_PORT_PROPERTY);
+        if (port == null) {
+            return null;
+        }
+        try {
+            MetricsHttpEndpoint endpoint = MetricsHttpEndpoint.start(new InetSocketAddress(port), Metrics.getDefault());
+            LOGGER.info("Metrics available on port " + endpoint.getPort());
+            return endpoint;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not start metrics endpoint", e);
+            return null;
+        }
+    }
+
     private void runDemo(String[] args) {
         System.out.println("===========================================");
         System.out.println("  BANKING MANAGEMENT SYSTEM - JAVA 8");
@@ -176,11 +406,12 @@ public class BankingApplication {
 
     private void displayStatistics() {
         long totalCustomers = customerService.getTotalCustomerCount();
-        List<Account> allAccounts = accountService.getAllAccounts();
-        
-        BigDecimal totalBalance = allAccounts.stream()
-            .map(Account::getBalance)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<Account> allAccounts;
+        BigDecimal totalBalance;
+        try (LedgerSnapshot snapshot = accountService.openSnapshot()) {
+            allAccounts = snapshot.findAll();
+            totalBalance = snapshot.getTotalBalance();
+        }
         
         long activeAccounts = allAccounts.stream()
             .filter(Account::isActive)
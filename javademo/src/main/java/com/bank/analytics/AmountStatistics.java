@@ -0,0 +1,95 @@
+package com.bank.analytics;
+
+import com.bank.util.MoneyUtil;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aggregated statistics for one group of a {@link TransactionQuery}.
+ * Values are accumulated as whole cents and only converted to BigDecimal on read.
+ */
+public final class AmountStatistics {
+    private final long count;
+    private final long sumCents;
+    private final long minCents;
+    private final long maxCents;
+
+    AmountStatistics(long count, long sumCents, long minCents, long maxCents) {
+        this.count = count;
+        this.sumCents = sumCents;
+        this.minCents = minCents;
+        this.maxCents = maxCents;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getSum() {
+        return MoneyUtil.fromCents(sumCents);
+    }
+
+    public BigDecimal getMin() {
+        return MoneyUtil.fromCents(minCents);
+    }
+
+    public BigDecimal getMax() {
+        return MoneyUtil.fromCents(maxCents);
+    }
+
+    public BigDecimal getAverage() {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        return getSum().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    public long getSumCents() {
+        return sumCents;
+    }
+
+    @Override
+    public String toString() {
+        return "AmountStatistics{" +
+                "count=" + count +
+                ", sum=" + getSum() +
+                ", min=" + getMin() +
+                ", max=" + getMax() +
+                ", average=" + getAverage() +
+                '}';
+    }
+
+    /**
+     * Mutable primitive accumulator used while a query is running.
+     * Each spliterator chunk owns its accumulators, so no synchronization is needed.
+     */
+    static final class Accumulator {
+        private long count;
+        private long sumCents;
+        private long minCents = Long.MAX_VALUE;
+        private long maxCents = Long.MIN_VALUE;
+
+        void add(long cents) {
+            count++;
+            sumCents += cents;
+            if (cents < minCents) {
+                minCents = cents;
+            }
+            if (cents > maxCents) {
+                maxCents = cents;
+            }
+        }
+
+        Accumulator merge(Accumulator other) {
+            count += other.count;
+            sumCents += other.sumCents;
+            minCents = Math.min(minCents, other.minCents);
+            maxCents = Math.max(maxCents, other.maxCents);
+            return this;
+        }
+
+        AmountStatistics toStatistics() {
+            return new AmountStatistics(count, sumCents, minCents, maxCents);
+        }
+    }
+}
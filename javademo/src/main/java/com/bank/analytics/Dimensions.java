@@ -0,0 +1,80 @@
+package com.bank.analytics;
+
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.AccountRepository;
+import com.bank.util.MoneyUtil;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Common group-by keys for {@link TransactionQuery}.
+ * A dimension that returns null excludes the transaction from the result.
+ */
+public final class Dimensions {
+
+    private Dimensions() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static Function<Transaction, TransactionType> type() {
+        return Transaction::getType;
+    }
+
+    public static Function<Transaction, LocalDate> day() {
+        return transaction -> transaction.getTimestamp().toLocalDate();
+    }
+
+    public static Function<Transaction, String> account() {
+        return Transaction::getAccountId;
+    }
+
+    public static Function<Transaction, AccountType> accountType(AccountRepository accountRepository) {
+        return transaction -> accountRepository.findById(transaction.getAccountId())
+                .map(Account::getAccountType)
+                .orElse(null);
+    }
+
+    /**
+     * Buckets transaction amounts by ascending upper bounds, e.g. "<= 100.00", "<= 1000.00", "> 1000.00".
+     */
+    public static Function<Transaction, String> amountBucket(BigDecimal... upperBounds) {
+        long[] bounds = new long[upperBounds.length];
+        String[] labels = new String[upperBounds.length + 1];
+        for (int i = 0; i < upperBounds.length; i++) {
+            bounds[i] = MoneyUtil.toCents(upperBounds[i]);
+            if (i > 0 && bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be strictly ascending");
+            }
+            labels[i] = "<= " + MoneyUtil.fromCents(bounds[i]);
+        }
+        labels[upperBounds.length] = upperBounds.length == 0
+            ? "all" : "> " + MoneyUtil.fromCents(bounds[upperBounds.length - 1]);
+
+        return transaction -> {
+            long cents = MoneyUtil.toCents(transaction.getAmount());
+            int index = Arrays.binarySearch(bounds, cents);
+            return labels[index >= 0 ? index : -index - 1];
+        };
+    }
+
+    /**
+     * Combines two dimensions into a composite key, e.g. type by day.
+     */
+    public static Function<Transaction, List<Object>> pair(Function<Transaction, ?> first,
+                                                           Function<Transaction, ?> second) {
+        return transaction -> {
+            Object firstKey = first.apply(transaction);
+            Object secondKey = second.apply(transaction);
+            if (firstKey == null || secondKey == null) {
+                return null;
+            }
+            return Arrays.asList(firstKey, secondKey);
+        };
+    }
+}
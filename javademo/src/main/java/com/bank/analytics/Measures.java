@@ -0,0 +1,21 @@
+package com.bank.analytics;
+
+import com.bank.model.Transaction;
+import com.bank.util.MoneyUtil;
+import java.util.function.ToLongFunction;
+
+/**
+ * Common values a {@link TransactionQuery} can aggregate, expressed in whole cents.
+ */
+public final class Measures {
+    public static final ToLongFunction<Transaction> AMOUNT =
+        transaction -> MoneyUtil.toCents(transaction.getAmount());
+
+    public static final ToLongFunction<Transaction> BALANCE_AFTER =
+        transaction -> transaction.getBalanceAfter() == null
+            ? 0L : MoneyUtil.toCents(transaction.getBalanceAfter());
+
+    private Measures() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+}
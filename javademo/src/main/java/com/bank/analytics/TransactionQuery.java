@@ -0,0 +1,109 @@
+package com.bank.analytics;
+
+import com.bank.model.Transaction;
+import com.bank.repository.TransactionRepository;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.StreamSupport;
+
+/**
+ * Ad-hoc filter / group-by / aggregate query over the transaction book.
+ * Runs directly over the repository's spliterator, splitting work across the
+ * common fork-join pool, and accumulates primitive cents per group instead of
+ * reducing boxed BigDecimal values or copying the book into a list.
+ *
+ * @param <K> the group-by key type
+ */
+public final class TransactionQuery<K> {
+    private final Predicate<? super Transaction> filter;
+    private final Function<? super Transaction, ? extends K> groupBy;
+    private final ToLongFunction<? super Transaction> measure;
+    private final boolean parallel;
+
+    private TransactionQuery(Builder<K> builder) {
+        this.filter = builder.filter;
+        this.groupBy = builder.groupBy;
+        this.measure = builder.measure;
+        this.parallel = builder.parallel;
+    }
+
+    public Map<K, AmountStatistics> execute(TransactionRepository repository) {
+        Map<K, AmountStatistics.Accumulator> accumulators =
+            StreamSupport.stream(repository.spliterator(), parallel)
+                .filter(filter)
+                .collect(Collector.<Transaction, Map<K, AmountStatistics.Accumulator>>of(
+                    HashMap::new,
+                    this::accumulate,
+                    TransactionQuery::merge,
+                    Collector.Characteristics.IDENTITY_FINISH));
+
+        Map<K, AmountStatistics> result = new HashMap<>(accumulators.size() * 2);
+        accumulators.forEach((key, accumulator) -> result.put(key, accumulator.toStatistics()));
+        return result;
+    }
+
+    private void accumulate(Map<K, AmountStatistics.Accumulator> accumulators, Transaction transaction) {
+        K key = groupBy.apply(transaction);
+        if (key == null) {
+            return;
+        }
+        accumulators.computeIfAbsent(key, k -> new AmountStatistics.Accumulator())
+                .add(measure.applyAsLong(transaction));
+    }
+
+    private static <K> Map<K, AmountStatistics.Accumulator> merge(Map<K, AmountStatistics.Accumulator> left,
+                                                                   Map<K, AmountStatistics.Accumulator> right) {
+        right.forEach((key, accumulator) -> left.merge(key, accumulator, AmountStatistics.Accumulator::merge));
+        return left;
+    }
+
+    public static class Builder<K> {
+        private Predicate<? super Transaction> filter;
+        private Function<? super Transaction, ? extends K> groupBy;
+        private ToLongFunction<? super Transaction> measure;
+        private boolean parallel;
+
+        public Builder() {
+            this.filter = transaction -> true;
+            this.measure = Measures.AMOUNT;
+            this.parallel = true;
+        }
+
+        public Builder<K> where(Predicate<? super Transaction> predicate) {
+            Objects.requireNonNull(predicate, "predicate");
+            Predicate<? super Transaction> previous = this.filter;
+            this.filter = transaction -> previous.test(transaction) && predicate.test(transaction);
+            return this;
+        }
+
+        public Builder<K> groupBy(Function<? super Transaction, ? extends K> groupBy) {
+            this.groupBy = groupBy;
+            return this;
+        }
+
+        public Builder<K> aggregate(ToLongFunction<? super Transaction> measure) {
+            this.measure = measure;
+            return this;
+        }
+
+        public Builder<K> parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        public TransactionQuery<K> build() {
+            if (groupBy == null) {
+                throw new IllegalStateException("Group-by dimension is required");
+            }
+            if (measure == null) {
+                throw new IllegalStateException("Aggregate measure is required");
+            }
+            return new TransactionQuery<>(this);
+        }
+    }
+}
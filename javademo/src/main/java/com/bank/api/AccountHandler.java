@@ -0,0 +1,129 @@
+package com.bank.api;
+
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.service.AccountService;
+import com.bank.service.CustomerService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * {@code /accounts}: open, fetch, deposit, withdraw, interest and paginated history.
+ */
+final class AccountHandler extends JsonHandler {
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private final CustomerService customerService;
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+
+    AccountHandler(CustomerService customerService, AccountService accountService,
+                   TransactionService transactionService) {
+        this.customerService = customerService;
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+    }
+
+    @Override
+    protected int route(ApiRequest request, JsonWriter json) throws IOException {
+        if (request.matches("POST", 0)) {
+            return open(request.body(), json);
+        }
+        if (request.segments().isEmpty()) {
+            throw notFound();
+        }
+        String accountId = request.segment(0);
+        if (request.matches("GET", 1)) {
+            ApiJson.account(json, accountService.getAccount(accountId));
+            return 200;
+        }
+        if (request.segments().size() != 2) {
+            throw notFound();
+        }
+        String action = request.segment(1);
+        if ("GET".equals(request.method()) && "transactions".equals(action)) {
+            int limit = request.intQueryParam("limit", DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+            accountService.getAccount(accountId);
+            ApiJson.transactionPage(json,
+                transactionService.getAccountTransactionPage(accountId, request.queryParam("after"), limit));
+            return 200;
+        }
+        if (!"POST".equals(request.method())) {
+            throw notFound();
+        }
+        switch (action) {
+            case "deposits": {
+                JsonFields body = request.body();
+                accountService.deposit(accountId, body.requiredDecimal("amount"), description(body, "Deposit"));
+                return balance(json, accountId, TransactionOutcome.SUCCESS);
+            }
+            case "withdrawals": {
+                JsonFields body = request.body();
+                TransactionOutcome outcome = accountService.tryWithdraw(
+                    accountId, body.requiredDecimal("amount"), description(body, "Withdrawal"));
+                return balance(json, accountId, outcome);
+            }
+            case "interest": {
+                BigDecimal interest = accountService.applyInterest(accountId);
+                json.beginObject()
+                    .name("accountId").value(accountId)
+                    .name("interest").value(interest)
+                    .name("balance").value(accountService.getBalance(accountId))
+                    .endObject();
+                return 200;
+            }
+            case "activate":
+                accountService.activateAccount(accountId);
+                return 204;
+            case "deactivate":
+                accountService.deactivateAccount(accountId);
+                return 204;
+            default:
+                throw notFound();
+        }
+    }
+
+    private int open(JsonFields body, JsonWriter json) {
+        String customerId = body.requiredString("customerId");
+        if (!customerService.existsById(customerId)) {
+            throw new ApiException(404, "Customer not found: " + customerId);
+        }
+        Account account = accountService.createAccount(
+            customerId, body.requiredEnum("accountType", AccountType.class), body.requiredDecimal("initialDeposit"));
+        ApiJson.account(json, account);
+        return 201;
+    }
+
+    private int balance(JsonWriter json, String accountId, TransactionOutcome outcome) {
+        json.beginObject().name("accountId").value(accountId).name("outcome").value(outcome);
+        if (outcome != TransactionOutcome.ACCOUNT_NOT_FOUND) {
+            json.name("balance").value(accountService.getBalance(accountId));
+        }
+        json.endObject();
+        return statusOf(outcome);
+    }
+
+    static int statusOf(TransactionOutcome outcome) {
+        switch (outcome) {
+            case SUCCESS:
+                return 200;
+            case ACCOUNT_NOT_FOUND:
+                return 404;
+            case ACCOUNT_INACTIVE:
+            case INSUFFICIENT_FUNDS:
+                return 409;
+            case VELOCITY_LIMIT_EXCEEDED:
+                return 429;
+            default:
+                return 400;
+        }
+    }
+
+    private static String description(JsonFields body, String fallback) {
+        String description = body.optionalString("description");
+        return description == null ? fallback : description;
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.api;
+
+/**
+ * A request failure that maps directly to an HTTP status.
+ */
+public class ApiException extends RuntimeException {
+    private final int status;
+
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
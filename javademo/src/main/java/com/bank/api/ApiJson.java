@@ -0,0 +1,62 @@
+package com.bank.api;
+
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.model.Transaction;
+import com.bank.service.TransactionPage;
+
+/**
+ * Hand-written JSON shapes for the API resources.
+ */
+final class ApiJson {
+
+    private ApiJson() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    static void customer(JsonWriter json, Customer customer) {
+        json.beginObject()
+            .name("customerId").value(customer.getCustomerId())
+            .name("firstName").value(customer.getFirstName())
+            .name("lastName").value(customer.getLastName())
+            .name("email").value(customer.getEmail())
+            .name("phoneNumber").value(customer.getPhoneNumber())
+            .name("dateOfBirth").value(customer.getDateOfBirth())
+            .name("address").value(customer.getAddress())
+            .name("active").value(customer.isActive())
+            .name("createdAt").value(customer.getCreatedAt())
+            .endObject();
+    }
+
+    static void account(JsonWriter json, Account account) {
+        json.beginObject()
+            .name("accountId").value(account.getAccountId())
+            .name("customerId").value(account.getCustomerId())
+            .name("accountType").value(account.getAccountType())
+            .name("balance").value(account.getBalance())
+            .name("active").value(account.isActive())
+            .name("createdAt").value(account.getCreatedAt())
+            .name("lastModifiedAt").value(account.getLastModifiedAt())
+            .endObject();
+    }
+
+    static void transaction(JsonWriter json, Transaction transaction) {
+        json.beginObject()
+            .name("transactionId").value(transaction.getTransactionId())
+            .name("accountId").value(transaction.getAccountId())
+            .name("type").value(transaction.getType())
+            .name("amount").value(transaction.getAmount())
+            .name("balanceAfter").value(transaction.getBalanceAfter())
+            .name("description").value(transaction.getDescription())
+            .name("timestamp").value(transaction.getTimestamp())
+            .endObject();
+    }
+
+    static void transactionPage(JsonWriter json, TransactionPage page) {
+        json.beginObject().name("transactions").beginArray();
+        for (Transaction transaction : page.getTransactions()) {
+            transaction(json, transaction);
+        }
+        json.endArray().name("next").value(page.getNextCursor()).endObject();
+    }
+}
@@ -0,0 +1,126 @@
+package com.bank.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Method, path segments below the handler's context, query parameters and body of one exchange.
+ */
+final class ApiRequest {
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final HttpExchange exchange;
+    private final List<String> segments;
+    private Map<String, String> query;
+
+    ApiRequest(HttpExchange exchange) {
+        this.exchange = exchange;
+        this.segments = split(exchange.getRequestURI().getRawPath(), exchange.getHttpContext().getPath());
+    }
+
+    String method() {
+        return exchange.getRequestMethod();
+    }
+
+    /**
+     * Path segments after the context path, e.g. {@code ["A1", "transactions"]} for
+     * {@code /accounts/A1/transactions} under {@code /accounts}.
+     */
+    List<String> segments() {
+        return segments;
+    }
+
+    boolean matches(String method, int segmentCount) {
+        return method.equals(method()) && segments.size() == segmentCount;
+    }
+
+    String segment(int index) {
+        return segments.get(index);
+    }
+
+    String queryParam(String name) {
+        if (query == null) {
+            query = parseQuery(exchange.getRequestURI().getRawQuery());
+        }
+        return query.get(name);
+    }
+
+    int intQueryParam(String name, int defaultValue, int max) {
+        String value = queryParam(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 1 || parsed > max) {
+                throw new ApiException(400, name + " must be between 1 and " + max);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, name + " is not a number");
+        }
+    }
+
+    JsonFields body() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        byte[] chunk = new byte[4096];
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                if (bytes.size() + read > MAX_BODY_BYTES) {
+                    throw new ApiException(413, "Request body too large");
+                }
+                bytes.write(chunk, 0, read);
+            }
+        }
+        return JsonFields.parse(bytes.toByteArray());
+    }
+
+    private static List<String> split(String rawPath, String contextPath) {
+        String rest = rawPath.length() > contextPath.length() ? rawPath.substring(contextPath.length()) : "";
+        if (rest.isEmpty() || "/".equals(rest)) {
+            return Collections.emptyList();
+        }
+        List<String> segments = new ArrayList<>(4);
+        for (String part : rest.split("/")) {
+            if (!part.isEmpty()) {
+                segments.add(decode(part));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('%') < 0 && value.indexOf('+') < 0) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            throw new ApiException(400, "Malformed URL encoding");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.bank.api;
+
+import com.bank.service.AccountService;
+import com.bank.service.CustomerService;
+import com.bank.service.TransactionService;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP/JSON API over the customer, account and transaction services.
+ *
+ * <pre>
+ * POST /customers                       GET  /customers/{id}[/accounts]
+ * GET  /customers?q={name}&amp;limit=20
+ * POST /accounts                        GET  /accounts/{id}
+ * POST /accounts/{id}/deposits|withdrawals|interest|activate|deactivate
+ * GET  /accounts/{id}/transactions?limit=50&amp;after={transactionId}
+ * POST /transfers                       GET  /transactions/{id}
+ * </pre>
+ *
+ * Requests run on a fixed pool sized to the machine; all handlers are stateless
+ * and account updates are serialized by {@link AccountService} itself.
+ */
+public final class ApiServer implements AutoCloseable {
+    public static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ApiServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Turns on TCP_NODELAY for JDK HTTP servers unless configured otherwise; without it
+     * small responses wait on Nagle's algorithm. The JDK reads the setting once, when the
+     * first server in the process starts.
+     */
+    public static void enableNoDelay() {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class Builder {
+        private InetSocketAddress address;
+        private int threads;
+        private int backlog;
+        private CustomerService customerService;
+        private AccountService accountService;
+        private TransactionService transactionService;
+
+        public Builder() {
+            this.address = new InetSocketAddress(8080);
+            this.threads = Runtime.getRuntime().availableProcessors() * 2;
+            this.backlog = 1024;
+        }
+
+        public Builder address(InetSocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        public Builder port(int port) {
+            this.address = new InetSocketAddress(port);
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        public Builder customerService(CustomerService customerService) {
+            this.customerService = customerService;
+            return this;
+        }
+
+        public Builder accountService(AccountService accountService) {
+            this.accountService = accountService;
+            return this;
+        }
+
+        public Builder transactionService(TransactionService transactionService) {
+            this.transactionService = transactionService;
+            return this;
+        }
+
+        public ApiServer start() throws IOException {
+            if (customerService == null || accountService == null || transactionService == null) {
+                throw new IllegalStateException("Customer, account and transaction services are required");
+            }
+            if (threads < 1) {
+                throw new IllegalStateException("Thread count must be positive");
+            }
+            enableNoDelay();
+            HttpServer server = HttpServer.create(address, backlog);
+            server.createContext("/customers", new CustomerHandler(customerService, accountService));
+            server.createContext("/accounts", new AccountHandler(customerService, accountService, transactionService));
+            server.createContext("/transfers", new TransferHandler(accountService));
+            server.createContext("/transactions", new TransactionHandler(transactionService));
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new ApiThreadFactory());
+            server.setExecutor(executor);
+            server.start();
+            return new ApiServer(server, executor);
+        }
+    }
+
+    private static final class ApiThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "api-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.api;
+
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import com.bank.service.AccountService;
+import com.bank.service.CustomerService;
+import java.io.IOException;
+
+/**
+ * {@code /customers}: create, search by name, fetch, list accounts, activate and deactivate.
+ */
+final class CustomerHandler extends JsonHandler {
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    private final CustomerService customerService;
+    private final AccountService accountService;
+
+    CustomerHandler(CustomerService customerService, AccountService accountService) {
+        this.customerService = customerService;
+        this.accountService = accountService;
+    }
+
+    @Override
+    protected int route(ApiRequest request, JsonWriter json) throws IOException {
+        if (request.matches("POST", 0)) {
+            return create(request.body(), json);
+        }
+        if (request.matches("GET", 0)) {
+            return search(request, json);
+        }
+        if (request.segments().isEmpty()) {
+            throw notFound();
+        }
+        String customerId = request.segment(0);
+        if (!customerService.existsById(customerId)) {
+            throw new ApiException(404, "Customer not found: " + customerId);
+        }
+        if (request.matches("GET", 1)) {
+            ApiJson.customer(json, customerService.getCustomer(customerId));
+            return 200;
+        }
+        if (request.matches("GET", 2) && "accounts".equals(request.segment(1))) {
+            json.beginArray();
+            for (Account account : accountService.getCustomerAccounts(customerId)) {
+                ApiJson.account(json, account);
+            }
+            json.endArray();
+            return 200;
+        }
+        if (request.matches("POST", 2) && "activate".equals(request.segment(1))) {
+            customerService.activateCustomer(customerId);
+            return 204;
+        }
+        if (request.matches("POST", 2) && "deactivate".equals(request.segment(1))) {
+            customerService.deactivateCustomer(customerId);
+            return 204;
+        }
+        throw notFound();
+    }
+
+    private int search(ApiRequest request, JsonWriter json) {
+        String query = request.queryParam("q");
+        if (query == null || query.trim().isEmpty()) {
+            throw new ApiException(400, "Query parameter q is required");
+        }
+        int limit = request.intQueryParam("limit", DEFAULT_SEARCH_LIMIT, MAX_SEARCH_LIMIT);
+        json.beginArray();
+        for (Customer customer : customerService.searchCustomers(query, limit)) {
+            ApiJson.customer(json, customer);
+        }
+        json.endArray();
+        return 200;
+    }
+
+    private int create(JsonFields body, JsonWriter json) {
+        Customer customer = customerService.createCustomer(
+            body.requiredString("firstName"),
+            body.requiredString("lastName"),
+            body.requiredString("email"),
+            body.requiredString("phoneNumber"),
+            body.requiredDate("dateOfBirth"),
+            body.optionalString("address"));
+        ApiJson.customer(json, customer);
+        return 201;
+    }
+}
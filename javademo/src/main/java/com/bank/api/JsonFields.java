@@ -0,0 +1,202 @@
+package com.bank.api;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fields of a flat JSON request object. Values are kept as their source text,
+ * so amounts are parsed straight into {@link BigDecimal} without a double.
+ */
+final class JsonFields {
+    private final Map<String, String> values;
+
+    private JsonFields(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static JsonFields parse(byte[] body) {
+        return new Parser(new String(body, StandardCharsets.UTF_8)).parseObject();
+    }
+
+    String optionalString(String name) {
+        return values.get(name);
+    }
+
+    String requiredString(String name) {
+        String value = values.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new ApiException(400, "Missing field: " + name);
+        }
+        return value;
+    }
+
+    BigDecimal requiredDecimal(String name) {
+        String value = requiredString(name);
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Field " + name + " is not a number");
+        }
+    }
+
+    LocalDate requiredDate(String name) {
+        String value = requiredString(name);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Field " + name + " is not an ISO date");
+        }
+    }
+
+    <E extends Enum<E>> E requiredEnum(String name, Class<E> type) {
+        String value = requiredString(name);
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Field " + name + " has unknown value " + value);
+        }
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        JsonFields parseObject() {
+            Map<String, String> values = new HashMap<>();
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    skipWhitespace();
+                    String name = readString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    values.put(name, readScalar());
+                    skipWhitespace();
+                    if (peek() == ',') {
+                        pos++;
+                        continue;
+                    }
+                    expect('}');
+                    break;
+                }
+            }
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw malformed();
+            }
+            return new JsonFields(values);
+        }
+
+        private String readScalar() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw new ApiException(400, "Nested JSON values are not supported");
+            }
+            int start = pos;
+            while (pos < text.length() && "-+.0123456789eEtruefalsn".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            String token = text.substring(start, pos);
+            if (token.isEmpty()) {
+                throw malformed();
+            }
+            return "null".equals(token) ? null : token;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        value.append(escaped);
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw malformed();
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw malformed();
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        throw malformed();
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw malformed();
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char c) {
+            if (next() != c) {
+                throw malformed();
+            }
+        }
+
+        private ApiException malformed() {
+            return new ApiException(400, "Malformed JSON at offset " + pos);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.api;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.exception.InsufficientFundsException;
+import com.bank.exception.InvalidTransactionException;
+import com.bank.exception.VelocityLimitExceededException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Base handler that routes a request, serializes the response into a per-thread
+ * {@link JsonWriter} and maps domain exceptions to HTTP statuses.
+ */
+abstract class JsonHandler implements HttpHandler {
+    private static final Logger LOGGER = Logger.getLogger(JsonHandler.class.getName());
+    private static final ThreadLocal<JsonWriter> WRITERS = ThreadLocal.withInitial(() -> new JsonWriter(4096));
+
+    @Override
+    public final void handle(HttpExchange exchange) throws IOException {
+        JsonWriter json = WRITERS.get().reset();
+        int status;
+        try {
+            status = route(new ApiRequest(exchange), json);
+        } catch (ApiException e) {
+            status = error(json, e.getStatus(), e.getMessage());
+        } catch (AccountNotFoundException e) {
+            status = error(json, 404, e.getMessage());
+        } catch (VelocityLimitExceededException e) {
+            status = error(json, 429, e.getMessage());
+        } catch (InsufficientFundsException e) {
+            status = error(json, 409, e.getMessage());
+        } catch (InvalidTransactionException | IllegalArgumentException | IllegalStateException e) {
+            // model builders report invalid fields with IllegalStateException
+            status = error(json, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Request failed: " + exchange.getRequestURI(), e);
+            status = error(json, 500, "Internal error");
+        }
+        try {
+            if (json.size() == 0) {
+                exchange.sendResponseHeaders(status, -1);
+            } else {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, json.size());
+                try (OutputStream out = exchange.getResponseBody()) {
+                    json.writeTo(out);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Handles the request, writing any response body to {@code json}, and returns the status.
+     */
+    protected abstract int route(ApiRequest request, JsonWriter json) throws IOException;
+
+    static ApiException notFound() {
+        return new ApiException(404, "Not found");
+    }
+
+    private static int error(JsonWriter json, int status, String message) {
+        json.reset().beginObject().name("error").value(message).endObject();
+        return status;
+    }
+}
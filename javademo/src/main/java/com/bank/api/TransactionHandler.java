@@ -0,0 +1,26 @@
+package com.bank.api;
+
+import com.bank.model.Transaction;
+import com.bank.service.TransactionService;
+
+/**
+ * {@code GET /transactions/{id}}.
+ */
+final class TransactionHandler extends JsonHandler {
+    private final TransactionService transactionService;
+
+    TransactionHandler(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @Override
+    protected int route(ApiRequest request, JsonWriter json) {
+        if (!request.matches("GET", 1)) {
+            throw notFound();
+        }
+        Transaction transaction = transactionService.findTransaction(request.segment(0))
+            .orElseThrow(JsonHandler::notFound);
+        ApiJson.transaction(json, transaction);
+        return 200;
+    }
+}
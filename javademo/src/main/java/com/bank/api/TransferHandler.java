@@ -0,0 +1,34 @@
+package com.bank.api;
+
+import com.bank.service.AccountService;
+import com.bank.service.TransactionOutcome;
+import java.io.IOException;
+
+/**
+ * {@code POST /transfers} with {@code fromAccountId}, {@code toAccountId} and {@code amount}.
+ */
+final class TransferHandler extends JsonHandler {
+    private final AccountService accountService;
+
+    TransferHandler(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @Override
+    protected int route(ApiRequest request, JsonWriter json) throws IOException {
+        if (!request.matches("POST", 0)) {
+            throw notFound();
+        }
+        JsonFields body = request.body();
+        String fromAccountId = body.requiredString("fromAccountId");
+        String toAccountId = body.requiredString("toAccountId");
+        TransactionOutcome outcome = accountService.tryTransfer(
+            fromAccountId, toAccountId, body.requiredDecimal("amount"));
+        json.beginObject()
+            .name("fromAccountId").value(fromAccountId)
+            .name("toAccountId").value(toAccountId)
+            .name("outcome").value(outcome)
+            .endObject();
+        return AccountHandler.statusOf(outcome);
+    }
+}
@@ -0,0 +1,466 @@
+package com.bank.archive;
+
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * An immutable file of archived transactions. Each account's transactions form one
+ * separately deflated block, oldest first, with timestamps and balances delta-encoded
+ * and amounts as variable-length integers. A sparse index at the head of the file maps
+ * each account to its block and time range, so a query inflates only the blocks it needs.
+ *
+ * <pre>
+ * int magic | byte version | varlong accounts
+ * per account: varlong idLength | id | varlong count | varlong offset | varlong length
+ *              | zigzag firstNanos | zigzag lastNanos
+ * blocks
+ * </pre>
+ */
+public final class ArchiveSegment {
+    static final int MAGIC = 0x424B4153;
+    static final int VERSION = 1;
+
+    // decimal tags; larger values are zigzag(scale) + DECIMAL_SCALE_BASE
+    private static final int DECIMAL_NULL = 0;
+    private static final int DECIMAL_LARGE = 1;
+    private static final int DECIMAL_SCALE_BASE = 2;
+    private static final int STRING_NULL = 0;
+    private static final int STRING_NEW = 1;
+
+    private static final Comparator<Transaction> OLDEST_FIRST =
+        Comparator.comparing(Transaction::getTimestamp).thenComparing(Transaction::getTransactionId);
+
+    private final Path path;
+    private final Map<String, IndexEntry> index;
+    private final long dataStart;
+    private final long transactionCount;
+
+    private ArchiveSegment(Path path, Map<String, IndexEntry> index, long dataStart) {
+        this.path = path;
+        this.index = index;
+        this.dataStart = dataStart;
+        long count = 0;
+        for (IndexEntry entry : index.values()) {
+            count += entry.count;
+        }
+        this.transactionCount = count;
+    }
+
+    /**
+     * Writes {@code transactions} to a new segment at {@code path}. The file appears
+     * atomically once it is complete and flushed to disk.
+     */
+    public static ArchiveSegment write(Path path, Collection<Transaction> transactions) throws IOException {
+        Map<String, List<Transaction>> byAccount = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            byAccount.computeIfAbsent(transaction.getAccountId(), id -> new ArrayList<>()).add(transaction);
+        }
+
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        Map<String, IndexEntry> index = new HashMap<>();
+        for (Map.Entry<String, List<Transaction>> account : byAccount.entrySet()) {
+            List<Transaction> rows = account.getValue();
+            rows.sort(OLDEST_FIRST);
+            long offset = blocks.size();
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(new NonClosing(blocks), deflater))) {
+                writeBlock(out, rows);
+            } finally {
+                deflater.end();
+            }
+            index.put(account.getKey(), new IndexEntry(rows.size(), offset, blocks.size() - offset,
+                epochNanos(rows.get(0).getTimestamp()), epochNanos(rows.get(rows.size() - 1).getTimestamp())));
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(header);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeVarLong(out, index.size());
+        for (Map.Entry<String, IndexEntry> entry : index.entrySet()) {
+            writeRawString(out, entry.getKey());
+            IndexEntry value = entry.getValue();
+            writeVarLong(out, value.count);
+            writeVarLong(out, value.offset);
+            writeVarLong(out, value.length);
+            writeVarLong(out, zigZag(value.firstNanos));
+            writeVarLong(out, zigZag(value.lastNanos));
+        }
+        out.flush();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header.toByteArray());
+            writeFully(channel, blocks.toByteArray());
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        return new ArchiveSegment(path, index, header.size());
+    }
+
+    public static ArchiveSegment open(Path path) throws IOException {
+        try (CountingInputStream counting = new CountingInputStream(
+                new BufferedInputStream(Files.newInputStream(path)));
+             DataInputStream in = new DataInputStream(counting)) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported archive segment version " + version);
+            }
+            long accounts = readVarLong(in);
+            Map<String, IndexEntry> index = new HashMap<>((int) Math.min(accounts * 2, Integer.MAX_VALUE));
+            for (long i = 0; i < accounts; i++) {
+                String accountId = readRawString(in);
+                index.put(accountId, new IndexEntry(readVarLong(in), readVarLong(in), readVarLong(in),
+                    unZigZag(readVarLong(in)), unZigZag(readVarLong(in))));
+            }
+            return new ArchiveSegment(path, index, counting.count);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public boolean containsAccount(String accountId) {
+        return index.containsKey(accountId);
+    }
+
+    /**
+     * Epoch nanoseconds (UTC) of the account's newest transaction here, or {@code Long.MIN_VALUE}.
+     */
+    public long newestNanos(String accountId) {
+        IndexEntry entry = index.get(accountId);
+        return entry == null ? Long.MIN_VALUE : entry.lastNanos;
+    }
+
+    /**
+     * Epoch nanoseconds (UTC) of the account's oldest transaction here, or {@code Long.MAX_VALUE}.
+     */
+    public long oldestNanos(String accountId) {
+        IndexEntry entry = index.get(accountId);
+        return entry == null ? Long.MAX_VALUE : entry.firstNanos;
+    }
+
+    /**
+     * True if the segment may hold transactions for the account between the two times, inclusive.
+     */
+    public boolean overlaps(String accountId, LocalDateTime start, LocalDateTime end) {
+        IndexEntry entry = index.get(accountId);
+        return entry != null && entry.firstNanos <= epochNanos(end) && entry.lastNanos >= epochNanos(start);
+    }
+
+    /**
+     * The account's archived transactions in this segment, oldest first.
+     */
+    public List<Transaction> read(String accountId) throws IOException {
+        return read(accountId, Long.MAX_VALUE);
+    }
+
+    /**
+     * The account's transactions here at or before {@code maxNanos}, oldest first.
+     * Decoding stops at the first newer row.
+     */
+    public List<Transaction> read(String accountId, long maxNanos) throws IOException {
+        IndexEntry entry = index.get(accountId);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        ByteBuffer block = ByteBuffer.allocate((int) entry.length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (block.hasRemaining()) {
+                if (channel.read(block, dataStart + entry.offset + block.position()) < 0) {
+                    throw new EOFException("Truncated archive segment " + path);
+                }
+            }
+        }
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(block.array())))) {
+            return readBlock(in, accountId, (int) entry.count, maxNanos);
+        }
+    }
+
+    private static void writeBlock(DataOutputStream out, List<Transaction> rows) throws IOException {
+        Map<String, Integer> descriptions = new HashMap<>();
+        long previousNanos = 0;
+        BigDecimal previousBalance = null;
+        for (Transaction transaction : rows) {
+            long nanos = epochNanos(transaction.getTimestamp());
+            writeVarLong(out, zigZag(nanos - previousNanos));
+            previousNanos = nanos;
+            writeRawString(out, transaction.getTransactionId());
+            out.writeByte(transaction.getType().ordinal());
+            writeDecimal(out, transaction.getAmount(), null);
+            writeDecimal(out, transaction.getBalanceAfter(), previousBalance);
+            if (transaction.getBalanceAfter() != null) {
+                previousBalance = transaction.getBalanceAfter();
+            }
+            writeTableString(out, transaction.getDescription(), descriptions);
+            writeTableString(out, transaction.getReferenceNumber(), null);
+        }
+    }
+
+    private static List<Transaction> readBlock(DataInputStream in, String accountId, int count, long maxNanos)
+            throws IOException {
+        List<String> descriptions = new ArrayList<>();
+        List<Transaction> rows = new ArrayList<>(count);
+        long nanos = 0;
+        BigDecimal previousBalance = null;
+        TransactionType[] types = TransactionType.values();
+        for (int i = 0; i < count; i++) {
+            nanos += unZigZag(readVarLong(in));
+            if (nanos > maxNanos) {
+                break;
+            }
+            String transactionId = readRawString(in);
+            TransactionType type = types[in.readUnsignedByte()];
+            BigDecimal amount = readDecimal(in, null);
+            BigDecimal balance = readDecimal(in, previousBalance);
+            if (balance != null) {
+                previousBalance = balance;
+            }
+            rows.add(new Transaction.Builder()
+                .transactionId(transactionId)
+                .accountId(accountId)
+                .timestamp(fromEpochNanos(nanos))
+                .type(type)
+                .amount(amount)
+                .balanceAfter(balance)
+                .description(readTableString(in, descriptions))
+                .referenceNumber(readTableString(in, null))
+                .build());
+        }
+        return rows;
+    }
+
+    // Delta against the previous value when both share a scale and fit comfortably in a long
+    private static void writeDecimal(DataOutputStream out, BigDecimal value, BigDecimal previous) throws IOException {
+        if (value == null) {
+            writeVarLong(out, DECIMAL_NULL);
+            return;
+        }
+        BigInteger unscaled = value.unscaledValue();
+        if (unscaled.bitLength() > 61) {
+            writeVarLong(out, DECIMAL_LARGE);
+            writeRawString(out, value.toString());
+            return;
+        }
+        writeVarLong(out, zigZag(value.scale()) + DECIMAL_SCALE_BASE);
+        writeVarLong(out, zigZag(unscaled.longValue() - base(previous, value.scale())));
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in, BigDecimal previous) throws IOException {
+        long tag = readVarLong(in);
+        if (tag == DECIMAL_NULL) {
+            return null;
+        }
+        if (tag == DECIMAL_LARGE) {
+            return new BigDecimal(readRawString(in));
+        }
+        int scale = (int) unZigZag(tag - DECIMAL_SCALE_BASE);
+        return BigDecimal.valueOf(unZigZag(readVarLong(in)) + base(previous, scale), scale);
+    }
+
+    private static long base(BigDecimal previous, int scale) {
+        if (previous == null || previous.scale() != scale || previous.unscaledValue().bitLength() > 61) {
+            return 0;
+        }
+        return previous.unscaledValue().longValue();
+    }
+
+    private static void writeTableString(DataOutputStream out, String value, Map<String, Integer> table)
+            throws IOException {
+        if (value == null) {
+            writeVarLong(out, STRING_NULL);
+            return;
+        }
+        Integer index = table == null ? null : table.get(value);
+        if (index != null) {
+            writeVarLong(out, index + 2L);
+            return;
+        }
+        writeVarLong(out, STRING_NEW);
+        writeRawString(out, value);
+        if (table != null) {
+            table.put(value, table.size());
+        }
+    }
+
+    private static String readTableString(DataInputStream in, List<String> table) throws IOException {
+        long reference = readVarLong(in);
+        if (reference == STRING_NULL) {
+            return null;
+        }
+        if (reference == STRING_NEW) {
+            String value = readRawString(in);
+            if (table != null) {
+                table.add(value);
+            }
+            return value;
+        }
+        if (table == null || reference - 2 >= table.size()) {
+            throw new IOException("Dangling string reference " + reference);
+        }
+        return table.get((int) reference - 2);
+    }
+
+    private static void writeRawString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readRawString(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("String too long: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long epochNanos(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+            (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class IndexEntry {
+        final long count;
+        final long offset;
+        final long length;
+        final long firstNanos;
+        final long lastNanos;
+
+        IndexEntry(long count, long offset, long length, long firstNanos, long lastNanos) {
+            this.count = count;
+            this.offset = offset;
+            this.length = length;
+            this.firstNanos = firstNanos;
+            this.lastNanos = lastNanos;
+        }
+    }
+
+    // Lets each block's deflater finish without closing the shared buffer
+    private static final class NonClosing extends OutputStream {
+        private final OutputStream target;
+
+        NonClosing(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
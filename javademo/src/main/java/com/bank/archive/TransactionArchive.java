@@ -0,0 +1,242 @@
+package com.bank.archive;
+
+import com.bank.metrics.Metrics;
+import com.bank.model.Transaction;
+import com.bank.repository.CacheStats;
+import com.bank.repository.ReadThroughCache;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Directory of {@link ArchiveSegment} files holding cold transaction history.
+ * Only segment indexes stay in memory; transactions are read back on demand, and the
+ * decoded histories of frequently queried accounts are kept in a bounded cache.
+ */
+public final class TransactionArchive {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".bka";
+    private static final long DEFAULT_CACHED_TRANSACTIONS = 100_000;
+    private static final Comparator<Transaction> NEWEST_FIRST =
+        Comparator.comparing(Transaction::getTimestamp)
+            .thenComparing(Transaction::getTransactionId)
+            .reversed();
+
+    private final Path directory;
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextSegment = new AtomicLong();
+    private final ReadThroughCache<String, List<Transaction>> histories;
+
+    private TransactionArchive(Path directory, long cachedTransactions) {
+        this.directory = directory;
+        this.histories = new ReadThroughCache.Builder<String, List<Transaction>>()
+            .loader(this::loadHistory)
+            .weigher((accountId, history) -> history.size())
+            .maximumWeight(cachedTransactions)
+            .metrics(Metrics.getDefault(), "archive.cache")
+            .build();
+    }
+
+    /**
+     * Opens the archive in {@code directory}, creating it if needed and loading existing segment indexes.
+     */
+    public static TransactionArchive open(Path directory) throws IOException {
+        return open(directory, DEFAULT_CACHED_TRANSACTIONS);
+    }
+
+    /**
+     * @param cachedTransactions how many decoded transactions the account history cache may hold
+     */
+    public static TransactionArchive open(Path directory, long cachedTransactions) throws IOException {
+        Files.createDirectories(directory);
+        TransactionArchive archive = new TransactionArchive(directory, cachedTransactions);
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(null);
+        for (Path path : paths) {
+            archive.segments.add(ArchiveSegment.open(path));
+            archive.nextSegment.set(Math.max(archive.nextSegment.get(), segmentNumber(path) + 1));
+        }
+        return archive;
+    }
+
+    /**
+     * Writes the transactions to a new segment; they are durable once this returns.
+     */
+    public ArchiveSegment append(Collection<Transaction> transactions) throws IOException {
+        Path path = directory.resolve(String.format("%s%012d%s",
+            SEGMENT_PREFIX, nextSegment.getAndIncrement(), SEGMENT_SUFFIX));
+        ArchiveSegment segment = ArchiveSegment.write(path, transactions);
+        segments.add(segment);
+        Set<String> accountIds = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            accountIds.add(transaction.getAccountId());
+        }
+        accountIds.forEach(histories::invalidate);
+        return segment;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getTransactionCount() {
+        long count = 0;
+        for (ArchiveSegment segment : segments) {
+            count += segment.getTransactionCount();
+        }
+        return count;
+    }
+
+    /**
+     * True if any segment may hold a transaction for the account at or after {@code timestamp}.
+     */
+    public boolean hasAtOrAfter(String accountId, LocalDateTime timestamp) {
+        long nanos = ArchiveSegment.epochNanos(timestamp);
+        for (ArchiveSegment segment : segments) {
+            if (segment.newestNanos(accountId) >= nanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * All archived transactions for the account, in no particular order.
+     */
+    public List<Transaction> findByAccountId(String accountId) {
+        List<Transaction> history = histories.get(accountId);
+        return history == null ? new ArrayList<>() : new ArrayList<>(history);
+    }
+
+    /**
+     * Keyset page of the account's archived history: up to {@code limit} transactions, newest
+     * first, strictly older than {@code after}, or from the newest when it is null. Segments are
+     * visited newest first by their index time ranges, each is decoded only up to the cursor, and
+     * reading stops once no remaining segment can hold a row for the page.
+     */
+    public List<Transaction> findPage(String accountId, Transaction after, int limit) {
+        List<Transaction> cached = histories.getIfPresent(accountId);
+        if (cached != null) {
+            return cached.stream()
+                .filter(t -> after == null || NEWEST_FIRST.compare(t, after) > 0)
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toList());
+        }
+        long afterNanos = after == null ? Long.MAX_VALUE : ArchiveSegment.epochNanos(after.getTimestamp());
+        List<ArchiveSegment> candidates = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            if (segment.oldestNanos(accountId) <= afterNanos) {
+                candidates.add(segment);
+            }
+        }
+        candidates.sort(Comparator.comparingLong((ArchiveSegment segment) -> segment.newestNanos(accountId)).reversed());
+
+        TreeSet<Transaction> page = new TreeSet<>(NEWEST_FIRST);
+        for (ArchiveSegment segment : candidates) {
+            if (page.size() >= limit
+                    && ArchiveSegment.epochNanos(page.last().getTimestamp()) > segment.newestNanos(accountId)) {
+                break;
+            }
+            for (Transaction transaction : read(segment, accountId, afterNanos)) {
+                if (after == null || NEWEST_FIRST.compare(transaction, after) > 0) {
+                    page.add(transaction);
+                    if (page.size() > limit) {
+                        page.pollLast();
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(page);
+    }
+
+    /**
+     * Looks the transaction up among the account's archived rows, newest segments first,
+     * stopping at the first segment that holds it.
+     */
+    public Optional<Transaction> findByAccountIdAndTransactionId(String accountId, String transactionId) {
+        List<Transaction> cached = histories.getIfPresent(accountId);
+        if (cached != null) {
+            return cached.stream().filter(t -> t.getTransactionId().equals(transactionId)).findFirst();
+        }
+        List<ArchiveSegment> candidates = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            if (segment.containsAccount(accountId)) {
+                candidates.add(segment);
+            }
+        }
+        candidates.sort(Comparator.comparingLong((ArchiveSegment segment) -> segment.newestNanos(accountId)).reversed());
+        for (ArchiveSegment segment : candidates) {
+            for (Transaction transaction : read(segment, accountId, Long.MAX_VALUE)) {
+                if (transaction.getTransactionId().equals(transactionId)) {
+                    return Optional.of(transaction);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<Transaction> findByAccountIdAndDateRange(String accountId, LocalDateTime start, LocalDateTime end) {
+        List<Transaction> cached = histories.getIfPresent(accountId);
+        List<Transaction> rows = cached != null
+            ? new ArrayList<>(cached)
+            : read(accountId, segment -> segment.overlaps(accountId, start, end));
+        rows.removeIf(t -> t.getTimestamp().isBefore(start) || t.getTimestamp().isAfter(end));
+        return rows;
+    }
+
+    public CacheStats getCacheStats() {
+        return histories.getStats();
+    }
+
+    private List<Transaction> loadHistory(String accountId) {
+        List<Transaction> rows = read(accountId, segment -> segment.containsAccount(accountId));
+        return rows.isEmpty() ? null : Collections.unmodifiableList(rows);
+    }
+
+    private List<Transaction> read(String accountId, Predicate<ArchiveSegment> include) {
+        List<Transaction> rows = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            if (include.test(segment)) {
+                rows.addAll(read(segment, accountId, Long.MAX_VALUE));
+            }
+        }
+        return rows;
+    }
+
+    private static List<Transaction> read(ArchiveSegment segment, String accountId, long maxNanos) {
+        try {
+            return segment.read(accountId, maxNanos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + segment.getPath(), e);
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.archive;
+
+import com.bank.repository.TransactionRepository;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Periodically moves transactions older than the retention window out of a
+ * {@link TransactionRepository} and into its archive, so the in-memory history
+ * stays roughly the size of one window no matter how long the process runs.
+ */
+public final class TransactionArchiver implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(TransactionArchiver.class.getName());
+
+    private final TransactionRepository repository;
+    private final Duration retention;
+    private final Duration interval;
+    private final Clock clock;
+    private ScheduledExecutorService scheduler;
+
+    private TransactionArchiver(Builder builder) {
+        this.repository = builder.repository;
+        this.retention = builder.retention;
+        this.interval = builder.interval;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * Archives everything older than the retention window; returns how many transactions moved.
+     */
+    public int runOnce() throws IOException {
+        return repository.archiveOlderThan(clock.now().minus(retention));
+    }
+
+    /**
+     * Runs {@link #runOnce} every interval on a daemon thread until {@link #close}.
+     */
+    public synchronized TransactionArchiver start() {
+        if (scheduler != null) {
+            throw new IllegalStateException("Archiver already started");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "transaction-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::runQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            int moved = runOnce();
+            if (moved > 0) {
+                LOGGER.log(Level.FINE, "Archived {0} transactions", moved);
+            }
+        } catch (IOException | RuntimeException e) {
+            // keep the schedule alive; the same rows are retried next run
+            LOGGER.log(Level.WARNING, "Transaction archiving failed", e);
+        }
+    }
+
+    public static class Builder {
+        private TransactionRepository repository;
+        private Duration retention;
+        private Duration interval;
+        private Clock clock;
+
+        public Builder() {
+            this.retention = Duration.ofDays(90);
+            this.interval = Duration.ofHours(1);
+            this.clock = Clocks.getDefault();
+        }
+
+        public Builder repository(TransactionRepository repository) {
+            this.repository = repository;
+            return this;
+        }
+
+        /**
+         * How long transactions stay in memory before they are archived; defaults to 90 days.
+         */
+        public Builder retention(Duration retention) {
+            this.retention = retention;
+            return this;
+        }
+
+        public Builder interval(Duration interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public TransactionArchiver build() {
+            if (repository == null || clock == null) {
+                throw new IllegalStateException("Repository and clock are required");
+            }
+            if (retention == null || retention.isNegative() || interval == null
+                    || interval.isNegative() || interval.isZero()) {
+                throw new IllegalStateException("Retention must be non-negative and interval positive");
+            }
+            return new TransactionArchiver(this);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.bank.audit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Writes audit events to java.util.logging from a single background thread.
+ * Producers claim a slot in a preallocated ring buffer with one CAS, copy the
+ * event's raw arguments into it and publish its sequence; the writer thread
+ * renders and logs slots in order. Nothing is allocated on the producer side.
+ * Records carry the time they were written, not when the event was appended.
+ *
+ * <p>Events appended after {@link #close()} are logged synchronously on the caller's thread.
+ */
+public final class AsyncAuditAppender implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    public enum OverflowPolicy {
+        /** Drop the event and count it when the buffer is full. */
+        DROP,
+        /** Spin until the writer frees a slot. */
+        BLOCK
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder dropped;
+    private final Thread writer;
+    private final StringBuilder message;
+    private volatile long consumed;
+    private volatile boolean running;
+
+    public AsyncAuditAppender() {
+        this(DEFAULT_CAPACITY, OverflowPolicy.DROP);
+    }
+
+    public AsyncAuditAppender(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.slots = new Slot[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.claimed = new AtomicLong();
+        this.overflowPolicy = overflowPolicy;
+        this.dropped = new LongAdder();
+        this.message = new StringBuilder(256);
+        this.running = true;
+        this.writer = new Thread(this::run, "audit-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    void append(Logger target, AuditEvent event, Object value0, Object value1, Object value2) {
+        if (!running) {
+            write(target, event, value0, value1, value2, new StringBuilder(64));
+            return;
+        }
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        int index = (int) (sequence & mask);
+        Slot slot = slots[index];
+        slot.target = target;
+        slot.event = event;
+        slot.value0 = value0;
+        slot.value1 = value1;
+        slot.value2 = value2;
+        published.lazySet(index, sequence);
+        if (!running && !writer.isAlive()) {
+            // closed while this event was being appended; the writer will not see it
+            drain();
+        }
+    }
+
+    private long claim() {
+        while (true) {
+            long current = claimed.get();
+            if (current - consumed >= slots.length) {
+                if (overflowPolicy == OverflowPolicy.DROP || !running) {
+                    return -1;
+                }
+                Thread.yield();
+                continue;
+            }
+            if (claimed.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    public long getQueueDepth() {
+        return claimed.get() - consumed;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Waits until every event appended before this call has been written.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long target = claimed.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (consumed < target) {
+            if (System.nanoTime() - deadline > 0 || !writer.isAlive()) {
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        flush(5, TimeUnit.SECONDS);
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!writer.isAlive()) {
+            drain();
+        }
+    }
+
+    // Writes what producers published around close(); only called once the writer has stopped
+    private synchronized void drain() {
+        long sequence = consumed;
+        while (sequence < claimed.get()) {
+            int index = (int) (sequence & mask);
+            if (published.get(index) != sequence) {
+                // claimed but still being filled in by its producer
+                Thread.yield();
+                continue;
+            }
+            writeAndRelease(slots[index], sequence);
+            sequence = consumed;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long sequence = consumed;
+            int index = (int) (sequence & mask);
+            if (published.get(index) != sequence) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            writeAndRelease(slots[index], sequence);
+        }
+    }
+
+    private void writeAndRelease(Slot slot, long sequence) {
+        try {
+            write(slot.target, slot.event, slot.value0, slot.value1, slot.value2, message);
+        } catch (RuntimeException e) {
+            // A failing handler must not stop the writer thread
+        } finally {
+            slot.clear();
+            consumed = sequence + 1;
+        }
+    }
+
+    private static void write(Logger target, AuditEvent event, Object value0, Object value1, Object value2,
+                              StringBuilder message) {
+        message.setLength(0);
+        event.render(message, value0, value1, value2);
+
+        LogRecord record = new LogRecord(event.getLevel(), message.toString());
+        record.setLoggerName(target.getName());
+        record.setSourceClassName(target.getName());
+        record.setSourceMethodName(event.getName());
+        target.log(record);
+    }
+
+    private static final class Slot {
+        private Logger target;
+        private AuditEvent event;
+        private Object value0;
+        private Object value1;
+        private Object value2;
+
+        void clear() {
+            target = null;
+            event = null;
+            value0 = null;
+            value1 = null;
+            value2 = null;
+        }
+    }
+}
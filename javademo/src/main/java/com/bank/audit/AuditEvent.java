@@ -0,0 +1,116 @@
+package com.bank.audit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Definition of a structured audit event: a stable name, a level and a message
+ * template whose named placeholders, e.g. {@code "Deposit {amount} to {accountId}"},
+ * are the event's fields. Events are declared once as constants and the
+ * template is only rendered on the appender thread.
+ */
+public final class AuditEvent {
+    public static final int MAX_FIELDS = 3;
+
+    private static final ConcurrentMap<String, AuditEvent> EVENTS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final Level level;
+    private final String[] literals;
+    private final String[] fieldNames;
+    private final AtomicLong occurrences;
+    private volatile int sampleEvery;
+
+    private AuditEvent(String name, Level level, String template) {
+        this.name = name;
+        this.level = level;
+        List<String> literalParts = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = template.indexOf('{', start)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            literalParts.add(template.substring(start, open));
+            fields.add(template.substring(open + 1, close));
+            start = close + 1;
+        }
+        literalParts.add(template.substring(start));
+        if (fields.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException("Audit events support at most " + MAX_FIELDS + " fields: " + name);
+        }
+        this.literals = literalParts.toArray(new String[0]);
+        this.fieldNames = fields.toArray(new String[0]);
+        this.occurrences = new AtomicLong();
+        this.sampleEvery = AuditLogging.sampleRateFor(name);
+    }
+
+    public static AuditEvent info(String name, String template) {
+        return define(name, Level.INFO, template);
+    }
+
+    public static AuditEvent define(String name, Level level, String template) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Audit event name cannot be null or empty");
+        }
+        AuditEvent event = new AuditEvent(name, level, template);
+        EVENTS.put(name, event);
+        return event;
+    }
+
+    static AuditEvent find(String name) {
+        return EVENTS.get(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public List<String> getFieldNames() {
+        return Collections.unmodifiableList(java.util.Arrays.asList(fieldNames));
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    /**
+     * Returns true when this occurrence should be written; only counts when sampling is on.
+     */
+    boolean sample() {
+        int every = sampleEvery;
+        return every <= 1 || occurrences.getAndIncrement() % every == 0;
+    }
+
+    void render(StringBuilder out, Object value0, Object value1, Object value2) {
+        out.append(literals[0]);
+        for (int i = 0; i < fieldNames.length; i++) {
+            out.append(i == 0 ? value0 : i == 1 ? value1 : value2);
+            out.append(literals[i + 1]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AuditEvent{" +
+                "name='" + name + '\'' +
+                ", level=" + level +
+                ", fields=" + getFieldNames() +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package com.bank.audit;
+
+import java.util.logging.Logger;
+
+/**
+ * Parameterized front end for audit events, one per source class.
+ * Level and sampling are checked before anything is captured, so a disabled
+ * event costs a level comparison and allocates nothing. Enabled events are
+ * handed to the async appender with their raw arguments.
+ */
+public final class AuditLogger {
+    private final Logger delegate;
+
+    private AuditLogger(Logger delegate) {
+        this.delegate = delegate;
+    }
+
+    public static AuditLogger getLogger(Class<?> source) {
+        return new AuditLogger(Logger.getLogger(source.getName()));
+    }
+
+    public boolean isEnabled(AuditEvent event) {
+        return delegate.isLoggable(event.getLevel());
+    }
+
+    public void log(AuditEvent event) {
+        publish(event, null, null, null);
+    }
+
+    public void log(AuditEvent event, Object value0) {
+        publish(event, value0, null, null);
+    }
+
+    public void log(AuditEvent event, Object value0, Object value1) {
+        publish(event, value0, value1, null);
+    }
+
+    public void log(AuditEvent event, Object value0, Object value1, Object value2) {
+        publish(event, value0, value1, value2);
+    }
+
+    private void publish(AuditEvent event, Object value0, Object value1, Object value2) {
+        if (!delegate.isLoggable(event.getLevel()) || !event.sample()) {
+            return;
+        }
+        AuditLogging.getAppender().append(delegate, event, value0, value1, value2);
+    }
+}
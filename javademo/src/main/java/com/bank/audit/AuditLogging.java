@@ -0,0 +1,84 @@
+package com.bank.audit;
+
+import com.bank.metrics.Metrics;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holder for the process-wide audit appender and per-event sampling.
+ * Sampling can also be set with the {@code bank.audit.sample.<event>} system
+ * property, e.g. {@code -Dbank.audit.sample.transaction.recorded=100} writes
+ * one in every hundred occurrences.
+ */
+public final class AuditLogging {
+    public static final String SAMPLE_PROPERTY_PREFIX = "bank.audit.sample.";
+    public static final String BUFFER_SIZE_PROPERTY = "bank.audit.buffer.size";
+
+    private static final ConcurrentMap<String, Integer> SAMPLE_RATES = new ConcurrentHashMap<>();
+    private static volatile AsyncAuditAppender appender;
+
+    static {
+        Metrics.getDefault().gauge("audit.queue.depth", () -> {
+            AsyncAuditAppender current = appender;
+            return current == null ? 0 : current.getQueueDepth();
+        });
+        Metrics.getDefault().gauge("audit.dropped", () -> {
+            AsyncAuditAppender current = appender;
+            return current == null ? 0 : current.getDroppedCount();
+        });
+    }
+
+    private AuditLogging() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static AsyncAuditAppender getAppender() {
+        AsyncAuditAppender current = appender;
+        if (current == null) {
+            synchronized (AuditLogging.class) {
+                current = appender;
+                if (current == null) {
+                    current = new AsyncAuditAppender(
+                        Integer.getInteger(BUFFER_SIZE_PROPERTY, AsyncAuditAppender.DEFAULT_CAPACITY),
+                        AsyncAuditAppender.OverflowPolicy.DROP);
+                    Runtime.getRuntime().addShutdownHook(new Thread(current::close, "audit-log-shutdown"));
+                    appender = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public static synchronized void setAppender(AsyncAuditAppender newAppender) {
+        if (newAppender == null) {
+            throw new IllegalArgumentException("Audit appender cannot be null");
+        }
+        AsyncAuditAppender previous = appender;
+        appender = newAppender;
+        if (previous != null && previous != newAppender) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Writes one in every {@code everyN} occurrences of the named event; 1 writes all.
+     */
+    public static void setSampleRate(String eventName, int everyN) {
+        if (everyN < 1) {
+            throw new IllegalArgumentException("Sample rate must be at least 1");
+        }
+        SAMPLE_RATES.put(eventName, everyN);
+        AuditEvent event = AuditEvent.find(eventName);
+        if (event != null) {
+            event.setSampleEvery(everyN);
+        }
+    }
+
+    static int sampleRateFor(String eventName) {
+        Integer configured = SAMPLE_RATES.get(eventName);
+        if (configured != null) {
+            return configured;
+        }
+        return Math.max(1, Integer.getInteger(SAMPLE_PROPERTY_PREFIX + eventName, 1));
+    }
+}
@@ -0,0 +1,81 @@
+package com.bank.cdc;
+
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable fan-out to several {@link LedgerListener}s, called in registration order.
+ * Write paths swap in a new instance to add or remove a listener, so a change is
+ * never observed half-applied and the hot path walks a plain array.
+ */
+public final class CompositeLedgerListener implements LedgerListener {
+    private final LedgerListener[] listeners;
+
+    private CompositeLedgerListener(LedgerListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * {@code current} with {@code added} registered after its listeners.
+     */
+    public static LedgerListener with(LedgerListener current, LedgerListener added) {
+        if (added == null || added == LedgerListener.NONE) {
+            return current;
+        }
+        if (current == LedgerListener.NONE) {
+            return added;
+        }
+        List<LedgerListener> listeners = listenersOf(current);
+        listeners.add(added);
+        return new CompositeLedgerListener(listeners.toArray(new LedgerListener[0]));
+    }
+
+    /**
+     * {@code current} without {@code removed}; the others keep their order.
+     */
+    public static LedgerListener without(LedgerListener current, LedgerListener removed) {
+        List<LedgerListener> listeners = listenersOf(current);
+        listeners.remove(removed);
+        if (listeners.isEmpty()) {
+            return LedgerListener.NONE;
+        }
+        return listeners.size() == 1
+            ? listeners.get(0)
+            : new CompositeLedgerListener(listeners.toArray(new LedgerListener[0]));
+    }
+
+    @Override
+    public void accountSaved(Account account) {
+        for (LedgerListener listener : listeners) {
+            listener.accountSaved(account);
+        }
+    }
+
+    @Override
+    public void accountsSaved(Account... batch) {
+        for (LedgerListener listener : listeners) {
+            listener.accountsSaved(batch);
+        }
+    }
+
+    @Override
+    public void transactionRecorded(Transaction transaction) {
+        for (LedgerListener listener : listeners) {
+            listener.transactionRecorded(transaction);
+        }
+    }
+
+    private static List<LedgerListener> listenersOf(LedgerListener listener) {
+        if (listener instanceof CompositeLedgerListener) {
+            return new ArrayList<>(Arrays.asList(((CompositeLedgerListener) listener).listeners));
+        }
+        List<LedgerListener> listeners = new ArrayList<>();
+        if (listener != LedgerListener.NONE) {
+            listeners.add(listener);
+        }
+        return listeners;
+    }
+}
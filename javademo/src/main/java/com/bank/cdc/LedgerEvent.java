@@ -0,0 +1,97 @@
+package com.bank.cdc;
+
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One change on the ledger feed. Account events snapshot the balance and status at
+ * the time of the save, since {@link Account} itself is mutable.
+ */
+public final class LedgerEvent {
+
+    public enum Type {
+        ACCOUNT_UPDATED,
+        TRANSACTION_RECORDED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String accountId;
+    private final BigDecimal balance;
+    private final boolean active;
+    private final LocalDateTime timestamp;
+    private final Transaction transaction;
+
+    private LedgerEvent(long sequence, Type type, String accountId, BigDecimal balance,
+                        boolean active, LocalDateTime timestamp, Transaction transaction) {
+        this.sequence = sequence;
+        this.type = type;
+        this.accountId = accountId;
+        this.balance = balance;
+        this.active = active;
+        this.timestamp = timestamp;
+        this.transaction = transaction;
+    }
+
+    static LedgerEvent accountUpdated(long sequence, Account account) {
+        return new LedgerEvent(sequence, Type.ACCOUNT_UPDATED, account.getAccountId(), account.getBalance(),
+            account.isActive(), account.getLastModifiedAt(), null);
+    }
+
+    static LedgerEvent transactionRecorded(long sequence, Transaction transaction) {
+        return new LedgerEvent(sequence, Type.TRANSACTION_RECORDED, transaction.getAccountId(),
+            transaction.getBalanceAfter(), true, transaction.getTimestamp(), transaction);
+    }
+
+    /**
+     * Feed-wide position; increases with every published event, so gaps show dropped events.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * The account balance after the change.
+     */
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    /**
+     * Account status for {@link Type#ACCOUNT_UPDATED}; always true for transactions.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * The recorded transaction for {@link Type#TRANSACTION_RECORDED}, otherwise null.
+     */
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", accountId='" + accountId + '\'' +
+                ", balance=" + balance +
+                '}';
+    }
+}
@@ -0,0 +1,168 @@
+package com.bank.cdc;
+
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import com.bank.repository.AccountRepository;
+import com.bank.service.TransactionService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process change feed of account updates and recorded transactions.
+ * Attach it to the write path with {@link #attachTo}; every subscriber then gets
+ * its own bounded buffer and overflow policy, and events for one account are delivered
+ * in the order they were written. Publishing only appends to those buffers, so a slow
+ * subscriber loses events (per its policy) rather than slowing down deposits.
+ */
+public final class LedgerFeed implements Flow.Publisher<LedgerEvent>, LedgerListener, AutoCloseable {
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int defaultCapacity;
+    private final OverflowPolicy defaultPolicy;
+    private final CopyOnWriteArrayList<LedgerSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean closed;
+
+    private LedgerFeed(Builder builder) {
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownedExecutor = null;
+        } else {
+            AtomicInteger threads = new AtomicInteger();
+            this.ownedExecutor = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "ledger-feed-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor = ownedExecutor;
+        }
+        this.defaultCapacity = builder.capacity;
+        this.defaultPolicy = builder.policy;
+    }
+
+    /**
+     * Registers this feed as a ledger listener of both write paths, alongside any others.
+     */
+    public LedgerFeed attachTo(AccountRepository accountRepository, TransactionService transactionService) {
+        accountRepository.addLedgerListener(this);
+        transactionService.addLedgerListener(this);
+        return this;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super LedgerEvent> subscriber) {
+        subscribe(subscriber, defaultCapacity, defaultPolicy);
+    }
+
+    public void subscribe(Flow.Subscriber<? super LedgerEvent> subscriber, int capacity, OverflowPolicy policy) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        if (capacity < 1 || policy == null) {
+            throw new IllegalArgumentException("Capacity must be positive and a policy is required");
+        }
+        LedgerSubscription subscription = new LedgerSubscription(this, subscriber, executor, capacity, policy);
+        subscriptions.add(subscription);
+        subscription.start();
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    @Override
+    public void accountSaved(Account account) {
+        if (!subscriptions.isEmpty()) {
+            publish(LedgerEvent.accountUpdated(sequence.incrementAndGet(), account));
+        }
+    }
+
+    @Override
+    public void transactionRecorded(Transaction transaction) {
+        if (!subscriptions.isEmpty()) {
+            publish(LedgerEvent.transactionRecorded(sequence.incrementAndGet(), transaction));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Events discarded across current subscribers because their buffers were full.
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (LedgerSubscription subscription : subscriptions) {
+            dropped += subscription.getDropped();
+        }
+        return dropped;
+    }
+
+    /**
+     * Completes every subscriber once its buffered events have been delivered.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (LedgerSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    void remove(LedgerSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    private void publish(LedgerEvent event) {
+        if (closed) {
+            return;
+        }
+        for (LedgerSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    public static class Builder {
+        private Executor executor;
+        private int capacity;
+        private OverflowPolicy policy;
+
+        public Builder() {
+            this.capacity = 8192;
+            this.policy = OverflowPolicy.DROP_OLDEST;
+        }
+
+        /**
+         * Runs subscriber callbacks; defaults to a cached pool of daemon threads owned by the feed.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder defaultCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder defaultPolicy(OverflowPolicy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        public LedgerFeed build() {
+            if (capacity < 1 || policy == null) {
+                throw new IllegalStateException("Capacity must be positive and a policy is required");
+            }
+            return new LedgerFeed(this);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bank.cdc;
+
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+
+/**
+ * Write-path hook for ledger changes. Called synchronously by
+ * {@link com.bank.repository.AccountRepository#save} and
+ * {@link com.bank.service.TransactionService#recordTransaction}, under the account lock
+ * when the change comes from {@link com.bank.service.AccountService}, so calls for one
+ * account arrive in order. Several may be registered on each write path and are called
+ * in registration order. Implementations must return quickly and must not throw.
+ */
+public interface LedgerListener {
+    LedgerListener NONE = new LedgerListener() { };
+
+    default void accountSaved(Account account) {
+    }
+
+    /**
+     * Accounts saved together as one ledger version by
+     * {@link com.bank.repository.AccountRepository#saveAll}, such as both legs of a transfer.
+     * Listeners that must keep them together override this; by default each is passed to
+     * {@link #accountSaved} in turn.
+     */
+    default void accountsSaved(Account... batch) {
+        for (Account account : batch) {
+            accountSaved(account);
+        }
+    }
+
+    default void transactionRecorded(Transaction transaction) {
+    }
+}
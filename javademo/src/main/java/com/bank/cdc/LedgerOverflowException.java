@@ -0,0 +1,11 @@
+package com.bank.cdc;
+
+/**
+ * Signalled to a subscriber with {@link OverflowPolicy#FAIL} whose buffer filled up.
+ */
+public class LedgerOverflowException extends RuntimeException {
+
+    public LedgerOverflowException(int capacity) {
+        super("Ledger subscriber fell more than " + capacity + " events behind");
+    }
+}
@@ -0,0 +1,191 @@
+package com.bank.cdc;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One subscriber's bounded buffer. {@link #offer} never blocks; a drain task on the
+ * feed's executor delivers buffered events in publish order as demand allows.
+ */
+final class LedgerSubscription implements Flow.Subscription, Runnable {
+    private static final Logger LOGGER = Logger.getLogger(LedgerSubscription.class.getName());
+
+    private final LedgerFeed feed;
+    private final Flow.Subscriber<? super LedgerEvent> subscriber;
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Queue<LedgerEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile boolean completed;
+    private volatile Throwable error;
+    private boolean terminated;
+
+    LedgerSubscription(LedgerFeed feed, Flow.Subscriber<? super LedgerEvent> subscriber, Executor executor,
+                       int capacity, OverflowPolicy policy) {
+        this.feed = feed;
+        this.subscriber = subscriber;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    void offer(LedgerEvent event) {
+        if (cancelled || error != null) {
+            return;
+        }
+        if (buffered.incrementAndGet() > capacity) {
+            switch (policy) {
+                case DROP_NEWEST:
+                    buffered.decrementAndGet();
+                    dropped.incrementAndGet();
+                    return;
+                case DROP_OLDEST:
+                    if (buffer.poll() != null) {
+                        buffered.decrementAndGet();
+                        dropped.incrementAndGet();
+                    }
+                    break;
+                default:
+                    buffered.decrementAndGet();
+                    dropped.incrementAndGet();
+                    error = new LedgerOverflowException(capacity);
+                    schedule();
+                    return;
+            }
+        }
+        buffer.add(event);
+        schedule();
+    }
+
+    void complete() {
+        completed = true;
+        schedule();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    int getBuffered() {
+        return buffered.get();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            error = new IllegalArgumentException("Requested " + n + " events; demand must be positive");
+        } else {
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        feed.remove(this);
+        schedule();
+    }
+
+    void start() {
+        try {
+            subscriber.onSubscribe(this);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Ledger subscriber failed in onSubscribe", e);
+            cancel();
+        }
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancelled = true;
+                feed.remove(this);
+                wip.set(0);
+            }
+        }
+    }
+
+    // Drain loop; wip guarantees a single runner per subscription at a time
+    @Override
+    public void run() {
+        int missed = 1;
+        while (true) {
+            drain();
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        if (terminated) {
+            return;
+        }
+        if (cancelled) {
+            clear();
+            terminated = true;
+            return;
+        }
+        while (demand.get() > 0 && error == null) {
+            LedgerEvent event = buffer.poll();
+            if (event == null) {
+                break;
+            }
+            buffered.decrementAndGet();
+            if (demand.get() != Long.MAX_VALUE) {
+                demand.decrementAndGet();
+            }
+            try {
+                subscriber.onNext(event);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Ledger subscriber threw from onNext; cancelling", e);
+                cancelled = true;
+                feed.remove(this);
+                clear();
+                terminated = true;
+                return;
+            }
+            if (cancelled) {
+                clear();
+                terminated = true;
+                return;
+            }
+        }
+        Throwable failure = error;
+        if (failure != null) {
+            terminate();
+            subscriber.onError(failure);
+        } else if (completed && buffer.isEmpty()) {
+            terminate();
+            subscriber.onComplete();
+        }
+    }
+
+    private void terminate() {
+        terminated = true;
+        cancelled = true;
+        feed.remove(this);
+        clear();
+    }
+
+    private void clear() {
+        buffer.clear();
+        buffered.set(0);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.cdc;
+
+/**
+ * What a subscription does when its buffer is full. None of them block the publisher.
+ */
+public enum OverflowPolicy {
+    /** Discard the event being published. */
+    DROP_NEWEST,
+    /** Discard the oldest buffered event to make room. */
+    DROP_OLDEST,
+    /** Cancel the subscription and signal {@link LedgerOverflowException}. */
+    FAIL
+}
@@ -0,0 +1,18 @@
+package com.bank.exception;
+
+/**
+ * Exception thrown when an operation would exceed a rolling velocity limit
+ * for an account or customer.
+ */
+public class VelocityLimitExceededException extends InvalidTransactionException {
+    private final String subjectId;
+
+    public VelocityLimitExceededException(String subjectId, String limitDescription) {
+        super("Velocity limit exceeded for " + subjectId + ": " + limitDescription);
+        this.subjectId = subjectId;
+    }
+
+    public String getSubjectId() {
+        return subjectId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bank.id;
+
+/**
+ * Source of unique 64-bit identifiers for accounts, customers and transactions.
+ */
+public interface IdGenerator {
+
+    long nextId();
+
+    /**
+     * Next identifier in the compact, lexicographically sortable string form.
+     */
+    default String nextIdString() {
+        return IdEncoding.encode(nextId());
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.id;
+
+/**
+ * Holder for the process-wide {@link IdGenerator} used by the model builders.
+ * The node ID defaults to the {@code bank.node.id} system property, or 0.
+ */
+public final class IdGenerators {
+    public static final String NODE_ID_PROPERTY = "bank.node.id";
+
+    private static volatile IdGenerator defaultGenerator =
+        new TimeOrderedIdGenerator(Integer.getInteger(NODE_ID_PROPERTY, 0));
+
+    private IdGenerators() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static IdGenerator getDefault() {
+        return defaultGenerator;
+    }
+
+    public static void setDefault(IdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("ID generator cannot be null");
+        }
+        defaultGenerator = generator;
+    }
+}
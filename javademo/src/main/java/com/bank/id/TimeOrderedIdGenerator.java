@@ -0,0 +1,63 @@
+package com.bank.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free generator of time-ordered 64-bit IDs.
+ * Layout: 41 bits of milliseconds since 2024-01-01 UTC, 10 bits of node ID
+ * and a 12-bit sequence. When the sequence of the current millisecond is
+ * exhausted, or the wall clock steps backwards, the generator borrows from
+ * the next millisecond so IDs stay unique and strictly increasing.
+ */
+public final class TimeOrderedIdGenerator implements IdGenerator {
+    public static final long EPOCH_MILLIS = 1704067200000L;
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final AtomicLong lastId;
+
+    public TimeOrderedIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.lastId = new AtomicLong();
+    }
+
+    @Override
+    public long nextId() {
+        long timestamp = System.currentTimeMillis() - EPOCH_MILLIS;
+        while (true) {
+            long last = lastId.get();
+            long lastTimestamp = last >>> TIMESTAMP_SHIFT;
+            long next;
+            if (timestamp > lastTimestamp) {
+                next = (timestamp << TIMESTAMP_SHIFT) | nodeBits;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                next = ((lastTimestamp + 1) << TIMESTAMP_SHIFT) | nodeBits;
+            }
+            if (lastId.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    public static long timestampMillis(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS;
+    }
+
+    public static int nodeId(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    public static int sequence(long id) {
+        return (int) (id & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bank.AccountCreate")
+@Label("Account Create")
+@Description("An account was opened, with its initial deposit bucket")
+public final class AccountCreateEvent extends AccountOperationEvent {
+}
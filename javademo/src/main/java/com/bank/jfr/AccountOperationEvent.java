@@ -0,0 +1,39 @@
+package com.bank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import java.math.BigDecimal;
+
+/**
+ * Fields shared by the account operation events. Events are disabled until a
+ * JFR settings file such as {@code jfr/bank.jfc} turns them on; while disabled,
+ * {@code begin()} and {@code shouldCommit()} are effectively free.
+ */
+@Category({"Banking", "Account"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class AccountOperationEvent extends Event {
+    @Label("Account ID")
+    public String accountId;
+
+    @Label("Amount Bucket")
+    public String amountBucket;
+
+    @Label("Outcome")
+    public String outcome;
+
+    /**
+     * Fills the fields and commits, but only if the event is enabled and over its threshold.
+     */
+    public final void complete(String accountId, BigDecimal amount, Object outcome) {
+        if (shouldCommit()) {
+            this.accountId = accountId;
+            this.amountBucket = AmountBuckets.of(amount);
+            this.outcome = String.valueOf(outcome);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bank.jfr;
+
+import java.math.BigDecimal;
+
+/**
+ * Coarse amount ranges for event fields, so recordings do not carry exact amounts.
+ */
+public final class AmountBuckets {
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final BigDecimal THOUSAND = new BigDecimal("1000");
+    private static final BigDecimal TEN_THOUSAND = new BigDecimal("10000");
+    private static final BigDecimal HUNDRED_THOUSAND = new BigDecimal("100000");
+
+    private AmountBuckets() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static String of(BigDecimal amount) {
+        if (amount == null) {
+            return "none";
+        }
+        if (amount.compareTo(HUNDRED) < 0) {
+            return "<100";
+        }
+        if (amount.compareTo(THOUSAND) < 0) {
+            return "100-1k";
+        }
+        if (amount.compareTo(TEN_THOUSAND) < 0) {
+            return "1k-10k";
+        }
+        if (amount.compareTo(HUNDRED_THOUSAND) < 0) {
+            return "10k-100k";
+        }
+        return ">=100k";
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bank.Deposit")
+@Label("Deposit")
+@Description("A deposit into an account")
+public final class DepositEvent extends AccountOperationEvent {
+}
@@ -0,0 +1,11 @@
+package com.bank.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bank.Interest")
+@Label("Interest")
+@Description("Interest credited to an account, bucketed by the interest amount")
+public final class InterestEvent extends AccountOperationEvent {
+}
@@ -0,0 +1,35 @@
+package com.bank.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.bank.RepositoryQuery")
+@Label("Repository Query")
+@Description("A scanning query against an in-memory repository")
+@Category({"Banking", "Repository"})
+@Enabled(false)
+@StackTrace(false)
+public final class RepositoryQueryEvent extends Event {
+    @Label("Query")
+    public String query;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Result Count")
+    public int resultCount;
+
+    public void complete(String query, String key, int resultCount) {
+        if (shouldCommit()) {
+            this.query = query;
+            this.key = key;
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bank.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * {@code accountId} is the source account.
+ */
+@Name("com.bank.Transfer")
+@Label("Transfer")
+@Description("A transfer between two accounts")
+public final class TransferEvent extends AccountOperationEvent {
+    @Label("Destination Account ID")
+    public String toAccountId;
+}
@@ -0,0 +1,11 @@
+package com.bank.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bank.Withdraw")
+@Label("Withdraw")
+@Description("A withdrawal from an account")
+public final class WithdrawEvent extends AccountOperationEvent {
+}
@@ -0,0 +1,196 @@
+package com.bank.loadtest;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings for a load-test run.
+ * Built either with {@link Builder} or from command-line flags via {@link #fromArgs}.
+ */
+public final class LoadTestConfig {
+    public static final String FLAG = "--loadtest";
+
+    private final int customers;
+    private final int accounts;
+    private final int threads;
+    private final Duration duration;
+    private final double skew;
+    private final long seed;
+    private final Map<OperationType, Integer> mix;
+
+    private LoadTestConfig(Builder builder) {
+        this.customers = builder.customers;
+        this.accounts = builder.accounts;
+        this.threads = builder.threads;
+        this.duration = builder.duration;
+        this.skew = builder.skew;
+        this.seed = builder.seed;
+        this.mix = Collections.unmodifiableMap(new EnumMap<>(builder.mix));
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public int getAccounts() {
+        return accounts;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Map<OperationType, Integer> getMix() {
+        return mix;
+    }
+
+    /**
+     * Parses {@code --customers=N --accounts=M --threads=T --duration=SECONDS --skew=S --seed=L
+     * --mix=deposit:35,withdraw:25,transfer:30,history:9,interest:1}; unknown flags are ignored.
+     */
+    public static LoadTestConfig fromArgs(String[] args) {
+        Builder builder = new Builder();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                continue;
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "customers":
+                    builder.customers(Integer.parseInt(value));
+                    break;
+                case "accounts":
+                    builder.accounts(Integer.parseInt(value));
+                    break;
+                case "threads":
+                    builder.threads(Integer.parseInt(value));
+                    break;
+                case "duration":
+                    builder.duration(Duration.ofSeconds(Long.parseLong(value)));
+                    break;
+                case "skew":
+                    builder.skew(Double.parseDouble(value));
+                    break;
+                case "seed":
+                    builder.seed(Long.parseLong(value));
+                    break;
+                case "mix":
+                    for (String entry : value.split(",")) {
+                        String[] parts = entry.split(":");
+                        if (parts.length != 2) {
+                            throw new IllegalArgumentException("Mix entries must look like deposit:40");
+                        }
+                        builder.weight(OperationType.fromLabel(parts[0]), Integer.parseInt(parts[1].trim()));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return builder.build();
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (FLAG.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static class Builder {
+        private int customers = 1_000;
+        private int accounts = 2_000;
+        private int threads = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+        private Duration duration = Duration.ofSeconds(30);
+        private double skew = 1.0;
+        private long seed = 42L;
+        private final Map<OperationType, Integer> mix = new EnumMap<>(OperationType.class);
+
+        public Builder() {
+            mix.put(OperationType.DEPOSIT, 35);
+            mix.put(OperationType.WITHDRAW, 25);
+            mix.put(OperationType.TRANSFER, 30);
+            mix.put(OperationType.HISTORY, 9);
+            mix.put(OperationType.INTEREST, 1);
+        }
+
+        public Builder customers(int customers) {
+            this.customers = customers;
+            return this;
+        }
+
+        public Builder accounts(int accounts) {
+            this.accounts = accounts;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder skew(double skew) {
+            this.skew = skew;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder weight(OperationType type, int weight) {
+            this.mix.put(type, weight);
+            return this;
+        }
+
+        public LoadTestConfig build() {
+            if (customers <= 0) {
+                throw new IllegalArgumentException("Customer count must be positive");
+            }
+            if (accounts < 2) {
+                throw new IllegalArgumentException("At least two accounts are needed for transfers");
+            }
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Thread count must be positive");
+            }
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("Duration must be positive");
+            }
+            int totalWeight = 0;
+            for (int weight : mix.values()) {
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Operation weights cannot be negative");
+                }
+                totalWeight += weight;
+            }
+            if (totalWeight == 0) {
+                throw new IllegalArgumentException("Operation mix must have a positive weight");
+            }
+            return new LoadTestConfig(this);
+        }
+    }
+}
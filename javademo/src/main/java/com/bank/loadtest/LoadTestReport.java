@@ -0,0 +1,140 @@
+package com.bank.loadtest;
+
+import com.bank.metrics.AccountContention;
+import com.bank.metrics.LatencyHistogram;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput, latency percentiles and invariant results of a load-test run.
+ */
+public final class LoadTestReport {
+    private final LoadTestConfig config;
+    private final long elapsedNanos;
+    private final long[] completed;
+    private final long[] declined;
+    private final long[] failed;
+    private final LatencyHistogram.Snapshot[] latencies;
+    private final List<AccountContention> hotAccounts;
+    private final List<Invariant> invariants = new ArrayList<>();
+
+    LoadTestReport(LoadTestConfig config, long elapsedNanos, long[] completed, long[] declined, long[] failed,
+                   Map<OperationType, LatencyHistogram> latencies, List<AccountContention> hotAccounts) {
+        this.config = config;
+        this.elapsedNanos = elapsedNanos;
+        this.completed = completed;
+        this.declined = declined;
+        this.failed = failed;
+        this.hotAccounts = hotAccounts;
+        this.latencies = new LatencyHistogram.Snapshot[OperationType.values().length];
+        for (Map.Entry<OperationType, LatencyHistogram> entry : latencies.entrySet()) {
+            this.latencies[entry.getKey().ordinal()] = entry.getValue().snapshot();
+        }
+    }
+
+    void addInvariant(String name, boolean held, String detail) {
+        invariants.add(new Invariant(name, held, detail));
+    }
+
+    public long getTotalOperations() {
+        long total = 0;
+        for (int i = 0; i < completed.length; i++) {
+            total += completed[i] + declined[i] + failed[i];
+        }
+        return total;
+    }
+
+    public long getCompleted(OperationType type) {
+        return completed[type.ordinal()];
+    }
+
+    public long getDeclined(OperationType type) {
+        return declined[type.ordinal()];
+    }
+
+    public double getThroughputPerSecond() {
+        return getTotalOperations() * 1_000_000_000.0 / Math.max(1, elapsedNanos);
+    }
+
+    public LatencyHistogram.Snapshot getLatency(OperationType type) {
+        return latencies[type.ordinal()];
+    }
+
+    /**
+     * Accounts with the most lock wait during the run, hottest first.
+     */
+    public List<AccountContention> getHotAccounts() {
+        return Collections.unmodifiableList(hotAccounts);
+    }
+
+    public List<Invariant> getInvariants() {
+        return Collections.unmodifiableList(invariants);
+    }
+
+    public boolean invariantsHold() {
+        for (Invariant invariant : invariants) {
+            if (!invariant.isHeld()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Load test: %d threads, %.1fs, %d customers, %d accounts, skew %.2f%n",
+            config.getThreads(), elapsedNanos / 1e9, config.getCustomers(), config.getAccounts(), config.getSkew());
+        out.printf(Locale.ROOT, "Operations: %d (%.1f ops/s)%n%n", getTotalOperations(), getThroughputPerSecond());
+        out.printf(Locale.ROOT, "%-10s %10s %10s %8s %10s %10s %10s %10s%n",
+            "operation", "completed", "declined", "errors", "p50 us", "p99 us", "p999 us", "max us");
+        for (OperationType type : OperationType.values()) {
+            LatencyHistogram.Snapshot latency = latencies[type.ordinal()];
+            out.printf(Locale.ROOT, "%-10s %10d %10d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                type.label(), completed[type.ordinal()], declined[type.ordinal()], failed[type.ordinal()],
+                latency.getValueAtQuantile(0.5) / 1e3, latency.getValueAtQuantile(0.99) / 1e3,
+                latency.getValueAtQuantile(0.999) / 1e3, latency.getMax() / 1e3);
+        }
+        out.println();
+        out.println("Top contended accounts:");
+        for (AccountContention account : hotAccounts) {
+            out.printf(Locale.ROOT, "  %-16s %10d ops %10d contended %12.1f ms waiting%n", account.getAccountId(),
+                account.getOperations(), account.getContendedAcquisitions(), account.getWaitNanos() / 1e6);
+        }
+        out.println();
+        out.println("Invariants:");
+        for (Invariant invariant : invariants) {
+            out.printf("  %-22s %s (%s)%n", invariant.getName(), invariant.isHeld() ? "OK" : "FAILED",
+                invariant.getDetail());
+        }
+    }
+
+    /**
+     * Outcome of one consistency check.
+     */
+    public static final class Invariant {
+        private final String name;
+        private final boolean held;
+        private final String detail;
+
+        Invariant(String name, boolean held, String detail) {
+            this.name = name;
+            this.held = held;
+            this.detail = detail;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHeld() {
+            return held;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+    }
+}
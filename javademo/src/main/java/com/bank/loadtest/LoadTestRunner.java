@@ -0,0 +1,285 @@
+package com.bank.loadtest;
+
+import com.bank.metrics.ContentionTracker;
+import com.bank.metrics.LatencyHistogram;
+import com.bank.metrics.Metrics;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.Customer;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.CustomerRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.CustomerService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Seeds an isolated set of repositories and drives the configured operation
+ * mix against them from many threads, then checks the books still balance.
+ */
+public final class LoadTestRunner {
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("10000.00");
+    private static final long MIN_AMOUNT_CENTS = 100;
+    private static final long MAX_AMOUNT_CENTS = 50_000;
+    private static final AccountType[] ACCOUNT_TYPES = {AccountType.CHECKING, AccountType.SAVINGS};
+    private static final int REPORTED_HOT_ACCOUNTS = 5;
+
+    private final LoadTestConfig config;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final CustomerService customerService;
+
+    public LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.accountRepository = new AccountRepository();
+        this.transactionRepository = new TransactionRepository();
+        ValidationService validationService = new ValidationService();
+        this.transactionService = new TransactionService(transactionRepository);
+        this.accountService = new AccountService(accountRepository, transactionService, validationService);
+        this.customerService = new CustomerService(new CustomerRepository(), validationService);
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        // Audit output at this rate would measure the console, not the services
+        Logger bankLogger = Logger.getLogger("com.bank");
+        Level previousLevel = bankLogger.getLevel();
+        bankLogger.setLevel(Level.WARNING);
+        try {
+            return execute();
+        } finally {
+            bankLogger.setLevel(previousLevel);
+        }
+    }
+
+    private LoadTestReport execute() throws InterruptedException {
+        String[] accountIds = seed();
+        BigDecimal openingTotal = totalBalance();
+        long seededTransactions = transactionRepository.count();
+        ContentionTracker contention = Metrics.getDefault().contention();
+        contention.reset();
+
+        ZipfDistribution hotAccounts = new ZipfDistribution(accountIds.length, config.getSkew(), config.getSeed());
+        OperationType[] operations = OperationType.values();
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (OperationType type : operations) {
+            totalWeight += config.getMix().getOrDefault(type, 0);
+            cumulativeWeights[type.ordinal()] = totalWeight;
+        }
+        Map<OperationType, LatencyHistogram> latencies = new EnumMap<>(OperationType.class);
+        for (OperationType type : operations) {
+            latencies.put(type, new LatencyHistogram("loadtest." + type.label()));
+        }
+
+        CountDownLatch startGate = new CountDownLatch(1);
+        long durationNanos = config.getDuration().toNanos();
+        List<Worker> workers = new ArrayList<>(config.getThreads());
+        List<Thread> threads = new ArrayList<>(config.getThreads());
+        for (int i = 0; i < config.getThreads(); i++) {
+            Worker worker = new Worker(new SplittableRandom(config.getSeed() + i), accountIds, hotAccounts,
+                cumulativeWeights, totalWeight, latencies, startGate, durationNanos);
+            Thread thread = new Thread(worker, "loadtest-" + i);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+
+        long started = System.nanoTime();
+        startGate.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+
+        long[] completed = new long[operations.length];
+        long[] declined = new long[operations.length];
+        long[] failed = new long[operations.length];
+        BigDecimal netFlow = BigDecimal.ZERO;
+        long transactionsWritten = 0;
+        for (Worker worker : workers) {
+            for (int i = 0; i < operations.length; i++) {
+                completed[i] += worker.completed[i];
+                declined[i] += worker.declined[i];
+                failed[i] += worker.failed[i];
+            }
+            netFlow = netFlow.add(worker.netFlow);
+            transactionsWritten += worker.transactionsWritten;
+        }
+
+        LoadTestReport report = new LoadTestReport(config, elapsedNanos, completed, declined, failed, latencies,
+            contention.top(REPORTED_HOT_ACCOUNTS));
+        BigDecimal expectedTotal = openingTotal.add(netFlow);
+        BigDecimal actualTotal = totalBalance();
+        report.addInvariant("money conservation", expectedTotal.compareTo(actualTotal) == 0,
+            "expected " + expectedTotal.toPlainString() + ", actual " + actualTotal.toPlainString());
+        long negative = accountRepository.findAll().stream()
+            .filter(account -> account.getBalance().signum() < 0)
+            .count();
+        report.addInvariant("non-negative balances", negative == 0, negative + " negative accounts");
+        long expectedTransactions = seededTransactions + transactionsWritten;
+        report.addInvariant("transaction log", transactionRepository.count() == expectedTransactions,
+            "expected " + expectedTransactions + ", recorded " + transactionRepository.count());
+        long unexpected = 0;
+        for (long count : failed) {
+            unexpected += count;
+        }
+        report.addInvariant("no unexpected errors", unexpected == 0, unexpected + " operations threw");
+        return report;
+    }
+
+    private String[] seed() {
+        Customer[] customers = new Customer[config.getCustomers()];
+        for (int i = 0; i < customers.length; i++) {
+            customers[i] = customerService.createCustomer("Load", "Customer" + i,
+                "loadtest" + i + "@example.com", "555" + (1_000_000 + i), LocalDate.of(1980, 1, 1), null);
+        }
+        String[] accountIds = new String[config.getAccounts()];
+        for (int i = 0; i < accountIds.length; i++) {
+            Account account = accountService.createAccount(customers[i % customers.length].getCustomerId(),
+                ACCOUNT_TYPES[i % ACCOUNT_TYPES.length], OPENING_BALANCE);
+            accountIds[i] = account.getAccountId();
+        }
+        return accountIds;
+    }
+
+    private BigDecimal totalBalance() {
+        return accountRepository.findAll().stream()
+            .map(Account::getBalance)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private final class Worker implements Runnable {
+        private final SplittableRandom random;
+        private final String[] accountIds;
+        private final ZipfDistribution hotAccounts;
+        private final int[] cumulativeWeights;
+        private final int totalWeight;
+        private final LatencyHistogram[] latencies;
+        private final CountDownLatch startGate;
+        private final long durationNanos;
+
+        private final long[] completed = new long[OperationType.values().length];
+        private final long[] declined = new long[OperationType.values().length];
+        private final long[] failed = new long[OperationType.values().length];
+        private BigDecimal netFlow = BigDecimal.ZERO;
+        private long transactionsWritten;
+
+        Worker(SplittableRandom random, String[] accountIds, ZipfDistribution hotAccounts,
+               int[] cumulativeWeights, int totalWeight, Map<OperationType, LatencyHistogram> latencies,
+               CountDownLatch startGate, long durationNanos) {
+            this.random = random;
+            this.accountIds = accountIds;
+            this.hotAccounts = hotAccounts;
+            this.cumulativeWeights = cumulativeWeights;
+            this.totalWeight = totalWeight;
+            this.latencies = latencies.values().toArray(new LatencyHistogram[0]);
+            this.startGate = startGate;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        public void run() {
+            try {
+                startGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long deadline = System.nanoTime() + durationNanos;
+            long now;
+            while ((now = System.nanoTime()) < deadline) {
+                OperationType type = nextOperation();
+                try {
+                    if (execute(type)) {
+                        completed[type.ordinal()]++;
+                    } else {
+                        declined[type.ordinal()]++;
+                    }
+                } catch (RuntimeException e) {
+                    failed[type.ordinal()]++;
+                }
+                latencies[type.ordinal()].record(System.nanoTime() - now);
+            }
+        }
+
+        private OperationType nextOperation() {
+            int pick = random.nextInt(totalWeight);
+            OperationType[] types = OperationType.values();
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return types[i];
+                }
+            }
+            return types[types.length - 1];
+        }
+
+        private boolean execute(OperationType type) {
+            switch (type) {
+                case DEPOSIT: {
+                    BigDecimal amount = nextAmount();
+                    accountService.deposit(accountIds[hotAccounts.sample(random)], amount, "Load test deposit");
+                    netFlow = netFlow.add(amount);
+                    transactionsWritten++;
+                    return true;
+                }
+                case WITHDRAW: {
+                    BigDecimal amount = nextAmount();
+                    TransactionOutcome outcome = accountService.tryWithdraw(
+                        accountIds[hotAccounts.sample(random)], amount, "Load test withdrawal");
+                    if (!outcome.isSuccess()) {
+                        return false;
+                    }
+                    netFlow = netFlow.subtract(amount);
+                    transactionsWritten++;
+                    return true;
+                }
+                case TRANSFER: {
+                    int from = hotAccounts.sample(random);
+                    int to = hotAccounts.sample(random);
+                    if (to == from) {
+                        to = (from + 1 + random.nextInt(accountIds.length - 1)) % accountIds.length;
+                    }
+                    TransactionOutcome outcome = accountService.tryTransfer(
+                        accountIds[from], accountIds[to], nextAmount());
+                    if (!outcome.isSuccess()) {
+                        return false;
+                    }
+                    transactionsWritten += 2;
+                    return true;
+                }
+                case HISTORY:
+                    transactionService.getAccountTransactions(accountIds[hotAccounts.sample(random)]);
+                    return true;
+                case INTEREST: {
+                    // Interest runs sweep the book rather than follow the hot set
+                    BigDecimal interest = accountService.applyInterest(accountIds[random.nextInt(accountIds.length)]);
+                    if (interest.signum() > 0) {
+                        netFlow = netFlow.add(interest);
+                        transactionsWritten++;
+                    }
+                    return true;
+                }
+                default:
+                    throw new IllegalStateException("Unhandled operation " + type);
+            }
+        }
+
+        private BigDecimal nextAmount() {
+            return BigDecimal.valueOf(random.nextLong(MIN_AMOUNT_CENTS, MAX_AMOUNT_CENTS + 1), 2);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Operations the load generator can issue.
+ */
+public enum OperationType {
+    DEPOSIT,
+    WITHDRAW,
+    TRANSFER,
+    HISTORY,
+    INTEREST;
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static OperationType fromLabel(String label) {
+        for (OperationType type : values()) {
+            if (type.label().equals(label.trim().toLowerCase(Locale.ROOT))) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples indexes in {@code [0, size)} with probability proportional to
+ * {@code 1 / rank^exponent}, so a few hot accounts receive most of the traffic.
+ * An exponent of zero gives a uniform distribution. Ranks are shuffled once so
+ * the hot set is not simply the first accounts created.
+ */
+public final class ZipfDistribution {
+    private final double[] cumulative;
+    private final int[] indexByRank;
+
+    public ZipfDistribution(int size, double exponent, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent cannot be negative");
+        }
+        this.cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        cumulative[size - 1] = 1.0;
+
+        this.indexByRank = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexByRank[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexByRank[i];
+            indexByRank[i] = indexByRank[j];
+            indexByRank[j] = swap;
+        }
+    }
+
+    public int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return indexByRank[Math.min(rank, indexByRank.length - 1)];
+    }
+
+    public int size() {
+        return indexByRank.length;
+    }
+}
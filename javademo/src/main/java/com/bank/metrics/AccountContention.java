@@ -0,0 +1,53 @@
+package com.bank.metrics;
+
+/**
+ * Lock statistics for one account as estimated by the contention sketch.
+ * {@code operations} may overcount by up to {@code operationsError}; wait time
+ * and contended acquisitions cover the period the account was tracked.
+ */
+public final class AccountContention {
+    private final String accountId;
+    private final long operations;
+    private final long operationsError;
+    private final long contendedAcquisitions;
+    private final long waitNanos;
+
+    public AccountContention(String accountId, long operations, long operationsError,
+                             long contendedAcquisitions, long waitNanos) {
+        this.accountId = accountId;
+        this.operations = operations;
+        this.operationsError = operationsError;
+        this.contendedAcquisitions = contendedAcquisitions;
+        this.waitNanos = waitNanos;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public long getOperationsError() {
+        return operationsError;
+    }
+
+    public long getContendedAcquisitions() {
+        return contendedAcquisitions;
+    }
+
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountContention{" +
+                "accountId='" + accountId + '\'' +
+                ", operations=" + operations +
+                ", contendedAcquisitions=" + contendedAcquisitions +
+                ", waitNanos=" + waitNanos +
+                '}';
+    }
+}
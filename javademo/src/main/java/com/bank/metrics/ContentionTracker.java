@@ -0,0 +1,105 @@
+package com.bank.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Finds the accounts whose locks are hottest.
+ * Every lock acquisition is recorded into a small per-thread
+ * {@link HeavyHitters} sketch, so the tracker adds no shared write traffic
+ * of its own; reports merge the thread sketches on demand.
+ */
+public final class ContentionTracker {
+    public static final int DEFAULT_CAPACITY = 128;
+
+    private static final Comparator<AccountContention> BY_WAIT = Comparator
+        .comparingLong(AccountContention::getWaitNanos)
+        .thenComparingLong(AccountContention::getContendedAcquisitions)
+        .thenComparingLong(AccountContention::getOperations)
+        .reversed();
+
+    private final int capacity;
+    private final ThreadLocal<ThreadSketch> local;
+    private final List<ThreadSketch> sketches = new CopyOnWriteArrayList<>();
+    private final HeavyHitters retired;
+
+    public ContentionTracker() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ContentionTracker(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.retired = new HeavyHitters(capacity);
+        this.local = ThreadLocal.withInitial(() -> {
+            ThreadSketch sketch = new ThreadSketch(Thread.currentThread(), new HeavyHitters(capacity));
+            sketches.add(sketch);
+            return sketch;
+        });
+    }
+
+    /**
+     * Records one lock acquisition for an account; {@code waitNanos} is zero when the lock was free.
+     */
+    public void record(String accountId, boolean contended, long waitNanos) {
+        ThreadSketch sketch = local.get();
+        synchronized (sketch) {
+            sketch.hitters.add(accountId, 1, contended ? 1 : 0, waitNanos);
+        }
+    }
+
+    /**
+     * Accounts ranked by total lock wait, then contended acquisitions, then operations.
+     */
+    public List<AccountContention> top(int limit) {
+        HeavyHitters merged = new HeavyHitters(capacity * 4);
+        synchronized (retired) {
+            // Fold sketches of finished threads into one so short-lived threads do not accumulate
+            List<ThreadSketch> finished = new ArrayList<>();
+            for (ThreadSketch sketch : sketches) {
+                if (!sketch.thread.isAlive()) {
+                    synchronized (sketch) {
+                        retired.addAll(sketch.hitters);
+                    }
+                    finished.add(sketch);
+                }
+            }
+            sketches.removeAll(finished);
+            merged.addAll(retired);
+            for (ThreadSketch sketch : sketches) {
+                synchronized (sketch) {
+                    merged.addAll(sketch.hitters);
+                }
+            }
+        }
+        List<AccountContention> ranked = merged.entries();
+        Collections.sort(ranked, BY_WAIT);
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    public void reset() {
+        synchronized (retired) {
+            retired.clear();
+            for (ThreadSketch sketch : sketches) {
+                synchronized (sketch) {
+                    sketch.hitters.clear();
+                }
+            }
+        }
+    }
+
+    private static final class ThreadSketch {
+        private final Thread thread;
+        private final HeavyHitters hitters;
+
+        ThreadSketch(Thread thread, HeavyHitters hitters) {
+            this.thread = thread;
+            this.hitters = hitters;
+        }
+    }
+}
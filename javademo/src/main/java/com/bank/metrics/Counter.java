@@ -0,0 +1,32 @@
+package com.bank.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event counter backed by a {@link LongAdder}.
+ */
+public final class Counter {
+    private final String name;
+    private final LongAdder value;
+
+    public Counter(String name) {
+        this.name = name;
+        this.value = new LongAdder();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
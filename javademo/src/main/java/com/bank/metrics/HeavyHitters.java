@@ -0,0 +1,184 @@
+package com.bank.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-k sketch over string keys.
+ * At most {@code capacity} keys are tracked. A new key displaces the key with
+ * the lowest count and inherits that count as its error bound, so any key seen
+ * more than {@code total / capacity} times is guaranteed to be present. Each
+ * entry also accumulates lock wait time and contended acquisitions.
+ *
+ * <p>Entries sit in buckets of equal count kept in ascending order (the
+ * stream-summary layout), so the lowest count is always at the head and a
+ * single-step increment or a displacement costs O(1). Larger increments, which
+ * only come from merging sketches, walk forward to their bucket.
+ * Not thread-safe; {@link ContentionTracker} gives each thread its own.
+ */
+final class HeavyHitters {
+    private final int capacity;
+    private final Map<String, Entry> entries;
+    // bucket with the lowest count; null when empty
+    private Bucket smallest;
+
+    HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    void add(String key, long operations, long contended, long waitNanos) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = admit(key, operations);
+        } else {
+            increment(entry, operations);
+        }
+        entry.contended += contended;
+        entry.waitNanos += waitNanos;
+    }
+
+    void addAll(HeavyHitters other) {
+        for (Entry entry : other.entries.values()) {
+            long operations = entry.bucket.count;
+            Entry merged = entries.get(entry.key);
+            if (merged == null) {
+                merged = admit(entry.key, operations);
+            } else {
+                increment(merged, operations);
+            }
+            merged.error += entry.error;
+            merged.contended += entry.contended;
+            merged.waitNanos += entry.waitNanos;
+        }
+    }
+
+    List<AccountContention> entries() {
+        List<AccountContention> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            result.add(new AccountContention(entry.key, entry.bucket.count, entry.error,
+                entry.contended, entry.waitNanos));
+        }
+        return result;
+    }
+
+    void clear() {
+        entries.clear();
+        smallest = null;
+    }
+
+    private Entry admit(String key, long operations) {
+        Entry entry;
+        if (entries.size() >= capacity) {
+            // reuse the displaced entry; its count becomes the newcomer's error bound
+            entry = smallest.head;
+            entries.remove(entry.key);
+            entry.key = key;
+            entry.error = smallest.count;
+            entry.contended = 0;
+            entry.waitNanos = 0;
+            increment(entry, operations);
+        } else {
+            entry = new Entry(key);
+            link(entry, null, operations);
+        }
+        entries.put(key, entry);
+        return entry;
+    }
+
+    private void increment(Entry entry, long operations) {
+        if (operations == 0) {
+            return;
+        }
+        Bucket bucket = entry.bucket;
+        long count = bucket.count + operations;
+        if (entry.prev == null && entry.next == null && (bucket.next == null || bucket.next.count > count)) {
+            // alone in its bucket and no bucket in between: move the bucket instead
+            bucket.count = count;
+            return;
+        }
+        Entry prev = entry.prev;
+        Entry next = entry.next;
+        link(entry, bucket, count);
+        if (prev != null) {
+            prev.next = next;
+        } else {
+            bucket.head = next;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        if (bucket.head == null) {
+            unlink(bucket);
+        }
+    }
+
+    // Puts entry at the head of the bucket for count, searching from after start (from the smallest when null)
+    private void link(Entry entry, Bucket start, long count) {
+        Bucket before = start;
+        Bucket after = start == null ? smallest : start.next;
+        while (after != null && after.count < count) {
+            before = after;
+            after = after.next;
+        }
+        Bucket bucket = after;
+        if (bucket == null || bucket.count != count) {
+            bucket = new Bucket(count);
+            bucket.prev = before;
+            bucket.next = after;
+            if (before == null) {
+                smallest = bucket;
+            } else {
+                before.next = bucket;
+            }
+            if (after != null) {
+                after.prev = bucket;
+            }
+        }
+        entry.bucket = bucket;
+        entry.prev = null;
+        entry.next = bucket.head;
+        if (bucket.head != null) {
+            bucket.head.prev = entry;
+        }
+        bucket.head = entry;
+    }
+
+    private void unlink(Bucket bucket) {
+        if (bucket.prev == null) {
+            smallest = bucket.next;
+        } else {
+            bucket.prev.next = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        }
+    }
+
+    private static final class Bucket {
+        private long count;
+        private Bucket prev;
+        private Bucket next;
+        private Entry head;
+
+        Bucket(long count) {
+            this.count = count;
+        }
+    }
+
+    private static final class Entry {
+        private String key;
+        private Bucket bucket;
+        private Entry prev;
+        private Entry next;
+        private long error;
+        private long contended;
+        private long waitNanos;
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+}
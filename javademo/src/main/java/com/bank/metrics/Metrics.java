@@ -0,0 +1,48 @@
+package com.bank.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Holder for the process-wide {@link MetricsRegistry}, which is also
+ * published over JMX as {@code com.bank:type=Metrics}.
+ */
+public final class Metrics {
+    public static final String OBJECT_NAME = "com.bank:type=Metrics";
+
+    private static final Logger LOGGER = Logger.getLogger(Metrics.class.getName());
+    private static volatile MetricsRegistry defaultRegistry = register(new MetricsRegistry());
+
+    private Metrics() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static MetricsRegistry getDefault() {
+        return defaultRegistry;
+    }
+
+    public static void setDefault(MetricsRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Metrics registry cannot be null");
+        }
+        defaultRegistry = register(registry);
+    }
+
+    private static MetricsRegistry register(MetricsRegistry registry) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(registry, name);
+        } catch (JMException | SecurityException e) {
+            LOGGER.log(Level.WARNING, "Could not register metrics MBean", e);
+        }
+        return registry;
+    }
+}
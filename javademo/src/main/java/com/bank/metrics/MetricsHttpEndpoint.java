@@ -0,0 +1,32 @@
+package com.bank.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Minimal HTTP server exposing {@code GET /metrics} for a registry.
+ */
+public final class MetricsHttpEndpoint implements AutoCloseable {
+    private final HttpServer server;
+
+    private MetricsHttpEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    public static MetricsHttpEndpoint start(InetSocketAddress address, MetricsRegistry registry) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext("/metrics", new MetricsHandler(registry));
+        server.start();
+        return new MetricsHttpEndpoint(server);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of a {@link MetricsRegistry}, registered as {@code com.bank:type=Metrics}.
+ */
+public interface MetricsMXBean {
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+
+    Map<String, Long> getHistogramCounts();
+
+    long getLatencyNanos(String histogram, double quantile);
+
+    List<AccountContention> getTopContendedAccounts();
+
+    String getSnapshot();
+}
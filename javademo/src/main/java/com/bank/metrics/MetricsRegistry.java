@@ -0,0 +1,125 @@
+package com.bank.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Named histograms, counters and gauges.
+ * Callers look metrics up once and keep the reference; the registry is only
+ * on the read path for snapshots.
+ */
+public final class MetricsRegistry implements MetricsMXBean {
+    private static final double[] SNAPSHOT_QUANTILES = {0.5, 0.99, 0.999};
+    private static final int SNAPSHOT_CONTENDED_ACCOUNTS = 10;
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final ContentionTracker contention = new ContentionTracker();
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Per-account lock statistics fed by the account services using this registry.
+     */
+    public ContentionTracker contention() {
+        return contention;
+    }
+
+    @Override
+    public List<AccountContention> getTopContendedAccounts() {
+        return contention.top(SNAPSHOT_CONTENDED_ACCOUNTS);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getHistogramCounts() {
+        Map<String, Long> values = new TreeMap<>();
+        histograms.forEach((name, histogram) -> values.put(name, histogram.snapshot().getCount()));
+        return values;
+    }
+
+    @Override
+    public long getLatencyNanos(String histogram, double quantile) {
+        LatencyHistogram found = histograms.get(histogram);
+        return found == null ? 0 : found.snapshot().getValueAtQuantile(quantile);
+    }
+
+    @Override
+    public String getSnapshot() {
+        StringBuilder out = new StringBuilder(4096);
+        try {
+            writeSnapshot(out);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes every metric as plain text, one sample per line:
+     * {@code name value} for counters and gauges, and
+     * {@code name{quantile="0.99"} nanos} plus {@code name_count} for histograms, and
+     * {@code contention_*{account="id"}} lines for the most contended accounts.
+     */
+    public void writeSnapshot(Appendable out) throws IOException {
+        for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+            out.append(counter.getKey()).append(' ').append(Long.toString(counter.getValue())).append('\n');
+        }
+        for (Map.Entry<String, Long> gauge : getGauges().entrySet()) {
+            out.append(gauge.getKey()).append(' ').append(Long.toString(gauge.getValue())).append('\n');
+        }
+        Map<String, LatencyHistogram> sorted = new TreeMap<>(histograms);
+        for (LatencyHistogram histogram : sorted.values()) {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            out.append(histogram.getName()).append("_count ")
+                .append(Long.toString(snapshot.getCount())).append('\n');
+            for (double quantile : SNAPSHOT_QUANTILES) {
+                out.append(histogram.getName()).append("_nanos{quantile=\"")
+                    .append(Double.toString(quantile)).append("\"} ")
+                    .append(Long.toString(snapshot.getValueAtQuantile(quantile))).append('\n');
+            }
+            out.append(histogram.getName()).append("_nanos{quantile=\"max\"} ")
+                .append(Long.toString(snapshot.getMax())).append('\n');
+        }
+        for (AccountContention account : getTopContendedAccounts()) {
+            appendContention(out, "contention_wait_nanos", account, account.getWaitNanos());
+            appendContention(out, "contention_contended", account, account.getContendedAcquisitions());
+            appendContention(out, "contention_operations", account, account.getOperations());
+        }
+    }
+
+    private static void appendContention(Appendable out, String name, AccountContention account, long value)
+            throws IOException {
+        out.append(name).append("{account=\"").append(account.getAccountId()).append("\"} ")
+            .append(Long.toString(value)).append('\n');
+    }
+}
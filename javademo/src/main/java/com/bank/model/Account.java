@@ -1,9 +1,11 @@
 package com.bank.model;
 
+import com.bank.id.IdGenerators;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Represents a bank account in the system.
@@ -29,6 +31,23 @@ public class Account {
         this.isActive = builder.isActive;
     }
 
+    private Account(Account source) {
+        this.accountId = source.accountId;
+        this.customerId = source.customerId;
+        this.accountType = source.accountType;
+        this.balance = source.balance;
+        this.createdAt = source.createdAt;
+        this.lastModifiedAt = source.lastModifiedAt;
+        this.isActive = source.isActive;
+    }
+
+    /**
+     * Detached copy of the current state; later changes to either object do not affect the other.
+     */
+    public Account copy() {
+        return new Account(this);
+    }
+
     // Getters
     public String getAccountId() {
         return accountId;
@@ -60,14 +79,22 @@ public class Account {
 
     // Business methods
     public void deposit(BigDecimal amount) {
+        deposit(amount, Clocks.getDefault().now());
+    }
+
+    public void deposit(BigDecimal amount, LocalDateTime at) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
         this.balance = this.balance.add(amount);
-        this.lastModifiedAt = LocalDateTime.now();
+        touch(at);
     }
 
     public void withdraw(BigDecimal amount) {
+        withdraw(amount, Clocks.getDefault().now());
+    }
+
+    public void withdraw(BigDecimal amount, LocalDateTime at) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
@@ -75,17 +102,32 @@ public class Account {
             throw new IllegalStateException("Insufficient funds");
         }
         this.balance = this.balance.subtract(amount);
-        this.lastModifiedAt = LocalDateTime.now();
+        touch(at);
     }
 
     public void deactivate() {
+        deactivate(Clocks.getDefault().now());
+    }
+
+    public void deactivate(LocalDateTime at) {
         this.isActive = false;
-        this.lastModifiedAt = LocalDateTime.now();
+        touch(at);
     }
 
     public void activate() {
+        activate(Clocks.getDefault().now());
+    }
+
+    public void activate(LocalDateTime at) {
         this.isActive = true;
-        this.lastModifiedAt = LocalDateTime.now();
+        touch(at);
+    }
+
+    // Keeps lastModifiedAt monotonic even if the clock steps backwards
+    private void touch(LocalDateTime at) {
+        if (lastModifiedAt == null || at.isAfter(lastModifiedAt)) {
+            this.lastModifiedAt = at;
+        }
     }
 
     @Override
@@ -121,13 +163,21 @@ public class Account {
         private LocalDateTime createdAt;
         private LocalDateTime lastModifiedAt;
         private boolean isActive;
+        private Clock clock;
 
         public Builder() {
-            this.accountId = UUID.randomUUID().toString();
+            this.accountId = IdGenerators.getDefault().nextIdString();
             this.balance = BigDecimal.ZERO;
-            this.createdAt = LocalDateTime.now();
-            this.lastModifiedAt = LocalDateTime.now();
             this.isActive = true;
+            this.clock = Clocks.getDefault();
+        }
+
+        /**
+         * Clock for timestamps not set explicitly.
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
         }
 
         public Builder accountId(String accountId) {
@@ -172,6 +222,12 @@ public class Account {
             if (accountType == null) {
                 throw new IllegalStateException("Account type is required");
             }
+            if (createdAt == null) {
+                createdAt = clock.now();
+            }
+            if (lastModifiedAt == null) {
+                lastModifiedAt = createdAt;
+            }
             return new Account(this);
         }
     }
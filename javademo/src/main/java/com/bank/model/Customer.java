@@ -1,9 +1,11 @@
 package com.bank.model;
 
+import com.bank.id.IdGenerators;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 import java.util.regex.Pattern;
 
 /**
@@ -86,17 +88,31 @@ public class Customer {
     }
 
     public int getAge() {
-        return LocalDate.now().getYear() - dateOfBirth.getYear();
+        return Clocks.getDefault().now().getYear() - dateOfBirth.getYear();
     }
 
     public void deactivate() {
+        deactivate(Clocks.getDefault().now());
+    }
+
+    public void deactivate(LocalDateTime at) {
         this.isActive = false;
-        this.lastModifiedAt = LocalDateTime.now();
+        touch(at);
     }
 
     public void activate() {
+        activate(Clocks.getDefault().now());
+    }
+
+    public void activate(LocalDateTime at) {
         this.isActive = true;
-        this.lastModifiedAt = LocalDateTime.now();
+        touch(at);
+    }
+
+    private void touch(LocalDateTime at) {
+        if (lastModifiedAt == null || at.isAfter(lastModifiedAt)) {
+            this.lastModifiedAt = at;
+        }
     }
 
     @Override
@@ -134,12 +150,20 @@ public class Customer {
         private LocalDateTime createdAt;
         private LocalDateTime lastModifiedAt;
         private boolean isActive;
+        private Clock clock;
 
         public Builder() {
-            this.customerId = UUID.randomUUID().toString();
-            this.createdAt = LocalDateTime.now();
-            this.lastModifiedAt = LocalDateTime.now();
+            this.customerId = IdGenerators.getDefault().nextIdString();
             this.isActive = true;
+            this.clock = Clocks.getDefault();
+        }
+
+        /**
+         * Clock for the age check and for timestamps not set explicitly.
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
         }
 
         public Builder customerId(String customerId) {
@@ -193,11 +217,18 @@ public class Customer {
         }
 
         public Customer build() {
-            validateFields();
+            LocalDateTime now = clock.now();
+            validateFields(now.toLocalDate());
+            if (createdAt == null) {
+                createdAt = now;
+            }
+            if (lastModifiedAt == null) {
+                lastModifiedAt = createdAt;
+            }
             return new Customer(this);
         }
 
-        private void validateFields() {
+        private void validateFields(LocalDate today) {
             if (firstName == null || firstName.trim().isEmpty()) {
                 throw new IllegalStateException("First name is required");
             }
@@ -210,7 +241,7 @@ public class Customer {
             if (phoneNumber == null || !PHONE_PATTERN.matcher(phoneNumber).matches()) {
                 throw new IllegalStateException("Valid phone number is required");
             }
-            if (dateOfBirth == null || dateOfBirth.isAfter(LocalDate.now().minusYears(18))) {
+            if (dateOfBirth == null || dateOfBirth.isAfter(today.minusYears(18))) {
                 throw new IllegalStateException("Customer must be at least 18 years old");
             }
         }
@@ -1,8 +1,10 @@
 package com.bank.model;
+import com.bank.id.IdGenerators;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Represents a financial transaction in the banking system.
@@ -94,11 +96,20 @@ public final class Transaction {
         private String description;
         private LocalDateTime timestamp;
         private String referenceNumber;
+        private Clock clock;
 
         public Builder() {
-            this.transactionId = UUID.randomUUID().toString();
-            this.timestamp = LocalDateTime.now();
-            this.referenceNumber = "REF-" + System.currentTimeMillis();
+            this.transactionId = IdGenerators.getDefault().nextIdString();
+            this.referenceNumber = "REF-" + IdGenerators.getDefault().nextIdString();
+            this.clock = Clocks.getDefault();
+        }
+
+        /**
+         * Clock for the timestamp when none is set explicitly.
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
         }
 
         public Builder transactionId(String transactionId) {
@@ -151,6 +162,9 @@ public final class Transaction {
             if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
                 throw new IllegalStateException("Amount must be positive");
             }
+            if (timestamp == null) {
+                timestamp = clock.now();
+            }
             return new Transaction(this);
         }
     }
@@ -0,0 +1,14 @@
+package com.bank.replication;
+
+/**
+ * When a write on the primary may return relative to its standbys.
+ */
+public enum AckMode {
+    /** Return at once; standbys catch up in the background. */
+    ASYNC,
+    /**
+     * Wait until a standby has applied the change, for at most the ack timeout. After a
+     * timeout the primary runs asynchronously until a standby has caught up again.
+     */
+    SEMI_SYNC
+}
@@ -0,0 +1,16 @@
+package com.bank.replication;
+
+/**
+ * One encoded ledger change and the journal position it was written at.
+ */
+final class JournalRecord {
+    final long sequence;
+    final long writtenMillis;
+    final byte[] payload;
+
+    JournalRecord(long sequence, long writtenMillis, byte[] payload) {
+        this.sequence = sequence;
+        this.writtenMillis = writtenMillis;
+        this.payload = payload;
+    }
+}
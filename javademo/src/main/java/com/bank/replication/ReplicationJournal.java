@@ -0,0 +1,103 @@
+package com.bank.replication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory journal of ledger changes, numbered from 1. Keeps the newest
+ * {@code capacity} records; a standby that falls further behind is re-seeded from a copy.
+ *
+ * <p>Writers take a sequence from a counter and store their record in its ring slot without
+ * locking. A reader knows a slot is ready when it holds the sequence it expects, so records
+ * are read in order even when writers finish out of order. Writers only take the lock to wake
+ * a sender that is parked waiting for the next record.
+ */
+final class ReplicationJournal {
+    private final AtomicReferenceArray<JournalRecord> records;
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    // senders parked on appended; changed only under lock
+    private volatile int waiting;
+
+    ReplicationJournal(int capacity) {
+        this.records = new AtomicReferenceArray<>(capacity);
+    }
+
+    long append(byte[] payload) {
+        long sequence = lastSequence.incrementAndGet();
+        records.set(slot(sequence), new JournalRecord(sequence, System.currentTimeMillis(), payload));
+        if (waiting > 0) {
+            lock.lock();
+            try {
+                appended.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Highest sequence handed out; its record may still be on its way into the ring.
+     */
+    long getLastSequence() {
+        return lastSequence.get();
+    }
+
+    /**
+     * Up to {@code max} records from {@code from} on, waiting up to {@code waitMillis} for the
+     * first one. Returns an empty list if none arrived, or null if {@code from} is no longer kept.
+     */
+    List<JournalRecord> read(long from, int max, long waitMillis) throws InterruptedException {
+        if (!isWritten(from) && waitMillis > 0) {
+            awaitWritten(from, waitMillis);
+        }
+        List<JournalRecord> batch = new ArrayList<>();
+        for (long sequence = from; batch.size() < max; sequence++) {
+            JournalRecord record = records.get(slot(sequence));
+            if (record == null || record.sequence < sequence) {
+                break;
+            }
+            if (record.sequence > sequence) {
+                // overwritten by a newer lap of the ring
+                return batch.isEmpty() ? null : batch;
+            }
+            batch.add(record);
+        }
+        return batch;
+    }
+
+    private void awaitWritten(long sequence, long waitMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            // published before the re-check, so an append that misses it has already filled the slot
+            waiting++;
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+                while (!isWritten(sequence) && remaining > 0) {
+                    remaining = appended.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // True once the slot holds this record or a later lap's
+    private boolean isWritten(long sequence) {
+        JournalRecord record = records.get(slot(sequence));
+        return record != null && record.sequence >= sequence;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % records.length());
+    }
+}
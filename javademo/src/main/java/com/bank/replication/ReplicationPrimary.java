@@ -0,0 +1,391 @@
+package com.bank.replication;
+
+import com.bank.cdc.LedgerListener;
+import com.bank.metrics.Counter;
+import com.bank.metrics.Metrics;
+import com.bank.metrics.MetricsRegistry;
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.LedgerSnapshot;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.TransactionService;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ships every ledger change to hot standbys over TCP. Attached as the write path's
+ * {@link LedgerListener}, it numbers each account save and recorded transaction in a
+ * {@link ReplicationJournal}, with accounts saved together kept in one record; one sender thread per connected {@link ReplicationStandby}
+ * streams the journal in batches and reads back the standby's acks.
+ *
+ * <p>A standby that is new, was fed by another primary, or fell behind what the journal keeps
+ * is first sent a copy of the current accounts and in-memory transactions, then the journal
+ * from the point the copy was taken. Archived history is not copied.
+ *
+ * <p>With {@link AckMode#SEMI_SYNC} the writing thread waits in the listener, still holding
+ * its account lock, until a standby acks the change or the ack timeout passes.
+ */
+public final class ReplicationPrimary implements LedgerListener, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ReplicationPrimary.class.getName());
+
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ReplicationJournal journal;
+    private final AckMode ackMode;
+    private final long ackTimeoutMillis;
+    private final long heartbeatMillis;
+    private final int maxBatch;
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final Object ackMonitor = new Object();
+    private final Counter semiSyncTimeouts;
+    private volatile long acknowledged;
+    // set after a semi-sync timeout; writers stop waiting until a standby catches up
+    private volatile boolean degraded;
+    private volatile boolean running = true;
+
+    private ReplicationPrimary(Builder builder) throws IOException {
+        this.accountRepository = builder.accountRepository;
+        this.transactionRepository = builder.transactionRepository;
+        this.journal = new ReplicationJournal(builder.journalCapacity);
+        this.ackMode = builder.ackMode;
+        this.ackTimeoutMillis = builder.ackTimeout.toMillis();
+        this.heartbeatMillis = builder.heartbeatInterval.toMillis();
+        this.maxBatch = builder.maxBatch;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(builder.address);
+        MetricsRegistry metrics = builder.metrics;
+        this.semiSyncTimeouts = metrics.counter("replication.primary.semiSyncTimeouts");
+        metrics.gauge("replication.primary.standbys", connections::size);
+        metrics.gauge("replication.primary.lag.records", this::getLagRecords);
+        this.acceptor = new Thread(this::acceptLoop, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Registers this primary as a ledger listener of both write paths, alongside any others.
+     */
+    public ReplicationPrimary attachTo(AccountRepository accountRepository, TransactionService transactionService) {
+        accountRepository.addLedgerListener(this);
+        transactionService.addLedgerListener(this);
+        return this;
+    }
+
+    @Override
+    public void accountSaved(Account account) {
+        awaitAck(journal.append(ReplicationProtocol.encode(account)));
+    }
+
+    /**
+     * Journals the accounts as one record, so a standby applies them in one batch.
+     */
+    @Override
+    public void accountsSaved(Account... batch) {
+        awaitAck(journal.append(ReplicationProtocol.encode(batch)));
+    }
+
+    @Override
+    public void transactionRecorded(Transaction transaction) {
+        awaitAck(journal.append(ReplicationProtocol.encode(transaction)));
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getLastSequence() {
+        return journal.getLastSequence();
+    }
+
+    /**
+     * Highest sequence any connected standby has applied.
+     */
+    public long getAcknowledgedSequence() {
+        return acknowledged;
+    }
+
+    /**
+     * Journal records the most caught-up standby has yet to apply.
+     */
+    public long getLagRecords() {
+        return connections.isEmpty() ? 0 : Math.max(0, journal.getLastSequence() - acknowledged);
+    }
+
+    public int getStandbyCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing replication socket", e);
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        synchronized (ackMonitor) {
+            ackMonitor.notifyAll();
+        }
+    }
+
+    private void awaitAck(long sequence) {
+        if (ackMode != AckMode.SEMI_SYNC || degraded || connections.isEmpty()) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + ackTimeoutMillis;
+        synchronized (ackMonitor) {
+            long remaining = ackTimeoutMillis;
+            while (acknowledged < sequence && remaining > 0 && running) {
+                try {
+                    ackMonitor.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+        if (acknowledged < sequence && running) {
+            degraded = true;
+            semiSyncTimeouts.increment();
+            LOGGER.warning("No standby acked sequence " + sequence + " in time; replicating asynchronously");
+        }
+    }
+
+    private void acknowledge(long sequence) {
+        synchronized (ackMonitor) {
+            if (sequence > acknowledged) {
+                acknowledged = sequence;
+            }
+            if (degraded && acknowledged >= journal.getLastSequence()) {
+                degraded = false;
+            }
+            ackMonitor.notifyAll();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Connection connection = new Connection(socket);
+                Thread sender = new Thread(connection::run, "replication-sender-" + socket.getPort());
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.log(Level.WARNING, "Replication accept failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * One standby: this thread sends, a second one reads acks.
+     */
+    private final class Connection {
+        private final Socket socket;
+
+        Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void run() {
+            try {
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+                long standbyEpoch = in.readLong();
+                long applied = in.readLong();
+                connections.add(this);
+                Thread acks = new Thread(() -> readAcks(in), "replication-acks-" + socket.getPort());
+                acks.setDaemon(true);
+                acks.start();
+
+                long next = standbyEpoch == epoch ? applied + 1 : sendCopy(out);
+                while (running) {
+                    List<JournalRecord> batch = journal.read(next, maxBatch, heartbeatMillis);
+                    if (batch == null) {
+                        next = sendCopy(out);
+                        continue;
+                    }
+                    byte kind = batch.isEmpty() ? ReplicationProtocol.HEARTBEAT : ReplicationProtocol.BATCH;
+                    ReplicationProtocol.writeFrame(out, kind, journal.getLastSequence(), batch);
+                    out.flush();
+                    next += batch.size();
+                }
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.log(Level.INFO, "Standby disconnected", e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        // Copies everything as of now; journal records from before the copy may repeat it, which converges
+        private long sendCopy(DataOutputStream out) throws IOException {
+            long copiedAt = journal.getLastSequence();
+            List<byte[]> payloads = new ArrayList<>();
+            try (LedgerSnapshot snapshot = accountRepository.snapshot()) {
+                for (Account account : snapshot.findAll()) {
+                    payloads.add(ReplicationProtocol.encode(account));
+                }
+            }
+            for (Transaction transaction : transactionRepository.findAll()) {
+                payloads.add(ReplicationProtocol.encode(transaction));
+            }
+            long now = System.currentTimeMillis();
+            List<JournalRecord> batch = new ArrayList<>();
+            for (byte[] payload : payloads) {
+                batch.add(new JournalRecord(copiedAt, now, payload));
+                if (batch.size() == maxBatch) {
+                    ReplicationProtocol.writeFrame(out, ReplicationProtocol.COPY, copiedAt, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                ReplicationProtocol.writeFrame(out, ReplicationProtocol.COPY, copiedAt, batch);
+            }
+            out.writeByte(ReplicationProtocol.COPY_END);
+            out.writeLong(copiedAt);
+            out.writeInt(0);
+            out.writeLong(epoch);
+            out.flush();
+            return copiedAt + 1;
+        }
+
+        private void readAcks(DataInputStream in) {
+            try {
+                while (running) {
+                    acknowledge(in.readLong());
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Error closing standby connection", e);
+            }
+            // a writer waiting on this standby should not sit out the whole timeout
+            synchronized (ackMonitor) {
+                ackMonitor.notifyAll();
+            }
+        }
+    }
+
+    public static class Builder {
+        private InetSocketAddress address;
+        private AccountRepository accountRepository;
+        private TransactionRepository transactionRepository;
+        private AckMode ackMode;
+        private Duration ackTimeout;
+        private Duration heartbeatInterval;
+        private int journalCapacity;
+        private int maxBatch;
+        private MetricsRegistry metrics;
+
+        public Builder() {
+            this.address = new InetSocketAddress(9290);
+            this.ackMode = AckMode.ASYNC;
+            this.ackTimeout = Duration.ofSeconds(1);
+            this.heartbeatInterval = Duration.ofMillis(200);
+            this.journalCapacity = 100_000;
+            this.maxBatch = 512;
+            this.metrics = Metrics.getDefault();
+        }
+
+        public Builder address(InetSocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        public Builder port(int port) {
+            this.address = new InetSocketAddress(port);
+            return this;
+        }
+
+        /**
+         * Source of the seed copy sent to new standbys.
+         */
+        public Builder accountRepository(AccountRepository accountRepository) {
+            this.accountRepository = accountRepository;
+            return this;
+        }
+
+        public Builder transactionRepository(TransactionRepository transactionRepository) {
+            this.transactionRepository = transactionRepository;
+            return this;
+        }
+
+        public Builder ackMode(AckMode ackMode) {
+            this.ackMode = ackMode;
+            return this;
+        }
+
+        public Builder ackTimeout(Duration ackTimeout) {
+            this.ackTimeout = ackTimeout;
+            return this;
+        }
+
+        /**
+         * How often an idle connection is sent the current sequence, which keeps standby lag current.
+         */
+        public Builder heartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+            return this;
+        }
+
+        public Builder journalCapacity(int journalCapacity) {
+            this.journalCapacity = journalCapacity;
+            return this;
+        }
+
+        public Builder maxBatch(int maxBatch) {
+            this.maxBatch = maxBatch;
+            return this;
+        }
+
+        public Builder metrics(MetricsRegistry metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public ReplicationPrimary start() throws IOException {
+            if (accountRepository == null || transactionRepository == null) {
+                throw new IllegalStateException("Account and transaction repositories are required");
+            }
+            if (journalCapacity < 1 || maxBatch < 1) {
+                throw new IllegalStateException("Journal capacity and batch size must be positive");
+            }
+            return new ReplicationPrimary(this);
+        }
+    }
+}
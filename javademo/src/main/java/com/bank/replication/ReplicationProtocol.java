@@ -0,0 +1,177 @@
+package com.bank.replication;
+
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stream layout between {@link ReplicationPrimary} and {@link ReplicationStandby}, written
+ * with {@link DataOutputStream}:
+ *
+ * <pre>
+ * standby: long epoch | long appliedSequence        once, on connect
+ *          long appliedSequence                     ack after every applied batch
+ * primary: byte kind | long lastSequence | int count | count * (long sequence | long writtenMillis
+ *                                                               | int length | payload)
+ * </pre>
+ *
+ * Kinds are {@link #BATCH} journal records, {@link #COPY} records of the seed copy sent to a
+ * new or lapsed standby, {@link #COPY_END} which moves it to the sequence the copy was taken
+ * at and to the primary's epoch (a long after the empty record list), and {@link #HEARTBEAT}
+ * while the journal is idle. Payloads are full states of one account, of the accounts one
+ * {@code saveAll} wrote together, or of one transaction, so applying one twice is harmless.
+ */
+final class ReplicationProtocol {
+    static final byte BATCH = 'B';
+    static final byte COPY = 'C';
+    static final byte COPY_END = 'E';
+    static final byte HEARTBEAT = 'H';
+
+    private static final byte ACCOUNT = 'A';
+    private static final byte ACCOUNTS = 'S';
+    private static final byte TRANSACTION = 'T';
+
+    private ReplicationProtocol() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    static void writeFrame(DataOutputStream out, byte kind, long lastSequence, List<JournalRecord> records)
+            throws IOException {
+        out.writeByte(kind);
+        out.writeLong(lastSequence);
+        out.writeInt(records.size());
+        for (JournalRecord record : records) {
+            out.writeLong(record.sequence);
+            out.writeLong(record.writtenMillis);
+            out.writeInt(record.payload.length);
+            out.write(record.payload);
+        }
+    }
+
+    static byte[] encode(Account account) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(ACCOUNT);
+            writeAccount(out, account);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Accounts saved together: {@code int count} then each account as {@link #encode(Account)} writes it.
+     */
+    static byte[] encode(Account... accounts) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 * accounts.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(ACCOUNTS);
+            out.writeInt(accounts.length);
+            for (Account account : accounts) {
+                writeAccount(out, account);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static byte[] encode(Transaction transaction) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(TRANSACTION);
+            out.writeUTF(transaction.getTransactionId());
+            out.writeUTF(transaction.getAccountId());
+            out.writeByte(transaction.getType().ordinal());
+            out.writeUTF(transaction.getAmount().toPlainString());
+            writeNullable(out, transaction.getBalanceAfter() == null ? null : transaction.getBalanceAfter().toPlainString());
+            writeNullable(out, transaction.getDescription());
+            out.writeUTF(transaction.getTimestamp().toString());
+            writeNullable(out, transaction.getReferenceNumber());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static boolean isTransaction(byte[] payload) {
+        return payload[0] == TRANSACTION;
+    }
+
+    /**
+     * The account states in an account payload, one unless it came from {@code saveAll}.
+     */
+    static List<Account> decodeAccounts(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1));
+        if (payload[0] == ACCOUNT) {
+            return Collections.singletonList(readAccount(in));
+        }
+        int count = in.readInt();
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(readAccount(in));
+        }
+        return accounts;
+    }
+
+    private static void writeAccount(DataOutputStream out, Account account) throws IOException {
+        out.writeUTF(account.getAccountId());
+        out.writeUTF(account.getCustomerId());
+        out.writeByte(account.getAccountType().ordinal());
+        out.writeUTF(account.getBalance().toPlainString());
+        out.writeBoolean(account.isActive());
+        out.writeUTF(account.getCreatedAt().toString());
+        out.writeUTF(account.getLastModifiedAt().toString());
+    }
+
+    private static Account readAccount(DataInputStream in) throws IOException {
+        return new Account.Builder()
+            .accountId(in.readUTF())
+            .customerId(in.readUTF())
+            .accountType(AccountType.values()[in.readByte()])
+            .balance(new BigDecimal(in.readUTF()))
+            .isActive(in.readBoolean())
+            .createdAt(LocalDateTime.parse(in.readUTF()))
+            .lastModifiedAt(LocalDateTime.parse(in.readUTF()))
+            .build();
+    }
+
+    static Transaction decodeTransaction(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1));
+        Transaction.Builder builder = new Transaction.Builder()
+            .transactionId(in.readUTF())
+            .accountId(in.readUTF())
+            .type(TransactionType.values()[in.readByte()])
+            .amount(new BigDecimal(in.readUTF()));
+        String balanceAfter = readNullable(in);
+        return builder
+            .balanceAfter(balanceAfter == null ? null : new BigDecimal(balanceAfter))
+            .description(readNullable(in))
+            .timestamp(LocalDateTime.parse(in.readUTF()))
+            .referenceNumber(readNullable(in))
+            .build();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,301 @@
+package com.bank.replication;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.metrics.Metrics;
+import com.bank.metrics.MetricsRegistry;
+import com.bank.model.Account;
+import com.bank.model.Transaction;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.LedgerSnapshot;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hot standby fed by a {@link ReplicationPrimary}. A receiver thread applies each batch of
+ * ledger changes to this standby's own repositories, account states of a batch as one
+ * ledger version, then acks it; after a dropped connection it reconnects and resumes from
+ * the last applied sequence. Reads are served from the applied state, which trails the
+ * primary by {@link #getLagRecords()}.
+ *
+ * <p>{@link #promote()} stops replication and hands back an {@link AccountService} over the
+ * same repositories, so taking over needs no reload.
+ */
+public final class ReplicationStandby implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ReplicationStandby.class.getName());
+
+    private final InetSocketAddress primary;
+    private final long retryMillis;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionService transactionService;
+    private final Thread receiver;
+    private volatile Socket socket;
+    private volatile boolean running = true;
+    private volatile boolean connected;
+    private volatile long epoch;
+    private volatile long appliedSequence;
+    private volatile long primarySequence;
+    private volatile long lagMillis;
+
+    private ReplicationStandby(Builder builder) {
+        this.primary = builder.primary;
+        this.retryMillis = builder.retryInterval.toMillis();
+        this.accountRepository = builder.accountRepository;
+        this.transactionRepository = builder.transactionRepository;
+        this.transactionService = new TransactionService(transactionRepository);
+        MetricsRegistry metrics = builder.metrics;
+        metrics.gauge("replication.standby.appliedSequence", () -> appliedSequence);
+        metrics.gauge("replication.standby.lag.records", this::getLagRecords);
+        metrics.gauge("replication.standby.lag.millis", this::getLagMillis);
+        this.receiver = new Thread(this::receiveLoop, "replication-standby");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    public BigDecimal getBalance(String accountId) {
+        return findAccount(accountId).getBalance();
+    }
+
+    /**
+     * A copy of the account as last applied.
+     */
+    public Account findAccount(String accountId) {
+        return accountRepository.findById(accountId)
+            .map(Account::copy)
+            .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    public List<Transaction> getAccountTransactions(String accountId) {
+        return transactionService.getAccountTransactions(accountId);
+    }
+
+    public List<Transaction> getRecentTransactions(String accountId, int n) {
+        return transactionService.getRecentTransactions(accountId, n);
+    }
+
+    /**
+     * Consistent view as of one applied batch.
+     */
+    public LedgerSnapshot openSnapshot() {
+        return accountRepository.snapshot();
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Primary journal records not applied here yet, as of the last frame received.
+     */
+    public long getLagRecords() {
+        return Math.max(0, primarySequence - appliedSequence);
+    }
+
+    /**
+     * How long the newest applied change took from the primary's journal to being applied
+     * here; zero once caught up and idle.
+     */
+    public long getLagMillis() {
+        return getLagRecords() == 0 && connected ? 0 : lagMillis;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Stops replicating and returns a writable service over the applied state. Changes the
+     * primary made that were never received here are lost, as with any asynchronous standby.
+     */
+    public AccountService promote() {
+        close();
+        return new AccountService(accountRepository, transactionService, new ValidationService());
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        closeSocket();
+        try {
+            receiver.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void receiveLoop() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(primary);
+                connection.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 64 * 1024));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                out.writeLong(epoch);
+                out.writeLong(appliedSequence);
+                out.flush();
+                connected = true;
+                receive(in, out);
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.log(Level.FINE, "Replication connection lost; retrying", e);
+                }
+            } finally {
+                connected = false;
+            }
+            sleepBeforeRetry();
+        }
+    }
+
+    private void receive(DataInputStream in, DataOutputStream out) throws IOException {
+        while (running) {
+            byte kind = in.readByte();
+            long lastSequence = in.readLong();
+            int count = in.readInt();
+            List<JournalRecord> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long sequence = in.readLong();
+                long writtenMillis = in.readLong();
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                batch.add(new JournalRecord(sequence, writtenMillis, payload));
+            }
+            primarySequence = lastSequence;
+            switch (kind) {
+                case ReplicationProtocol.COPY:
+                    // not acked: until the copy ends, a reconnect must start the copy over
+                    apply(batch);
+                    break;
+                case ReplicationProtocol.COPY_END:
+                    epoch = in.readLong();
+                    appliedSequence = lastSequence;
+                    acknowledge(out);
+                    break;
+                case ReplicationProtocol.BATCH:
+                    apply(batch);
+                    JournalRecord newest = batch.get(batch.size() - 1);
+                    appliedSequence = newest.sequence;
+                    lagMillis = Math.max(0, System.currentTimeMillis() - newest.writtenMillis);
+                    acknowledge(out);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void apply(List<JournalRecord> batch) throws IOException {
+        Map<String, Account> accounts = new LinkedHashMap<>();
+        for (JournalRecord record : batch) {
+            if (ReplicationProtocol.isTransaction(record.payload)) {
+                transactionRepository.save(ReplicationProtocol.decodeTransaction(record.payload));
+            } else {
+                for (Account account : ReplicationProtocol.decodeAccounts(record.payload)) {
+                    accounts.put(account.getAccountId(), account);
+                }
+            }
+        }
+        if (!accounts.isEmpty()) {
+            accountRepository.saveAll(accounts.values().toArray(new Account[0]));
+        }
+    }
+
+    private void acknowledge(DataOutputStream out) throws IOException {
+        out.writeLong(appliedSequence);
+        out.flush();
+    }
+
+    private void sleepBeforeRetry() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(retryMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Error closing replication connection", e);
+            }
+        }
+    }
+
+    public static class Builder {
+        private InetSocketAddress primary;
+        private AccountRepository accountRepository;
+        private TransactionRepository transactionRepository;
+        private Duration retryInterval;
+        private MetricsRegistry metrics;
+
+        public Builder() {
+            this.retryInterval = Duration.ofMillis(500);
+            this.metrics = Metrics.getDefault();
+        }
+
+        public Builder primary(InetSocketAddress primary) {
+            this.primary = primary;
+            return this;
+        }
+
+        /**
+         * Where replicated state is kept; defaults to fresh in-memory repositories.
+         */
+        public Builder accountRepository(AccountRepository accountRepository) {
+            this.accountRepository = accountRepository;
+            return this;
+        }
+
+        public Builder transactionRepository(TransactionRepository transactionRepository) {
+            this.transactionRepository = transactionRepository;
+            return this;
+        }
+
+        public Builder retryInterval(Duration retryInterval) {
+            this.retryInterval = retryInterval;
+            return this;
+        }
+
+        public Builder metrics(MetricsRegistry metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public ReplicationStandby start() {
+            if (primary == null) {
+                throw new IllegalStateException("Primary address is required");
+            }
+            if (accountRepository == null) {
+                accountRepository = new AccountRepository();
+            }
+            if (transactionRepository == null) {
+                transactionRepository = new TransactionRepository();
+            }
+            return new ReplicationStandby(this);
+        }
+    }
+}
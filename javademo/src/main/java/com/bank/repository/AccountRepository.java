@@ -1,34 +1,99 @@
 package com.bank.repository;
 
+import com.bank.cdc.CompositeLedgerListener;
+import com.bank.cdc.LedgerListener;
+import com.bank.jfr.RepositoryQueryEvent;
+import com.bank.metrics.LatencyHistogram;
+import com.bank.metrics.Metrics;
 import com.bank.model.Account;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
  * Repository for Account entity.
  * Uses in-memory storage with thread-safe operations.
+ * Every save also commits an immutable copy into a per-account version chain under a
+ * new ledger version, which {@link #snapshot()} readers use for consistent point-in-time
+ * reads. Commits to different accounts never contend: each takes only its accounts' stripe
+ * locks, and versions become visible to snapshots strictly in order. Versions older than the
+ * oldest open snapshot are unlinked lazily, whenever an account is written or read by id.
  */
 public class AccountRepository {
+    private static final int CHAIN_STRIPES = 64;
+
     private final Map<String, Account> accounts;
+    private final LatencyHistogram findByCustomerLatency;
+    private volatile LedgerListener ledgerListener = LedgerListener.NONE;
+
+    private final Map<String, AccountVersion> versions = new ConcurrentHashMap<>();
+    // Held while a commit takes its version and links it in, so each chain stays newest first
+    private final ReentrantLock[] chainLocks = new ReentrantLock[CHAIN_STRIPES];
+    private final AtomicLong lastVersion = new AtomicLong();
+    // Linked in but not yet visible because an older commit is still linking its own
+    private final Set<Long> installedVersions = ConcurrentHashMap.newKeySet();
+    private final ConcurrentSkipListMap<Long, Integer> pinnedVersions = new ConcurrentSkipListMap<>();
+    private volatile long committedVersion;
 
     public AccountRepository() {
         this.accounts = new ConcurrentHashMap<>();
+        this.findByCustomerLatency = Metrics.getDefault().histogram("repository.account.findByCustomerId");
+        for (int i = 0; i < chainLocks.length; i++) {
+            chainLocks[i] = new ReentrantLock();
+        }
     }
 
     public Account save(Account account) {
         accounts.put(account.getAccountId(), account);
+        commit(account.getAccountId(), account.copy());
+        ledgerListener.accountSaved(account);
         return account;
     }
 
+    /**
+     * Saves the accounts as one ledger version, so no snapshot sees some of them
+     * updated and others not; used for both legs of a transfer.
+     */
+    public void saveAll(Account... batch) {
+        String[] accountIds = new String[batch.length];
+        Account[] states = new Account[batch.length];
+        for (int i = 0; i < batch.length; i++) {
+            accounts.put(batch[i].getAccountId(), batch[i]);
+            accountIds[i] = batch[i].getAccountId();
+            states[i] = batch[i].copy();
+        }
+        commit(accountIds, states);
+        ledgerListener.accountsSaved(batch);
+    }
+
+    /**
+     * Adds a receiver of every account save, alongside any already registered.
+     */
+    public synchronized void addLedgerListener(LedgerListener listener) {
+        this.ledgerListener = CompositeLedgerListener.with(ledgerListener, listener);
+    }
+
+    public synchronized void removeLedgerListener(LedgerListener listener) {
+        this.ledgerListener = CompositeLedgerListener.without(ledgerListener, listener);
+    }
+
     public Optional<Account> findById(String accountId) {
         return Optional.ofNullable(accounts.get(accountId));
     }
 
     public List<Account> findByCustomerId(String customerId) {
-        return accounts.values().stream()
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<Account> result = accounts.values().stream()
                 .filter(account -> account.getCustomerId().equals(customerId))
                 .collect(Collectors.toList());
+        findByCustomerLatency.record(System.nanoTime() - start);
+        event.complete("account.findByCustomerId", customerId, result.size());
+        return result;
     }
 
     public List<Account> findAll() {
@@ -41,8 +106,28 @@ public class AccountRepository {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Pins the latest committed version and returns a consistent view of it.
+     */
+    public LedgerSnapshot snapshot() {
+        while (true) {
+            long version = committedVersion;
+            pinnedVersions.merge(version, 1, Integer::sum);
+            // a commit that published before the pin may already have pruned this version; retry on the newer one
+            if (committedVersion == version) {
+                return new LedgerSnapshot(this, version);
+            }
+            unpin(version);
+        }
+    }
+
+    public long getCommittedVersion() {
+        return committedVersion;
+    }
+
     public void deleteById(String accountId) {
         accounts.remove(accountId);
+        commit(accountId, null);
     }
 
     public boolean existsById(String accountId) {
@@ -55,5 +140,145 @@ public class AccountRepository {
 
     public void clear() {
         accounts.clear();
+        for (ReentrantLock lock : chainLocks) {
+            lock.lock();
+        }
+        long version = lastVersion.incrementAndGet();
+        try {
+            for (String accountId : versions.keySet()) {
+                install(version, accountId, null);
+            }
+        } finally {
+            for (ReentrantLock lock : chainLocks) {
+                lock.unlock();
+            }
+            publish(version);
+        }
+        long oldest = oldestVisibleVersion();
+        for (String accountId : versions.keySet()) {
+            prune(accountId, oldest);
+        }
+    }
+
+    AccountVersion versionChain(String accountId) {
+        prune(accountId, oldestVisibleVersion());
+        return versions.get(accountId);
+    }
+
+    Collection<AccountVersion> versionChains() {
+        return versions.values();
+    }
+
+    /**
+     * Unpins a closed snapshot. The versions only it could see are unlinked the next time
+     * their accounts are written or read.
+     */
+    void release(long version) {
+        unpin(version);
+    }
+
+    private void unpin(long version) {
+        pinnedVersions.computeIfPresent(version, (pinned, readers) -> readers == 1 ? null : readers - 1);
+    }
+
+    private void commit(String accountId, Account state) {
+        ReentrantLock lock = chainLocks[stripe(accountId)];
+        lock.lock();
+        long version = lastVersion.incrementAndGet();
+        try {
+            install(version, accountId, state);
+        } finally {
+            lock.unlock();
+            publish(version);
+        }
+        prune(accountId, oldestVisibleVersion());
+    }
+
+    private void commit(String[] accountIds, Account[] states) {
+        int[] stripes = new int[accountIds.length];
+        for (int i = 0; i < accountIds.length; i++) {
+            stripes[i] = stripe(accountIds[i]);
+        }
+        // ascending order so two commits sharing stripes cannot deadlock
+        Arrays.sort(stripes);
+        for (int i = 0; i < stripes.length; i++) {
+            if (i == 0 || stripes[i] != stripes[i - 1]) {
+                chainLocks[stripes[i]].lock();
+            }
+        }
+        long version = lastVersion.incrementAndGet();
+        try {
+            for (int i = 0; i < accountIds.length; i++) {
+                install(version, accountIds[i], states[i]);
+            }
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                if (i == 0 || stripes[i] != stripes[i - 1]) {
+                    chainLocks[stripes[i]].unlock();
+                }
+            }
+            publish(version);
+        }
+        long oldest = oldestVisibleVersion();
+        for (String accountId : accountIds) {
+            prune(accountId, oldest);
+        }
+    }
+
+    private static int stripe(String accountId) {
+        return (accountId.hashCode() & Integer.MAX_VALUE) % CHAIN_STRIPES;
+    }
+
+    // Guarded by the account's chain lock
+    private void install(long version, String accountId, Account state) {
+        versions.put(accountId, new AccountVersion(version, state, versions.get(accountId)));
+    }
+
+    /**
+     * Makes {@code version} visible once every older one is, then waits for that so a
+     * snapshot opened after a save always sees it. Only the thread that owns the next
+     * version, because it committed it or took it out of the installed set, advances
+     * the committed version; an uncontended commit never touches the set.
+     */
+    private void publish(long version) {
+        if (committedVersion == version - 1) {
+            committedVersion = version;
+        } else {
+            installedVersions.add(version);
+        }
+        while (true) {
+            long next = committedVersion + 1;
+            if (next <= lastVersion.get() && installedVersions.remove(next)) {
+                committedVersion = next;
+            } else if (committedVersion >= version) {
+                return;
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    // Committed is read before the pins: a snapshot that pinned while committed was still
+    // its version is then guaranteed to show up in the pins
+    private long oldestVisibleVersion() {
+        long committed = committedVersion;
+        Map.Entry<Long, Integer> oldest = pinnedVersions.firstEntry();
+        return oldest == null ? committed : Math.min(oldest.getKey(), committed);
+    }
+
+    // Keeps what the oldest reader can see and everything newer. Safe without the chain
+    // lock: it only cuts links below a version every open snapshot can still reach.
+    private void prune(String accountId, long oldestVisible) {
+        AccountVersion head = versions.get(accountId);
+        if (head == null) {
+            return;
+        }
+        AccountVersion keep = head.visibleAt(oldestVisible);
+        if (keep != null) {
+            keep.older = null;
+        }
+        if (keep == head && head.state == null) {
+            versions.remove(accountId, head);
+        }
     }
-}
\ No newline at end of file
+}
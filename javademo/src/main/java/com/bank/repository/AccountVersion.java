@@ -0,0 +1,31 @@
+package com.bank.repository;
+
+import com.bank.model.Account;
+
+/**
+ * One committed state of an account in its version chain, newest first.
+ * A null state marks the account as deleted from this version on.
+ */
+final class AccountVersion {
+    final long version;
+    final Account state;
+    // cut by the committer once no open snapshot can reach the older versions
+    volatile AccountVersion older;
+
+    AccountVersion(long version, Account state, AccountVersion older) {
+        this.version = version;
+        this.state = state;
+        this.older = older;
+    }
+
+    /**
+     * Newest version in this chain committed at or before {@code snapshotVersion}, or null.
+     */
+    AccountVersion visibleAt(long snapshotVersion) {
+        AccountVersion node = this;
+        while (node != null && node.version > snapshotVersion) {
+            node = node.older;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,554 @@
+package com.bank.repository;
+
+import com.bank.model.Customer;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search over customer first and last names, and so over full names.
+ * Names are split into lower-cased, accent-free terms. Each distinct term keeps a postings
+ * list of the customers that carry it. Even a very large customer base has few distinct
+ * name terms, so prefix ranges (sorted views of the terms, one per term length) and typo
+ * lookups (edit variants, plus a trigram filter for two edits) only touch the term
+ * dictionary.
+ *
+ * <p>Every query term must match one of a customer's name terms, exactly, as a prefix,
+ * or within one edit. A term of {@value #TWO_EDIT_MIN_LENGTH}+ letters that matches
+ * nothing that way may be two edits off. Exact
+ * matches rank above prefixes, shorter completions above longer ones, and typos last;
+ * ties go to the customer indexed first. Candidates come from the query term with the
+ * fewest postings, and the scan stops once no remaining candidate can reach the top k.
+ *
+ * <p>Postings are never pruned: a renamed or removed customer is filtered out at query
+ * time by checking its current terms. They stay sorted by indexing order, which the scan's
+ * tie-breaking early exit relies on, so a rename inserts rather than appends.
+ */
+public final class CustomerNameIndex {
+    static final int TWO_EDIT_MIN_LENGTH = 8;
+    private static final int ONE_EDIT_MIN_LENGTH = 3;
+    private static final int MAX_QUERY_TERMS = 8;
+    // shortest completions kept per query term; bounds work for one-letter queries
+    private static final int MAX_PREFIX_TERMS = 1024;
+    private static final float EXACT = 1.0f;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("[\\p{M}'’]");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<IntList> postings = new ArrayList<>();
+    private final List<NavigableMap<String, Integer>> termsByLength = new ArrayList<>();
+    private final Map<String, IntList> trigrams = new HashMap<>();
+    private final Set<Character> letters = new TreeSet<>();
+    private char[] alphabet = new char[0];
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> customerIds = new ArrayList<>();
+    private final List<int[]> termsByOrdinal = new ArrayList<>();
+    private int size;
+
+    /**
+     * Adds the customer, or re-indexes it under its current names.
+     */
+    public void index(Customer customer) {
+        lock.writeLock().lock();
+        try {
+            add(customer);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<Customer> customers) {
+        lock.writeLock().lock();
+        try {
+            for (Customer customer : customers) {
+                add(customer);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String customerId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(customerId);
+            if (ordinal != null && termsByOrdinal.get(ordinal) != null) {
+                termsByOrdinal.set(ordinal, null);
+                size--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            postings.clear();
+            termsByLength.clear();
+            trigrams.clear();
+            letters.clear();
+            alphabet = new char[0];
+            ordinals.clear();
+            customerIds.clear();
+            termsByOrdinal.clear();
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of the best {@code limit} customers matching every word of {@code query}, best first.
+     */
+    public List<String> search(String query, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (words.size() > MAX_QUERY_TERMS) {
+            words = words.subList(0, MAX_QUERY_TERMS);
+        }
+        lock.readLock().lock();
+        try {
+            TermMatches[] matches = new TermMatches[words.size()];
+            int driver = 0;
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = expand(words.get(i));
+                if (matches[i].isEmpty()) {
+                    return Collections.emptyList();
+                }
+                if (matches[i].postingCount < matches[driver].postingCount) {
+                    driver = i;
+                }
+            }
+            return collect(matches, driver, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> ascii = tokenizeAscii(text);
+        if (ascii != null) {
+            return ascii;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : NON_WORD.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    // Most names are plain ASCII and need no Unicode folding; null if this one does
+    private static List<String> tokenizeAscii(String text) {
+        List<String> words = new ArrayList<>(2);
+        StringBuilder word = new StringBuilder(text.length());
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (c >= 0x80) {
+                return null;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (c != '\'' && word.length() > 0) {
+                String done = word.toString();
+                if (!words.contains(done)) {
+                    words.add(done);
+                }
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    // Guarded by the write lock
+    private void add(Customer customer) {
+        List<String> firstNames = tokenize(customer.getFirstName());
+        List<String> lastNames = tokenize(customer.getLastName());
+        int[] ids = new int[firstNames.size() + lastNames.size()];
+        int next = 0;
+        for (String word : firstNames) {
+            ids[next++] = termId(word);
+        }
+        for (String word : lastNames) {
+            ids[next++] = termId(word);
+        }
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        ids = distinct == ids.length ? ids : Arrays.copyOf(ids, distinct);
+
+        Integer existing = ordinals.get(customer.getCustomerId());
+        int ordinal;
+        int[] previous = null;
+        if (existing == null) {
+            ordinal = customerIds.size();
+            ordinals.put(customer.getCustomerId(), ordinal);
+            customerIds.add(customer.getCustomerId());
+            termsByOrdinal.add(ids);
+            size++;
+        } else {
+            ordinal = existing;
+            previous = termsByOrdinal.get(ordinal);
+            if (previous == null) {
+                size++;
+            }
+            termsByOrdinal.set(ordinal, ids);
+        }
+        for (int id : ids) {
+            if (previous == null || Arrays.binarySearch(previous, id) < 0) {
+                postings.get(id).addSorted(ordinal);
+            }
+        }
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id != null) {
+            return id;
+        }
+        int created = terms.size();
+        termIds.put(term, created);
+        terms.add(term);
+        postings.add(new IntList());
+        while (termsByLength.size() <= term.length()) {
+            termsByLength.add(new TreeMap<>());
+        }
+        termsByLength.get(term.length()).put(term, created);
+        for (String gram : trigramsOf(term)) {
+            trigrams.computeIfAbsent(gram, g -> new IntList()).add(created);
+        }
+        boolean newLetter = false;
+        for (int i = 0; i < term.length(); i++) {
+            newLetter |= letters.add(term.charAt(i));
+        }
+        if (newLetter) {
+            char[] grown = new char[letters.size()];
+            int i = 0;
+            for (char letter : letters) {
+                grown[i++] = letter;
+            }
+            alphabet = grown;
+        }
+        return created;
+    }
+
+    // Guarded by the read lock
+    private TermMatches expand(String word) {
+        Map<Integer, Float> scores = new HashMap<>();
+        Integer exact = termIds.get(word);
+        if (exact != null) {
+            scores.put(exact, EXACT);
+        }
+
+        String upper = word + Character.MAX_VALUE;
+        int completions = 0;
+        for (int length = word.length() + 1;
+                length < termsByLength.size() && completions < MAX_PREFIX_TERMS; length++) {
+            float score = 0.5f + 0.4f * word.length() / length;
+            for (Integer id : termsByLength.get(length).subMap(word, upper).values()) {
+                scores.put(id, score);
+                if (++completions == MAX_PREFIX_TERMS) {
+                    break;
+                }
+            }
+        }
+
+        if (word.length() >= ONE_EDIT_MIN_LENGTH) {
+            for (String variant : oneEditVariants(word)) {
+                Integer id = termIds.get(variant);
+                if (id != null) {
+                    scores.merge(id, 0.45f, Math::max);
+                }
+            }
+        }
+        if (scores.isEmpty() && word.length() >= TWO_EDIT_MIN_LENGTH) {
+            twoEditMatches(word, scores);
+        }
+        return new TermMatches(scores);
+    }
+
+    // Count filter: two edits change at most eight of a term's trigrams
+    private void twoEditMatches(String word, Map<Integer, Float> scores) {
+        List<String> grams = trigramsOf(word);
+        int needed = Math.max(1, grams.size() - 8);
+        int[] shared = new int[terms.size()];
+        IntList candidates = new IntList();
+        for (String gram : grams) {
+            IntList withGram = trigrams.get(gram);
+            for (int i = 0; withGram != null && i < withGram.size; i++) {
+                int id = withGram.values[i];
+                if (++shared[id] == needed) {
+                    candidates.add(id);
+                }
+            }
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            String term = terms.get(candidates.values[i]);
+            if (Math.abs(term.length() - word.length()) <= 2 && editDistance(word, term, 2) <= 2) {
+                scores.put(candidates.values[i], 0.35f);
+            }
+        }
+    }
+
+    // Deletes, transpositions, substitutions and insertions over the letters seen in names
+    private List<String> oneEditVariants(String word) {
+        List<String> variants = new ArrayList<>();
+        StringBuilder edit = new StringBuilder(word.length() + 1);
+        for (int i = 0; i <= word.length(); i++) {
+            if (i < word.length()) {
+                variants.add(word.substring(0, i) + word.substring(i + 1));
+                if (i + 1 < word.length() && word.charAt(i) != word.charAt(i + 1)) {
+                    edit.setLength(0);
+                    edit.append(word).setCharAt(i, word.charAt(i + 1));
+                    edit.setCharAt(i + 1, word.charAt(i));
+                    variants.add(edit.toString());
+                }
+            }
+            for (char letter : alphabet) {
+                if (i < word.length() && letter != word.charAt(i)) {
+                    edit.setLength(0);
+                    edit.append(word).setCharAt(i, letter);
+                    variants.add(edit.toString());
+                }
+                edit.setLength(0);
+                edit.append(word).insert(i, letter);
+                variants.add(edit.toString());
+            }
+        }
+        return variants;
+    }
+
+    private List<String> collect(TermMatches[] matches, int driver, int limit) {
+        // worst of the current top k at the head
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1,
+            (a, b) -> a.score != b.score ? Float.compare(a.score, b.score) : Integer.compare(b.ordinal, a.ordinal));
+        BitSet seen = new BitSet();
+        float othersMax = EXACT * (matches.length - 1);
+        TermMatches driving = matches[driver];
+        for (int t = 0; t < driving.byScore.length; t++) {
+            int termId = driving.byScore[t];
+            float bound = driving.scoreOf(termId) + othersMax;
+            if (top.size() == limit && bound < top.peek().score) {
+                break;
+            }
+            IntList termPostings = postings.get(termId);
+            for (int p = 0; p < termPostings.size; p++) {
+                int ordinal = termPostings.values[p];
+                if (top.size() == limit && bound == top.peek().score && ordinal > top.peek().ordinal) {
+                    break;
+                }
+                if (seen.get(ordinal)) {
+                    continue;
+                }
+                int[] own = termsByOrdinal.get(ordinal);
+                if (own == null || Arrays.binarySearch(own, termId) < 0) {
+                    // stale posting from an earlier name; the customer may still match through a current one
+                    continue;
+                }
+                seen.set(ordinal);
+                float score = 0;
+                for (TermMatches match : matches) {
+                    float best = match.bestOf(own);
+                    if (best < 0) {
+                        score = -1;
+                        break;
+                    }
+                    score += best;
+                }
+                if (score >= 0) {
+                    top.add(new Candidate(ordinal, score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+        Candidate[] ranked = top.toArray(new Candidate[0]);
+        Arrays.sort(ranked, top.comparator().reversed());
+        List<String> result = new ArrayList<>(ranked.length);
+        for (Candidate candidate : ranked) {
+            result.add(customerIds.get(candidate.ordinal));
+        }
+        return result;
+    }
+
+    private static List<String> trigramsOf(String term) {
+        String padded = "^" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length());
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Optimal string alignment distance, or {@code max + 1} once it must exceed {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        int[] before = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, before[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Terms one query word matches, with their scores.
+     */
+    private final class TermMatches {
+        final int[] ids;
+        final float[] scores;
+        final int[] byScore;
+        final long postingCount;
+
+        TermMatches(Map<Integer, Float> matched) {
+            // score bits then term id; scores are positive, so their bits sort like the scores
+            long[] keys = new long[matched.size()];
+            ids = new int[keys.length];
+            int i = 0;
+            long count = 0;
+            for (Map.Entry<Integer, Float> entry : matched.entrySet()) {
+                ids[i] = entry.getKey();
+                keys[i++] = (long) Float.floatToIntBits(entry.getValue()) << 32 | entry.getKey();
+                count += postings.get(entry.getKey()).size;
+            }
+            postingCount = count;
+            Arrays.sort(ids);
+            Arrays.sort(keys);
+            scores = new float[ids.length];
+            byScore = new int[keys.length];
+            for (i = 0; i < keys.length; i++) {
+                long key = keys[keys.length - 1 - i];
+                byScore[i] = (int) key;
+                scores[Arrays.binarySearch(ids, (int) key)] = Float.intBitsToFloat((int) (key >>> 32));
+            }
+        }
+
+        boolean isEmpty() {
+            return ids.length == 0;
+        }
+
+        float scoreOf(int termId) {
+            return scores[Arrays.binarySearch(ids, termId)];
+        }
+
+        // best score among a customer's terms, or -1 if none match
+        float bestOf(int[] customerTerms) {
+            float best = -1;
+            for (int termId : customerTerms) {
+                int at = Arrays.binarySearch(ids, termId);
+                if (at >= 0 && scores[at] > best) {
+                    best = scores[at];
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class Candidate {
+        final int ordinal;
+        final float score;
+
+        Candidate(int ordinal, float score) {
+            this.ordinal = ordinal;
+            this.score = score;
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[2];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        // Keeps the list sorted and free of duplicates; appends when the value is the largest
+        void addSorted(int value) {
+            if (size == 0 || values[size - 1] < value) {
+                add(value);
+                return;
+            }
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+            size++;
+        }
+    }
+}
@@ -7,27 +7,69 @@ import java.util.stream.Collectors;
 
 /**
  * Repository for Customer entity.
+ * Keeps a case-insensitive email index so email lookups do not scan, and a
+ * {@link CustomerNameIndex} for partial and misspelt name searches.
  */
 public class CustomerRepository {
     private final Map<String, Customer> customers;
+    private final Map<String, String> customerIdsByEmail;
+    private final CustomerNameIndex nameIndex;
 
     public CustomerRepository() {
         this.customers = new ConcurrentHashMap<>();
+        this.customerIdsByEmail = new ConcurrentHashMap<>();
+        this.nameIndex = new CustomerNameIndex();
     }
 
     public Customer save(Customer customer) {
-        customers.put(customer.getCustomerId(), customer);
+        Customer previous = customers.put(customer.getCustomerId(), customer);
+        if (previous != null && !emailKey(previous.getEmail()).equals(emailKey(customer.getEmail()))) {
+            customerIdsByEmail.remove(emailKey(previous.getEmail()), previous.getCustomerId());
+        }
+        customerIdsByEmail.put(emailKey(customer.getEmail()), customer.getCustomerId());
+        nameIndex.index(customer);
         return customer;
     }
 
+    /**
+     * Bulk insert of customers whose emails were already checked for duplicates.
+     */
+    public void saveAll(Collection<Customer> batch) {
+        Map<String, Customer> byId = new HashMap<>(batch.size() * 2);
+        for (Customer customer : batch) {
+            byId.put(customer.getCustomerId(), customer);
+        }
+        customers.putAll(byId);
+        for (Customer customer : batch) {
+            customerIdsByEmail.put(emailKey(customer.getEmail()), customer.getCustomerId());
+        }
+        nameIndex.indexAll(batch);
+    }
+
     public Optional<Customer> findById(String customerId) {
         return Optional.ofNullable(customers.get(customerId));
     }
 
     public Optional<Customer> findByEmail(String email) {
-        return customers.values().stream()
-                .filter(customer -> customer.getEmail().equalsIgnoreCase(email))
-                .findFirst();
+        if (email == null) {
+            return Optional.empty();
+        }
+        String customerId = customerIdsByEmail.get(emailKey(email));
+        return customerId == null ? Optional.empty() : Optional.ofNullable(customers.get(customerId));
+    }
+
+    /**
+     * Best matches for a partial or misspelt name, best first; see {@link CustomerNameIndex}.
+     */
+    public List<Customer> searchByName(String query, int limit) {
+        List<Customer> matches = new ArrayList<>();
+        for (String customerId : nameIndex.search(query, limit)) {
+            Customer customer = customers.get(customerId);
+            if (customer != null) {
+                matches.add(customer);
+            }
+        }
+        return matches;
     }
 
     public List<Customer> findAll() {
@@ -41,7 +83,11 @@ public class CustomerRepository {
     }
 
     public void deleteById(String customerId) {
-        customers.remove(customerId);
+        Customer removed = customers.remove(customerId);
+        if (removed != null) {
+            customerIdsByEmail.remove(emailKey(removed.getEmail()), customerId);
+            nameIndex.remove(customerId);
+        }
     }
 
     public boolean existsById(String customerId) {
@@ -49,8 +95,7 @@ public class CustomerRepository {
     }
 
     public boolean existsByEmail(String email) {
-        return customers.values().stream()
-                .anyMatch(customer -> customer.getEmail().equalsIgnoreCase(email));
+        return email != null && customerIdsByEmail.containsKey(emailKey(email));
     }
 
     public long count() {
@@ -59,5 +104,11 @@ public class CustomerRepository {
 
     public void clear() {
         customers.clear();
+        customerIdsByEmail.clear();
+        nameIndex.clear();
+    }
+
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
     }
-}
\ No newline at end of file
+}
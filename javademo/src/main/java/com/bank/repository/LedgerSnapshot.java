@@ -0,0 +1,83 @@
+package com.bank.repository;
+
+import com.bank.model.Account;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Point-in-time view of every account as of one committed ledger version.
+ * Both sides of a transfer are committed under one version, so totals taken from
+ * a snapshot always balance. Opening and reading a snapshot never blocks writers.
+ * Close it when done so the versions it pins can be reclaimed.
+ */
+public final class LedgerSnapshot implements AutoCloseable {
+    private final AccountRepository repository;
+    private final long version;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    LedgerSnapshot(AccountRepository repository, long version) {
+        this.repository = repository;
+        this.version = version;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Optional<Account> findById(String accountId) {
+        checkOpen();
+        return Optional.ofNullable(stateOf(repository.versionChain(accountId)));
+    }
+
+    public List<Account> findAll() {
+        checkOpen();
+        List<Account> result = new ArrayList<>();
+        for (AccountVersion chain : repository.versionChains()) {
+            Account account = stateOf(chain);
+            if (account != null) {
+                result.add(account);
+            }
+        }
+        return result;
+    }
+
+    public List<Account> findByCustomerId(String customerId) {
+        List<Account> result = findAll();
+        result.removeIf(account -> !account.getCustomerId().equals(customerId));
+        return result;
+    }
+
+    public BigDecimal getTotalBalance() {
+        checkOpen();
+        BigDecimal total = BigDecimal.ZERO;
+        for (AccountVersion chain : repository.versionChains()) {
+            AccountVersion visible = chain.visibleAt(version);
+            if (visible != null && visible.state != null) {
+                total = total.add(visible.state.getBalance());
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            repository.release(version);
+        }
+    }
+
+    // Callers get their own copy so nothing they do can change what other readers of this version see
+    private Account stateOf(AccountVersion chain) {
+        AccountVersion visible = chain == null ? null : chain.visibleAt(version);
+        return visible == null || visible.state == null ? null : visible.state.copy();
+    }
+
+    private void checkOpen() {
+        if (closed.get()) {
+            throw new IllegalStateException("Snapshot " + version + " is closed");
+        }
+    }
+}
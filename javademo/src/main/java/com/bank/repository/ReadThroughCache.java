@@ -0,0 +1,546 @@
+package com.bank.repository;
+
+import com.bank.metrics.MetricsRegistry;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded, concurrent read-through cache in front of a slower store.
+ * Eviction is W-TinyLFU: new entries land in a small LRU window, and an entry
+ * leaving the window only displaces the oldest main-region entry if a
+ * {@link FrequencySketch} says it has been requested more often recently. One-off
+ * scans therefore cannot flush the hot working set.
+ *
+ * <p>Hits never take a lock; they are logged to a lossy ring buffer that is replayed
+ * into the eviction policy under a lock by whichever thread fills it. Concurrent
+ * misses on one key share a single load. With {@link Builder#refreshAfterWrite}, a hit
+ * on an old entry returns it immediately and reloads it in the background.
+ */
+public final class ReadThroughCache<K, V> {
+    private static final Logger LOGGER = Logger.getLogger(ReadThroughCache.class.getName());
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int READ_DRAIN_THRESHOLD = 32;
+
+    private enum Region { WINDOW, PROBATION, PROTECTED }
+
+    private final Function<? super K, ? extends V> loader;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final long refreshAfterMillis;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Node<K, V>> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readWrites = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // guarded by evictionLock
+    private final FrequencySketch sketch = new FrequencySketch();
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedRegion = new AccessOrder<>();
+    private volatile long readsDrained;
+    private long weightedSize;
+    private long windowWeight;
+    private long protectedWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictedWeight = new LongAdder();
+
+    private ReadThroughCache(Builder<K, V> builder) {
+        this.loader = builder.loader;
+        this.weigher = builder.weigher;
+        this.maximumWeight = builder.maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (maximumWeight - windowMaximum) * 8 / 10;
+        this.refreshAfterMillis = builder.refreshAfter == null ? 0 : builder.refreshAfter.toMillis();
+        this.refreshExecutor = builder.refreshExecutor;
+        this.clock = builder.clock;
+        if (builder.metricsName != null) {
+            registerGauges(builder.metrics, builder.metricsName);
+        }
+    }
+
+    /**
+     * Returns the cached value, loading it on a miss; null if the store has no value.
+     * Absent keys are not cached. The loader must not call back into this cache.
+     */
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            hits.increment();
+            recordRead(node);
+            refreshIfStale(node);
+            return node.value;
+        }
+        misses.increment();
+        Node<K, V> loaded;
+        try {
+            loaded = data.computeIfAbsent(key, this::load);
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            throw e;
+        }
+        if (loaded == null) {
+            return null;
+        }
+        if (loaded.region == null) {
+            afterLoad(loaded);
+        }
+        return loaded.value;
+    }
+
+    /**
+     * Cached value without loading or counting a hit or miss; null if not cached.
+     */
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Stores a value written through to the backing store, replacing any cached one.
+     */
+    public void put(K key, V value) {
+        Node<K, V> node = newNode(key, value);
+        Node<K, V> previous = data.put(key, node);
+        evictionLock.lock();
+        try {
+            Region region = Region.WINDOW;
+            if (previous != null && previous.region != null) {
+                region = previous.region;
+                unlink(previous);
+            }
+            if (data.get(key) == node) {
+                admit(node, region);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached value. If a load of the key is in flight, waits for it so the
+     * value it read cannot outlive this call.
+     */
+    public void invalidate(K key) {
+        // outside the eviction lock: removing a key that is being loaded blocks until the load ends
+        Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            if (node.region != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        for (K key : data.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    public long getEstimatedSize() {
+        return data.size();
+    }
+
+    public long getWeightedSize() {
+        evictionLock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), loadFailures.sum(), refreshes.sum(),
+            evictions.sum(), evictedWeight.sum());
+    }
+
+    /**
+     * Replays buffered reads into the eviction policy now rather than when the buffer fills.
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            drainReads();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private Node<K, V> load(K key) {
+        V value = loader.apply(key);
+        return value == null ? null : newNode(key, value);
+    }
+
+    private Node<K, V> newNode(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative: " + weight);
+        }
+        return new Node<>(key, value, weight, clock.millis());
+    }
+
+    // Links a freshly loaded node into the policy unless it was replaced or invalidated meanwhile
+    private void afterLoad(Node<K, V> node) {
+        evictionLock.lock();
+        try {
+            if (node.region == null && data.get(node.key) == node) {
+                admit(node, Region.WINDOW);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void admit(Node<K, V> node, Region region) {
+        if (node.weight > maximumWeight) {
+            data.remove(node.key, node);
+            evictions.increment();
+            evictedWeight.add(node.weight);
+            return;
+        }
+        sketch.ensureCapacity(data.size());
+        sketch.increment(node.key);
+        link(node, region);
+        drainReads();
+        evict();
+    }
+
+    private void recordRead(Node<K, V> node) {
+        long index = readWrites.getAndIncrement();
+        readBuffer.lazySet((int) (index & READ_BUFFER_MASK), node);
+        if (index - readsDrained >= READ_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+            try {
+                drainReads();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReads() {
+        long end = readWrites.get();
+        long start = Math.max(readsDrained, end - READ_BUFFER_SIZE);
+        for (long i = start; i < end; i++) {
+            Node<K, V> node = readBuffer.getAndSet((int) (i & READ_BUFFER_MASK), null);
+            if (node != null) {
+                onAccess(node);
+            }
+        }
+        readsDrained = end;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.region == null) {
+            return;
+        }
+        sketch.increment(node.key);
+        switch (node.region) {
+            case WINDOW:
+                window.moveToBack(node);
+                break;
+            case PROBATION:
+                unlink(node);
+                link(node, Region.PROTECTED);
+                demoteProtectedOverflow();
+                break;
+            default:
+                protectedRegion.moveToBack(node);
+                break;
+        }
+    }
+
+    private void demoteProtectedOverflow() {
+        while (protectedWeight > protectedMaximum && protectedRegion.first != null) {
+            Node<K, V> demoted = protectedRegion.first;
+            unlink(demoted);
+            link(demoted, Region.PROBATION);
+        }
+    }
+
+    private void evict() {
+        // entries pushed out of the window become the admission candidates, oldest first
+        Node<K, V> candidate = null;
+        while (windowWeight > windowMaximum && window.first != null) {
+            Node<K, V> moved = window.first;
+            unlink(moved);
+            link(moved, Region.PROBATION);
+            if (candidate == null) {
+                candidate = moved;
+            }
+        }
+        while (weightedSize > maximumWeight) {
+            Node<K, V> victim = probation.first;
+            if (candidate == null || victim == null || victim == candidate) {
+                Node<K, V> evicted = victim != null ? victim
+                    : protectedRegion.first != null ? protectedRegion.first : window.first;
+                if (evicted == candidate) {
+                    candidate = candidate.next;
+                }
+                remove(evicted);
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                remove(victim);
+            } else {
+                Node<K, V> rejected = candidate;
+                candidate = candidate.next;
+                remove(rejected);
+            }
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        unlink(node);
+        data.remove(node.key, node);
+        evictions.increment();
+        evictedWeight.add(node.weight);
+    }
+
+    private void link(Node<K, V> node, Region region) {
+        node.region = region;
+        weightedSize += node.weight;
+        if (region == Region.WINDOW) {
+            window.addLast(node);
+            windowWeight += node.weight;
+        } else if (region == Region.PROBATION) {
+            probation.addLast(node);
+        } else {
+            protectedRegion.addLast(node);
+            protectedWeight += node.weight;
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        weightedSize -= node.weight;
+        if (node.region == Region.WINDOW) {
+            window.remove(node);
+            windowWeight -= node.weight;
+        } else if (node.region == Region.PROBATION) {
+            probation.remove(node);
+        } else {
+            protectedRegion.remove(node);
+            protectedWeight -= node.weight;
+        }
+        node.region = null;
+    }
+
+    private void refreshIfStale(Node<K, V> node) {
+        if (refreshAfterMillis <= 0 || clock.millis() - node.writeMillis < refreshAfterMillis
+                || !node.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(node));
+        } catch (RejectedExecutionException e) {
+            node.refreshing.set(false);
+        }
+    }
+
+    private void refresh(Node<K, V> stale) {
+        Node<K, V> fresh;
+        try {
+            fresh = load(stale.key);
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            LOGGER.log(Level.WARNING, "Refresh failed for " + stale.key + "; keeping the cached value", e);
+            stale.refreshing.set(false);
+            return;
+        }
+        refreshes.increment();
+        evictionLock.lock();
+        try {
+            if (stale.region == null || data.get(stale.key) != stale) {
+                return;
+            }
+            Region region = stale.region;
+            unlink(stale);
+            if (fresh == null) {
+                data.remove(stale.key, stale);
+            } else {
+                data.replace(stale.key, stale, fresh);
+                admit(fresh, region);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void registerGauges(MetricsRegistry metrics, String name) {
+        metrics.gauge(name + ".hits", hits::sum);
+        metrics.gauge(name + ".misses", misses::sum);
+        metrics.gauge(name + ".evictions", evictions::sum);
+        metrics.gauge(name + ".weight", this::getWeightedSize);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final int weight;
+        final long writeMillis;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        // guarded by evictionLock; null while not linked into the policy
+        Region region;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight, long writeMillis) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeMillis = writeMillis;
+        }
+    }
+
+    // Intrusive LRU list: first is least recently used
+    private static final class AccessOrder<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+    }
+
+    public static class Builder<K, V> {
+        private Function<? super K, ? extends V> loader;
+        private Weigher<? super K, ? super V> weigher;
+        private long maximumWeight;
+        private Duration refreshAfter;
+        private Executor refreshExecutor;
+        private Clock clock;
+        private MetricsRegistry metrics;
+        private String metricsName;
+
+        public Builder() {
+            this.weigher = Weigher.SINGLETON;
+            this.maximumWeight = 10_000;
+            this.refreshExecutor = ForkJoinPool.commonPool();
+            this.clock = Clocks.getDefault();
+        }
+
+        /**
+         * Reads a value from the backing store; returns null when the key does not exist.
+         */
+        public Builder<K, V> loader(Function<? super K, ? extends V> loader) {
+            this.loader = loader;
+            return this;
+        }
+
+        /**
+         * Total weight the cache may hold; with the default weigher this is the entry count.
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        public Builder<K, V> weigher(Weigher<? super K, ? super V> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Reload entries in the background when they are hit this long after being loaded.
+         */
+        public Builder<K, V> refreshAfterWrite(Duration refreshAfter) {
+            this.refreshAfter = refreshAfter;
+            return this;
+        }
+
+        public Builder<K, V> refreshExecutor(Executor refreshExecutor) {
+            this.refreshExecutor = refreshExecutor;
+            return this;
+        }
+
+        public Builder<K, V> clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Publishes hit, miss, eviction and weight gauges as {@code name.*} on the registry.
+         */
+        public Builder<K, V> metrics(MetricsRegistry metrics, String name) {
+            this.metrics = metrics;
+            this.metricsName = name;
+            return this;
+        }
+
+        public ReadThroughCache<K, V> build() {
+            if (loader == null || weigher == null || clock == null || refreshExecutor == null) {
+                throw new IllegalStateException("Loader, weigher, clock and refresh executor are required");
+            }
+            if (maximumWeight < 1) {
+                throw new IllegalStateException("Maximum weight must be positive");
+            }
+            if (refreshAfter != null && (refreshAfter.isNegative() || refreshAfter.isZero())) {
+                throw new IllegalStateException("Refresh interval must be positive");
+            }
+            if (metricsName != null && metrics == null) {
+                throw new IllegalStateException("Metrics registry is required");
+            }
+            return new ReadThroughCache<>(this);
+        }
+    }
+}
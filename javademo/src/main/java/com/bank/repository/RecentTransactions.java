@@ -0,0 +1,91 @@
+package com.bank.repository;
+
+import com.bank.model.Transaction;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Fixed-size ring of one account's newest transactions, kept newest first.
+ * Recording in timestamp order is a single slot write; an out-of-order
+ * timestamp shifts at most {@link #CAPACITY} entries.
+ */
+final class RecentTransactions {
+    static final int CAPACITY = 16;
+    private static final int MASK = CAPACITY - 1;
+
+    private final Comparator<Transaction> order;
+    private final Transaction[] ring = new Transaction[CAPACITY];
+    // physical slot of the newest entry
+    private int head;
+    private int size;
+
+    RecentTransactions(Comparator<Transaction> order) {
+        this.order = order;
+    }
+
+    synchronized void add(Transaction transaction) {
+        removeById(transaction);
+        int position = 0;
+        while (position < size && order.compare(get(position), transaction) < 0) {
+            position++;
+        }
+        if (position == CAPACITY) {
+            return;
+        }
+        if (position == 0) {
+            // overwrites the oldest entry when full
+            head = (head - 1) & MASK;
+            ring[head] = transaction;
+            size = Math.min(size + 1, CAPACITY);
+            return;
+        }
+        int newSize = Math.min(size + 1, CAPACITY);
+        for (int i = newSize - 1; i > position; i--) {
+            set(i, get(i - 1));
+        }
+        set(position, transaction);
+        size = newSize;
+    }
+
+    synchronized void remove(Transaction transaction) {
+        removeById(transaction);
+    }
+
+    /**
+     * Up to {@code n} newest transactions, newest first.
+     */
+    synchronized List<Transaction> latest(int n) {
+        int count = Math.min(n, size);
+        List<Transaction> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void removeById(Transaction transaction) {
+        for (int i = 0; i < size; i++) {
+            if (get(i).equals(transaction)) {
+                for (int j = i; j < size - 1; j++) {
+                    set(j, get(j + 1));
+                }
+                size--;
+                set(size, null);
+                return;
+            }
+        }
+    }
+
+    private Transaction get(int index) {
+        return ring[(head + index) & MASK];
+    }
+
+    private void set(int index, Transaction transaction) {
+        ring[(head + index) & MASK] = transaction;
+    }
+}
@@ -1,24 +1,70 @@
 package com.bank.repository;
 
+import com.bank.archive.TransactionArchive;
+import com.bank.jfr.RepositoryQueryEvent;
+import com.bank.metrics.LatencyHistogram;
+import com.bank.metrics.Metrics;
+import com.bank.metrics.MetricsRegistry;
 import com.bank.model.Transaction;
 import com.bank.model.TransactionType;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.stream.Collectors;
 
 /**
  * Repository for Transaction entity.
+ * Keeps each account's transactions in a newest-first index so per-account
+ * reads and keyset pages do not scan the whole table. With a {@link TransactionArchive},
+ * {@link #archiveOlderThan} moves aged transactions to disk and the per-account history
+ * queries read through to it; the other queries cover in-memory transactions only.
+ * Each account also keeps a small ring of its newest transactions for mini-statements.
  */
 public class TransactionRepository {
+    private static final Comparator<Transaction> NEWEST_FIRST =
+        Comparator.comparing(Transaction::getTimestamp)
+            .thenComparing(Transaction::getTransactionId)
+            .reversed();
+
     private final Map<String, Transaction> transactions;
+    private final Map<String, NavigableSet<Transaction>> transactionsByAccount;
+    private final Map<String, RecentTransactions> recentByAccount;
+    private final LatencyHistogram findByAccountLatency;
+    private final LatencyHistogram findByDateRangeLatency;
+    private final LatencyHistogram findByTypeLatency;
+    private final TransactionArchive archive;
 
     public TransactionRepository() {
+        this(null);
+    }
+
+    /**
+     * @param archive cold storage for {@link #archiveOlderThan}, or null to keep everything in memory
+     */
+    public TransactionRepository(TransactionArchive archive) {
+        this.archive = archive;
         this.transactions = new ConcurrentHashMap<>();
+        this.transactionsByAccount = new ConcurrentHashMap<>();
+        this.recentByAccount = new ConcurrentHashMap<>();
+        MetricsRegistry metrics = Metrics.getDefault();
+        this.findByAccountLatency = metrics.histogram("repository.transaction.findByAccountId");
+        this.findByDateRangeLatency = metrics.histogram("repository.transaction.findByAccountIdAndDateRange");
+        this.findByTypeLatency = metrics.histogram("repository.transaction.findByType");
     }
 
     public Transaction save(Transaction transaction) {
-        transactions.put(transaction.getTransactionId(), transaction);
+        Transaction previous = transactions.put(transaction.getTransactionId(), transaction);
+        if (previous != null) {
+            accountIndex(previous.getAccountId()).remove(previous);
+            RecentTransactions recent = recentByAccount.get(previous.getAccountId());
+            if (recent != null) {
+                recent.remove(previous);
+            }
+        }
+        accountIndex(transaction.getAccountId()).add(transaction);
+        recentTransactions(transaction.getAccountId()).add(transaction);
         return transaction;
     }
 
@@ -27,38 +73,196 @@ public class TransactionRepository {
     }
 
     public List<Transaction> findByAccountId(String accountId) {
-        return transactions.values().stream()
-                .filter(transaction -> transaction.getAccountId().equals(accountId))
-                .sorted(Comparator.comparing(Transaction::getTimestamp).reversed())
-                .collect(Collectors.toList());
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        NavigableSet<Transaction> index = transactionsByAccount.get(accountId);
+        List<Transaction> result = index == null ? new ArrayList<>() : new ArrayList<>(index);
+        if (archive != null) {
+            result = mergeNewestFirst(result, archive.findByAccountId(accountId));
+        }
+        findByAccountLatency.record(System.nanoTime() - start);
+        event.complete("transaction.findByAccountId", accountId, result.size());
+        return result;
     }
 
     public List<Transaction> findByAccountIdAndDateRange(String accountId, 
                                                          LocalDateTime start, 
                                                          LocalDateTime end) {
-        return transactions.values().stream()
-                .filter(t -> t.getAccountId().equals(accountId))
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        long started = System.nanoTime();
+        NavigableSet<Transaction> index = transactionsByAccount.getOrDefault(accountId, Collections.emptyNavigableSet());
+        List<Transaction> result = index.stream()
                 .filter(t -> !t.getTimestamp().isBefore(start) && 
                             !t.getTimestamp().isAfter(end))
-                .sorted(Comparator.comparing(Transaction::getTimestamp).reversed())
                 .collect(Collectors.toList());
+        if (archive != null) {
+            result = mergeNewestFirst(result, archive.findByAccountIdAndDateRange(accountId, start, end));
+        }
+        findByDateRangeLatency.record(System.nanoTime() - started);
+        event.complete("transaction.findByAccountIdAndDateRange", accountId, result.size());
+        return result;
+    }
+
+    /**
+     * Keyset page of an account's history: up to {@code limit} transactions, newest
+     * first, strictly older than {@code after}, or from the newest when it is null.
+     */
+    public List<Transaction> findPageByAccountId(String accountId, Transaction after, int limit) {
+        if (after == null && limit <= RecentTransactions.CAPACITY) {
+            RecentTransactions recent = recentByAccount.get(accountId);
+            if (recent != null) {
+                return recent.latest(limit);
+            }
+        }
+        NavigableSet<Transaction> index = transactionsByAccount.getOrDefault(accountId, Collections.emptyNavigableSet());
+        Iterator<Transaction> iterator = after == null
+            ? index.iterator()
+            : index.tailSet(after, false).iterator();
+        List<Transaction> page = new ArrayList<>(Math.min(limit, 64));
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        if (archive == null || (page.size() == limit
+                && !archive.hasAtOrAfter(accountId, page.get(limit - 1).getTimestamp()))) {
+            return page;
+        }
+        List<Transaction> merged = mergeNewestFirst(page, archive.findPage(accountId, after, limit));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * The account's {@code n} newest transactions, newest first. Up to 16 are served
+     * from the account's ring without touching the history index or the archive.
+     */
+    public List<Transaction> findRecentByAccountId(String accountId, int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Count must be at least 1");
+        }
+        if (n <= RecentTransactions.CAPACITY) {
+            RecentTransactions recent = recentByAccount.get(accountId);
+            if (recent != null) {
+                return recent.latest(n);
+            }
+            if (archive == null) {
+                return new ArrayList<>();
+            }
+        }
+        return findPageByAccountId(accountId, null, n);
+    }
+
+    /**
+     * Looks a transaction up in memory and then in the account's archived history.
+     */
+    public Optional<Transaction> findByAccountIdAndTransactionId(String accountId, String transactionId) {
+        Transaction transaction = transactions.get(transactionId);
+        if (transaction != null) {
+            return accountId.equals(transaction.getAccountId()) ? Optional.of(transaction) : Optional.empty();
+        }
+        if (archive == null) {
+            return Optional.empty();
+        }
+        return archive.findByAccountIdAndTransactionId(accountId, transactionId);
+    }
+
+    /**
+     * Moves transactions older than {@code cutoff} into a new archive segment and drops
+     * them from memory. Returns how many were moved.
+     */
+    public synchronized int archiveOlderThan(LocalDateTime cutoff) throws IOException {
+        if (archive == null) {
+            throw new IllegalStateException("No archive configured");
+        }
+        List<Transaction> aged = transactions.values().stream()
+                .filter(t -> t.getTimestamp().isBefore(cutoff))
+                .collect(Collectors.toList());
+        if (aged.isEmpty()) {
+            return 0;
+        }
+        // Durable in the archive before it leaves memory, so readers may see a row twice but never lose it
+        archive.append(aged);
+        for (Transaction transaction : aged) {
+            if (transactions.remove(transaction.getTransactionId(), transaction)) {
+                NavigableSet<Transaction> index = transactionsByAccount.get(transaction.getAccountId());
+                if (index != null) {
+                    index.remove(transaction);
+                }
+            }
+        }
+        return aged.size();
+    }
+
+    public long getArchivedCount() {
+        return archive == null ? 0 : archive.getTransactionCount();
     }
 
     public List<Transaction> findByType(TransactionType type) {
-        return transactions.values().stream()
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<Transaction> result = transactions.values().stream()
                 .filter(transaction -> transaction.getType() == type)
                 .collect(Collectors.toList());
+        findByTypeLatency.record(System.nanoTime() - start);
+        event.complete("transaction.findByType", type.name(), result.size());
+        return result;
     }
 
     public List<Transaction> findAll() {
         return new ArrayList<>(transactions.values());
     }
 
+    /**
+     * Splittable view over all transactions for parallel scans without copying.
+     */
+    public Spliterator<Transaction> spliterator() {
+        return transactions.values().spliterator();
+    }
+
     public long count() {
         return transactions.size();
     }
 
     public void clear() {
         transactions.clear();
+        transactionsByAccount.clear();
+        recentByAccount.clear();
+    }
+
+    // Newest first, dropping rows present in both lists while an archive run is in progress
+    private static List<Transaction> mergeNewestFirst(List<Transaction> memory, List<Transaction> archived) {
+        if (archived.isEmpty()) {
+            return memory;
+        }
+        TreeSet<Transaction> merged = new TreeSet<>(NEWEST_FIRST);
+        merged.addAll(memory);
+        merged.addAll(archived);
+        return new ArrayList<>(merged);
+    }
+
+    // Seeded before publishing so archive I/O never runs inside the map's bin lock
+    private RecentTransactions recentTransactions(String accountId) {
+        RecentTransactions recent = recentByAccount.get(accountId);
+        if (recent != null) {
+            return recent;
+        }
+        recent = newRecentTransactions(accountId);
+        RecentTransactions raced = recentByAccount.putIfAbsent(accountId, recent);
+        return raced != null ? raced : recent;
+    }
+
+    // An account first seen after a restart may already have archived history; only its
+    // newest archived rows are read, usually from a single segment
+    private RecentTransactions newRecentTransactions(String accountId) {
+        RecentTransactions recent = new RecentTransactions(NEWEST_FIRST);
+        if (archive != null) {
+            archive.findPage(accountId, null, RecentTransactions.CAPACITY).forEach(recent::add);
+        }
+        return recent;
+    }
+
+    private NavigableSet<Transaction> accountIndex(String accountId) {
+        return transactionsByAccount.computeIfAbsent(accountId, id -> new ConcurrentSkipListSet<>(NEWEST_FIRST));
     }
 }
\ No newline at end of file
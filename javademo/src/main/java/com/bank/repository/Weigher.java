@@ -0,0 +1,15 @@
+package com.bank.repository;
+
+/**
+ * Relative size of a cache entry, counted against {@link ReadThroughCache.Builder#maximumWeight}.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    Weigher<Object, Object> SINGLETON = (key, value) -> 1;
+
+    /**
+     * Must be non-negative and must not change while the entry is cached.
+     */
+    int weigh(K key, V value);
+}
@@ -0,0 +1,109 @@
+package com.bank.service;
+
+import com.bank.metrics.ContentionTracker;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped per-account locks.
+ * Two-account operations always take the lower stripe first, so concurrent
+ * transfers in opposite directions cannot deadlock. Every acquisition is
+ * reported to a {@link ContentionTracker} once its lock has been released, so
+ * the sketch update never lengthens a critical section; an uncontended
+ * {@code tryLock} skips the timer entirely.
+ */
+final class AccountLocks {
+    static final int DEFAULT_STRIPES = 1024;
+
+    private final ReentrantLock[] locks;
+    // wait of the current holder, written and cleared only while holding the stripe
+    private final long[] waits;
+    private final int mask;
+    private final ContentionTracker contention;
+
+    AccountLocks(ContentionTracker contention) {
+        this(DEFAULT_STRIPES, contention);
+    }
+
+    AccountLocks(int stripes, ContentionTracker contention) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a positive power of two");
+        }
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.waits = new long[stripes];
+        this.mask = stripes - 1;
+        this.contention = contention;
+    }
+
+    void lock(String accountId) {
+        acquire(stripe(accountId));
+    }
+
+    void unlock(String accountId) {
+        long wait = release(stripe(accountId));
+        contention.record(accountId, wait > 0, wait);
+    }
+
+    void lock(String firstAccountId, String secondAccountId) {
+        int first = stripe(firstAccountId);
+        int second = stripe(secondAccountId);
+        if (first == second) {
+            acquire(first);
+        } else if (first < second) {
+            acquire(first);
+            acquire(second);
+        } else {
+            acquire(second);
+            acquire(first);
+        }
+    }
+
+    void unlock(String firstAccountId, String secondAccountId) {
+        int first = stripe(firstAccountId);
+        int second = stripe(secondAccountId);
+        if (first == second) {
+            long wait = release(first);
+            contention.record(firstAccountId, wait > 0, wait);
+            contention.record(secondAccountId, false, 0);
+            return;
+        }
+        long firstWait;
+        long secondWait;
+        if (first < second) {
+            secondWait = release(second);
+            firstWait = release(first);
+        } else {
+            firstWait = release(first);
+            secondWait = release(second);
+        }
+        contention.record(firstAccountId, firstWait > 0, firstWait);
+        contention.record(secondAccountId, secondWait > 0, secondWait);
+    }
+
+    private void acquire(int stripe) {
+        ReentrantLock lock = locks[stripe];
+        if (lock.tryLock()) {
+            return;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        waits[stripe] = Math.max(1, System.nanoTime() - start);
+    }
+
+    // Returns the holder's wait, zero if it got the lock straight away
+    private long release(int stripe) {
+        long wait = waits[stripe];
+        if (wait != 0) {
+            waits[stripe] = 0;
+        }
+        locks[stripe].unlock();
+        return wait;
+    }
+
+    private int stripe(String accountId) {
+        int h = accountId.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
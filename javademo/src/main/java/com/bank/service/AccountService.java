@@ -1,39 +1,162 @@
 package com.bank.service;
+import com.bank.audit.AuditEvent;
+import com.bank.audit.AuditLogger;
 import com.bank.exception.AccountNotFoundException;
 import com.bank.exception.InsufficientFundsException;
 import com.bank.exception.InvalidTransactionException;
+import com.bank.id.IdGenerators;
+import com.bank.jfr.AccountCreateEvent;
+import com.bank.jfr.DepositEvent;
+import com.bank.jfr.InterestEvent;
+import com.bank.jfr.TransferEvent;
+import com.bank.jfr.WithdrawEvent;
+import com.bank.metrics.Counter;
+import com.bank.metrics.LatencyHistogram;
+import com.bank.metrics.Metrics;
+import com.bank.metrics.MetricsRegistry;
 import com.bank.model.*;
 import com.bank.repository.AccountRepository;
+import com.bank.repository.LedgerSnapshot;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.Locale;
 
 /**
  * Service layer for account operations.
  * Implements business logic and validation.
+ * Balance changes are serialized per account through striped locks.
  */
 public class AccountService {
-    private static final Logger LOGGER = Logger.getLogger(AccountService.class.getName());
+    private static final AuditLogger AUDIT = AuditLogger.getLogger(AccountService.class);
+    private static final AuditEvent ACCOUNT_CREATING =
+        AuditEvent.info("account.creating", "Creating account for customer {customerId}");
+    private static final AuditEvent ACCOUNT_CREATED =
+        AuditEvent.info("account.created", "Account created: {accountId}");
+    private static final AuditEvent DEPOSIT_PROCESSING =
+        AuditEvent.info("deposit.processing", "Processing deposit: {amount} to account {accountId}");
+    private static final AuditEvent DEPOSIT_COMPLETED =
+        AuditEvent.info("deposit.completed", "Deposit completed successfully");
+    private static final AuditEvent WITHDRAWAL_PROCESSING =
+        AuditEvent.info("withdrawal.processing", "Processing withdrawal: {amount} from account {accountId}");
+    private static final AuditEvent WITHDRAWAL_COMPLETED =
+        AuditEvent.info("withdrawal.completed", "Withdrawal completed successfully");
+    private static final AuditEvent TRANSFER_PROCESSING =
+        AuditEvent.info("transfer.processing", "Processing transfer: {amount} from {fromAccountId} to {toAccountId}");
+    private static final AuditEvent TRANSFER_COMPLETED =
+        AuditEvent.info("transfer.completed", "Transfer completed successfully");
+    private static final AuditEvent OPERATION_DECLINED =
+        AuditEvent.info("operation.declined", "Operation declined: {outcome} for account {accountId}");
+    private static final AuditEvent ACCOUNT_DEACTIVATED =
+        AuditEvent.info("account.deactivated", "Account {accountId} deactivated");
+    private static final AuditEvent ACCOUNT_ACTIVATED =
+        AuditEvent.info("account.activated", "Account {accountId} activated");
+    private static final AuditEvent INTEREST_APPLIED =
+        AuditEvent.info("interest.applied", "Interest applied: {interest} to account {accountId}");
     
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILED = "FAILED";
+
     private final AccountRepository accountRepository;
     private final TransactionService transactionService;
     private final ValidationService validationService;
+    private final Clock clock;
+    private final AccountLocks accountLocks;
+    private final LatencyHistogram depositLatency;
+    private final LatencyHistogram withdrawLatency;
+    private final LatencyHistogram transferLatency;
+    private final Counter depositsCompleted;
+    private final Counter depositsFailed;
+    private final Counter[] withdrawOutcomes;
+    private final Counter[] transferOutcomes;
 
     public AccountService(AccountRepository accountRepository,
                          TransactionService transactionService,
                          ValidationService validationService) {
+        this(accountRepository, transactionService, validationService, Clocks.getDefault());
+    }
+
+    public AccountService(AccountRepository accountRepository,
+                         TransactionService transactionService,
+                         ValidationService validationService,
+                         Clock clock) {
         this.accountRepository = accountRepository;
         this.transactionService = transactionService;
         this.validationService = validationService;
+        this.clock = clock;
+
+        MetricsRegistry metrics = Metrics.getDefault();
+        this.accountLocks = new AccountLocks(metrics.contention());
+        this.depositLatency = metrics.histogram("account.deposit");
+        this.withdrawLatency = metrics.histogram("account.withdraw");
+        this.transferLatency = metrics.histogram("account.transfer");
+        this.depositsCompleted = metrics.counter("account.deposit.outcome.success");
+        this.depositsFailed = metrics.counter("account.deposit.outcome.failed");
+        this.withdrawOutcomes = outcomeCounters(metrics, "account.withdraw");
+        this.transferOutcomes = outcomeCounters(metrics, "account.transfer");
+    }
+
+    private static Counter[] outcomeCounters(MetricsRegistry metrics, String operation) {
+        TransactionOutcome[] outcomes = TransactionOutcome.values();
+        Counter[] counters = new Counter[outcomes.length];
+        for (TransactionOutcome outcome : outcomes) {
+            counters[outcome.ordinal()] = metrics.counter(
+                operation + ".outcome." + outcome.name().toLowerCase(Locale.ROOT));
+        }
+        return counters;
     }
 
     public Account createAccount(String customerId, AccountType accountType, BigDecimal initialDeposit) {
-        LOGGER.info(String.format("Creating account for customer %s", customerId));
+        return createAccount(null, customerId, accountType, initialDeposit);
+    }
+
+    /**
+     * Creates an account under a caller-chosen ID, e.g. one picked by a shard router
+     * so that it hashes to this node; a null ID generates one as usual.
+     */
+    public Account createAccount(String accountId, String customerId, AccountType accountType,
+                                 BigDecimal initialDeposit) {
+        AccountCreateEvent event = new AccountCreateEvent();
+        event.begin();
+        Account created = null;
+        try {
+            if (accountId == null) {
+                created = applyCreateAccount(null, customerId, accountType, initialDeposit);
+            } else {
+                accountLocks.lock(accountId);
+                try {
+                    if (accountRepository.existsById(accountId)) {
+                        throw new IllegalArgumentException("Account already exists: " + accountId);
+                    }
+                    created = applyCreateAccount(accountId, customerId, accountType, initialDeposit);
+                } finally {
+                    accountLocks.unlock(accountId);
+                }
+            }
+            return created;
+        } finally {
+            event.complete(created == null ? null : created.getAccountId(), initialDeposit,
+                created == null ? FAILED : SUCCESS);
+        }
+    }
+
+    private Account applyCreateAccount(String accountId, String customerId, AccountType accountType,
+                                       BigDecimal initialDeposit) {
+        AUDIT.log(ACCOUNT_CREATING, customerId);
         
         validationService.validateCustomerId(customerId);
         validationService.validateAmount(initialDeposit, "Initial deposit");
 
-        Account account = new Account.Builder()
+        LocalDateTime now = clock.now();
+        Account.Builder builder = new Account.Builder().clock(clock);
+        if (accountId != null) {
+            builder.accountId(accountId);
+        }
+        Account account = builder
+                .createdAt(now)
+                .lastModifiedAt(now)
                 .customerId(customerId)
                 .accountType(accountType)
                 .balance(initialDeposit)
@@ -47,11 +170,12 @@ public class AccountService {
                 TransactionType.DEPOSIT,
                 initialDeposit,
                 savedAccount.getBalance(),
-                "Initial deposit"
+                "Initial deposit",
+                now
             );
         }
 
-        LOGGER.info(String.format("Account created: %s", savedAccount.getAccountId()));
+        AUDIT.log(ACCOUNT_CREATED, savedAccount.getAccountId());
         return savedAccount;
     }
 
@@ -68,8 +192,33 @@ public class AccountService {
         return accountRepository.findAll();
     }
 
+    /**
+     * Consistent point-in-time view of all accounts for reports; close it when done.
+     * Unlike {@link #getAllAccounts}, a transfer is never seen half applied.
+     */
+    public LedgerSnapshot openSnapshot() {
+        return accountRepository.snapshot();
+    }
+
     public void deposit(String accountId, BigDecimal amount, String description) {
-        LOGGER.info(String.format("Processing deposit: %s to account %s", amount, accountId));
+        DepositEvent event = new DepositEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean completed = false;
+        accountLocks.lock(accountId);
+        try {
+            applyDeposit(accountId, amount, description);
+            completed = true;
+        } finally {
+            accountLocks.unlock(accountId);
+            depositLatency.record(System.nanoTime() - start);
+            (completed ? depositsCompleted : depositsFailed).increment();
+            event.complete(accountId, amount, completed ? SUCCESS : FAILED);
+        }
+    }
+
+    private void applyDeposit(String accountId, BigDecimal amount, String description) {
+        AUDIT.log(DEPOSIT_PROCESSING, amount, accountId);
         
         validationService.validateAmount(amount, "Deposit");
         Account account = getAccount(accountId);
@@ -78,7 +227,7 @@ public class AccountService {
             throw new InvalidTransactionException("Cannot deposit to inactive account");
         }
 
-        account.deposit(amount);
+        account.deposit(amount, clock.now());
         accountRepository.save(account);
         
         transactionService.recordTransaction(
@@ -86,75 +235,253 @@ public class AccountService {
             TransactionType.DEPOSIT,
             amount,
             account.getBalance(),
-            description != null ? description : "Deposit"
+            description != null ? description : "Deposit",
+            account.getLastModifiedAt()
         );
 
-        LOGGER.info("Deposit completed successfully");
+        AUDIT.log(DEPOSIT_COMPLETED);
     }
 
     public void withdraw(String accountId, BigDecimal amount, String description) {
-        LOGGER.info(String.format("Processing withdrawal: %s from account %s", amount, accountId));
-        
-        validationService.validateAmount(amount, "Withdrawal");
-        Account account = getAccount(accountId);
-        
-        if (!account.isActive()) {
-            throw new InvalidTransactionException("Cannot withdraw from inactive account");
+        TransactionOutcome outcome = tryWithdraw(accountId, amount, description);
+        if (outcome != TransactionOutcome.SUCCESS) {
+            throw withdrawalFailure(outcome, accountId, amount);
+        }
+    }
+
+    /**
+     * Withdraws without throwing for business declines; the exception-based
+     * {@link #withdraw} is a wrapper around this method.
+     */
+    public TransactionOutcome tryWithdraw(String accountId, BigDecimal amount, String description) {
+        WithdrawEvent event = new WithdrawEvent();
+        event.begin();
+        long start = System.nanoTime();
+        TransactionOutcome outcome;
+        accountLocks.lock(accountId);
+        try {
+            outcome = applyWithdrawal(accountId, amount, description, TransactionType.WITHDRAWAL);
+        } finally {
+            accountLocks.unlock(accountId);
         }
+        withdrawLatency.record(System.nanoTime() - start);
+        withdrawOutcomes[outcome.ordinal()].increment();
+        event.complete(accountId, amount, outcome);
+        return outcome;
+    }
+
+    private TransactionOutcome applyWithdrawal(String accountId, BigDecimal amount, String description,
+                                               TransactionType type) {
+        AUDIT.log(WITHDRAWAL_PROCESSING, amount, accountId);
 
+        if (!validationService.isValidAmount(amount)) {
+            return declined(TransactionOutcome.INVALID_AMOUNT, accountId);
+        }
+        Account account = accountRepository.findById(accountId).orElse(null);
+        if (account == null) {
+            return declined(TransactionOutcome.ACCOUNT_NOT_FOUND, accountId);
+        }
+        if (!account.isActive()) {
+            return declined(TransactionOutcome.ACCOUNT_INACTIVE, accountId);
+        }
         if (account.getBalance().compareTo(amount) < 0) {
-            throw new InsufficientFundsException(accountId, amount, account.getBalance());
+            return declined(TransactionOutcome.INSUFFICIENT_FUNDS, accountId);
+        }
+        if (!validationService.tryAcquireVelocity(account, type, amount)) {
+            return declined(TransactionOutcome.VELOCITY_LIMIT_EXCEEDED, accountId);
         }
 
-        account.withdraw(amount);
+        account.withdraw(amount, clock.now());
         accountRepository.save(account);
         
         transactionService.recordTransaction(
             accountId,
-            TransactionType.WITHDRAWAL,
+            type,
             amount,
             account.getBalance(),
-            description != null ? description : "Withdrawal"
+            description != null ? description : type.getDisplayName(),
+            account.getLastModifiedAt()
         );
 
-        LOGGER.info("Withdrawal completed successfully");
+        AUDIT.log(WITHDRAWAL_COMPLETED);
+        return TransactionOutcome.SUCCESS;
+    }
+
+    /**
+     * Debits the outgoing leg of a transfer whose incoming leg is applied elsewhere,
+     * such as on another shard. Same checks as a withdrawal; recorded as a transfer.
+     */
+    public TransactionOutcome tryTransferOut(String accountId, BigDecimal amount, String description) {
+        accountLocks.lock(accountId);
+        try {
+            return applyWithdrawal(accountId, amount, description, TransactionType.TRANSFER);
+        } finally {
+            accountLocks.unlock(accountId);
+        }
+    }
+
+    /**
+     * Credits the incoming leg of a transfer whose outgoing leg was already debited
+     * elsewhere, or reverses such a debit. The decision to move the money has been
+     * made by then, so unlike {@link #deposit} an inactive account is still credited.
+     */
+    public TransactionOutcome transferIn(String accountId, BigDecimal amount, String description) {
+        return applyTransferIn(accountId, amount, description, -1);
+    }
+
+    /**
+     * Credits back a debit taken by {@link #tryTransferOut} at {@code debitedAtMillis} whose
+     * transfer was abandoned, and returns the velocity allowance the debit used.
+     */
+    public TransactionOutcome reverseTransferOut(String accountId, BigDecimal amount, String description,
+                                                 long debitedAtMillis) {
+        return applyTransferIn(accountId, amount, description, debitedAtMillis);
+    }
+
+    // debitedAtMillis is negative unless this reverses a debit made here
+    private TransactionOutcome applyTransferIn(String accountId, BigDecimal amount, String description,
+                                               long debitedAtMillis) {
+        if (!validationService.isValidAmount(amount)) {
+            return TransactionOutcome.INVALID_AMOUNT;
+        }
+        accountLocks.lock(accountId);
+        try {
+            Account account = accountRepository.findById(accountId).orElse(null);
+            if (account == null) {
+                return declined(TransactionOutcome.ACCOUNT_NOT_FOUND, accountId);
+            }
+            account.deposit(amount, clock.now());
+            accountRepository.save(account);
+            transactionService.recordTransaction(
+                accountId,
+                TransactionType.TRANSFER,
+                amount,
+                account.getBalance(),
+                description,
+                account.getLastModifiedAt()
+            );
+            if (debitedAtMillis >= 0) {
+                validationService.releaseVelocity(account, TransactionType.TRANSFER, amount, debitedAtMillis);
+            }
+            return TransactionOutcome.SUCCESS;
+        } finally {
+            accountLocks.unlock(accountId);
+        }
+    }
+
+    /**
+     * Removes the account so it can be moved to another node, returning its final state.
+     * Its transaction history stays here.
+     */
+    public Account releaseAccount(String accountId) {
+        accountLocks.lock(accountId);
+        try {
+            Account account = getAccount(accountId);
+            accountRepository.deleteById(accountId);
+            return account.copy();
+        } finally {
+            accountLocks.unlock(accountId);
+        }
+    }
+
+    /**
+     * Adds an account released by another node with its balance and status unchanged,
+     * recording the carried-over balance as a deposit. Returns false if it is already here.
+     */
+    public boolean restoreAccount(Account account) {
+        String accountId = account.getAccountId();
+        accountLocks.lock(accountId);
+        try {
+            if (accountRepository.existsById(accountId)) {
+                return false;
+            }
+            Account restored = account.copy();
+            accountRepository.save(restored);
+            if (restored.getBalance().signum() > 0) {
+                transactionService.recordTransaction(
+                    accountId,
+                    TransactionType.DEPOSIT,
+                    restored.getBalance(),
+                    restored.getBalance(),
+                    "Balance carried over from previous node",
+                    clock.now()
+                );
+            }
+            return true;
+        } finally {
+            accountLocks.unlock(accountId);
+        }
     }
 
     public void transfer(String fromAccountId, String toAccountId, BigDecimal amount) {
-        LOGGER.info(String.format("Processing transfer: %s from %s to %s", 
-                    amount, fromAccountId, toAccountId));
-        
-        validationService.validateAmount(amount, "Transfer");
-        
-        if (fromAccountId.equals(toAccountId)) {
-            throw new InvalidTransactionException("Cannot transfer to the same account");
+        TransactionOutcome outcome = tryTransfer(fromAccountId, toAccountId, amount);
+        if (outcome != TransactionOutcome.SUCCESS) {
+            throw transferFailure(outcome, fromAccountId, toAccountId, amount);
         }
+    }
 
-        Account fromAccount = getAccount(fromAccountId);
-        Account toAccount = getAccount(toAccountId);
+    /**
+     * Transfers without throwing for business declines; the exception-based
+     * {@link #transfer} is a wrapper around this method.
+     */
+    public TransactionOutcome tryTransfer(String fromAccountId, String toAccountId, BigDecimal amount) {
+        TransferEvent event = new TransferEvent();
+        event.begin();
+        long start = System.nanoTime();
+        TransactionOutcome outcome;
+        accountLocks.lock(fromAccountId, toAccountId);
+        try {
+            outcome = applyTransfer(fromAccountId, toAccountId, amount);
+        } finally {
+            accountLocks.unlock(fromAccountId, toAccountId);
+        }
+        transferLatency.record(System.nanoTime() - start);
+        transferOutcomes[outcome.ordinal()].increment();
+        event.toAccountId = toAccountId;
+        event.complete(fromAccountId, amount, outcome);
+        return outcome;
+    }
 
-        if (!fromAccount.isActive() || !toAccount.isActive()) {
-            throw new InvalidTransactionException("Both accounts must be active for transfer");
+    private TransactionOutcome applyTransfer(String fromAccountId, String toAccountId, BigDecimal amount) {
+        AUDIT.log(TRANSFER_PROCESSING, amount, fromAccountId, toAccountId);
+
+        if (!validationService.isValidAmount(amount)) {
+            return declined(TransactionOutcome.INVALID_AMOUNT, fromAccountId);
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            return declined(TransactionOutcome.SAME_ACCOUNT, fromAccountId);
         }
 
+        Account fromAccount = accountRepository.findById(fromAccountId).orElse(null);
+        Account toAccount = accountRepository.findById(toAccountId).orElse(null);
+        if (fromAccount == null || toAccount == null) {
+            return declined(TransactionOutcome.ACCOUNT_NOT_FOUND, fromAccountId);
+        }
+        if (!fromAccount.isActive() || !toAccount.isActive()) {
+            return declined(TransactionOutcome.ACCOUNT_INACTIVE, fromAccountId);
+        }
         if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new InsufficientFundsException(fromAccountId, amount, fromAccount.getBalance());
+            return declined(TransactionOutcome.INSUFFICIENT_FUNDS, fromAccountId);
+        }
+        if (!validationService.tryAcquireVelocity(fromAccount, TransactionType.TRANSFER, amount)) {
+            return declined(TransactionOutcome.VELOCITY_LIMIT_EXCEEDED, fromAccountId);
         }
 
-        fromAccount.withdraw(amount);
-        toAccount.deposit(amount);
+        LocalDateTime now = clock.now();
+        fromAccount.withdraw(amount, now);
+        toAccount.deposit(amount, now);
         
-        accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
+        accountRepository.saveAll(fromAccount, toAccount);
 
-        String referenceNumber = "TRF-" + System.currentTimeMillis();
+        String referenceNumber = "TRF-" + IdGenerators.getDefault().nextIdString();
         
         transactionService.recordTransaction(
             fromAccountId,
             TransactionType.TRANSFER,
             amount,
             fromAccount.getBalance(),
-            "Transfer to " + toAccountId + " - Ref: " + referenceNumber
+            "Transfer to " + toAccountId + " - Ref: " + referenceNumber,
+            fromAccount.getLastModifiedAt()
         );
         
         transactionService.recordTransaction(
@@ -162,10 +489,60 @@ public class AccountService {
             TransactionType.TRANSFER,
             amount,
             toAccount.getBalance(),
-            "Transfer from " + fromAccountId + " - Ref: " + referenceNumber
+            "Transfer from " + fromAccountId + " - Ref: " + referenceNumber,
+            toAccount.getLastModifiedAt()
         );
 
-        LOGGER.info("Transfer completed successfully");
+        AUDIT.log(TRANSFER_COMPLETED);
+        return TransactionOutcome.SUCCESS;
+    }
+
+    private static TransactionOutcome declined(TransactionOutcome outcome, String accountId) {
+        AUDIT.log(OPERATION_DECLINED, outcome, accountId);
+        return outcome;
+    }
+
+    // Rebuilds the exceptions the throwing API has always raised; only runs on the decline path
+    private RuntimeException withdrawalFailure(TransactionOutcome outcome, String accountId, BigDecimal amount) {
+        switch (outcome) {
+            case INVALID_AMOUNT:
+                validationService.validateAmount(amount, "Withdrawal");
+                return new IllegalArgumentException("Withdrawal amount is invalid");
+            case ACCOUNT_NOT_FOUND:
+                return new AccountNotFoundException(accountId);
+            case ACCOUNT_INACTIVE:
+                return new InvalidTransactionException("Cannot withdraw from inactive account");
+            case INSUFFICIENT_FUNDS:
+                return new InsufficientFundsException(accountId, amount, getBalance(accountId));
+            case VELOCITY_LIMIT_EXCEEDED:
+                return validationService.velocityLimitExceeded(
+                    getAccount(accountId), TransactionType.WITHDRAWAL, amount);
+            default:
+                return new InvalidTransactionException("Withdrawal failed: " + outcome);
+        }
+    }
+
+    private RuntimeException transferFailure(TransactionOutcome outcome, String fromAccountId,
+                                             String toAccountId, BigDecimal amount) {
+        switch (outcome) {
+            case INVALID_AMOUNT:
+                validationService.validateAmount(amount, "Transfer");
+                return new IllegalArgumentException("Transfer amount is invalid");
+            case SAME_ACCOUNT:
+                return new InvalidTransactionException("Cannot transfer to the same account");
+            case ACCOUNT_NOT_FOUND:
+                return new AccountNotFoundException(
+                    accountRepository.existsById(fromAccountId) ? toAccountId : fromAccountId);
+            case ACCOUNT_INACTIVE:
+                return new InvalidTransactionException("Both accounts must be active for transfer");
+            case INSUFFICIENT_FUNDS:
+                return new InsufficientFundsException(fromAccountId, amount, getBalance(fromAccountId));
+            case VELOCITY_LIMIT_EXCEEDED:
+                return validationService.velocityLimitExceeded(
+                    getAccount(fromAccountId), TransactionType.TRANSFER, amount);
+            default:
+                return new InvalidTransactionException("Transfer failed: " + outcome);
+        }
     }
 
     public BigDecimal getBalance(String accountId) {
@@ -174,26 +551,55 @@ public class AccountService {
 
     public void deactivateAccount(String accountId) {
         Account account = getAccount(accountId);
-        account.deactivate();
-        accountRepository.save(account);
-        LOGGER.info(String.format("Account %s deactivated", accountId));
+        accountLocks.lock(accountId);
+        try {
+            account.deactivate(clock.now());
+            accountRepository.save(account);
+        } finally {
+            accountLocks.unlock(accountId);
+        }
+        AUDIT.log(ACCOUNT_DEACTIVATED, accountId);
     }
 
     public void activateAccount(String accountId) {
         Account account = getAccount(accountId);
-        account.activate();
-        accountRepository.save(account);
-        LOGGER.info(String.format("Account %s activated", accountId));
+        accountLocks.lock(accountId);
+        try {
+            account.activate(clock.now());
+            accountRepository.save(account);
+        } finally {
+            accountLocks.unlock(accountId);
+        }
+        AUDIT.log(ACCOUNT_ACTIVATED, accountId);
     }
 
-    public void applyInterest(String accountId) {
+    /**
+     * Credits one period of interest and returns the amount credited, or zero if none was due.
+     */
+    public BigDecimal applyInterest(String accountId) {
+        InterestEvent event = new InterestEvent();
+        event.begin();
+        BigDecimal applied = null;
+        try {
+            applied = applyInterestLocked(accountId);
+            return applied;
+        } finally {
+            event.complete(accountId, applied, applied == null ? FAILED : SUCCESS);
+        }
+    }
+
+    private BigDecimal applyInterestLocked(String accountId) {
         Account account = getAccount(accountId);
-        double interestRate = account.getAccountType().getInterestRate();
-        BigDecimal interest = account.getBalance()
-                .multiply(BigDecimal.valueOf(interestRate));
-        
-        if (interest.compareTo(BigDecimal.ZERO) > 0) {
-            account.deposit(interest);
+        accountLocks.lock(accountId);
+        try {
+            double interestRate = account.getAccountType().getInterestRate();
+            BigDecimal interest = account.getBalance()
+                    .multiply(BigDecimal.valueOf(interestRate));
+            
+            if (interest.compareTo(BigDecimal.ZERO) <= 0) {
+                return BigDecimal.ZERO;
+            }
+            account.deposit(interest, clock.now());
             accountRepository.save(account);
             
             transactionService.recordTransaction(
@@ -201,10 +607,14 @@ public class AccountService {
                 TransactionType.INTEREST,
                 interest,
                 account.getBalance(),
-                "Interest credit at " + (interestRate * 100) + "%"
+                "Interest credit at " + (interestRate * 100) + "%",
+                account.getLastModifiedAt()
             );
             
-            LOGGER.info(String.format("Interest applied: %s to account %s", interest, accountId));
+            AUDIT.log(INTEREST_APPLIED, interest, accountId);
+            return interest;
+        } finally {
+            accountLocks.unlock(accountId);
         }
     }
 }
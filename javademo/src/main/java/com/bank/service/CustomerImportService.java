@@ -0,0 +1,240 @@
+package com.bank.service;
+
+import com.bank.audit.AuditEvent;
+import com.bank.audit.AuditLogger;
+import com.bank.model.Customer;
+import com.bank.repository.CustomerRepository;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import of customers from CSV.
+ * Rows are read through a buffered channel in fixed-size batches; each batch is
+ * parsed and validated in parallel, deduplicated against the repository's email
+ * index and the rows already imported, then inserted in one call.
+ * <p>
+ * The first line is a header naming the columns firstName, lastName, email,
+ * phoneNumber, dateOfBirth (ISO yyyy-MM-dd) and address, in any order. Fields
+ * may be double-quoted, with "" for a literal quote; quoted fields cannot span lines.
+ */
+public class CustomerImportService {
+    private static final AuditLogger AUDIT = AuditLogger.getLogger(CustomerImportService.class);
+    private static final AuditEvent IMPORT_COMPLETED =
+        AuditEvent.info("customer.import.completed", "Customer import completed: {summary}");
+
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private static final String[] COLUMNS =
+        {"firstName", "lastName", "email", "phoneNumber", "dateOfBirth", "address"};
+    private static final int READ_BUFFER_CHARS = 1 << 16;
+
+    private final CustomerRepository customerRepository;
+    private final Clock clock;
+    private final int batchSize;
+
+    public CustomerImportService(CustomerRepository customerRepository) {
+        this(customerRepository, Clocks.getDefault(), DEFAULT_BATCH_SIZE);
+    }
+
+    public CustomerImportService(CustomerRepository customerRepository, Clock clock, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.customerRepository = customerRepository;
+        this.clock = clock;
+        this.batchSize = batchSize;
+    }
+
+    public ImportReport importCsv(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return importCsv(channel);
+        }
+    }
+
+    public ImportReport importCsv(ReadableByteChannel channel) throws IOException {
+        long started = System.nanoTime();
+        BufferedReader reader = new BufferedReader(
+            Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1), READ_BUFFER_CHARS);
+
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        int[] columnIndexes = resolveColumns(splitLine(header));
+
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        Map<String, Long> importedEmails = new HashMap<>();
+        List<RawRow> batch = new ArrayList<>(batchSize);
+        long lineNumber = 1;
+        long totalRows = 0;
+        long importedRows = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            batch.add(new RawRow(lineNumber, line));
+            totalRows++;
+            if (batch.size() == batchSize) {
+                importedRows += processBatch(batch, columnIndexes, importedEmails, errors);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importedRows += processBatch(batch, columnIndexes, importedEmails, errors);
+        }
+
+        ImportReport report = new ImportReport(totalRows, importedRows, errors,
+            Duration.ofNanos(System.nanoTime() - started));
+        AUDIT.log(IMPORT_COMPLETED, report);
+        return report;
+    }
+
+    private long processBatch(List<RawRow> batch, int[] columnIndexes,
+                              Map<String, Long> importedEmails, List<ImportReport.RowError> errors) {
+        LocalDateTime now = clock.now();
+        List<ParsedRow> parsed = batch.parallelStream()
+                .map(row -> parse(row, columnIndexes, now))
+                .collect(Collectors.toList());
+
+        List<Customer> accepted = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            if (row.error != null) {
+                errors.add(new ImportReport.RowError(row.lineNumber, row.error));
+                continue;
+            }
+            String emailKey = row.customer.getEmail().toLowerCase(Locale.ROOT);
+            Long firstLine = importedEmails.get(emailKey);
+            if (firstLine != null) {
+                errors.add(new ImportReport.RowError(row.lineNumber,
+                    "Duplicate email " + row.customer.getEmail() + " (first seen on line " + firstLine + ")"));
+            } else if (customerRepository.existsByEmail(emailKey)) {
+                errors.add(new ImportReport.RowError(row.lineNumber,
+                    "Customer with email " + row.customer.getEmail() + " already exists"));
+            } else {
+                importedEmails.put(emailKey, row.lineNumber);
+                accepted.add(row.customer);
+            }
+        }
+        customerRepository.saveAll(accepted);
+        return accepted.size();
+    }
+
+    private ParsedRow parse(RawRow row, int[] columnIndexes, LocalDateTime now) {
+        List<String> fields = splitLine(row.line);
+        String[] values = new String[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            int index = columnIndexes[i];
+            values[i] = index >= 0 && index < fields.size() ? fields.get(index).trim() : null;
+        }
+        try {
+            LocalDate dateOfBirth = values[4] == null || values[4].isEmpty() ? null : LocalDate.parse(values[4]);
+            Customer customer = new Customer.Builder()
+                    .clock(clock)
+                    .firstName(values[0])
+                    .lastName(values[1])
+                    .email(values[2])
+                    .phoneNumber(values[3])
+                    .dateOfBirth(dateOfBirth)
+                    .address(values[5])
+                    .createdAt(now)
+                    .lastModifiedAt(now)
+                    .build();
+            return new ParsedRow(row.lineNumber, customer, null);
+        } catch (IllegalStateException e) {
+            return new ParsedRow(row.lineNumber, null, e.getMessage());
+        } catch (DateTimeParseException e) {
+            return new ParsedRow(row.lineNumber, null, "Invalid date of birth: " + values[4]);
+        }
+    }
+
+    private static int[] resolveColumns(List<String> header) {
+        int[] indexes = new int[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            indexes[i] = -1;
+            for (int j = 0; j < header.size(); j++) {
+                if (header.get(j).trim().equalsIgnoreCase(COLUMNS[i])) {
+                    indexes[i] = j;
+                    break;
+                }
+            }
+            // Address is optional on Customer, every other column is required
+            if (indexes[i] < 0 && !"address".equals(COLUMNS[i])) {
+                throw new IllegalArgumentException("CSV header is missing column: " + COLUMNS[i]);
+            }
+        }
+        return indexes;
+    }
+
+    static List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>(COLUMNS.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class RawRow {
+        private final long lineNumber;
+        private final String line;
+
+        private RawRow(long lineNumber, String line) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+        }
+    }
+
+    private static final class ParsedRow {
+        private final long lineNumber;
+        private final Customer customer;
+        private final String error;
+
+        private ParsedRow(long lineNumber, Customer customer, String error) {
+            this.lineNumber = lineNumber;
+            this.customer = customer;
+            this.error = error;
+        }
+    }
+}
@@ -1,35 +1,59 @@
 package com.bank.service;
 
+import com.bank.audit.AuditEvent;
+import com.bank.audit.AuditLogger;
 import com.bank.model.Customer;
 import com.bank.repository.CustomerRepository;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.logging.Logger;
 
 /**
  * Service layer for customer operations.
  */
 public class CustomerService {
-    private static final Logger LOGGER = Logger.getLogger(CustomerService.class.getName());
+    private static final AuditLogger AUDIT = AuditLogger.getLogger(CustomerService.class);
+    private static final AuditEvent CUSTOMER_CREATING =
+        AuditEvent.info("customer.creating", "Creating customer: {firstName} {lastName}");
+    private static final AuditEvent CUSTOMER_CREATED =
+        AuditEvent.info("customer.created", "Customer created: {customerId}");
+    private static final AuditEvent CUSTOMER_DEACTIVATED =
+        AuditEvent.info("customer.deactivated", "Customer {customerId} deactivated");
+    private static final AuditEvent CUSTOMER_ACTIVATED =
+        AuditEvent.info("customer.activated", "Customer {customerId} activated");
     
     private final CustomerRepository customerRepository;
     private final ValidationService validationService;
+    private final Clock clock;
 
     public CustomerService(CustomerRepository customerRepository,
                           ValidationService validationService) {
+        this(customerRepository, validationService, Clocks.getDefault());
+    }
+
+    public CustomerService(CustomerRepository customerRepository,
+                          ValidationService validationService,
+                          Clock clock) {
         this.customerRepository = customerRepository;
         this.validationService = validationService;
+        this.clock = clock;
     }
 
     public Customer createCustomer(String firstName, String lastName, String email,
                                    String phoneNumber, LocalDate dateOfBirth, String address) {
-        LOGGER.info(String.format("Creating customer: %s %s", firstName, lastName));
+        AUDIT.log(CUSTOMER_CREATING, firstName, lastName);
         
         if (customerRepository.existsByEmail(email)) {
             throw new IllegalArgumentException("Customer with email " + email + " already exists");
         }
 
+        LocalDateTime now = clock.now();
         Customer customer = new Customer.Builder()
+                .clock(clock)
+                .createdAt(now)
+                .lastModifiedAt(now)
                 .firstName(firstName)
                 .lastName(lastName)
                 .email(email)
@@ -39,7 +63,7 @@ public class CustomerService {
                 .build();
 
         Customer savedCustomer = customerRepository.save(customer);
-        LOGGER.info(String.format("Customer created: %s", savedCustomer.getCustomerId()));
+        AUDIT.log(CUSTOMER_CREATED, savedCustomer.getCustomerId());
         return savedCustomer;
     }
 
@@ -53,6 +77,13 @@ public class CustomerService {
                 .orElseThrow(() -> new IllegalArgumentException("Customer not found with email: " + email));
     }
 
+    /**
+     * Customers whose names best match a partial or misspelt name, best first.
+     */
+    public List<Customer> searchCustomers(String query, int limit) {
+        return customerRepository.searchByName(query, limit);
+    }
+
     public List<Customer> getAllCustomers() {
         return customerRepository.findAll();
     }
@@ -63,16 +94,16 @@ public class CustomerService {
 
     public void deactivateCustomer(String customerId) {
         Customer customer = getCustomer(customerId);
-        customer.deactivate();
+        customer.deactivate(clock.now());
         customerRepository.save(customer);
-        LOGGER.info(String.format("Customer %s deactivated", customerId));
+        AUDIT.log(CUSTOMER_DEACTIVATED, customerId);
     }
 
     public void activateCustomer(String customerId) {
         Customer customer = getCustomer(customerId);
-        customer.activate();
+        customer.activate(clock.now());
         customerRepository.save(customer);
-        LOGGER.info(String.format("Customer %s activated", customerId));
+        AUDIT.log(CUSTOMER_ACTIVATED, customerId);
     }
 
     public boolean existsById(String customerId) {
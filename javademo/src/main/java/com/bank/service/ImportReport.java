@@ -0,0 +1,84 @@
+package com.bank.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk customer import: per-row errors and a throughput summary.
+ */
+public final class ImportReport {
+    private final long totalRows;
+    private final long importedRows;
+    private final List<RowError> errors;
+    private final Duration elapsed;
+
+    ImportReport(long totalRows, long importedRows, List<RowError> errors, Duration elapsed) {
+        this.totalRows = totalRows;
+        this.importedRows = importedRows;
+        this.errors = Collections.unmodifiableList(errors);
+        this.elapsed = elapsed;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getRejectedRows() {
+        return errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public double getRowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : totalRows * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "totalRows=" + totalRows +
+                ", importedRows=" + importedRows +
+                ", rejectedRows=" + getRejectedRows() +
+                ", elapsed=" + elapsed +
+                ", rowsPerSecond=" + Math.round(getRowsPerSecond()) +
+                '}';
+    }
+
+    /**
+     * A rejected input row. Line numbers are 1-based and count the header.
+     */
+    public static final class RowError {
+        private final long lineNumber;
+        private final String message;
+
+        RowError(long lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ": " + message;
+        }
+    }
+}
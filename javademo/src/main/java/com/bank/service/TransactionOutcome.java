@@ -0,0 +1,19 @@
+package com.bank.service;
+
+/**
+ * Result of a non-throwing money movement such as {@link AccountService#tryWithdraw}.
+ * Declines are ordinary outcomes here rather than exceptions.
+ */
+public enum TransactionOutcome {
+    SUCCESS,
+    INVALID_AMOUNT,
+    ACCOUNT_NOT_FOUND,
+    ACCOUNT_INACTIVE,
+    INSUFFICIENT_FUNDS,
+    SAME_ACCOUNT,
+    VELOCITY_LIMIT_EXCEEDED;
+
+    public boolean isSuccess() {
+        return this == SUCCESS;
+    }
+}
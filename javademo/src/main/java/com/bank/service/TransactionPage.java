@@ -0,0 +1,31 @@
+package com.bank.service;
+
+import com.bank.model.Transaction;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of an account's history, newest first. {@link #getNextCursor()} is the
+ * transaction ID to pass as {@code after} for the following page, or null on the last page.
+ */
+public final class TransactionPage {
+    private final List<Transaction> transactions;
+    private final String nextCursor;
+
+    TransactionPage(List<Transaction> transactions, String nextCursor) {
+        this.transactions = Collections.unmodifiableList(transactions);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
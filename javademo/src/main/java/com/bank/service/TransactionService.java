@@ -1,30 +1,61 @@
 package com.bank.service;
 
+import com.bank.analytics.AmountStatistics;
+import com.bank.analytics.TransactionQuery;
+import com.bank.audit.AuditEvent;
+import com.bank.audit.AuditLogger;
+import com.bank.cdc.CompositeLedgerListener;
+import com.bank.cdc.LedgerListener;
+import com.bank.metrics.LatencyHistogram;
+import com.bank.metrics.Metrics;
 import com.bank.model.Transaction;
 import com.bank.model.TransactionType;
 import com.bank.repository.TransactionRepository;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service layer for transaction operations.
  */
 public class TransactionService {
-    private static final Logger LOGGER = Logger.getLogger(TransactionService.class.getName());
+    private static final AuditLogger AUDIT = AuditLogger.getLogger(TransactionService.class);
+    private static final AuditEvent TRANSACTION_RECORDED =
+        AuditEvent.info("transaction.recorded", "Transaction recorded: {transactionId}");
     
     private final TransactionRepository transactionRepository;
+    private final Clock clock;
+    private final LatencyHistogram recordLatency;
+    private volatile LedgerListener ledgerListener = LedgerListener.NONE;
 
     public TransactionService(TransactionRepository transactionRepository) {
+        this(transactionRepository, Clocks.getDefault());
+    }
+
+    public TransactionService(TransactionRepository transactionRepository, Clock clock) {
         this.transactionRepository = transactionRepository;
+        this.clock = clock;
+        this.recordLatency = Metrics.getDefault().histogram("transaction.record");
     }
 
     public Transaction recordTransaction(String accountId, TransactionType type,
                                         BigDecimal amount, BigDecimal balanceAfter,
                                         String description) {
+        return recordTransaction(accountId, type, amount, balanceAfter, description, clock.now());
+    }
+
+    public Transaction recordTransaction(String accountId, TransactionType type,
+                                        BigDecimal amount, BigDecimal balanceAfter,
+                                        String description, LocalDateTime timestamp) {
+        long start = System.nanoTime();
         Transaction transaction = new Transaction.Builder()
+                .clock(clock)
                 .accountId(accountId)
+                .timestamp(timestamp)
                 .type(type)
                 .amount(amount)
                 .balanceAfter(balanceAfter)
@@ -32,25 +63,72 @@ public class TransactionService {
                 .build();
 
         Transaction saved = transactionRepository.save(transaction);
-        LOGGER.info(String.format("Transaction recorded: %s", saved.getTransactionId()));
+        ledgerListener.transactionRecorded(saved);
+        AUDIT.log(TRANSACTION_RECORDED, saved.getTransactionId());
+        recordLatency.record(System.nanoTime() - start);
         return saved;
     }
 
+    /**
+     * Adds a receiver of every recorded transaction, alongside any already registered;
+     * see {@link com.bank.cdc.LedgerFeed}.
+     */
+    public synchronized void addLedgerListener(LedgerListener listener) {
+        this.ledgerListener = CompositeLedgerListener.with(ledgerListener, listener);
+    }
+
+    public synchronized void removeLedgerListener(LedgerListener listener) {
+        this.ledgerListener = CompositeLedgerListener.without(ledgerListener, listener);
+    }
+
     public Transaction getTransaction(String transactionId) {
         return transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new IllegalArgumentException("Transaction not found: " + transactionId));
     }
 
+    public Optional<Transaction> findTransaction(String transactionId) {
+        return transactionRepository.findById(transactionId);
+    }
+
     public List<Transaction> getAccountTransactions(String accountId) {
         return transactionRepository.findByAccountId(accountId);
     }
 
+    /**
+     * Mini-statement: the account's {@code n} newest transactions, newest first.
+     * Small {@code n} is answered from a per-account ring in constant time.
+     */
+    public List<Transaction> getRecentTransactions(String accountId, int n) {
+        return transactionRepository.findRecentByAccountId(accountId, n);
+    }
+
     public List<Transaction> getAccountTransactionsByDateRange(String accountId,
                                                                LocalDateTime start,
                                                                LocalDateTime end) {
         return transactionRepository.findByAccountIdAndDateRange(accountId, start, end);
     }
 
+    /**
+     * Keyset-paginated history: {@code afterTransactionId} is the previous page's
+     * cursor, or null for the newest transactions.
+     */
+    public TransactionPage getAccountTransactionPage(String accountId, String afterTransactionId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        Transaction after = null;
+        if (afterTransactionId != null) {
+            after = transactionRepository.findByAccountIdAndTransactionId(accountId, afterTransactionId)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown cursor: " + afterTransactionId));
+        }
+        List<Transaction> rows = transactionRepository.findPageByAccountId(accountId, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new TransactionPage(rows, null);
+        }
+        List<Transaction> page = rows.subList(0, limit);
+        return new TransactionPage(page, page.get(limit - 1).getTransactionId());
+    }
+
     public List<Transaction> getTransactionsByType(TransactionType type) {
         return transactionRepository.findByType(type);
     }
@@ -69,6 +147,10 @@ public class TransactionService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    public <K> Map<K, AmountStatistics> runQuery(TransactionQuery<K> query) {
+        return query.execute(transactionRepository);
+    }
+
     public long getTransactionCount(String accountId) {
         return transactionRepository.findByAccountId(accountId).size();
     }
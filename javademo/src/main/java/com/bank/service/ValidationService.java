@@ -1,16 +1,51 @@
 package com.bank.service;
 
+import com.bank.exception.VelocityLimitExceededException;
+import com.bank.model.Account;
+import com.bank.model.TransactionType;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
+import com.bank.util.MoneyUtil;
+import com.bank.util.SlidingWindowCounter;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
  * Service for common validation logic.
+ * Velocity limits are enforced with per-account and per-customer sliding-window
+ * counters, so a check costs a few bucket reads rather than a history scan.
  */
 public class ValidationService {
     private static final Logger LOGGER = Logger.getLogger(ValidationService.class.getName());
     private static final BigDecimal MIN_TRANSACTION_AMOUNT = new BigDecimal("0.01");
     private static final BigDecimal MAX_TRANSACTION_AMOUNT = new BigDecimal("1000000.00");
 
+    private final List<VelocityLimit> velocityLimits;
+    private final List<ConcurrentMap<String, SlidingWindowCounter>> velocityCounters;
+    private final Clock clock;
+
+    public ValidationService() {
+        this(Collections.<VelocityLimit>emptyList());
+    }
+
+    public ValidationService(List<VelocityLimit> velocityLimits) {
+        this(velocityLimits, Clocks.getDefault());
+    }
+
+    public ValidationService(List<VelocityLimit> velocityLimits, Clock clock) {
+        this.velocityLimits = Collections.unmodifiableList(new ArrayList<>(velocityLimits));
+        this.velocityCounters = new ArrayList<>(velocityLimits.size());
+        for (int i = 0; i < velocityLimits.size(); i++) {
+            velocityCounters.add(new ConcurrentHashMap<>());
+        }
+        this.clock = clock;
+    }
+
     public void validateAmount(BigDecimal amount, String operationType) {
         if (amount == null) {
             throw new IllegalArgumentException(operationType + " amount cannot be null");
@@ -28,6 +63,15 @@ public class ValidationService {
         }
     }
 
+    /**
+     * Non-throwing form of {@link #validateAmount} for hot paths.
+     */
+    public boolean isValidAmount(BigDecimal amount) {
+        return amount != null
+            && amount.compareTo(MIN_TRANSACTION_AMOUNT) >= 0
+            && amount.compareTo(MAX_TRANSACTION_AMOUNT) <= 0;
+    }
+
     public void validateCustomerId(String customerId) {
         if (customerId == null || customerId.trim().isEmpty()) {
             throw new IllegalArgumentException("Customer ID cannot be null or empty");
@@ -39,4 +83,114 @@ public class ValidationService {
             throw new IllegalArgumentException("Account ID cannot be null or empty");
         }
     }
-}
\ No newline at end of file
+
+    public List<VelocityLimit> getVelocityLimits() {
+        return velocityLimits;
+    }
+
+    /**
+     * Counts the operation against every matching velocity limit, or throws
+     * without counting it if any limit would be exceeded.
+     */
+    public void checkVelocity(Account account, TransactionType operation, BigDecimal amount) {
+        VelocityLimit exceeded = acquireVelocity(account, operation, amount);
+        if (exceeded != null) {
+            String subjectId = subjectId(exceeded, account);
+            LOGGER.fine(() -> "Velocity limit " + exceeded + " rejected " + operation + " for " + subjectId);
+            throw new VelocityLimitExceededException(subjectId, exceeded.toString());
+        }
+    }
+
+    public boolean tryAcquireVelocity(Account account, TransactionType operation, BigDecimal amount) {
+        return acquireVelocity(account, operation, amount) == null;
+    }
+
+    /**
+     * Returns an operation counted at {@code acquiredAtMillis} to every limit it was counted
+     * against, such as a debit that was reversed. Limits whose window has moved past it are left alone.
+     */
+    public void releaseVelocity(Account account, TransactionType operation, BigDecimal amount, long acquiredAtMillis) {
+        long cents = MoneyUtil.toCents(amount);
+        for (int i = 0; i < velocityLimits.size(); i++) {
+            VelocityLimit limit = velocityLimits.get(i);
+            if (limit.appliesTo(operation)) {
+                counterFor(i, limit, account).remove(acquiredAtMillis, 1, cents);
+            }
+        }
+    }
+
+    /**
+     * Builds the exception for an operation that {@link #tryAcquireVelocity} rejected,
+     * naming the first limit that is currently exhausted.
+     */
+    public VelocityLimitExceededException velocityLimitExceeded(Account account, TransactionType operation,
+                                                                BigDecimal amount) {
+        long now = clock.millis();
+        long cents = MoneyUtil.toCents(amount);
+        VelocityLimit exceeded = null;
+        for (int i = 0; i < velocityLimits.size(); i++) {
+            VelocityLimit limit = velocityLimits.get(i);
+            if (!limit.appliesTo(operation)) {
+                continue;
+            }
+            if (exceeded == null) {
+                exceeded = limit;
+            }
+            SlidingWindowCounter counter = counterFor(i, limit, account);
+            if ((limit.getMaxCount() > 0 && counter.count(now) + 1 > limit.getMaxCount())
+                    || (limit.getMaxAmountCents() > 0 && counter.amount(now) + cents > limit.getMaxAmountCents())) {
+                exceeded = limit;
+                break;
+            }
+        }
+        if (exceeded == null) {
+            return new VelocityLimitExceededException(account.getAccountId(), "no limit applies to " + operation);
+        }
+        return new VelocityLimitExceededException(subjectId(exceeded, account), exceeded.toString());
+    }
+
+    private VelocityLimit acquireVelocity(Account account, TransactionType operation, BigDecimal amount) {
+        if (velocityLimits.isEmpty()) {
+            return null;
+        }
+        long now = clock.millis();
+        long cents = MoneyUtil.toCents(amount);
+        for (int i = 0; i < velocityLimits.size(); i++) {
+            VelocityLimit limit = velocityLimits.get(i);
+            if (!limit.appliesTo(operation)) {
+                continue;
+            }
+            SlidingWindowCounter counter = counterFor(i, limit, account);
+            if (!counter.tryAdd(now, 1, cents, limit.getMaxCount(), limit.getMaxAmountCents())) {
+                releaseVelocity(i, account, operation, now, cents);
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    // Rolls back the limits before index that already counted this operation
+    private void releaseVelocity(int index, Account account, TransactionType operation, long now, long cents) {
+        for (int i = 0; i < index; i++) {
+            VelocityLimit limit = velocityLimits.get(i);
+            if (limit.appliesTo(operation)) {
+                counterFor(i, limit, account).add(now, -1, -cents);
+            }
+        }
+    }
+
+    private SlidingWindowCounter counterFor(int index, VelocityLimit limit, Account account) {
+        String key = subjectId(limit, account);
+        ConcurrentMap<String, SlidingWindowCounter> counters = velocityCounters.get(index);
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key,
+                k -> new SlidingWindowCounter(limit.getWindow().toMillis(), limit.getBuckets()));
+        }
+        return counter;
+    }
+
+    private static String subjectId(VelocityLimit limit, Account account) {
+        return limit.getScope() == VelocityLimit.Scope.ACCOUNT ? account.getAccountId() : account.getCustomerId();
+    }
+}
@@ -0,0 +1,142 @@
+package com.bank.service;
+
+import com.bank.model.TransactionType;
+import com.bank.util.MoneyUtil;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A rolling limit on how often, or how much, an account or customer may move money,
+ * e.g. at most 20 withdrawals or $10,000 per 24 hours per account.
+ */
+public final class VelocityLimit {
+
+    public enum Scope {
+        ACCOUNT,
+        CUSTOMER
+    }
+
+    private final Scope scope;
+    private final Set<TransactionType> operations;
+    private final long maxCount;
+    private final long maxAmountCents;
+    private final Duration window;
+    private final int buckets;
+
+    private VelocityLimit(Builder builder) {
+        this.scope = builder.scope;
+        this.operations = Collections.unmodifiableSet(EnumSet.copyOf(builder.operations));
+        this.maxCount = builder.maxCount;
+        this.maxAmountCents = builder.maxAmount == null ? 0 : MoneyUtil.toCents(builder.maxAmount);
+        this.window = builder.window;
+        this.buckets = builder.buckets;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public Set<TransactionType> getOperations() {
+        return operations;
+    }
+
+    public long getMaxCount() {
+        return maxCount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmountCents == 0 ? null : MoneyUtil.fromCents(maxAmountCents);
+    }
+
+    long getMaxAmountCents() {
+        return maxAmountCents;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public boolean appliesTo(TransactionType operation) {
+        return operations.contains(operation);
+    }
+
+    @Override
+    public String toString() {
+        return "VelocityLimit{" +
+                "scope=" + scope +
+                ", operations=" + operations +
+                ", maxCount=" + maxCount +
+                ", maxAmount=" + getMaxAmount() +
+                ", window=" + window +
+                '}';
+    }
+
+    public static class Builder {
+        private Scope scope;
+        private Set<TransactionType> operations;
+        private long maxCount;
+        private BigDecimal maxAmount;
+        private Duration window;
+        private int buckets;
+
+        public Builder() {
+            this.scope = Scope.ACCOUNT;
+            this.operations = EnumSet.of(TransactionType.WITHDRAWAL, TransactionType.TRANSFER);
+            this.window = Duration.ofHours(24);
+            this.buckets = 96;
+        }
+
+        public Builder scope(Scope scope) {
+            this.scope = scope;
+            return this;
+        }
+
+        public Builder operations(TransactionType first, TransactionType... rest) {
+            this.operations = EnumSet.of(first, rest);
+            return this;
+        }
+
+        public Builder maxCount(long maxCount) {
+            this.maxCount = maxCount;
+            return this;
+        }
+
+        public Builder maxAmount(BigDecimal maxAmount) {
+            this.maxAmount = maxAmount;
+            return this;
+        }
+
+        public Builder window(Duration window) {
+            this.window = window;
+            return this;
+        }
+
+        public Builder buckets(int buckets) {
+            this.buckets = buckets;
+            return this;
+        }
+
+        public VelocityLimit build() {
+            if (scope == null) {
+                throw new IllegalStateException("Scope is required");
+            }
+            if (maxCount <= 0 && (maxAmount == null || maxAmount.signum() <= 0)) {
+                throw new IllegalStateException("A maximum count or amount is required");
+            }
+            if (window == null || window.isNegative() || window.isZero()) {
+                throw new IllegalStateException("Window must be positive");
+            }
+            if (buckets < 1 || window.toMillis() < buckets) {
+                throw new IllegalStateException("Bucket count must be between 1 and the window in milliseconds");
+            }
+            return new VelocityLimit(this);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring. Each node is placed at {@code virtualNodes} points
+ * on a 64-bit ring and owns the keys hashing between its points and the previous ones,
+ * so adding a node only moves about {@code 1 / nodes} of the keys, all onto the new node.
+ */
+public final class ConsistentHashRing {
+    private final int virtualNodes;
+    private final Set<String> nodes;
+    private final NavigableMap<Long, String> points;
+
+    private ConsistentHashRing(int virtualNodes, Set<String> nodes) {
+        this.virtualNodes = virtualNodes;
+        this.nodes = Collections.unmodifiableSet(nodes);
+        this.points = new TreeMap<>();
+        for (String node : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // on the rare collision the smaller node ID wins, so every ring built from the same nodes agrees
+                points.merge(hash(node + "#" + i), node, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    public static ConsistentHashRing of(Collection<String> nodeIds, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        return new ConsistentHashRing(virtualNodes, new TreeSet<>(nodeIds));
+    }
+
+    public ConsistentHashRing withNode(String nodeId) {
+        Set<String> grown = new TreeSet<>(nodes);
+        if (!grown.add(nodeId)) {
+            throw new IllegalArgumentException("Node already on the ring: " + nodeId);
+        }
+        return new ConsistentHashRing(virtualNodes, grown);
+    }
+
+    /**
+     * Node that owns {@code key}.
+     */
+    public String nodeFor(String key) {
+        if (points.isEmpty()) {
+            throw new IllegalStateException("Ring has no nodes");
+        }
+        Map.Entry<Long, String> owner = points.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : points.firstEntry().getValue();
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    // FNV-1a over the UTF-8 bytes, then the murmur3 finalizer so nearby keys spread over the ring
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,308 @@
+package com.bank.shard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only coordinator log for {@link ShardRouter}, one tab-separated record per line:
+ *
+ * <pre>
+ * T txId fromAccount toAccount cents    transfer begun (forced)
+ * M txId accountId fromNode toNode      migration begun (forced)
+ * C txId                                commit decided (forced)
+ * A txId                                abort decided
+ * D txId                                all participants told
+ * </pre>
+ *
+ * A transfer with no C record is presumed aborted, so only the begin and commit records
+ * must reach disk before the router acts on them. A torn last line from a crash is ignored.
+ *
+ * <p>Records are appended under the log's monitor but forced outside it: a writer waits
+ * for one force to cover its record, and whoever forces covers everything appended so far,
+ * so concurrent transfers share a sync. The log is rewritten once enough intents have finished.
+ */
+final class IntentLog implements AutoCloseable {
+    static final int DEFAULT_COMPACT_AFTER = 10_000;
+
+    private final Path file;
+    private final int compactAfter;
+    private final Map<String, Intent> pending = new LinkedHashMap<>();
+    // held while forcing or swapping the channel; never held while taking the monitor
+    private final Object forceLock = new Object();
+    private FileChannel channel;
+    // records written, only advanced under the monitor
+    private volatile long appended;
+    // records known to be on disk, guarded by forceLock
+    private long forced;
+    private int finishedSinceCompact;
+
+    private IntentLog(Path file, int compactAfter) throws IOException {
+        this.file = file;
+        this.compactAfter = compactAfter;
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    replay(line.split("\t"));
+                }
+            }
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+    }
+
+    static IntentLog open(Path file) throws IOException {
+        return open(file, DEFAULT_COMPACT_AFTER);
+    }
+
+    /**
+     * Opens the log, rewriting it after every {@code compactAfter} finished intents.
+     */
+    static IntentLog open(Path file, int compactAfter) throws IOException {
+        if (compactAfter < 1) {
+            throw new IllegalArgumentException("compactAfter must be positive");
+        }
+        return new IntentLog(file, compactAfter);
+    }
+
+    void beginTransfer(String txId, String fromAccountId, String toAccountId, long cents) {
+        Intent intent = new Intent(Intent.Kind.TRANSFER, txId, fromAccountId, toAccountId, cents);
+        long record;
+        synchronized (this) {
+            record = append("T", txId, fromAccountId, toAccountId, Long.toString(cents));
+            pending.put(txId, intent);
+        }
+        awaitForced(record);
+    }
+
+    void beginMigration(String txId, String accountId, String fromNode, String toNode) {
+        Intent intent = new Intent(Intent.Kind.MIGRATION, txId, accountId, fromNode, toNode);
+        long record;
+        synchronized (this) {
+            record = append("M", txId, accountId, fromNode, toNode);
+            pending.put(txId, intent);
+        }
+        awaitForced(record);
+    }
+
+    /**
+     * Logs the decision unless one is already logged, and returns the decision that stands.
+     * A commit is on disk before this returns.
+     */
+    boolean decide(String txId, boolean commit) {
+        boolean decision;
+        long record;
+        synchronized (this) {
+            Intent intent = pending.get(txId);
+            if (intent != null && intent.committed != null) {
+                // the standing decision may still be waiting for its force
+                decision = intent.committed;
+                record = appended;
+            } else {
+                decision = commit;
+                record = append(commit ? "C" : "A", txId);
+                if (intent != null) {
+                    intent.committed = commit;
+                }
+            }
+        }
+        if (decision) {
+            awaitForced(record);
+        }
+        return decision;
+    }
+
+    synchronized void done(String txId) {
+        append("D", txId);
+        pending.remove(txId);
+        if (++finishedSinceCompact >= compactAfter) {
+            try {
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to compact intent log " + file, e);
+            }
+        }
+    }
+
+    synchronized boolean isPending(String txId) {
+        return pending.containsKey(txId);
+    }
+
+    synchronized List<Intent> pending() {
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * Rewrites the log with only the unfinished intents. The new file is forced to disk
+     * before it replaces the old one, and the directory after, so a crash leaves one or the other.
+     */
+    synchronized void compact() throws IOException {
+        Path rewritten = file.resolveSibling(file.getFileName() + ".tmp");
+        StringBuilder lines = new StringBuilder();
+        for (Intent intent : pending.values()) {
+            lines.append(intent.beginRecord()).append('\n');
+            if (intent.committed != null) {
+                lines.append(intent.committed ? "C" : "A").append('\t').append(intent.txId).append('\n');
+            }
+        }
+        try (FileChannel out = FileChannel.open(rewritten, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            out.force(true);
+        }
+        synchronized (forceLock) {
+            channel.close();
+            Files.move(rewritten, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(file.toAbsolutePath().getParent());
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            // everything still needed was just forced in the rewritten file
+            forced = appended;
+        }
+        finishedSinceCompact = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        synchronized (forceLock) {
+            channel.close();
+        }
+    }
+
+    // Caller holds the monitor; returns the record's sequence number for awaitForced
+    private long append(String... fields) {
+        String line = String.join("\t", fields) + "\n";
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write intent log " + file, e);
+        }
+        return ++appended;
+    }
+
+    // Threads queued here while another forces usually find their record already covered
+    private void awaitForced(long record) {
+        synchronized (forceLock) {
+            if (forced >= record) {
+                return;
+            }
+            long upTo = appended;
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to force intent log " + file, e);
+            }
+            forced = upTo;
+        }
+    }
+
+    private void replay(String[] record) {
+        switch (record[0]) {
+            case "T":
+                if (record.length == 5 && isNumber(record[4])) {
+                    pending.put(record[1], new Intent(Intent.Kind.TRANSFER, record[1], record[2], record[3],
+                        Long.parseLong(record[4])));
+                }
+                break;
+            case "M":
+                if (record.length == 5) {
+                    pending.put(record[1], new Intent(Intent.Kind.MIGRATION, record[1], record[2], record[3],
+                        record[4]));
+                }
+                break;
+            case "C":
+            case "A":
+                Intent intent = record.length == 2 ? pending.get(record[1]) : null;
+                if (intent != null) {
+                    intent.committed = "C".equals(record[0]);
+                }
+                break;
+            case "D":
+                if (record.length == 2) {
+                    pending.remove(record[1]);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Makes a rename durable; platforms that cannot open a directory for reading skip it
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported here, e.g. on Windows
+        }
+    }
+
+    private static boolean isNumber(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An unfinished transfer or migration. For a transfer {@code first} and {@code second}
+     * are the from and to accounts; for a migration the account is {@code first} and the
+     * source and target nodes are {@code second} and {@code third}.
+     */
+    static final class Intent {
+        enum Kind { TRANSFER, MIGRATION }
+
+        final Kind kind;
+        final String txId;
+        final String first;
+        final String second;
+        final String third;
+        final long cents;
+        // null until decided
+        volatile Boolean committed;
+
+        Intent(Kind kind, String txId, String fromAccountId, String toAccountId, long cents) {
+            this(kind, txId, fromAccountId, toAccountId, null, cents);
+        }
+
+        Intent(Kind kind, String txId, String accountId, String fromNode, String toNode) {
+            this(kind, txId, accountId, fromNode, toNode, 0);
+        }
+
+        private Intent(Kind kind, String txId, String first, String second, String third, long cents) {
+            this.kind = kind;
+            this.txId = txId;
+            this.first = first;
+            this.second = second;
+            this.third = third;
+            this.cents = cents;
+        }
+
+        String beginRecord() {
+            return kind == Kind.TRANSFER
+                ? String.join("\t", "T", txId, first, second, Long.toString(cents))
+                : String.join("\t", "M", txId, first, second, third);
+        }
+    }
+}
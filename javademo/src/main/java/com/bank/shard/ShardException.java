@@ -0,0 +1,15 @@
+package com.bank.shard;
+
+/**
+ * A shard node could not be reached in time or reported an error instead of an outcome.
+ */
+public class ShardException extends RuntimeException {
+
+    public ShardException(String message) {
+        super(message);
+    }
+
+    public ShardException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
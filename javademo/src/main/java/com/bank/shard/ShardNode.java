@@ -0,0 +1,301 @@
+package com.bank.shard;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
+import com.bank.util.MoneyUtil;
+import com.bank.wire.WireProtocol;
+import com.bank.wire.WireServer;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * One shard: a {@link WireServer} over its own {@link AccountService}, extended with the
+ * {@link ShardProtocol} opcodes so a {@link ShardRouter} can open accounts here, run the
+ * participant side of cross-shard transfers and move accounts to other nodes.
+ *
+ * <p>A prepared debit is taken from the balance straight away and recorded as a transfer,
+ * so the held funds cannot be spent twice; an abort credits them back and returns the
+ * velocity allowance the debit used. A prepared credit
+ * only checks the account and is applied on commit. Prepared legs live in memory.
+ */
+public final class ShardNode implements AutoCloseable {
+    private static final int RESOLVED_CAPACITY = 10_000;
+    private static final int TX_LOCK_STRIPES = 64;
+
+    private final AccountService accountService;
+    private final Clock clock;
+    private final Map<String, PreparedLeg> prepared = new ConcurrentHashMap<>();
+    // ids held here in order, so LIST_ACCOUNTS pages seek to their cursor
+    private final NavigableSet<String> accountIds = new ConcurrentSkipListSet<>();
+    // remembers recent decisions so a prepare arriving after its abort is refused
+    private final Set<String> resolved = Collections.newSetFromMap(
+        Collections.synchronizedMap(new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > RESOLVED_CAPACITY;
+            }
+        }));
+    private final Object[] txLocks = new Object[TX_LOCK_STRIPES];
+    private final WireServer server;
+
+    private ShardNode(Builder builder) throws IOException {
+        this.accountService = builder.accountService;
+        this.clock = builder.clock;
+        for (Account account : accountService.getAllAccounts()) {
+            accountIds.add(account.getAccountId());
+        }
+        for (int i = 0; i < txLocks.length; i++) {
+            txLocks[i] = new Object();
+        }
+        this.server = new WireServer.Builder()
+            .address(builder.address)
+            .workerThreads(builder.workerThreads)
+            .accountService(accountService)
+            .extension(this::execute)
+            .start();
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+
+    public AccountService getAccountService() {
+        return accountService;
+    }
+
+    public int getPreparedCount() {
+        return prepared.size();
+    }
+
+    @Override
+    public void close() {
+        server.close();
+    }
+
+    private ByteBuffer execute(int requestId, byte opcode, String accountId, ByteBuffer fields) {
+        switch (opcode) {
+            case ShardProtocol.OPEN_ACCOUNT:
+                return open(requestId, accountId, fields);
+            case ShardProtocol.PREPARE_DEBIT:
+            case ShardProtocol.PREPARE_CREDIT:
+                return prepare(requestId, opcode == ShardProtocol.PREPARE_DEBIT, accountId, fields);
+            case ShardProtocol.COMMIT:
+            case ShardProtocol.ABORT:
+                return resolve(requestId, opcode == ShardProtocol.COMMIT, accountId, WireProtocol.getString(fields));
+            case ShardProtocol.LIST_ACCOUNTS:
+                return list(requestId, accountId);
+            case ShardProtocol.EXPORT_ACCOUNT:
+                return export(requestId, accountId);
+            case ShardProtocol.IMPORT_ACCOUNT:
+                return importAccount(requestId, accountId, fields);
+            case ShardProtocol.DROP_ACCOUNT:
+                return drop(requestId, accountId);
+            default:
+                return null;
+        }
+    }
+
+    private ByteBuffer open(int requestId, String accountId, ByteBuffer fields) {
+        String customerId = WireProtocol.getString(fields);
+        AccountType accountType = AccountType.values()[fields.get()];
+        BigDecimal initialDeposit = MoneyUtil.fromCents(fields.getLong());
+        Account account = accountService.createAccount(accountId, customerId, accountType, initialDeposit);
+        accountIds.add(account.getAccountId());
+        return success(requestId, account.getBalance());
+    }
+
+    private ByteBuffer prepare(int requestId, boolean debit, String accountId, ByteBuffer fields) {
+        String txId = WireProtocol.getString(fields);
+        BigDecimal amount = MoneyUtil.fromCents(fields.getLong());
+        synchronized (txLock(txId)) {
+            if (resolved.contains(txId)) {
+                return WireProtocol.errorResponse(requestId, "Transaction already resolved: " + txId);
+            }
+            if (prepared.containsKey(txId)) {
+                return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(),
+                    WireProtocol.NO_BALANCE);
+            }
+            long preparedAt = clock.millis();
+            TransactionOutcome outcome = debit
+                ? accountService.tryTransferOut(accountId, amount, "Transfer out - Ref: " + txId)
+                : checkCredit(accountId, amount);
+            if (outcome.isSuccess()) {
+                prepared.put(txId, new PreparedLeg(accountId, amount, debit, preparedAt));
+            }
+            return WireProtocol.response(requestId, (byte) outcome.ordinal(), WireProtocol.NO_BALANCE);
+        }
+    }
+
+    private TransactionOutcome checkCredit(String accountId, BigDecimal amount) {
+        if (amount.signum() <= 0) {
+            return TransactionOutcome.INVALID_AMOUNT;
+        }
+        try {
+            return accountService.getAccount(accountId).isActive()
+                ? TransactionOutcome.SUCCESS : TransactionOutcome.ACCOUNT_INACTIVE;
+        } catch (AccountNotFoundException e) {
+            return TransactionOutcome.ACCOUNT_NOT_FOUND;
+        }
+    }
+
+    private ByteBuffer resolve(int requestId, boolean commit, String accountId, String txId) {
+        synchronized (txLock(txId)) {
+            resolved.add(txId);
+            PreparedLeg leg = prepared.remove(txId);
+            if (leg != null && leg.debit != commit) {
+                // commit applies a prepared credit; abort returns a prepared debit
+                TransactionOutcome outcome = commit
+                    ? accountService.transferIn(leg.accountId, leg.amount, "Transfer in - Ref: " + txId)
+                    : accountService.reverseTransferOut(leg.accountId, leg.amount,
+                        "Transfer reversed - Ref: " + txId, leg.preparedAt);
+                if (!outcome.isSuccess()) {
+                    prepared.put(txId, leg);
+                    return WireProtocol.response(requestId, (byte) outcome.ordinal(), WireProtocol.NO_BALANCE);
+                }
+            }
+            return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(),
+                WireProtocol.NO_BALANCE);
+        }
+    }
+
+    // accountId is the exclusive cursor, empty for the first page
+    private ByteBuffer list(int requestId, String after) {
+        StringBuilder page = new StringBuilder();
+        int count = 0;
+        int bytes = 0;
+        for (String id : accountIds.tailSet(after, false)) {
+            bytes += id.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (bytes > ShardProtocol.LIST_PAGE_BYTES) {
+                break;
+            }
+            if (count++ > 0) {
+                page.append(ShardProtocol.ID_SEPARATOR);
+            }
+            page.append(id);
+        }
+        return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(), count, page.toString());
+    }
+
+    private ByteBuffer export(int requestId, String accountId) {
+        for (PreparedLeg leg : prepared.values()) {
+            if (leg.accountId.equals(accountId)) {
+                return WireProtocol.errorResponse(requestId, "Account has a prepared transfer: " + accountId);
+            }
+        }
+        Account account = accountService.getAccount(accountId);
+        return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(),
+            MoneyUtil.toCents(account.getBalance()), ShardProtocol.describe(account));
+    }
+
+    private ByteBuffer importAccount(int requestId, String accountId, ByteBuffer fields) {
+        String description = WireProtocol.getString(fields);
+        Account account = ShardProtocol.parse(accountId, description, fields.getLong());
+        // a second import of the same account after a retried migration is not an error
+        accountService.restoreAccount(account);
+        accountIds.add(accountId);
+        return success(requestId, accountService.getBalance(accountId));
+    }
+
+    private ByteBuffer drop(int requestId, String accountId) {
+        try {
+            accountService.releaseAccount(accountId);
+        } catch (AccountNotFoundException e) {
+            // already dropped by an earlier attempt
+        }
+        accountIds.remove(accountId);
+        return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(), WireProtocol.NO_BALANCE);
+    }
+
+    private static ByteBuffer success(int requestId, BigDecimal balance) {
+        return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(), MoneyUtil.toCents(balance));
+    }
+
+    private Object txLock(String txId) {
+        return txLocks[(txId.hashCode() & 0x7fffffff) % txLocks.length];
+    }
+
+    private static final class PreparedLeg {
+        final String accountId;
+        final BigDecimal amount;
+        final boolean debit;
+        final long preparedAt;
+
+        PreparedLeg(String accountId, BigDecimal amount, boolean debit, long preparedAt) {
+            this.accountId = accountId;
+            this.amount = amount;
+            this.debit = debit;
+            this.preparedAt = preparedAt;
+        }
+    }
+
+    public static class Builder {
+        private InetSocketAddress address;
+        private int workerThreads;
+        private AccountService accountService;
+        private Clock clock;
+
+        public Builder() {
+            this.address = new InetSocketAddress(9190);
+            this.workerThreads = Runtime.getRuntime().availableProcessors() * 2;
+            this.clock = Clocks.getDefault();
+        }
+
+        public Builder address(InetSocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        public Builder port(int port) {
+            this.address = new InetSocketAddress(port);
+            return this;
+        }
+
+        public Builder workerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        /**
+         * Defaults to a fresh in-memory service.
+         */
+        public Builder accountService(AccountService accountService) {
+            this.accountService = accountService;
+            return this;
+        }
+
+        /**
+         * The clock the service's velocity limits run on, so an abort returns a debit's allowance.
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public ShardNode start() throws IOException {
+            if (accountService == null) {
+                accountService = new AccountService(new AccountRepository(),
+                    new TransactionService(new TransactionRepository()), new ValidationService());
+            }
+            return new ShardNode(this);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.shard;
+
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.util.MoneyUtil;
+import com.bank.wire.WireProtocol;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * Wire extension opcodes spoken between {@link ShardRouter} and {@link ShardNode}.
+ * Like the core opcodes, every request starts with an account ID; the fields below follow it.
+ *
+ * <pre>
+ * OPEN_ACCOUNT    customerId | byte accountType | long cents
+ * PREPARE_DEBIT   txId | long cents          hold the amount for an outgoing leg
+ * PREPARE_CREDIT  txId | long cents          check the account can take an incoming leg
+ * COMMIT, ABORT   txId                       idempotent; unknown IDs succeed
+ * LIST_ACCOUNTS   (account ID is the cursor) reply: balance = count, detail = IDs separated by ','
+ * EXPORT_ACCOUNT  -                          reply: balance, detail = type|active|createdAt|customerId
+ * IMPORT_ACCOUNT  detail as exported | long cents
+ * DROP_ACCOUNT    -                          idempotent
+ * </pre>
+ */
+final class ShardProtocol {
+    static final byte OPEN_ACCOUNT = 16;
+    static final byte PREPARE_DEBIT = 17;
+    static final byte PREPARE_CREDIT = 18;
+    static final byte COMMIT = 19;
+    static final byte ABORT = 20;
+    static final byte LIST_ACCOUNTS = 21;
+    static final byte EXPORT_ACCOUNT = 22;
+    static final byte IMPORT_ACCOUNT = 23;
+    static final byte DROP_ACCOUNT = 24;
+
+    static final char ID_SEPARATOR = ',';
+    // keeps a listing page well inside the frame limit
+    static final int LIST_PAGE_BYTES = 8 * 1024;
+
+    private ShardProtocol() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    static ByteBuffer openFields(String customerId, AccountType accountType, long cents) {
+        ByteBuffer fields = ByteBuffer.allocate(WireProtocol.stringBytes(customerId) + 1 + 8);
+        WireProtocol.putString(fields, customerId);
+        fields.put((byte) accountType.ordinal()).putLong(cents);
+        fields.flip();
+        return fields;
+    }
+
+    static ByteBuffer legFields(String txId, long cents) {
+        ByteBuffer fields = ByteBuffer.allocate(WireProtocol.stringBytes(txId) + 8);
+        WireProtocol.putString(fields, txId);
+        fields.putLong(cents);
+        fields.flip();
+        return fields;
+    }
+
+    static ByteBuffer stringField(String value) {
+        ByteBuffer fields = ByteBuffer.allocate(WireProtocol.stringBytes(value));
+        WireProtocol.putString(fields, value);
+        fields.flip();
+        return fields;
+    }
+
+    static ByteBuffer noFields() {
+        return ByteBuffer.allocate(0);
+    }
+
+    static ByteBuffer importFields(String exported, long cents) {
+        ByteBuffer fields = ByteBuffer.allocate(WireProtocol.stringBytes(exported) + 8);
+        WireProtocol.putString(fields, exported);
+        fields.putLong(cents);
+        fields.flip();
+        return fields;
+    }
+
+    // customerId goes last so it may contain the separator
+    static String describe(Account account) {
+        return account.getAccountType().name() + '|' + (account.isActive() ? 1 : 0) + '|'
+            + account.getCreatedAt() + '|' + account.getCustomerId();
+    }
+
+    static Account parse(String accountId, String description, long cents) {
+        String[] parts = description.split("\\|", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed account description");
+        }
+        LocalDateTime createdAt = LocalDateTime.parse(parts[2]);
+        return new Account.Builder()
+            .accountId(accountId)
+            .accountType(AccountType.valueOf(parts[0]))
+            .isActive("1".equals(parts[1]))
+            .createdAt(createdAt)
+            .lastModifiedAt(createdAt)
+            .customerId(parts[3])
+            .balance(MoneyUtil.fromCents(cents))
+            .build();
+    }
+}
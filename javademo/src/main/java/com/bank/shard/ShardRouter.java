@@ -0,0 +1,464 @@
+package com.bank.shard;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.id.IdGenerators;
+import com.bank.model.AccountType;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.ValidationService;
+import com.bank.util.MoneyUtil;
+import com.bank.wire.WireClient;
+import com.bank.wire.WireResponse;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Routes account operations to {@link ShardNode}s by consistent hashing of the account ID.
+ * Operations on one node go straight through with the core wire opcodes. A transfer between
+ * nodes runs two-phase commit with this router as coordinator: the debit is held on the
+ * source node, the destination is checked, and the decision is forced to the
+ * {@link IntentLog} before either node is told. Anything left unfinished by a crash or an
+ * unreachable node is settled by {@link #recover()}, presuming abort unless commit was logged.
+ *
+ * <p>{@link #addNode} moves only the accounts the new node takes over. Each move holds that
+ * account's stripe exclusively, so other accounts stay available throughout; only account
+ * creation waits for the rebalance. A moved account's transaction history stays on the
+ * node it came from. One router should drive a set of nodes at a time.
+ */
+public final class ShardRouter implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ShardRouter.class.getName());
+    private static final int ACCOUNT_STRIPES = 64;
+
+    private final Map<String, WireClient> clients = new ConcurrentHashMap<>();
+    private final IntentLog intentLog;
+    private final long timeoutMillis;
+    private final ValidationService validationService = new ValidationService();
+    // creation takes the read side, rebalancing the write side
+    private final ReentrantReadWriteLock topologyLock = new ReentrantReadWriteLock();
+    // operations take the read side of their accounts' stripes, a move the write side
+    private final ReentrantReadWriteLock[] accountStripes = new ReentrantReadWriteLock[ACCOUNT_STRIPES];
+    // accounts already moved by a rebalance that has not finished yet
+    private final Map<String, String> relocated = new ConcurrentHashMap<>();
+    private volatile ConsistentHashRing ring;
+
+    private ShardRouter(Builder builder, IntentLog intentLog) {
+        this.intentLog = intentLog;
+        this.timeoutMillis = builder.timeout.toMillis();
+        for (int i = 0; i < accountStripes.length; i++) {
+            accountStripes[i] = new ReentrantReadWriteLock();
+        }
+        this.ring = ConsistentHashRing.of(builder.nodes.keySet(), builder.virtualNodes);
+    }
+
+    /**
+     * Opens an account on the node its new ID hashes to and returns the ID.
+     */
+    public String createAccount(String customerId, AccountType accountType, BigDecimal initialDeposit) {
+        validationService.validateCustomerId(customerId);
+        validationService.validateAmount(initialDeposit, "Initial deposit");
+        topologyLock.readLock().lock();
+        try {
+            String accountId = IdGenerators.getDefault().nextIdString();
+            call(ring.nodeFor(accountId), ShardProtocol.OPEN_ACCOUNT, accountId,
+                ShardProtocol.openFields(customerId, accountType, MoneyUtil.toCents(initialDeposit)));
+            return accountId;
+        } finally {
+            topologyLock.readLock().unlock();
+        }
+    }
+
+    public BigDecimal getBalance(String accountId) {
+        Lock lock = stripe(accountId).readLock();
+        lock.lock();
+        try {
+            String node = nodeFor(accountId);
+            WireResponse response = await(node, client(node).getBalance(accountId));
+            if (!response.isSuccess()) {
+                throw new AccountNotFoundException(accountId);
+            }
+            return response.getBalance();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public TransactionOutcome tryDeposit(String accountId, BigDecimal amount) {
+        if (!validationService.isValidAmount(amount)) {
+            return TransactionOutcome.INVALID_AMOUNT;
+        }
+        Lock lock = stripe(accountId).readLock();
+        lock.lock();
+        try {
+            String node = nodeFor(accountId);
+            return await(node, client(node).deposit(accountId, amount)).getOutcome();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public TransactionOutcome tryWithdraw(String accountId, BigDecimal amount) {
+        if (!validationService.isValidAmount(amount)) {
+            return TransactionOutcome.INVALID_AMOUNT;
+        }
+        Lock lock = stripe(accountId).readLock();
+        lock.lock();
+        try {
+            String node = nodeFor(accountId);
+            return await(node, client(node).withdraw(accountId, amount)).getOutcome();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Transfers between any two accounts. Throws {@link ShardException} if a node could not
+     * be reached before the decision; the transfer is then aborted, though a held debit may
+     * only be returned once {@link #recover()} reaches the node.
+     */
+    public TransactionOutcome tryTransfer(String fromAccountId, String toAccountId, BigDecimal amount) {
+        if (!validationService.isValidAmount(amount)) {
+            return TransactionOutcome.INVALID_AMOUNT;
+        }
+        ReentrantReadWriteLock[] stripes = stripes(fromAccountId, toAccountId);
+        for (ReentrantReadWriteLock stripe : stripes) {
+            stripe.readLock().lock();
+        }
+        try {
+            String fromNode = nodeFor(fromAccountId);
+            String toNode = nodeFor(toAccountId);
+            if (fromNode.equals(toNode)) {
+                return await(fromNode, client(fromNode).transfer(fromAccountId, toAccountId, amount)).getOutcome();
+            }
+            return twoPhaseTransfer(fromAccountId, fromNode, toAccountId, toNode, MoneyUtil.toCents(amount));
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Node that currently owns the account.
+     */
+    public String nodeFor(String accountId) {
+        String moved = relocated.get(accountId);
+        return moved != null ? moved : ring.nodeFor(accountId);
+    }
+
+    public Set<String> getNodeIds() {
+        return ring.getNodes();
+    }
+
+    public int getPendingIntentCount() {
+        return intentLog.pending().size();
+    }
+
+    /**
+     * Joins a node to the ring and moves over the accounts it now owns.
+     *
+     * @return the number of accounts moved
+     */
+    public int addNode(String nodeId, InetSocketAddress address) throws IOException {
+        topologyLock.writeLock().lock();
+        try {
+            ConsistentHashRing grown = ring.withNode(nodeId);
+            clients.put(nodeId, WireClient.connect(address));
+            recover();
+            int moved = rebalance(grown);
+            ring = grown;
+            relocated.clear();
+            return moved;
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves every account that is not on its owner node, e.g. to finish a rebalance that
+     * was cut short by a crash.
+     *
+     * @return the number of accounts moved
+     */
+    public int rebalance() {
+        topologyLock.writeLock().lock();
+        try {
+            recover();
+            int moved = rebalance(ring);
+            relocated.clear();
+            return moved;
+        } finally {
+            topologyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finishes every logged transfer and migration that is not yet done: undecided
+     * transfers are aborted, decided ones re-sent, migrations re-run. Intents whose nodes
+     * are still unreachable stay in the log. A transfer still running on another thread is
+     * waited for through its accounts' stripes, so its decision is never presumed.
+     *
+     * @return the number of intents finished
+     */
+    public int recover() {
+        int finished = 0;
+        for (IntentLog.Intent intent : intentLog.pending()) {
+            try {
+                if (intent.kind == IntentLog.Intent.Kind.TRANSFER) {
+                    if (recoverTransfer(intent)) {
+                        finished++;
+                    }
+                } else if (clients.containsKey(intent.second) && clients.containsKey(intent.third)) {
+                    Lock lock = stripe(intent.first).writeLock();
+                    lock.lock();
+                    try {
+                        moveAccount(intent.txId, intent.first, intent.second, intent.third);
+                        finished++;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } catch (ShardException e) {
+                LOGGER.log(Level.WARNING, "Could not finish " + intent.txId + " yet", e);
+            }
+        }
+        try {
+            intentLog.compact();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to compact intent log", e);
+        }
+        return finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (WireClient client : clients.values()) {
+            client.close();
+        }
+        intentLog.close();
+    }
+
+    private boolean recoverTransfer(IntentLog.Intent intent) {
+        ReentrantReadWriteLock[] stripes = stripes(intent.first, intent.second);
+        for (ReentrantReadWriteLock stripe : stripes) {
+            stripe.writeLock().lock();
+        }
+        try {
+            if (!intentLog.isPending(intent.txId)) {
+                // its own thread finished it while we waited
+                return true;
+            }
+            boolean commit = intentLog.decide(intent.txId, false);
+            return finishTransfer(intent.txId, intent.first, intent.second, commit);
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].writeLock().unlock();
+            }
+        }
+    }
+
+    private TransactionOutcome twoPhaseTransfer(String fromAccountId, String fromNode, String toAccountId,
+                                                String toNode, long cents) {
+        String txId = "tx-" + IdGenerators.getDefault().nextIdString();
+        intentLog.beginTransfer(txId, fromAccountId, toAccountId, cents);
+        TransactionOutcome outcome;
+        ShardException failure = null;
+        try {
+            outcome = call(fromNode, ShardProtocol.PREPARE_DEBIT, fromAccountId,
+                ShardProtocol.legFields(txId, cents)).getOutcome();
+            if (outcome.isSuccess()) {
+                outcome = call(toNode, ShardProtocol.PREPARE_CREDIT, toAccountId,
+                    ShardProtocol.legFields(txId, cents)).getOutcome();
+            }
+        } catch (ShardException e) {
+            outcome = null;
+            failure = e;
+        }
+        boolean commit = intentLog.decide(txId, outcome == TransactionOutcome.SUCCESS);
+        if (outcome == TransactionOutcome.SUCCESS && !commit) {
+            failure = new ShardException("Transfer " + txId + " was already aborted");
+        }
+        try {
+            finishTransfer(txId, fromAccountId, toAccountId, commit);
+        } catch (ShardException e) {
+            // the decision is logged; recover() delivers it later
+            LOGGER.log(Level.WARNING, "Transfer " + txId + " left for recovery", e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return outcome;
+    }
+
+    // Tells both participants the decision; marks the intent done once both have acknowledged
+    private boolean finishTransfer(String txId, String fromAccountId, String toAccountId, boolean commit) {
+        byte opcode = commit ? ShardProtocol.COMMIT : ShardProtocol.ABORT;
+        boolean delivered = call(nodeFor(fromAccountId), opcode, fromAccountId,
+            ShardProtocol.stringField(txId)).isSuccess();
+        delivered &= call(nodeFor(toAccountId), opcode, toAccountId, ShardProtocol.stringField(txId)).isSuccess();
+        if (delivered) {
+            intentLog.done(txId);
+        }
+        return delivered;
+    }
+
+    private int rebalance(ConsistentHashRing target) {
+        int moved = 0;
+        for (String node : clients.keySet()) {
+            String after = "";
+            while (true) {
+                WireResponse page = call(node, ShardProtocol.LIST_ACCOUNTS, after, ShardProtocol.noFields());
+                if (page.getBalanceCents() == 0) {
+                    break;
+                }
+                for (String accountId : page.getDetail().split(String.valueOf(ShardProtocol.ID_SEPARATOR))) {
+                    after = accountId;
+                    String owner = target.nodeFor(accountId);
+                    if (owner.equals(node)) {
+                        continue;
+                    }
+                    Lock lock = stripe(accountId).writeLock();
+                    lock.lock();
+                    try {
+                        String txId = "mv-" + IdGenerators.getDefault().nextIdString();
+                        intentLog.beginMigration(txId, accountId, node, owner);
+                        moveAccount(txId, accountId, node, owner);
+                        relocated.put(accountId, owner);
+                        moved++;
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+        return moved;
+    }
+
+    // Export, import, drop; every step is safe to repeat, so recovery simply runs it again
+    private void moveAccount(String txId, String accountId, String fromNode, String toNode) {
+        WireResponse exported = call(fromNode, ShardProtocol.EXPORT_ACCOUNT, accountId, ShardProtocol.noFields());
+        if (exported.getOutcome() == TransactionOutcome.SUCCESS) {
+            WireResponse imported = call(toNode, ShardProtocol.IMPORT_ACCOUNT, accountId,
+                ShardProtocol.importFields(exported.getDetail(), exported.getBalanceCents()));
+            if (!imported.isSuccess()) {
+                throw new ShardException("Node " + toNode + " refused account " + accountId);
+            }
+            call(fromNode, ShardProtocol.DROP_ACCOUNT, accountId, ShardProtocol.noFields());
+        }
+        // not found at the source means an earlier attempt already got past the drop
+        intentLog.done(txId);
+    }
+
+    private WireResponse call(String node, byte opcode, String accountId, ByteBuffer fields) {
+        return await(node, client(node).request(opcode, accountId, fields));
+    }
+
+    private WireResponse await(String node, CompletableFuture<WireResponse> pending) {
+        WireResponse response;
+        try {
+            response = pending.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ShardException("Interrupted waiting for node " + node, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new ShardException("Node " + node + " did not answer", e);
+        }
+        if (response.getOutcome() == null) {
+            throw new ShardException("Node " + node + ": " + response.getError());
+        }
+        return response;
+    }
+
+    private WireClient client(String node) {
+        WireClient client = clients.get(node);
+        if (client == null) {
+            throw new ShardException("Unknown node " + node);
+        }
+        return client;
+    }
+
+    // Distinct stripes of both accounts in index order, so any two lockers agree on the order
+    private ReentrantReadWriteLock[] stripes(String firstAccountId, String secondAccountId) {
+        int first = stripeIndex(firstAccountId);
+        int second = stripeIndex(secondAccountId);
+        if (first == second) {
+            return new ReentrantReadWriteLock[] {accountStripes[first]};
+        }
+        return new ReentrantReadWriteLock[] {
+            accountStripes[Math.min(first, second)], accountStripes[Math.max(first, second)]};
+    }
+
+    private ReentrantReadWriteLock stripe(String accountId) {
+        return accountStripes[stripeIndex(accountId)];
+    }
+
+    private static int stripeIndex(String accountId) {
+        return (accountId.hashCode() & 0x7fffffff) % ACCOUNT_STRIPES;
+    }
+
+    public static class Builder {
+        private final Map<String, InetSocketAddress> nodes = new LinkedHashMap<>();
+        private Path intentLog;
+        private int virtualNodes;
+        private Duration timeout;
+
+        public Builder() {
+            this.virtualNodes = 128;
+            this.timeout = Duration.ofSeconds(5);
+        }
+
+        public Builder node(String nodeId, InetSocketAddress address) {
+            nodes.put(nodeId, address);
+            return this;
+        }
+
+        public Builder intentLog(Path intentLog) {
+            this.intentLog = intentLog;
+            return this;
+        }
+
+        public Builder virtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+            return this;
+        }
+
+        public Builder timeout(Duration timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Connects to every node and settles whatever the intent log left unfinished.
+         */
+        public ShardRouter start() throws IOException {
+            if (nodes.isEmpty() || intentLog == null) {
+                throw new IllegalStateException("At least one node and an intent log are required");
+            }
+            ShardRouter router = new ShardRouter(this, IntentLog.open(intentLog));
+            try {
+                for (Map.Entry<String, InetSocketAddress> node : nodes.entrySet()) {
+                    router.clients.put(node.getKey(), WireClient.connect(node.getValue()));
+                }
+            } catch (IOException e) {
+                router.close();
+                throw e;
+            }
+            router.recover();
+            return router;
+        }
+    }
+}
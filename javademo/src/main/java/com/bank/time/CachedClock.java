@@ -0,0 +1,76 @@
+package com.bank.time;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coarse clock whose time is refreshed by a background daemon thread.
+ * Reads are a single volatile load with no allocation, at the cost of
+ * up to one tick of staleness. The cached time never moves backwards.
+ */
+public final class CachedClock implements Clock, AutoCloseable {
+    public static final long DEFAULT_TICK_MILLIS = 1;
+
+    private final long tickNanos;
+    private final Thread ticker;
+    private volatile Tick current;
+    private volatile boolean running;
+
+    public CachedClock() {
+        this(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public CachedClock(long tick, TimeUnit unit) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickNanos = unit.toNanos(tick);
+        this.current = new Tick(LocalDateTime.now(), System.currentTimeMillis());
+        this.running = true;
+        this.ticker = new Thread(this::run, "cached-clock-ticker");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return current.dateTime;
+    }
+
+    @Override
+    public long millis() {
+        return current.millis;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    private void run() {
+        while (running) {
+            LockSupport.parkNanos(tickNanos);
+            update();
+        }
+    }
+
+    private void update() {
+        long millis = System.currentTimeMillis();
+        Tick previous = current;
+        if (millis > previous.millis) {
+            current = new Tick(LocalDateTime.now(), millis);
+        }
+    }
+
+    private static final class Tick {
+        private final LocalDateTime dateTime;
+        private final long millis;
+
+        private Tick(LocalDateTime dateTime, long millis) {
+            this.dateTime = dateTime;
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.time;
+
+import java.time.LocalDateTime;
+
+/**
+ * Source of the current time for the model and services.
+ */
+public interface Clock {
+
+    LocalDateTime now();
+
+    long millis();
+}
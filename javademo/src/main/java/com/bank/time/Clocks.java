@@ -0,0 +1,24 @@
+package com.bank.time;
+
+/**
+ * Holder for the process-wide {@link Clock} used by the model builders
+ * and by services constructed without an explicit clock.
+ */
+public final class Clocks {
+    private static volatile Clock defaultClock = SystemClock.INSTANCE;
+
+    private Clocks() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static Clock getDefault() {
+        return defaultClock;
+    }
+
+    public static void setDefault(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        defaultClock = clock;
+    }
+}
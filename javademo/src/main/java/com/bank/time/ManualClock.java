@@ -0,0 +1,48 @@
+package com.bank.time;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deterministic clock for tests and replays. Time only moves when told to.
+ * Local date-times are interpreted in the system default zone, as by the system
+ * and cached clocks, unless a zone is given.
+ */
+public final class ManualClock implements Clock {
+    private final ZoneId zone;
+    private final AtomicLong epochMillis;
+
+    public ManualClock(LocalDateTime start) {
+        this(start, ZoneId.systemDefault());
+    }
+
+    public ManualClock(LocalDateTime start, ZoneId zone) {
+        this.zone = zone;
+        this.epochMillis = new AtomicLong(toMillis(start));
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis.get()), zone);
+    }
+
+    @Override
+    public long millis() {
+        return epochMillis.get();
+    }
+
+    public void setTime(LocalDateTime time) {
+        epochMillis.set(toMillis(time));
+    }
+
+    public void advance(Duration duration) {
+        epochMillis.addAndGet(duration.toMillis());
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+}
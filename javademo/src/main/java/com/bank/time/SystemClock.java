@@ -0,0 +1,23 @@
+package com.bank.time;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clock that reads the system time on every call.
+ */
+public final class SystemClock implements Clock {
+    public static final SystemClock INSTANCE = new SystemClock();
+
+    private SystemClock() {
+    }
+
+    @Override
+    public LocalDateTime now() {
+        return LocalDateTime.now();
+    }
+
+    @Override
+    public long millis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,69 @@
+package com.bank.trace;
+
+import com.bank.model.Account;
+import com.bank.model.Customer;
+import java.util.function.Supplier;
+
+/**
+ * Times a service call and writes it to the trace.
+ * Only the outermost traced call on a thread is recorded, so wrappers such as
+ * {@code withdraw} calling {@code tryWithdraw} appear once.
+ */
+final class CallRecorder {
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final TraceWriter writer;
+
+    CallRecorder(TraceWriter writer) {
+        this.writer = writer;
+    }
+
+    <T> T call(TraceOperation operation, Supplier<T> call, Object... arguments) {
+        return record(operation, true, call, arguments);
+    }
+
+    void run(TraceOperation operation, Runnable call, Object... arguments) {
+        record(operation, false, () -> {
+            call.run();
+            return null;
+        }, arguments);
+    }
+
+    private <T> T record(TraceOperation operation, boolean returnsValue, Supplier<T> call, Object[] arguments) {
+        int[] depth = DEPTH.get();
+        if (depth[0] > 0) {
+            return call.get();
+        }
+        depth[0]++;
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            write(operation, start, arguments,
+                returnsValue ? TraceRecord.ResultKind.VALUE : TraceRecord.ResultKind.VOID, traceValue(result));
+            return result;
+        } catch (RuntimeException e) {
+            write(operation, start, arguments, TraceRecord.ResultKind.EXCEPTION, e.getClass().getName());
+            throw e;
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    private void write(TraceOperation operation, long start, Object[] arguments,
+                       TraceRecord.ResultKind kind, Object result) {
+        long duration = System.nanoTime() - start;
+        writer.write(new TraceRecord(operation, Thread.currentThread().getId(), writer.offsetOf(start),
+            duration, arguments, kind, result));
+    }
+
+    // Entities are traced by ID; the replayer maps recorded IDs onto the ones it creates
+    private static Object traceValue(Object result) {
+        if (result instanceof Account) {
+            return ((Account) result).getAccountId();
+        }
+        if (result instanceof Customer) {
+            return ((Customer) result).getCustomerId();
+        }
+        return result;
+    }
+}
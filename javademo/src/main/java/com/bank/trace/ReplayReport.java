@@ -0,0 +1,93 @@
+package com.bank.trace;
+
+import com.bank.metrics.LatencyHistogram;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcome of a trace replay: result mismatches and recorded versus replayed
+ * latency per operation.
+ */
+public final class ReplayReport {
+    private static final int MAX_MISMATCH_SAMPLES = 20;
+
+    private final Map<TraceOperation, LatencyHistogram> recordedLatency = new EnumMap<>(TraceOperation.class);
+    private final Map<TraceOperation, LatencyHistogram> replayedLatency = new EnumMap<>(TraceOperation.class);
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong mismatches = new AtomicLong();
+    private final ConcurrentLinkedQueue<String> mismatchSamples = new ConcurrentLinkedQueue<>();
+    private volatile long elapsedNanos;
+
+    ReplayReport() {
+        for (TraceOperation operation : TraceOperation.values()) {
+            recordedLatency.put(operation, new LatencyHistogram("recorded." + operation));
+            replayedLatency.put(operation, new LatencyHistogram("replayed." + operation));
+        }
+    }
+
+    void record(TraceRecord record, long durationNanos, boolean matched,
+                TraceRecord.ResultKind kind, Object value) {
+        replayed.incrementAndGet();
+        recordedLatency.get(record.getOperation()).record(record.getDurationNanos());
+        replayedLatency.get(record.getOperation()).record(durationNanos);
+        if (!matched && mismatches.incrementAndGet() <= MAX_MISMATCH_SAMPLES) {
+            mismatchSamples.add(record + " but replay gave " + kind + (value == null ? "" : " " + value));
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    public long getMismatches() {
+        return mismatches.get();
+    }
+
+    public List<String> getMismatchSamples() {
+        return Collections.unmodifiableList(new ArrayList<>(mismatchSamples));
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public LatencyHistogram.Snapshot getRecordedLatency(TraceOperation operation) {
+        return recordedLatency.get(operation).snapshot();
+    }
+
+    public LatencyHistogram.Snapshot getReplayedLatency(TraceOperation operation) {
+        return replayedLatency.get(operation).snapshot();
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Replayed %d calls in %.1fs, %d mismatches%n%n",
+            getReplayed(), elapsedNanos / 1e9, getMismatches());
+        out.printf(Locale.ROOT, "%-20s %8s %14s %14s %14s %14s%n",
+            "operation", "calls", "recorded p50", "replayed p50", "recorded p99", "replayed p99");
+        for (TraceOperation operation : TraceOperation.values()) {
+            LatencyHistogram.Snapshot recorded = getRecordedLatency(operation);
+            if (recorded.getCount() == 0) {
+                continue;
+            }
+            LatencyHistogram.Snapshot replay = getReplayedLatency(operation);
+            out.printf(Locale.ROOT, "%-20s %8d %12.1fus %12.1fus %12.1fus %12.1fus%n",
+                operation.name().toLowerCase(Locale.ROOT), recorded.getCount(),
+                recorded.getValueAtQuantile(0.5) / 1e3, replay.getValueAtQuantile(0.5) / 1e3,
+                recorded.getValueAtQuantile(0.99) / 1e3, replay.getValueAtQuantile(0.99) / 1e3);
+        }
+        for (String sample : mismatchSamples) {
+            out.println("  mismatch: " + sample);
+        }
+    }
+}
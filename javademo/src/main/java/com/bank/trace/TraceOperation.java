@@ -0,0 +1,53 @@
+package com.bank.trace;
+
+/**
+ * Service calls captured in a trace, keyed by their one-byte wire code.
+ */
+public enum TraceOperation {
+    CREATE_ACCOUNT(1),
+    DEPOSIT(2),
+    WITHDRAW(3),
+    TRY_WITHDRAW(4),
+    TRANSFER(5),
+    TRY_TRANSFER(6),
+    APPLY_INTEREST(7),
+    GET_BALANCE(8),
+    ACTIVATE_ACCOUNT(9),
+    DEACTIVATE_ACCOUNT(10),
+    CREATE_CUSTOMER(11),
+    ACTIVATE_CUSTOMER(12),
+    DEACTIVATE_CUSTOMER(13);
+
+    private static final TraceOperation[] BY_CODE = new TraceOperation[16];
+
+    static {
+        for (TraceOperation operation : values()) {
+            BY_CODE[operation.code] = operation;
+        }
+    }
+
+    private final int code;
+
+    TraceOperation(int code) {
+        this.code = code;
+    }
+
+    int code() {
+        return code;
+    }
+
+    static TraceOperation fromCode(int code) {
+        TraceOperation operation = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (operation == null) {
+            throw new IllegalArgumentException("Unknown trace operation code " + code);
+        }
+        return operation;
+    }
+
+    /**
+     * Whether the call returns a newly generated entity ID.
+     */
+    boolean createsId() {
+        return this == CREATE_ACCOUNT || this == CREATE_CUSTOMER;
+    }
+}
@@ -0,0 +1,135 @@
+package com.bank.trace;
+
+import com.bank.model.AccountType;
+import com.bank.service.TransactionOutcome;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the binary format produced by {@link TraceWriter}.
+ */
+public final class TraceReader implements AutoCloseable {
+    private final DataInputStream in;
+    private final List<String> strings = new ArrayList<>();
+    private final long startedAtMillis;
+
+    public TraceReader(InputStream stream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        if (in.readInt() != TraceWriter.MAGIC) {
+            throw new IOException("Not a trace file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != TraceWriter.VERSION) {
+            throw new IOException("Unsupported trace version " + version);
+        }
+        this.startedAtMillis = in.readLong();
+    }
+
+    public static List<TraceRecord> readAll(Path path) throws IOException {
+        try (TraceReader reader = new TraceReader(Files.newInputStream(path))) {
+            List<TraceRecord> records = new ArrayList<>();
+            TraceRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+            return records;
+        }
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    /**
+     * Returns the next record, or {@code null} at the end of the trace.
+     */
+    public TraceRecord next() throws IOException {
+        int code = in.read();
+        if (code < 0) {
+            return null;
+        }
+        try {
+            TraceOperation operation = TraceOperation.fromCode(code);
+            long threadId = readVarLong();
+            long startOffset = readVarLong();
+            long duration = readVarLong();
+            Object[] arguments = new Object[in.readUnsignedByte()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = readValue();
+            }
+            TraceRecord.ResultKind kind = TraceRecord.ResultKind.values()[in.readUnsignedByte()];
+            Object result = kind == TraceRecord.ResultKind.VOID ? null : readValue();
+            return new TraceRecord(operation, threadId, startOffset, duration, arguments, kind, result);
+        } catch (EOFException e) {
+            throw new IOException("Trace ends inside a record", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private Object readValue() throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TraceWriter.TAG_NULL:
+                return null;
+            case TraceWriter.TAG_STRING:
+                return readString();
+            case TraceWriter.TAG_DECIMAL: {
+                long unscaled = unZigZag(readVarLong());
+                int scale = (int) unZigZag(readVarLong());
+                return BigDecimal.valueOf(unscaled, scale);
+            }
+            case TraceWriter.TAG_LARGE_DECIMAL:
+                return new BigDecimal(in.readUTF());
+            case TraceWriter.TAG_ACCOUNT_TYPE:
+                return AccountType.values()[in.readUnsignedByte()];
+            case TraceWriter.TAG_DATE:
+                return LocalDate.ofEpochDay(unZigZag(readVarLong()));
+            case TraceWriter.TAG_OUTCOME:
+                return TransactionOutcome.values()[in.readUnsignedByte()];
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+
+    private String readString() throws IOException {
+        long reference = readVarLong();
+        if (reference == 0) {
+            String value = in.readUTF();
+            strings.add(value);
+            return value;
+        }
+        if (reference > strings.size()) {
+            throw new IOException("Dangling string reference " + reference);
+        }
+        return strings.get((int) reference - 1);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.bank.trace;
+
+import java.util.Arrays;
+
+/**
+ * One traced service call: what was called, by which thread, when, with which
+ * arguments, and what it returned or threw.
+ */
+public final class TraceRecord {
+    public enum ResultKind {
+        VOID,
+        VALUE,
+        EXCEPTION
+    }
+
+    private final TraceOperation operation;
+    private final long threadId;
+    private final long startOffsetNanos;
+    private final long durationNanos;
+    private final Object[] arguments;
+    private final ResultKind resultKind;
+    private final Object result;
+
+    public TraceRecord(TraceOperation operation, long threadId, long startOffsetNanos, long durationNanos,
+                       Object[] arguments, ResultKind resultKind, Object result) {
+        this.operation = operation;
+        this.threadId = threadId;
+        this.startOffsetNanos = startOffsetNanos;
+        this.durationNanos = durationNanos;
+        this.arguments = arguments.clone();
+        this.resultKind = resultKind;
+        this.result = result;
+    }
+
+    public TraceOperation getOperation() {
+        return operation;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public long getStartOffsetNanos() {
+        return startOffsetNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Object getArgument(int index) {
+        return arguments[index];
+    }
+
+    public int getArgumentCount() {
+        return arguments.length;
+    }
+
+    public ResultKind getResultKind() {
+        return resultKind;
+    }
+
+    /**
+     * The returned value, or the exception class name when {@link #getResultKind()} is EXCEPTION.
+     */
+    public Object getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return operation + Arrays.toString(arguments) + " -> " + resultKind
+                + (resultKind == ResultKind.VOID ? "" : " " + result);
+    }
+}
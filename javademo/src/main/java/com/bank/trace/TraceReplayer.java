@@ -0,0 +1,193 @@
+package com.bank.trace;
+
+import com.bank.model.AccountType;
+import com.bank.service.AccountService;
+import com.bank.service.CustomerService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a recorded trace against fresh service instances.
+ * Each recorded thread becomes a replay thread that issues its calls in the
+ * original order, either at the recorded offsets or back to back. IDs the
+ * trace created are mapped onto the IDs the replay creates, and a call that
+ * uses an ID created on another thread waits until that ID exists. Every
+ * result is compared with the recorded one.
+ */
+public final class TraceReplayer {
+    public enum Pacing {
+        ORIGINAL_RATE,
+        AS_FAST_AS_POSSIBLE
+    }
+
+    private static final long ID_WAIT_SECONDS = 30;
+
+    private final AccountService accountService;
+    private final CustomerService customerService;
+
+    public TraceReplayer(AccountService accountService, CustomerService customerService) {
+        this.accountService = accountService;
+        this.customerService = customerService;
+    }
+
+    public ReplayReport replay(List<TraceRecord> records, Pacing pacing) throws InterruptedException {
+        Map<String, CompletableFuture<String>> createdIds = new ConcurrentHashMap<>();
+        Map<Long, List<TraceRecord>> lanes = new LinkedHashMap<>();
+        for (TraceRecord record : records) {
+            if (record.getOperation().createsId() && record.getResultKind() == TraceRecord.ResultKind.VALUE) {
+                createdIds.put((String) record.getResult(), new CompletableFuture<>());
+            }
+            lanes.computeIfAbsent(record.getThreadId(), id -> new ArrayList<>()).add(record);
+        }
+
+        ReplayReport report = new ReplayReport();
+        List<Thread> threads = new ArrayList<>(lanes.size());
+        long replayStart = System.nanoTime();
+        for (List<TraceRecord> lane : lanes.values()) {
+            Thread thread = new Thread(() -> {
+                for (TraceRecord record : lane) {
+                    if (pacing == Pacing.ORIGINAL_RATE) {
+                        long wait = replayStart + record.getStartOffsetNanos() - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+                    replayRecord(record, createdIds, report);
+                }
+            }, "trace-replay-" + threads.size());
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        report.finish(System.nanoTime() - replayStart);
+        return report;
+    }
+
+    private void replayRecord(TraceRecord record, Map<String, CompletableFuture<String>> createdIds,
+                              ReplayReport report) {
+        TraceRecord.ResultKind kind;
+        Object value;
+        long start = System.nanoTime();
+        try {
+            value = execute(record, createdIds);
+            kind = returnsValue(record.getOperation()) ? TraceRecord.ResultKind.VALUE : TraceRecord.ResultKind.VOID;
+        } catch (RuntimeException e) {
+            kind = TraceRecord.ResultKind.EXCEPTION;
+            value = e.getClass().getName();
+        }
+        long duration = System.nanoTime() - start;
+
+        if (record.getOperation().createsId() && record.getResultKind() == TraceRecord.ResultKind.VALUE) {
+            // A failed create maps to the recorded ID so dependent calls fail visibly instead of waiting
+            createdIds.get((String) record.getResult())
+                .complete(kind == TraceRecord.ResultKind.VALUE ? (String) value : (String) record.getResult());
+        }
+        report.record(record, duration, matches(record, kind, value), kind, value);
+    }
+
+    private Object execute(TraceRecord record, Map<String, CompletableFuture<String>> ids) {
+        switch (record.getOperation()) {
+            case CREATE_ACCOUNT:
+                return accountService.createAccount(resolve(ids, record.getArgument(0)),
+                    (AccountType) record.getArgument(1), (BigDecimal) record.getArgument(2)).getAccountId();
+            case DEPOSIT:
+                accountService.deposit(resolve(ids, record.getArgument(0)),
+                    (BigDecimal) record.getArgument(1), (String) record.getArgument(2));
+                return null;
+            case WITHDRAW:
+                accountService.withdraw(resolve(ids, record.getArgument(0)),
+                    (BigDecimal) record.getArgument(1), (String) record.getArgument(2));
+                return null;
+            case TRY_WITHDRAW:
+                return accountService.tryWithdraw(resolve(ids, record.getArgument(0)),
+                    (BigDecimal) record.getArgument(1), (String) record.getArgument(2));
+            case TRANSFER:
+                accountService.transfer(resolve(ids, record.getArgument(0)), resolve(ids, record.getArgument(1)),
+                    (BigDecimal) record.getArgument(2));
+                return null;
+            case TRY_TRANSFER:
+                return accountService.tryTransfer(resolve(ids, record.getArgument(0)),
+                    resolve(ids, record.getArgument(1)), (BigDecimal) record.getArgument(2));
+            case APPLY_INTEREST:
+                return accountService.applyInterest(resolve(ids, record.getArgument(0)));
+            case GET_BALANCE:
+                return accountService.getBalance(resolve(ids, record.getArgument(0)));
+            case ACTIVATE_ACCOUNT:
+                accountService.activateAccount(resolve(ids, record.getArgument(0)));
+                return null;
+            case DEACTIVATE_ACCOUNT:
+                accountService.deactivateAccount(resolve(ids, record.getArgument(0)));
+                return null;
+            case CREATE_CUSTOMER:
+                return customerService.createCustomer((String) record.getArgument(0), (String) record.getArgument(1),
+                    (String) record.getArgument(2), (String) record.getArgument(3),
+                    (LocalDate) record.getArgument(4), (String) record.getArgument(5)).getCustomerId();
+            case ACTIVATE_CUSTOMER:
+                customerService.activateCustomer(resolve(ids, record.getArgument(0)));
+                return null;
+            case DEACTIVATE_CUSTOMER:
+                customerService.deactivateCustomer(resolve(ids, record.getArgument(0)));
+                return null;
+            default:
+                throw new IllegalStateException("Unhandled trace operation " + record.getOperation());
+        }
+    }
+
+    // IDs not created within the trace are assumed to exist in the target as-is
+    private static String resolve(Map<String, CompletableFuture<String>> ids, Object recordedId) {
+        CompletableFuture<String> created = recordedId == null ? null : ids.get(recordedId);
+        if (created == null) {
+            return (String) recordedId;
+        }
+        try {
+            return created.get(ID_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return (String) recordedId;
+        } catch (ExecutionException | TimeoutException e) {
+            return (String) recordedId;
+        }
+    }
+
+    private static boolean returnsValue(TraceOperation operation) {
+        switch (operation) {
+            case CREATE_ACCOUNT:
+            case TRY_WITHDRAW:
+            case TRY_TRANSFER:
+            case APPLY_INTEREST:
+            case GET_BALANCE:
+            case CREATE_CUSTOMER:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static boolean matches(TraceRecord recorded, TraceRecord.ResultKind kind, Object value) {
+        if (recorded.getResultKind() != kind) {
+            return false;
+        }
+        if (kind == TraceRecord.ResultKind.VALUE) {
+            if (recorded.getOperation().createsId()) {
+                return true;
+            }
+            if (recorded.getResult() instanceof BigDecimal && value instanceof BigDecimal) {
+                return ((BigDecimal) recorded.getResult()).compareTo((BigDecimal) value) == 0;
+            }
+        }
+        return Objects.equals(recorded.getResult(), value);
+    }
+}
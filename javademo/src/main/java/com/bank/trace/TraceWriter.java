@@ -0,0 +1,171 @@
+package com.bank.trace;
+
+import com.bank.model.AccountType;
+import com.bank.service.TransactionOutcome;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Appends {@link TraceRecord}s to a compact binary stream.
+ * Integers are variable-length, and each distinct string (account IDs,
+ * descriptions) is written once and referenced by index afterwards, so a
+ * typical deposit costs a few dozen bytes. Writes are serialized, and each record
+ * is encoded in full before any of it reaches the stream. An I/O failure or a record
+ * that cannot be encoded disables the writer instead of failing the traced call.
+ */
+public final class TraceWriter implements AutoCloseable {
+    static final int MAGIC = 0x424B5452;
+    static final int VERSION = 1;
+
+    static final int TAG_NULL = 0;
+    static final int TAG_STRING = 1;
+    static final int TAG_DECIMAL = 2;
+    static final int TAG_LARGE_DECIMAL = 3;
+    static final int TAG_ACCOUNT_TYPE = 4;
+    static final int TAG_DATE = 5;
+    static final int TAG_OUTCOME = 6;
+
+    private static final Logger LOGGER = Logger.getLogger(TraceWriter.class.getName());
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream scratch = new ByteArrayOutputStream(256);
+    private final DataOutputStream encoded = new DataOutputStream(scratch);
+    private final Map<String, Integer> strings = new HashMap<>();
+    // strings first seen in the record being encoded; forgotten again if it is not written
+    private final List<String> newStrings = new ArrayList<>();
+    private final long baseNanos;
+    private IOException failure;
+
+    public TraceWriter(OutputStream stream) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        this.baseNanos = System.nanoTime();
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(System.currentTimeMillis());
+    }
+
+    public static TraceWriter open(Path path) throws IOException {
+        return new TraceWriter(Files.newOutputStream(path));
+    }
+
+    /**
+     * Converts a {@link System#nanoTime()} reading into this trace's time base.
+     */
+    public long offsetOf(long nanoTime) {
+        return nanoTime - baseNanos;
+    }
+
+    public synchronized void write(TraceRecord record) {
+        if (failure != null) {
+            return;
+        }
+        scratch.reset();
+        newStrings.clear();
+        try {
+            encoded.writeByte(record.getOperation().code());
+            writeVarLong(record.getThreadId());
+            writeVarLong(Math.max(0, record.getStartOffsetNanos()));
+            writeVarLong(Math.max(0, record.getDurationNanos()));
+            encoded.writeByte(record.getArgumentCount());
+            for (int i = 0; i < record.getArgumentCount(); i++) {
+                writeValue(record.getArgument(i));
+            }
+            encoded.writeByte(record.getResultKind().ordinal());
+            if (record.getResultKind() != TraceRecord.ResultKind.VOID) {
+                writeValue(record.getResult());
+            }
+        } catch (IOException | RuntimeException e) {
+            for (String added : newStrings) {
+                strings.remove(added);
+            }
+            disable(new IOException("Cannot encode " + record.getOperation() + " trace record", e));
+            return;
+        }
+        try {
+            scratch.writeTo(out);
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    private void disable(IOException e) {
+        failure = e;
+        LOGGER.log(Level.WARNING, "Trace writing disabled after failure", e);
+    }
+
+    public synchronized IOException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            encoded.writeByte(TAG_NULL);
+        } else if (value instanceof String) {
+            encoded.writeByte(TAG_STRING);
+            writeString((String) value);
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            if (decimal.unscaledValue().bitLength() < 63) {
+                encoded.writeByte(TAG_DECIMAL);
+                writeVarLong(zigZag(decimal.unscaledValue().longValue()));
+                writeVarLong(zigZag(decimal.scale()));
+            } else {
+                encoded.writeByte(TAG_LARGE_DECIMAL);
+                encoded.writeUTF(decimal.toString());
+            }
+        } else if (value instanceof AccountType) {
+            encoded.writeByte(TAG_ACCOUNT_TYPE);
+            encoded.writeByte(((AccountType) value).ordinal());
+        } else if (value instanceof LocalDate) {
+            encoded.writeByte(TAG_DATE);
+            writeVarLong(zigZag(((LocalDate) value).toEpochDay()));
+        } else if (value instanceof TransactionOutcome) {
+            encoded.writeByte(TAG_OUTCOME);
+            encoded.writeByte(((TransactionOutcome) value).ordinal());
+        } else {
+            throw new IllegalArgumentException("Unsupported trace value type " + value.getClass().getName());
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        Integer index = strings.get(value);
+        if (index != null) {
+            writeVarLong(index + 1L);
+            return;
+        }
+        writeVarLong(0);
+        encoded.writeUTF(value);
+        strings.put(value, strings.size());
+        newStrings.add(value);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            encoded.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        encoded.writeByte((int) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
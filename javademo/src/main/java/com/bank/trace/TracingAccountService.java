@@ -0,0 +1,93 @@
+package com.bank.trace;
+
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.repository.AccountRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
+import java.math.BigDecimal;
+
+/**
+ * {@link AccountService} that records every state-changing call, plus balance
+ * reads, to a {@link TraceWriter}.
+ */
+public class TracingAccountService extends AccountService {
+    private final CallRecorder recorder;
+
+    public TracingAccountService(AccountRepository accountRepository,
+                                 TransactionService transactionService,
+                                 ValidationService validationService,
+                                 TraceWriter writer) {
+        this(accountRepository, transactionService, validationService, Clocks.getDefault(), writer);
+    }
+
+    public TracingAccountService(AccountRepository accountRepository,
+                                 TransactionService transactionService,
+                                 ValidationService validationService,
+                                 Clock clock,
+                                 TraceWriter writer) {
+        super(accountRepository, transactionService, validationService, clock);
+        this.recorder = new CallRecorder(writer);
+    }
+
+    @Override
+    public Account createAccount(String customerId, AccountType accountType, BigDecimal initialDeposit) {
+        return recorder.call(TraceOperation.CREATE_ACCOUNT,
+            () -> super.createAccount(customerId, accountType, initialDeposit),
+            customerId, accountType, initialDeposit);
+    }
+
+    @Override
+    public void deposit(String accountId, BigDecimal amount, String description) {
+        recorder.run(TraceOperation.DEPOSIT, () -> super.deposit(accountId, amount, description),
+            accountId, amount, description);
+    }
+
+    @Override
+    public void withdraw(String accountId, BigDecimal amount, String description) {
+        recorder.run(TraceOperation.WITHDRAW, () -> super.withdraw(accountId, amount, description),
+            accountId, amount, description);
+    }
+
+    @Override
+    public TransactionOutcome tryWithdraw(String accountId, BigDecimal amount, String description) {
+        return recorder.call(TraceOperation.TRY_WITHDRAW, () -> super.tryWithdraw(accountId, amount, description),
+            accountId, amount, description);
+    }
+
+    @Override
+    public void transfer(String fromAccountId, String toAccountId, BigDecimal amount) {
+        recorder.run(TraceOperation.TRANSFER, () -> super.transfer(fromAccountId, toAccountId, amount),
+            fromAccountId, toAccountId, amount);
+    }
+
+    @Override
+    public TransactionOutcome tryTransfer(String fromAccountId, String toAccountId, BigDecimal amount) {
+        return recorder.call(TraceOperation.TRY_TRANSFER, () -> super.tryTransfer(fromAccountId, toAccountId, amount),
+            fromAccountId, toAccountId, amount);
+    }
+
+    @Override
+    public BigDecimal applyInterest(String accountId) {
+        return recorder.call(TraceOperation.APPLY_INTEREST, () -> super.applyInterest(accountId), accountId);
+    }
+
+    @Override
+    public BigDecimal getBalance(String accountId) {
+        return recorder.call(TraceOperation.GET_BALANCE, () -> super.getBalance(accountId), accountId);
+    }
+
+    @Override
+    public void activateAccount(String accountId) {
+        recorder.run(TraceOperation.ACTIVATE_ACCOUNT, () -> super.activateAccount(accountId), accountId);
+    }
+
+    @Override
+    public void deactivateAccount(String accountId) {
+        recorder.run(TraceOperation.DEACTIVATE_ACCOUNT, () -> super.deactivateAccount(accountId), accountId);
+    }
+}
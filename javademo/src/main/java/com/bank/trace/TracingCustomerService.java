@@ -0,0 +1,49 @@
+package com.bank.trace;
+
+import com.bank.model.Customer;
+import com.bank.repository.CustomerRepository;
+import com.bank.service.CustomerService;
+import com.bank.service.ValidationService;
+import com.bank.time.Clock;
+import com.bank.time.Clocks;
+import java.time.LocalDate;
+
+/**
+ * {@link CustomerService} that records customer creation and status changes
+ * to a {@link TraceWriter}.
+ */
+public class TracingCustomerService extends CustomerService {
+    private final CallRecorder recorder;
+
+    public TracingCustomerService(CustomerRepository customerRepository,
+                                  ValidationService validationService,
+                                  TraceWriter writer) {
+        this(customerRepository, validationService, Clocks.getDefault(), writer);
+    }
+
+    public TracingCustomerService(CustomerRepository customerRepository,
+                                  ValidationService validationService,
+                                  Clock clock,
+                                  TraceWriter writer) {
+        super(customerRepository, validationService, clock);
+        this.recorder = new CallRecorder(writer);
+    }
+
+    @Override
+    public Customer createCustomer(String firstName, String lastName, String email,
+                                   String phoneNumber, LocalDate dateOfBirth, String address) {
+        return recorder.call(TraceOperation.CREATE_CUSTOMER,
+            () -> super.createCustomer(firstName, lastName, email, phoneNumber, dateOfBirth, address),
+            firstName, lastName, email, phoneNumber, dateOfBirth, address);
+    }
+
+    @Override
+    public void activateCustomer(String customerId) {
+        recorder.run(TraceOperation.ACTIVATE_CUSTOMER, () -> super.activateCustomer(customerId), customerId);
+    }
+
+    @Override
+    public void deactivateCustomer(String customerId) {
+        recorder.run(TraceOperation.DEACTIVATE_CUSTOMER, () -> super.deactivateCustomer(customerId), customerId);
+    }
+}
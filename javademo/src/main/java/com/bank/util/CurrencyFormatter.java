@@ -1,39 +1,244 @@
 package com.bank.util;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility class for currency formatting.
+ * Safe for concurrent use: each locale's pattern is resolved once from
+ * {@link DecimalFormat} into an immutable {@link CurrencyPattern}, and digits
+ * are appended straight into the caller's buffer.
  */
 public final class CurrencyFormatter {
-    private static final NumberFormat USD_FORMAT = NumberFormat.getCurrencyInstance(Locale.US);
-    private static final NumberFormat EUR_FORMAT = NumberFormat.getCurrencyInstance(Locale.FRANCE);
-    private static final NumberFormat GBP_FORMAT = NumberFormat.getCurrencyInstance(Locale.UK);
+    private static final ConcurrentMap<Locale, CurrencyPattern> CURRENCY_PATTERNS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Locale, CurrencyPattern> PLAIN_PATTERNS = new ConcurrentHashMap<>();
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
 
     private CurrencyFormatter() {
         throw new AssertionError("Utility class cannot be instantiated");
     }
 
     public static String formatUSD(BigDecimal amount) {
-        return USD_FORMAT.format(amount);
+        return format(amount, Locale.US);
     }
 
     public static String formatEUR(BigDecimal amount) {
-        return EUR_FORMAT.format(amount);
+        return format(amount, Locale.FRANCE);
     }
 
     public static String formatGBP(BigDecimal amount) {
-        return GBP_FORMAT.format(amount);
+        return format(amount, Locale.UK);
     }
 
     public static String format(BigDecimal amount, Locale locale) {
-        NumberFormat formatter = NumberFormat.getCurrencyInstance(locale);
-        return formatter.format(amount);
+        StringBuilder out = new StringBuilder(24);
+        formatTo(amount, locale, out);
+        return out.toString();
     }
 
     public static String formatWithSymbol(BigDecimal amount, String symbol) {
-        return symbol + " " + String.format("%,.2f", amount);
+        StringBuilder out = new StringBuilder(symbol.length() + 24);
+        formatWithSymbolTo(amount, symbol, out);
+        return out.toString();
+    }
+
+    public static void formatTo(BigDecimal amount, Locale locale, StringBuilder out) {
+        currencyPattern(locale).appendTo(amount, out);
+    }
+
+    public static void formatTo(BigDecimal amount, Locale locale, Appendable out) throws IOException {
+        currencyPattern(locale).appendTo(amount, out);
+    }
+
+    /**
+     * Formats an amount held as whole cents without creating a BigDecimal.
+     */
+    public static void formatCentsTo(long cents, Locale locale, StringBuilder out) {
+        CurrencyPattern pattern = currencyPattern(locale);
+        if (pattern.maximumFractionDigits == 2 && cents != Long.MIN_VALUE) {
+            pattern.appendUnscaled(Math.abs(cents), 2, cents < 0, out);
+        } else {
+            pattern.appendTo(MoneyUtil.fromCents(cents), out);
+        }
+    }
+
+    /**
+     * Same output as {@code symbol + " " + String.format("%,.2f", amount)}.
+     */
+    public static void formatWithSymbolTo(BigDecimal amount, String symbol, StringBuilder out) {
+        out.append(symbol).append(' ');
+        plainPattern(Locale.getDefault(Locale.Category.FORMAT)).appendTo(amount, out);
+    }
+
+    private static CurrencyPattern currencyPattern(Locale locale) {
+        CurrencyPattern pattern = CURRENCY_PATTERNS.get(locale);
+        if (pattern == null) {
+            pattern = CURRENCY_PATTERNS.computeIfAbsent(locale, CurrencyPattern::forCurrency);
+        }
+        return pattern;
+    }
+
+    private static CurrencyPattern plainPattern(Locale locale) {
+        CurrencyPattern pattern = PLAIN_PATTERNS.get(locale);
+        if (pattern == null) {
+            pattern = PLAIN_PATTERNS.computeIfAbsent(locale, CurrencyPattern::forPlainDecimal);
+        }
+        return pattern;
     }
-}
 
+    /**
+     * Immutable snapshot of the affixes, separators and digit rules of a locale's format.
+     */
+    private static final class CurrencyPattern {
+        private final String positivePrefix;
+        private final String positiveSuffix;
+        private final String negativePrefix;
+        private final String negativeSuffix;
+        private final char zeroDigit;
+        private final char groupingSeparator;
+        private final char decimalSeparator;
+        private final int groupingSize;
+        private final int minimumFractionDigits;
+        private final int maximumFractionDigits;
+        private final RoundingMode roundingMode;
+
+        private CurrencyPattern(DecimalFormat format, char decimalSeparator) {
+            DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+            this.positivePrefix = format.getPositivePrefix();
+            this.positiveSuffix = format.getPositiveSuffix();
+            this.negativePrefix = format.getNegativePrefix();
+            this.negativeSuffix = format.getNegativeSuffix();
+            this.zeroDigit = symbols.getZeroDigit();
+            this.groupingSeparator = symbols.getGroupingSeparator();
+            this.decimalSeparator = decimalSeparator;
+            this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+            this.minimumFractionDigits = format.getMinimumFractionDigits();
+            this.maximumFractionDigits = format.getMaximumFractionDigits();
+            this.roundingMode = format.getRoundingMode();
+        }
+
+        static CurrencyPattern forCurrency(Locale locale) {
+            DecimalFormat format = asDecimalFormat(NumberFormat.getCurrencyInstance(locale), locale);
+            return new CurrencyPattern(format, format.getDecimalFormatSymbols().getMonetaryDecimalSeparator());
+        }
+
+        // Mirrors java.util.Formatter's "%,.2f": locale separators, HALF_UP, plain minus sign
+        static CurrencyPattern forPlainDecimal(Locale locale) {
+            DecimalFormat format = asDecimalFormat(NumberFormat.getNumberInstance(locale), locale);
+            DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+            DecimalFormat plain = new DecimalFormat("#,##0.00", symbols);
+            plain.setGroupingSize(format.getGroupingSize());
+            plain.setRoundingMode(RoundingMode.HALF_UP);
+            plain.setPositivePrefix("");
+            plain.setNegativePrefix(String.valueOf(symbols.getMinusSign()));
+            return new CurrencyPattern(plain, symbols.getDecimalSeparator());
+        }
+
+        private static DecimalFormat asDecimalFormat(NumberFormat format, Locale locale) {
+            if (!(format instanceof DecimalFormat)) {
+                throw new IllegalArgumentException("Unsupported number format for locale " + locale);
+            }
+            return (DecimalFormat) format;
+        }
+
+        void appendTo(BigDecimal amount, StringBuilder out) {
+            try {
+                appendTo(amount, (Appendable) out);
+            } catch (IOException e) {
+                throw new AssertionError("StringBuilder does not throw IOException", e);
+            }
+        }
+
+        void appendUnscaled(long magnitude, int scale, boolean negative, StringBuilder out) {
+            try {
+                appendUnscaled(magnitude, scale, negative, (Appendable) out);
+            } catch (IOException e) {
+                throw new AssertionError("StringBuilder does not throw IOException", e);
+            }
+        }
+
+        void appendTo(BigDecimal amount, Appendable out) throws IOException {
+            BigDecimal rounded = amount.scale() == maximumFractionDigits
+                ? amount : amount.setScale(maximumFractionDigits, roundingMode);
+            if (rounded.precision() <= 18) {
+                // Sign comes from the unrounded amount, so -0.004 renders as negative zero like DecimalFormat
+                appendUnscaled(Math.abs(rounded.unscaledValue().longValue()), maximumFractionDigits,
+                        amount.signum() < 0, out);
+            } else {
+                appendLarge(rounded, out);
+            }
+        }
+
+        void appendUnscaled(long magnitude, int scale, boolean negative, Appendable out) throws IOException {
+            out.append(negative ? negativePrefix : positivePrefix);
+
+            long integral = magnitude / POWERS_OF_TEN[scale];
+            long fraction = magnitude % POWERS_OF_TEN[scale];
+            appendGrouped(integral, out);
+
+            int fractionDigits = scale;
+            while (fractionDigits > minimumFractionDigits && fraction % 10 == 0) {
+                fraction /= 10;
+                fractionDigits--;
+            }
+            if (fractionDigits > 0) {
+                out.append(decimalSeparator);
+                for (int i = fractionDigits - 1; i >= 0; i--) {
+                    out.append((char) (zeroDigit + (fraction / POWERS_OF_TEN[i]) % 10));
+                }
+            }
+            out.append(negative ? negativeSuffix : positiveSuffix);
+        }
+
+        private void appendGrouped(long value, Appendable out) throws IOException {
+            int digits = 1;
+            while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+                digits++;
+            }
+            for (int i = digits - 1; i >= 0; i--) {
+                out.append((char) (zeroDigit + (value / POWERS_OF_TEN[i]) % 10));
+                if (groupingSize > 0 && i > 0 && i % groupingSize == 0) {
+                    out.append(groupingSeparator);
+                }
+            }
+        }
+
+        // Rare path for amounts beyond 18 significant digits
+        private void appendLarge(BigDecimal rounded, Appendable out) throws IOException {
+            boolean negative = rounded.signum() < 0;
+            String plain = rounded.abs().toPlainString();
+            int point = plain.indexOf('.');
+            int integralLength = point < 0 ? plain.length() : point;
+
+            out.append(negative ? negativePrefix : positivePrefix);
+            for (int i = 0; i < integralLength; i++) {
+                out.append((char) (zeroDigit + (plain.charAt(i) - '0')));
+                int remaining = integralLength - i - 1;
+                if (groupingSize > 0 && remaining > 0 && remaining % groupingSize == 0) {
+                    out.append(groupingSeparator);
+                }
+            }
+            if (point >= 0) {
+                out.append(decimalSeparator);
+                for (int i = point + 1; i < plain.length(); i++) {
+                    out.append((char) (zeroDigit + (plain.charAt(i) - '0')));
+                }
+            }
+            out.append(negative ? negativeSuffix : positiveSuffix);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.util;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utility class for converting monetary amounts to and from whole cents.
+ */
+public final class MoneyUtil {
+    private static final int CENTS_SCALE = 2;
+
+    private MoneyUtil() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static long toCents(BigDecimal amount) {
+        if (amount.scale() == CENTS_SCALE) {
+            return amount.unscaledValue().longValueExact();
+        }
+        return amount.setScale(CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+}
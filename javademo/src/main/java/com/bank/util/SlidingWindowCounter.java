@@ -0,0 +1,122 @@
+package com.bank.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free rolling count and amount over a fixed time window.
+ * The window is a ring of time buckets; a bucket whose period has expired is
+ * swapped for a fresh one by CAS the first time its slot is reused, so the
+ * cost of a read or update is bounded by the bucket count, not by traffic.
+ */
+public final class SlidingWindowCounter {
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("Bucket count must be positive");
+        }
+        if (windowMillis < bucketCount) {
+            throw new IllegalArgumentException("Window must be at least one millisecond per bucket");
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void add(long nowMillis, long count, long amount) {
+        Bucket bucket = currentBucket(nowMillis / bucketMillis);
+        bucket.count.addAndGet(count);
+        bucket.amount.addAndGet(amount);
+    }
+
+    /**
+     * Takes back an event added at {@code eventMillis}; does nothing once its bucket has left the window.
+     */
+    public void remove(long eventMillis, long count, long amount) {
+        long period = eventMillis / bucketMillis;
+        Bucket bucket = buckets.get((int) Math.floorMod(period, (long) buckets.length()));
+        if (bucket != null && bucket.period == period) {
+            bucket.count.addAndGet(-count);
+            bucket.amount.addAndGet(-amount);
+        }
+    }
+
+    /**
+     * Adds the event if the window totals stay within both limits; otherwise leaves the window unchanged.
+     * A limit of zero or less is not enforced.
+     */
+    public boolean tryAdd(long nowMillis, long count, long amount, long maxCount, long maxAmount) {
+        long period = nowMillis / bucketMillis;
+        Bucket bucket = currentBucket(period);
+        bucket.count.addAndGet(count);
+        bucket.amount.addAndGet(amount);
+
+        long totalCount = 0;
+        long totalAmount = 0;
+        long oldest = period - buckets.length() + 1;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket candidate = buckets.get(i);
+            if (candidate != null && candidate.period >= oldest && candidate.period <= period) {
+                totalCount += candidate.count.get();
+                totalAmount += candidate.amount.get();
+            }
+        }
+        if ((maxCount > 0 && totalCount > maxCount) || (maxAmount > 0 && totalAmount > maxAmount)) {
+            bucket.count.addAndGet(-count);
+            bucket.amount.addAndGet(-amount);
+            return false;
+        }
+        return true;
+    }
+
+    public long count(long nowMillis) {
+        long period = nowMillis / bucketMillis;
+        long oldest = period - buckets.length() + 1;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.period >= oldest && bucket.period <= period) {
+                total += bucket.count.get();
+            }
+        }
+        return total;
+    }
+
+    public long amount(long nowMillis) {
+        long period = nowMillis / bucketMillis;
+        long oldest = period - buckets.length() + 1;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.period >= oldest && bucket.period <= period) {
+                total += bucket.amount.get();
+            }
+        }
+        return total;
+    }
+
+    private Bucket currentBucket(long period) {
+        int index = (int) Math.floorMod(period, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.period >= period) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(period);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private final long period;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong amount = new AtomicLong();
+
+        private Bucket(long period) {
+            this.period = period;
+        }
+    }
+}
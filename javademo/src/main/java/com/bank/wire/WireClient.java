@@ -0,0 +1,228 @@
+package com.bank.wire;
+
+import com.bank.service.TransactionOutcome;
+import com.bank.util.MoneyUtil;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pipelining client for {@link WireServer}. Calls return immediately with a future, so any
+ * number of requests can be in flight on the one connection. Frames queued by concurrent
+ * callers are sent together by whichever caller holds the write lock.
+ */
+public final class WireClient implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(WireClient.class.getName());
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_WRITE_BATCH = 64;
+
+    private final SocketChannel channel;
+    private final Map<Integer, CompletableFuture<WireResponse>> pending = new ConcurrentHashMap<>();
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ByteBuffer[] batch = new ByteBuffer[MAX_WRITE_BATCH];
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+    private final Thread reader;
+    private volatile IOException failure;
+
+    private WireClient(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = new Thread(this::readResponses, "wire-client-reader");
+        reader.setDaemon(true);
+    }
+
+    public static WireClient connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        WireClient client = new WireClient(channel);
+        client.reader.start();
+        return client;
+    }
+
+    public CompletableFuture<WireResponse> getBalance(String accountId) {
+        int id = nextRequestId.incrementAndGet();
+        ByteBuffer frame = frame(id, WireProtocol.GET_BALANCE, WireProtocol.stringBytes(accountId));
+        WireProtocol.putString(frame, accountId);
+        return send(id, frame);
+    }
+
+    public CompletableFuture<WireResponse> deposit(String accountId, BigDecimal amount) {
+        return amountRequest(WireProtocol.DEPOSIT, accountId, amount);
+    }
+
+    public CompletableFuture<WireResponse> withdraw(String accountId, BigDecimal amount) {
+        return amountRequest(WireProtocol.WITHDRAW, accountId, amount);
+    }
+
+    public CompletableFuture<WireResponse> transfer(String fromAccountId, String toAccountId, BigDecimal amount) {
+        int id = nextRequestId.incrementAndGet();
+        ByteBuffer frame = frame(id, WireProtocol.TRANSFER,
+            WireProtocol.stringBytes(fromAccountId) + WireProtocol.stringBytes(toAccountId) + 8);
+        WireProtocol.putString(frame, fromAccountId);
+        WireProtocol.putString(frame, toAccountId);
+        frame.putLong(MoneyUtil.toCents(amount));
+        return send(id, frame);
+    }
+
+    /**
+     * Sends an extension opcode. {@code fields} holds the request fields after the
+     * account ID, written with the {@link WireProtocol} helpers and flipped.
+     */
+    public CompletableFuture<WireResponse> request(byte opcode, String accountId, ByteBuffer fields) {
+        int id = nextRequestId.incrementAndGet();
+        ByteBuffer frame = frame(id, opcode, WireProtocol.stringBytes(accountId) + fields.remaining());
+        WireProtocol.putString(frame, accountId);
+        frame.put(fields);
+        return send(id, frame);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        closeChannel();
+        try {
+            reader.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fail(new IOException("Client closed"));
+    }
+
+    private CompletableFuture<WireResponse> amountRequest(byte opcode, String accountId, BigDecimal amount) {
+        int id = nextRequestId.incrementAndGet();
+        ByteBuffer frame = frame(id, opcode, WireProtocol.stringBytes(accountId) + 8);
+        WireProtocol.putString(frame, accountId);
+        frame.putLong(MoneyUtil.toCents(amount));
+        return send(id, frame);
+    }
+
+    private static ByteBuffer frame(int requestId, byte opcode, int fieldBytes) {
+        ByteBuffer frame = ByteBuffer.allocate(WireProtocol.LENGTH_BYTES + 4 + 1 + fieldBytes);
+        frame.putInt(4 + 1 + fieldBytes).putInt(requestId).put(opcode);
+        return frame;
+    }
+
+    private CompletableFuture<WireResponse> send(int requestId, ByteBuffer frame) {
+        CompletableFuture<WireResponse> future = new CompletableFuture<>();
+        pending.put(requestId, future);
+        if (failure != null) {
+            pending.remove(requestId);
+            future.completeExceptionally(failure);
+            return future;
+        }
+        frame.flip();
+        outbound.add(frame);
+        // whoever gets the lock writes every queued frame; recheck after unlocking so none is stranded
+        while (!outbound.isEmpty() && writeLock.tryLock()) {
+            try {
+                writeQueued();
+            } catch (IOException e) {
+                fail(e);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return future;
+    }
+
+    private void writeQueued() throws IOException {
+        ByteBuffer next;
+        while ((next = outbound.poll()) != null) {
+            int count = 0;
+            batch[count++] = next;
+            while (count < batch.length && (next = outbound.poll()) != null) {
+                batch[count++] = next;
+            }
+            while (batch[count - 1].hasRemaining()) {
+                channel.write(batch, 0, count);
+            }
+        }
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = null;
+        }
+    }
+
+    private void readResponses() {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        try {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= WireProtocol.LENGTH_BYTES) {
+                    int length = buffer.getInt(buffer.position());
+                    if (length < 5 || length > WireProtocol.MAX_FRAME_BYTES) {
+                        throw new IOException("Bad frame length " + length);
+                    }
+                    if (buffer.remaining() < WireProtocol.LENGTH_BYTES + length) {
+                        break;
+                    }
+                    int end = buffer.position() + WireProtocol.LENGTH_BYTES + length;
+                    int limit = buffer.limit();
+                    // bound decoding to this frame so a pipelined next frame is never read as part of it
+                    buffer.position(buffer.position() + WireProtocol.LENGTH_BYTES);
+                    buffer.limit(end);
+                    WireResponse response = decode(buffer);
+                    buffer.limit(limit);
+                    buffer.position(end);
+                    CompletableFuture<WireResponse> future = pending.remove(response.getRequestId());
+                    if (future != null) {
+                        future.complete(response);
+                    }
+                }
+                buffer.compact();
+            }
+            fail(new IOException("Server closed the connection"));
+        } catch (IOException e) {
+            fail(e);
+        } catch (RuntimeException e) {
+            // a response this client cannot decode leaves the stream out of step; drop the connection
+            fail(new IOException("Malformed response from server", e));
+            closeChannel();
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing wire client", e);
+        }
+    }
+
+    private static WireResponse decode(ByteBuffer buffer) {
+        int requestId = buffer.getInt();
+        byte status = buffer.get();
+        if (status == WireProtocol.STATUS_ERROR) {
+            return new WireResponse(requestId, null, WireProtocol.NO_BALANCE, WireProtocol.getString(buffer), null);
+        }
+        long balance = buffer.getLong();
+        String detail = buffer.hasRemaining() ? WireProtocol.getString(buffer) : null;
+        return new WireResponse(requestId, TransactionOutcome.values()[status], balance, null, detail);
+    }
+
+    private void fail(IOException cause) {
+        if (failure == null) {
+            failure = cause;
+        }
+        for (Integer requestId : pending.keySet()) {
+            CompletableFuture<WireResponse> future = pending.remove(requestId);
+            if (future != null) {
+                future.completeExceptionally(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bank.wire;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Handles the opcodes a {@link WireServer} does not know itself. Runs on the server's
+ * worker threads; build responses with the {@link WireProtocol} helpers.
+ */
+@FunctionalInterface
+public interface WireExtension {
+
+    WireExtension NONE = (requestId, opcode, accountId, fields) -> null;
+
+    /**
+     * @param fields the request fields after the account ID
+     * @return the framed response, or null if the opcode is not handled either
+     */
+    ByteBuffer execute(int requestId, byte opcode, String accountId, ByteBuffer fields);
+}
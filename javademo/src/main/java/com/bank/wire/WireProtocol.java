@@ -0,0 +1,99 @@
+package com.bank.wire;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Frame layout shared by {@link WireServer} and {@link WireClient}. All integers are big-endian.
+ *
+ * <pre>
+ * request:  int length | int requestId | byte opcode | fields
+ * response: int length | int requestId | byte status | long balanceCents [| short len | utf-8]
+ *                                                                          (status &lt; STATUS_ERROR)
+ *                                                   | short len | utf-8    (status == STATUS_ERROR)
+ * </pre>
+ *
+ * The first request field is always an account ID. Opcodes above {@link #TRANSFER} are
+ * passed to the server's {@link WireExtension}, which may add the optional trailing detail
+ * string to its responses.
+ *
+ * {@code length} counts the bytes after itself. Strings are a short byte count followed by
+ * UTF-8; amounts are whole cents. A success or decline status is the
+ * {@link com.bank.service.TransactionOutcome} ordinal, and the balance is the account's
+ * balance read right after the operation, or {@link #NO_BALANCE}.
+ */
+public final class WireProtocol {
+    public static final byte GET_BALANCE = 1;
+    public static final byte DEPOSIT = 2;
+    public static final byte WITHDRAW = 3;
+    public static final byte TRANSFER = 4;
+
+    public static final byte STATUS_ERROR = 0x7F;
+    public static final long NO_BALANCE = Long.MIN_VALUE;
+
+    static final int LENGTH_BYTES = 4;
+    static final int MAX_FRAME_BYTES = 16 * 1024;
+    static final int MAX_MESSAGE_CHARS = 1024;
+
+    private WireProtocol() {
+        throw new AssertionError("Utility class cannot be instantiated");
+    }
+
+    public static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for a frame");
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+            StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    public static int stringBytes(String value) {
+        return 2 + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Frames a response; the returned buffer is ready to write.
+     */
+    public static ByteBuffer response(int requestId, byte status, long balanceCents) {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_BYTES + 4 + 1 + 8);
+        buffer.putInt(4 + 1 + 8).putInt(requestId).put(status).putLong(balanceCents);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Frames a response carrying a detail string after the balance.
+     */
+    public static ByteBuffer response(int requestId, byte status, long balanceCents, String detail) {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_BYTES + 4 + 1 + 8 + stringBytes(detail));
+        buffer.putInt(buffer.capacity() - LENGTH_BYTES).putInt(requestId).put(status).putLong(balanceCents);
+        putString(buffer, detail);
+        buffer.flip();
+        return buffer;
+    }
+
+    public static ByteBuffer errorResponse(int requestId, String message) {
+        String text = message == null ? "error" : message;
+        if (text.length() > MAX_MESSAGE_CHARS) {
+            text = text.substring(0, MAX_MESSAGE_CHARS);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH_BYTES + 4 + 1 + stringBytes(text));
+        buffer.putInt(buffer.capacity() - LENGTH_BYTES).putInt(requestId).put(STATUS_ERROR);
+        putString(buffer, text);
+        buffer.flip();
+        return buffer;
+    }
+}
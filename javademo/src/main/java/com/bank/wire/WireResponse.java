@@ -0,0 +1,74 @@
+package com.bank.wire;
+
+import com.bank.service.TransactionOutcome;
+import com.bank.util.MoneyUtil;
+import java.math.BigDecimal;
+
+/**
+ * A decoded {@link WireProtocol} response: an outcome and balance, or an error message.
+ */
+public final class WireResponse {
+    private final int requestId;
+    private final TransactionOutcome outcome;
+    private final long balanceCents;
+    private final String error;
+    private final String detail;
+
+    WireResponse(int requestId, TransactionOutcome outcome, long balanceCents, String error, String detail) {
+        this.requestId = requestId;
+        this.outcome = outcome;
+        this.balanceCents = balanceCents;
+        this.error = error;
+        this.detail = detail;
+    }
+
+    public int getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Null when the server reported an error instead of an outcome.
+     */
+    public TransactionOutcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isSuccess() {
+        return outcome == TransactionOutcome.SUCCESS;
+    }
+
+    /**
+     * Balance after the operation, or null if the account was not found or the request failed.
+     */
+    public BigDecimal getBalance() {
+        return balanceCents == WireProtocol.NO_BALANCE || outcome == null ? null : MoneyUtil.fromCents(balanceCents);
+    }
+
+    /**
+     * Raw balance field; extension opcodes may use it for other counts.
+     */
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Optional detail string added by a {@link WireExtension} response, or null.
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return "WireResponse{" +
+                "requestId=" + requestId +
+                ", outcome=" + outcome +
+                ", balance=" + getBalance() +
+                (error == null ? "" : ", error='" + error + '\'') +
+                '}';
+    }
+}
@@ -0,0 +1,412 @@
+package com.bank.wire;
+
+import com.bank.exception.AccountNotFoundException;
+import com.bank.exception.InvalidTransactionException;
+import com.bank.exception.VelocityLimitExceededException;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionOutcome;
+import com.bank.util.MoneyUtil;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * NIO server for the binary {@link WireProtocol} in front of {@link AccountService}.
+ * One selector thread reads frames and writes responses; operations run on a worker pool,
+ * so a connection can have many requests in flight and responses may arrive out of order,
+ * matched by request ID. Responses that complete while the selector is busy are sent
+ * together with one gathering write.
+ *
+ * <p>A request counts against the connection's in-flight cap until its response has been
+ * fully written, and the server stops reading from a connection whose responses back up
+ * in the socket, so a client that stops reading cannot make the server buffer without bound.
+ */
+public final class WireServer implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(WireServer.class.getName());
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_WRITE_BATCH = 64;
+
+    private final AccountService accountService;
+    private final WireExtension extension;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService workers;
+    private final int maxInFlight;
+    private final Queue<Connection> writable = new ConcurrentLinkedQueue<>();
+    private final Thread selectorThread;
+    private volatile boolean running = true;
+
+    private WireServer(Builder builder) throws IOException {
+        this.accountService = builder.accountService;
+        this.extension = builder.extension;
+        this.maxInFlight = builder.maxInFlight;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(builder.address, builder.backlog);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        AtomicInteger sequence = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(builder.workerThreads, task -> {
+            Thread thread = new Thread(task, "wire-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.selectorThread = new Thread(this::runSelector, "wire-selector");
+        selectorThread.setDaemon(true);
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdownNow();
+    }
+
+    private void runSelector() {
+        try {
+            while (running) {
+                selector.select();
+                flushWritable();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            Connection connection = (Connection) key.attachment();
+                            if (key.isReadable()) {
+                                connection.read();
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                connection.write();
+                            }
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.log(Level.FINE, "Closing wire connection", e);
+                        closeQuietly(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                LOGGER.log(Level.WARNING, "Wire selector failed", e);
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+                serverChannel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Error closing wire server", e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(key, channel));
+        }
+    }
+
+    private void flushWritable() {
+        Connection connection;
+        while ((connection = writable.poll()) != null) {
+            try {
+                connection.write();
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Closing wire connection", e);
+                closeQuietly(connection.key);
+            }
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing wire connection", e);
+        }
+    }
+
+    private ByteBuffer execute(ByteBuffer frame) {
+        int requestId = frame.getInt();
+        try {
+            byte opcode = frame.get();
+            String accountId = WireProtocol.getString(frame);
+            switch (opcode) {
+                case WireProtocol.GET_BALANCE:
+                    return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(),
+                        MoneyUtil.toCents(accountService.getBalance(accountId)));
+                case WireProtocol.DEPOSIT:
+                    return outcome(requestId, deposit(accountId, MoneyUtil.fromCents(frame.getLong())), accountId);
+                case WireProtocol.WITHDRAW:
+                    return outcome(requestId, accountService.tryWithdraw(
+                        accountId, MoneyUtil.fromCents(frame.getLong()), "Wire withdrawal"), accountId);
+                case WireProtocol.TRANSFER:
+                    String toAccountId = WireProtocol.getString(frame);
+                    return outcome(requestId, accountService.tryTransfer(
+                        accountId, toAccountId, MoneyUtil.fromCents(frame.getLong())), accountId);
+                default:
+                    ByteBuffer response = extension.execute(requestId, opcode, accountId, frame);
+                    return response != null ? response : WireProtocol.errorResponse(requestId, "Unknown opcode " + opcode);
+            }
+        } catch (AccountNotFoundException e) {
+            return WireProtocol.response(requestId, (byte) TransactionOutcome.ACCOUNT_NOT_FOUND.ordinal(),
+                WireProtocol.NO_BALANCE);
+        } catch (BufferUnderflowException e) {
+            return WireProtocol.errorResponse(requestId, "Truncated request");
+        } catch (RuntimeException e) {
+            return WireProtocol.errorResponse(requestId, e.getMessage());
+        }
+    }
+
+    // deposit() reports declines as exceptions; map them onto the same outcomes as withdrawals
+    private TransactionOutcome deposit(String accountId, BigDecimal amount) {
+        try {
+            accountService.deposit(accountId, amount, "Wire deposit");
+            return TransactionOutcome.SUCCESS;
+        } catch (AccountNotFoundException e) {
+            return TransactionOutcome.ACCOUNT_NOT_FOUND;
+        } catch (VelocityLimitExceededException e) {
+            return TransactionOutcome.VELOCITY_LIMIT_EXCEEDED;
+        } catch (InvalidTransactionException e) {
+            return TransactionOutcome.ACCOUNT_INACTIVE;
+        } catch (IllegalArgumentException e) {
+            return TransactionOutcome.INVALID_AMOUNT;
+        }
+    }
+
+    private ByteBuffer outcome(int requestId, TransactionOutcome outcome, String accountId) {
+        long balance = outcome == TransactionOutcome.ACCOUNT_NOT_FOUND
+            ? WireProtocol.NO_BALANCE
+            : MoneyUtil.toCents(accountService.getBalance(accountId));
+        return WireProtocol.response(requestId, (byte) outcome.ordinal(), balance);
+    }
+
+    /**
+     * Per-connection state. Reads and writes happen only on the selector thread;
+     * workers hand over finished responses through {@link #complete}.
+     */
+    private final class Connection {
+        private final SelectionKey key;
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private final Queue<ByteBuffer> completed = new ConcurrentLinkedQueue<>();
+        private final ArrayDeque<ByteBuffer> unwritten = new ArrayDeque<>();
+        private final ByteBuffer[] batch = new ByteBuffer[MAX_WRITE_BATCH];
+        private final AtomicBoolean writeQueued = new AtomicBoolean();
+        // dispatched requests whose responses are not yet fully written
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private boolean readPaused;
+
+        Connection(SelectionKey key, SocketChannel channel) {
+            this.key = key;
+            this.channel = channel;
+        }
+
+        void read() throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                closeQuietly(key);
+                return;
+            }
+            dispatchBuffered();
+        }
+
+        // Hands complete frames to the workers until the in-flight cap; the rest wait in the buffer
+        private void dispatchBuffered() throws IOException {
+            readBuffer.flip();
+            while (readBuffer.remaining() >= WireProtocol.LENGTH_BYTES) {
+                if (inFlight.get() >= maxInFlight) {
+                    readPaused = true;
+                    break;
+                }
+                int length = readBuffer.getInt(readBuffer.position());
+                if (length < 5 || length > WireProtocol.MAX_FRAME_BYTES) {
+                    throw new IOException("Bad frame length " + length);
+                }
+                if (readBuffer.remaining() < WireProtocol.LENGTH_BYTES + length) {
+                    break;
+                }
+                readBuffer.position(readBuffer.position() + WireProtocol.LENGTH_BYTES);
+                byte[] frame = new byte[length];
+                readBuffer.get(frame);
+                inFlight.incrementAndGet();
+                workers.execute(() -> complete(execute(ByteBuffer.wrap(frame))));
+            }
+            readBuffer.compact();
+            if (inFlight.get() >= maxInFlight) {
+                readPaused = true;
+            }
+            if (readPaused) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            }
+        }
+
+        void complete(ByteBuffer response) {
+            completed.add(response);
+            if (writeQueued.compareAndSet(false, true)) {
+                writable.add(this);
+                selector.wakeup();
+            }
+        }
+
+        void write() throws IOException {
+            if (!key.isValid()) {
+                return;
+            }
+            writeQueued.set(false);
+            ByteBuffer response;
+            while ((response = completed.poll()) != null) {
+                unwritten.add(response);
+            }
+            while (!unwritten.isEmpty()) {
+                int count = 0;
+                for (ByteBuffer buffer : unwritten) {
+                    batch[count++] = buffer;
+                    if (count == batch.length) {
+                        break;
+                    }
+                }
+                channel.write(batch, 0, count);
+                while (!unwritten.isEmpty() && !unwritten.peekFirst().hasRemaining()) {
+                    unwritten.pollFirst();
+                    inFlight.decrementAndGet();
+                }
+                if (batch[count - 1].hasRemaining()) {
+                    break;
+                }
+            }
+            Arrays.fill(batch, null);
+            int ops = key.interestOps();
+            boolean resumed = false;
+            if (unwritten.isEmpty()) {
+                ops &= ~SelectionKey.OP_WRITE;
+                resumed = readPaused && inFlight.get() <= maxInFlight / 2;
+                if (resumed) {
+                    readPaused = false;
+                    ops |= SelectionKey.OP_READ;
+                }
+            } else {
+                // the peer is not taking responses; stop reading its requests until it drains
+                readPaused = true;
+                ops = (ops | SelectionKey.OP_WRITE) & ~SelectionKey.OP_READ;
+            }
+            key.interestOps(ops);
+            if (resumed) {
+                // frames left buffered while paused would otherwise wait for more socket data
+                dispatchBuffered();
+            }
+        }
+    }
+
+    public static class Builder {
+        private InetSocketAddress address;
+        private int backlog;
+        private int workerThreads;
+        private int maxInFlight;
+        private AccountService accountService;
+        private WireExtension extension;
+
+        public Builder() {
+            this.address = new InetSocketAddress(9090);
+            this.backlog = 1024;
+            this.workerThreads = Runtime.getRuntime().availableProcessors() * 2;
+            this.maxInFlight = 1024;
+            this.extension = WireExtension.NONE;
+        }
+
+        public Builder address(InetSocketAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        public Builder port(int port) {
+            this.address = new InetSocketAddress(port);
+            return this;
+        }
+
+        public Builder backlog(int backlog) {
+            this.backlog = backlog;
+            return this;
+        }
+
+        public Builder workerThreads(int workerThreads) {
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        /**
+         * Requests a single connection may have outstanding before the server stops reading from it.
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder accountService(AccountService accountService) {
+            this.accountService = accountService;
+            return this;
+        }
+
+        /**
+         * Serves opcodes beyond the core account operations.
+         */
+        public Builder extension(WireExtension extension) {
+            this.extension = extension;
+            return this;
+        }
+
+        public WireServer start() throws IOException {
+            if (accountService == null || extension == null) {
+                throw new IllegalStateException("Account service and extension are required");
+            }
+            if (workerThreads < 1 || maxInFlight < 2) {
+                throw new IllegalStateException("Worker threads and max in-flight must be positive");
+            }
+            WireServer server = new WireServer(this);
+            server.selectorThread.start();
+            return server;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.analytics;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import org.junit.Before;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import static org.junit.Assert.*;
+
+public class TransactionQueryTest {
+    private TransactionRepository transactionRepository;
+    private AccountRepository accountRepository;
+
+    @Before
+    public void setUp() {
+        transactionRepository = new TransactionRepository();
+        accountRepository = new AccountRepository();
+
+        accountRepository.save(new Account.Builder()
+                .accountId("ACC-001")
+                .customerId("CUST-001")
+                .accountType(AccountType.SAVINGS)
+                .build());
+        accountRepository.save(new Account.Builder()
+                .accountId("ACC-002")
+                .customerId("CUST-002")
+                .accountType(AccountType.CHECKING)
+                .build());
+
+        LocalDateTime day1 = LocalDateTime.of(2024, 3, 1, 10, 0);
+        LocalDateTime day2 = LocalDateTime.of(2024, 3, 2, 10, 0);
+        save("ACC-001", TransactionType.DEPOSIT, "500.00", day1);
+        save("ACC-001", TransactionType.DEPOSIT, "300.00", day1);
+        save("ACC-001", TransactionType.WITHDRAWAL, "200.00", day2);
+        save("ACC-002", TransactionType.DEPOSIT, "1500.00", day2);
+        save("ACC-002", TransactionType.INTEREST, "1.2345", day2);
+    }
+
+    private void save(String accountId, TransactionType type, String amount, LocalDateTime timestamp) {
+        transactionRepository.save(new Transaction.Builder()
+                .accountId(accountId)
+                .type(type)
+                .amount(new BigDecimal(amount))
+                .timestamp(timestamp)
+                .build());
+    }
+
+    @Test
+    public void testGroupByType() {
+        Map<TransactionType, AmountStatistics> result = new TransactionQuery.Builder<TransactionType>()
+                .groupBy(Dimensions.type())
+                .build()
+                .execute(transactionRepository);
+
+        AmountStatistics deposits = result.get(TransactionType.DEPOSIT);
+        assertEquals(3, deposits.getCount());
+        assertEquals(new BigDecimal("2300.00"), deposits.getSum());
+        assertEquals(new BigDecimal("300.00"), deposits.getMin());
+        assertEquals(new BigDecimal("1500.00"), deposits.getMax());
+        assertEquals(new BigDecimal("766.67"), deposits.getAverage());
+        assertEquals(new BigDecimal("1.23"), result.get(TransactionType.INTEREST).getSum());
+    }
+
+    @Test
+    public void testFilterAndGroupByTypeAndDay() {
+        Map<List<Object>, AmountStatistics> result = new TransactionQuery.Builder<List<Object>>()
+                .where(t -> t.getType() != TransactionType.INTEREST)
+                .groupBy(Dimensions.pair(Dimensions.type(), Dimensions.day()))
+                .build()
+                .execute(transactionRepository);
+
+        assertEquals(3, result.size());
+        AmountStatistics firstDay = result.get(
+                Arrays.<Object>asList(TransactionType.DEPOSIT, LocalDate.of(2024, 3, 1)));
+        assertEquals(2, firstDay.getCount());
+        assertEquals(new BigDecimal("800.00"), firstDay.getSum());
+    }
+
+    @Test
+    public void testDistributionByAccountType() {
+        Map<List<Object>, AmountStatistics> result = new TransactionQuery.Builder<List<Object>>()
+                .groupBy(Dimensions.pair(
+                        Dimensions.accountType(accountRepository),
+                        Dimensions.amountBucket(new BigDecimal("100"), new BigDecimal("1000"))))
+                .parallel(false)
+                .build()
+                .execute(transactionRepository);
+
+        assertEquals(3, result.get(Arrays.<Object>asList(AccountType.SAVINGS, "<= 1000.00")).getCount());
+        assertEquals(1, result.get(Arrays.<Object>asList(AccountType.CHECKING, "> 1000.00")).getCount());
+        assertEquals(1, result.get(Arrays.<Object>asList(AccountType.CHECKING, "<= 100.00")).getCount());
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        for (int i = 0; i < 10_000; i++) {
+            save("ACC-" + (i % 7), TransactionType.DEPOSIT, (i % 500 + 1) + ".25",
+                    LocalDateTime.of(2024, 1, 1 + i % 28, 0, 0));
+        }
+        TransactionQuery.Builder<String> builder = new TransactionQuery.Builder<String>()
+                .groupBy(Dimensions.account());
+
+        Map<String, AmountStatistics> parallel = builder.parallel(true).build().execute(transactionRepository);
+        Map<String, AmountStatistics> sequential = builder.parallel(false).build().execute(transactionRepository);
+
+        assertEquals(sequential.keySet(), parallel.keySet());
+        sequential.forEach((key, stats) -> {
+            assertEquals(stats.getCount(), parallel.get(key).getCount());
+            assertEquals(stats.getSum(), parallel.get(key).getSum());
+        });
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuilderMissingGroupBy() {
+        new TransactionQuery.Builder<String>().build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.bank.api;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.CustomerRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.CustomerService;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.junit.Assert.*;
+
+public class ApiServerTest {
+    private ApiServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        ValidationService validationService = new ValidationService();
+        TransactionService transactionService = new TransactionService(new TransactionRepository());
+        server = new ApiServer.Builder()
+                .address(new InetSocketAddress("127.0.0.1", 0))
+                .threads(4)
+                .customerService(new CustomerService(new CustomerRepository(), validationService))
+                .accountService(new AccountService(new AccountRepository(), transactionService, validationService))
+                .transactionService(transactionService)
+                .start();
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testCustomerAccountAndMoneyMovementRoundTrip() throws IOException {
+        Response customer = call("POST", "/customers", "{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\","
+                + "\"email\":\"ada@example.com\",\"phoneNumber\":\"+1234567890\",\"dateOfBirth\":\"1990-12-10\"}");
+        assertEquals(201, customer.status);
+        String customerId = field(customer.body, "customerId");
+        Response search = call("GET", "/customers?q=lovlace&limit=5", null);
+        assertEquals(200, search.status);
+        assertEquals(customerId, field(search.body, "customerId"));
+
+        Response opened = call("POST", "/accounts",
+                "{\"customerId\":\"" + customerId + "\",\"accountType\":\"SAVINGS\",\"initialDeposit\":100.00}");
+        assertEquals(201, opened.status);
+        String from = field(opened.body, "accountId");
+        String to = field(call("POST", "/accounts", "{\"customerId\":\"" + customerId
+                + "\",\"accountType\":\"CHECKING\",\"initialDeposit\":\"5.00\"}").body, "accountId");
+
+        Response deposit = call("POST", "/accounts/" + from + "/deposits", "{\"amount\":\"50.25\"}");
+        assertEquals(200, deposit.status);
+        assertTrue(deposit.body, deposit.body.contains("\"balance\":150.25"));
+
+        Response declined = call("POST", "/accounts/" + to + "/withdrawals", "{\"amount\":10}");
+        assertEquals(409, declined.status);
+        assertTrue(declined.body.contains("\"outcome\":\"INSUFFICIENT_FUNDS\""));
+
+        Response transfer = call("POST", "/transfers",
+                "{\"fromAccountId\":\"" + from + "\",\"toAccountId\":\"" + to + "\",\"amount\":40}");
+        assertEquals(200, transfer.status);
+
+        Response account = call("GET", "/accounts/" + to, null);
+        assertEquals(new BigDecimal("45.00"), new BigDecimal(number(account.body, "balance")));
+
+        Response accounts = call("GET", "/customers/" + customerId + "/accounts", null);
+        assertTrue(accounts.body.contains(from) && accounts.body.contains(to));
+
+        Response page = call("GET", "/accounts/" + from + "/transactions?limit=1", null);
+        String transactionId = field(page.body, "transactionId");
+        assertEquals(200, call("GET", "/transactions/" + transactionId, null).status);
+    }
+
+    @Test
+    public void testHistoryPagesFollowCursorWithoutGapsOrRepeats() throws IOException {
+        String customerId = field(call("POST", "/customers", "{\"firstName\":\"Grace\",\"lastName\":\"Hopper\","
+                + "\"email\":\"grace@example.com\",\"phoneNumber\":\"+1234567890\",\"dateOfBirth\":\"1980-01-01\"}").body, "customerId");
+        String accountId = field(call("POST", "/accounts", "{\"customerId\":\"" + customerId
+                + "\",\"accountType\":\"CHECKING\",\"initialDeposit\":1}").body, "accountId");
+        for (int i = 0; i < 24; i++) {
+            assertEquals(200, call("POST", "/accounts/" + accountId + "/deposits", "{\"amount\":1}").status);
+        }
+
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Response page = call("GET", "/accounts/" + accountId + "/transactions?limit=10"
+                    + (cursor == null ? "" : "&after=" + cursor), null);
+            assertEquals(200, page.status);
+            Matcher ids = Pattern.compile("\"transactionId\":\"([^\"]+)\"").matcher(page.body);
+            while (ids.find()) {
+                assertTrue("repeated " + ids.group(1), seen.add(ids.group(1)));
+            }
+            cursor = page.body.contains("\"next\":null") ? null : field(page.body, "next");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    public void testErrorsMapToStatuses() throws IOException {
+        assertEquals(404, call("GET", "/accounts/NOPE", null).status);
+        assertEquals(404, call("GET", "/customers/NOPE", null).status);
+        assertEquals(404, call("POST", "/accounts",
+                "{\"customerId\":\"NOPE\",\"accountType\":\"SAVINGS\",\"initialDeposit\":1}").status);
+        assertEquals(400, call("POST", "/customers", "{\"firstName\":").status);
+        assertEquals(400, call("POST", "/customers", "{\"firstName\":\"A\",\"lastName\":\"B\"}").status);
+        assertEquals(400, call("POST", "/customers",
+                "{\"firstName\":\"A\",\"lastName\":\"B\",\"email\":\"not-an-email\"}").status);
+        assertEquals(400, call("GET", "/customers", null).status);
+        Response bad = call("GET", "/accounts/X/transactions?limit=0", null);
+        assertEquals(400, bad.status);
+        assertTrue(bad.body.startsWith("{\"error\":"));
+    }
+
+    @Test
+    public void testJsonWriterEscapesAndSeparates() {
+        JsonWriter json = new JsonWriter(4);
+        json.beginObject()
+                .name("text").value("quote\" slash\\ line\n tab\t bell\u0007 é €")
+                .name("list").beginArray().value(1).value(new BigDecimal("1E+3")).nullValue().endArray()
+                .name("flag").value(true)
+                .endObject();
+        assertEquals("{\"text\":\"quote\\\" slash\\\\ line\\n tab\\t bell\\u0007 é €\","
+                + "\"list\":[1,1000,null],\"flag\":true}", json.toString());
+        assertEquals("[]", json.reset().beginArray().endArray().toString());
+    }
+
+    private Response call(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream stream = in) {
+                byte[] chunk = new byte[1024];
+                int read;
+                while ((read = stream.read(chunk)) != -1) {
+                    bytes.write(chunk, 0, read);
+                }
+            }
+        }
+        return new Response(status, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static String field(String json, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\":\"([^\"]*)\"").matcher(json);
+        assertTrue(name + " missing from " + json, matcher.find());
+        return matcher.group(1);
+    }
+
+    private static String number(String json, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\":([-0-9.]+)").matcher(json);
+        assertTrue(name + " missing from " + json, matcher.find());
+        return matcher.group(1);
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.bank.archive;
+
+import com.bank.model.Transaction;
+import com.bank.model.TransactionType;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.TransactionPage;
+import com.bank.service.TransactionService;
+import com.bank.time.ManualClock;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class TransactionArchiveTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private TransactionRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = folder.newFolder("archive").toPath();
+        repository = new TransactionRepository(TransactionArchive.open(directory));
+    }
+
+    @Test
+    public void testSegmentRoundTripPreservesEveryField() throws Exception {
+        List<Transaction> written = Arrays.asList(
+            transaction("ACC-1", TransactionType.DEPOSIT, "100.00", "100.00", START, "Opening deposit"),
+            transaction("ACC-1", TransactionType.INTEREST, "0.4167", "100.4167", START.plusDays(30), null),
+            transaction("ACC-1", TransactionType.WITHDRAWAL, "25.50", "74.9167", START.plusDays(31).plusNanos(123), "ATM"),
+            transaction("ACC-2", TransactionType.FEE, "12345678901234567890.99", "-1.00", START.minusYears(3), "ATM"));
+
+        ArchiveSegment segment = ArchiveSegment.write(directory.resolve("single.bka"), written);
+        ArchiveSegment reopened = ArchiveSegment.open(segment.getPath());
+
+        assertEquals(4, reopened.getTransactionCount());
+        assertTrue(reopened.containsAccount("ACC-2"));
+        assertFalse(reopened.containsAccount("ACC-3"));
+        List<Transaction> read = new ArrayList<>(reopened.read("ACC-1"));
+        read.addAll(reopened.read("ACC-2"));
+        assertEquals(written.size(), read.size());
+        for (Transaction expected : written) {
+            Transaction actual = read.get(read.indexOf(expected));
+            assertEquals(expected.getAccountId(), actual.getAccountId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getBalanceAfter(), actual.getBalanceAfter());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getReferenceNumber(), actual.getReferenceNumber());
+        }
+    }
+
+    @Test
+    public void testArchivingMovesOldTransactionsOutOfMemory() throws Exception {
+        saveDaily("ACC-1", 200);
+
+        int moved = repository.archiveOlderThan(START.plusDays(110));
+
+        assertEquals(110, moved);
+        assertEquals(90, repository.count());
+        assertEquals(110, repository.getArchivedCount());
+        assertEquals(0, repository.archiveOlderThan(START.plusDays(110)));
+    }
+
+    @Test
+    public void testAccountQueriesReadThroughToArchive() throws Exception {
+        List<Transaction> saved = saveDaily("ACC-1", 50);
+        saveDaily("ACC-2", 10);
+        repository.archiveOlderThan(START.plusDays(20));
+
+        List<Transaction> history = repository.findByAccountId("ACC-1");
+        assertEquals(50, history.size());
+        assertEquals(saved.get(49), history.get(0));
+        assertEquals(saved.get(0), history.get(49));
+
+        List<Transaction> range = repository.findByAccountIdAndDateRange(
+            "ACC-1", START.plusDays(15), START.plusDays(24));
+        assertEquals(10, range.size());
+        assertEquals(START.plusDays(24), range.get(0).getTimestamp());
+        assertEquals(START.plusDays(15), range.get(9).getTimestamp());
+
+        assertTrue(repository.findByAccountIdAndTransactionId("ACC-1", saved.get(3).getTransactionId()).isPresent());
+        assertFalse(repository.findByAccountIdAndTransactionId("ACC-2", saved.get(3).getTransactionId()).isPresent());
+    }
+
+    @Test
+    public void testPaginationCrossesFromMemoryIntoArchive() throws Exception {
+        List<Transaction> saved = saveDaily("ACC-1", 47);
+        repository.archiveOlderThan(START.plusDays(30));
+        TransactionService service = new TransactionService(repository);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPage page = service.getAccountTransactionPage("ACC-1", cursor, 10);
+            page.getTransactions().forEach(t -> seen.add(t.getTransactionId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<String> expected = saved.stream().map(Transaction::getTransactionId).collect(Collectors.toList());
+        Collections.reverse(expected);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    public void testPagesSeekFromCursorWithoutLoadingWholeHistory() throws Exception {
+        TransactionArchive archive = TransactionArchive.open(folder.newFolder("paged").toPath());
+        List<Transaction> saved = saveDaily("ACC-1", 40);
+        // Segments are written out of time order
+        archive.append(saved.subList(20, 30));
+        archive.append(saved.subList(0, 10));
+        archive.append(saved.subList(30, 40));
+        archive.append(saved.subList(10, 20));
+
+        assertEquals(saved.subList(33, 40), reversed(archive.findPage("ACC-1", null, 7)));
+        assertEquals(saved.subList(5, 12), reversed(archive.findPage("ACC-1", saved.get(12), 7)));
+        assertEquals(saved.subList(0, 3), reversed(archive.findPage("ACC-1", saved.get(3), 7)));
+        assertTrue(archive.findPage("ACC-2", null, 7).isEmpty());
+        assertEquals(saved.get(25), archive.findByAccountIdAndTransactionId("ACC-1", saved.get(25).getTransactionId()).get());
+        assertFalse(archive.findByAccountIdAndTransactionId("ACC-2", saved.get(25).getTransactionId()).isPresent());
+        assertEquals(0, archive.getCacheStats().getMissCount());
+    }
+
+    @Test
+    public void testRecentRingAfterRestartIsSeededFromNewestArchivedRows() throws Exception {
+        List<Transaction> saved = saveDaily("ACC-1", 40);
+        repository.archiveOlderThan(START.plusDays(20));
+        repository.archiveOlderThan(START.plusDays(40));
+
+        TransactionArchive archive = TransactionArchive.open(directory);
+        repository = new TransactionRepository(archive);
+        Transaction latest = repository.save(
+            transaction("ACC-1", TransactionType.DEPOSIT, "10.00", "410.00", START.plusDays(40), "Payroll"));
+
+        List<Transaction> expected = new ArrayList<>(reversed(saved.subList(25, 40)));
+        expected.add(0, latest);
+        assertEquals(expected, repository.findRecentByAccountId("ACC-1", 16));
+        assertEquals(0, archive.getCacheStats().getMissCount());
+    }
+
+    @Test
+    public void testArchivedHistoryIsCachedUntilNextAppend() throws Exception {
+        TransactionArchive archive = TransactionArchive.open(folder.newFolder("cached").toPath());
+        archive.append(saveDaily("ACC-1", 10));
+        assertEquals(10, archive.findByAccountId("ACC-1").size());
+        assertEquals(10, archive.findByAccountId("ACC-1").size());
+        assertEquals(1, archive.getCacheStats().getHitCount());
+
+        archive.append(saveDaily("ACC-1", 5));
+
+        assertEquals(15, archive.findByAccountId("ACC-1").size());
+        assertEquals(2, archive.getCacheStats().getMissCount());
+    }
+
+    @Test
+    public void testArchiveSurvivesReopen() throws Exception {
+        saveDaily("ACC-1", 30);
+        repository.archiveOlderThan(START.plusDays(10));
+        repository.archiveOlderThan(START.plusDays(20));
+
+        TransactionArchive reopened = TransactionArchive.open(directory);
+
+        assertEquals(2, reopened.getSegmentCount());
+        assertEquals(20, reopened.getTransactionCount());
+        assertEquals(20, reopened.findByAccountId("ACC-1").size());
+        assertTrue(reopened.hasAtOrAfter("ACC-1", START.plusDays(19)));
+        assertFalse(reopened.hasAtOrAfter("ACC-1", START.plusDays(20)));
+    }
+
+    @Test
+    public void testArchiverUsesRetentionWindow() throws Exception {
+        saveDaily("ACC-1", 120);
+        ManualClock clock = new ManualClock(START.plusDays(120));
+        TransactionArchiver archiver = new TransactionArchiver.Builder()
+            .repository(repository)
+            .retention(Duration.ofDays(90))
+            .clock(clock)
+            .build();
+
+        assertEquals(30, archiver.runOnce());
+        clock.advance(Duration.ofDays(5));
+        assertEquals(5, archiver.runOnce());
+        assertEquals(85, repository.count());
+        assertEquals(120, repository.findByAccountId("ACC-1").size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testArchivingWithoutArchiveFails() throws Exception {
+        new TransactionRepository().archiveOlderThan(START);
+    }
+
+    private List<Transaction> saveDaily(String accountId, int days) {
+        List<Transaction> saved = new ArrayList<>();
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int day = 0; day < days; day++) {
+            balance = balance.add(new BigDecimal("10.00"));
+            Transaction transaction = new Transaction.Builder()
+                .accountId(accountId)
+                .type(TransactionType.DEPOSIT)
+                .amount(new BigDecimal("10.00"))
+                .balanceAfter(balance)
+                .description("Payroll")
+                .timestamp(START.plusDays(day))
+                .build();
+            saved.add(repository.save(transaction));
+        }
+        return saved;
+    }
+
+    private static List<Transaction> reversed(List<Transaction> rows) {
+        List<Transaction> copy = new ArrayList<>(rows);
+        Collections.reverse(copy);
+        return copy;
+    }
+
+    private static Transaction transaction(String accountId, TransactionType type, String amount,
+                                           String balanceAfter, LocalDateTime timestamp, String description) {
+        return new Transaction.Builder()
+            .accountId(accountId)
+            .type(type)
+            .amount(new BigDecimal(amount))
+            .balanceAfter(new BigDecimal(balanceAfter))
+            .timestamp(timestamp)
+            .description(description)
+            .build();
+    }
+}
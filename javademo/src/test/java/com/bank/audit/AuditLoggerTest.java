@@ -0,0 +1,143 @@
+package com.bank.audit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import static org.junit.Assert.*;
+
+public class AuditLoggerTest {
+    private static final AuditEvent DEPOSIT =
+        AuditEvent.info("test.deposit", "Deposit {amount} to {accountId}");
+    private static final AuditEvent RECORDED =
+        AuditEvent.info("test.recorded", "Recorded {transactionId}");
+
+    private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+    private Logger julLogger;
+    private Handler handler;
+    private AsyncAuditAppender appender;
+    private AuditLogger audit;
+
+    @Before
+    public void setUp() {
+        appender = new AsyncAuditAppender(1024, AsyncAuditAppender.OverflowPolicy.BLOCK);
+        AuditLogging.setAppender(appender);
+        julLogger = Logger.getLogger(AuditLoggerTest.class.getName());
+        julLogger.setUseParentHandlers(false);
+        julLogger.setLevel(Level.INFO);
+        handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        julLogger.addHandler(handler);
+        audit = AuditLogger.getLogger(AuditLoggerTest.class);
+    }
+
+    @After
+    public void tearDown() {
+        julLogger.removeHandler(handler);
+        julLogger.setUseParentHandlers(true);
+        julLogger.setLevel(null);
+        AuditLogging.setSampleRate("test.recorded", 1);
+    }
+
+    @Test
+    public void testEventIsRenderedOnWriterThread() {
+        audit.log(DEPOSIT, new BigDecimal("500.00"), "ACC-001");
+        assertTrue(appender.flush(5, TimeUnit.SECONDS));
+
+        assertEquals(1, records.size());
+        LogRecord record = records.get(0);
+        assertEquals("Deposit 500.00 to ACC-001", record.getMessage());
+        assertEquals(Level.INFO, record.getLevel());
+        assertEquals("test.deposit", record.getSourceMethodName());
+        assertEquals(AuditLoggerTest.class.getName(), record.getLoggerName());
+        assertEquals(2, DEPOSIT.getFieldNames().size());
+    }
+
+    @Test
+    public void testDisabledLevelNeverReachesBuffer() {
+        julLogger.setLevel(Level.WARNING);
+        assertFalse(audit.isEnabled(DEPOSIT));
+
+        audit.log(DEPOSIT, new BigDecimal("1.00"), "ACC-001");
+
+        assertEquals(0, appender.getQueueDepth());
+        assertTrue(appender.flush(5, TimeUnit.SECONDS));
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    public void testSamplingWritesOneInN() {
+        AuditLogging.setSampleRate("test.recorded", 10);
+        for (int i = 0; i < 100; i++) {
+            audit.log(RECORDED, "TX-" + i);
+        }
+        assertTrue(appender.flush(5, TimeUnit.SECONDS));
+        assertEquals(10, records.size());
+    }
+
+    @Test
+    public void testDropPolicyCountsOverflow() {
+        AsyncAuditAppender small = new AsyncAuditAppender(2, AsyncAuditAppender.OverflowPolicy.DROP);
+        AuditLogging.setAppender(small);
+        julLogger.removeHandler(handler);
+        handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        julLogger.addHandler(handler);
+        for (int i = 0; i < 50; i++) {
+            audit.log(DEPOSIT, BigDecimal.ONE, "ACC-" + i);
+        }
+        assertTrue(small.flush(10, TimeUnit.SECONDS));
+        assertTrue(small.getDroppedCount() > 0);
+        assertEquals(50, small.getDroppedCount() + records.size());
+        AuditLogging.setAppender(appender);
+    }
+
+    @Test
+    public void testEventsAfterCloseAreWrittenSynchronously() {
+        AsyncAuditAppender closing = new AsyncAuditAppender(16, AsyncAuditAppender.OverflowPolicy.BLOCK);
+        AuditLogging.setAppender(closing);
+        audit.log(DEPOSIT, BigDecimal.ONE, "ACC-1");
+        closing.close();
+        audit.log(DEPOSIT, BigDecimal.TEN, "ACC-2");
+
+        assertEquals(2, records.size());
+        assertEquals("Deposit 10 to ACC-2", records.get(1).getMessage());
+        assertEquals(0, closing.getDroppedCount());
+        AuditLogging.setAppender(appender);
+    }
+}
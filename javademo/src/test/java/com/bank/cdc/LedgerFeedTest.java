@@ -0,0 +1,218 @@
+package com.bank.cdc;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.Transaction;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class LedgerFeedTest {
+    private AccountRepository accountRepository;
+    private TransactionService transactionService;
+    private AccountService accountService;
+    private LedgerFeed feed;
+
+    @Before
+    public void setUp() {
+        accountRepository = new AccountRepository();
+        transactionService = new TransactionService(new TransactionRepository());
+        accountService = new AccountService(accountRepository, transactionService, new ValidationService());
+        feed = new LedgerFeed.Builder().build().attachTo(accountRepository, transactionService);
+    }
+
+    @After
+    public void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    public void testEventsForEachAccountArriveInWriteOrder() throws InterruptedException {
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        feed.subscribe(recorder, 100_000, OverflowPolicy.FAIL);
+        String[] accounts = new String[4];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = accountService.createAccount("CUST" + i, AccountType.CHECKING, new BigDecimal("1.00")).getAccountId();
+        }
+
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    accountService.deposit(accounts[i % accounts.length], new BigDecimal("1.00"), null);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        feed.close();
+        assertTrue(recorder.done.await(10, TimeUnit.SECONDS));
+
+        assertNull(recorder.error);
+        assertEquals(2 * (accounts.length + 2_000), recorder.events.size());
+        Map<String, BigDecimal> lastBalance = new HashMap<>();
+        Map<String, Long> lastSequence = new HashMap<>();
+        for (LedgerEvent event : recorder.events) {
+            Long previous = lastSequence.put(event.getAccountId(), event.getSequence());
+            assertTrue(previous == null || previous < event.getSequence());
+            BigDecimal before = lastBalance.put(event.getAccountId(), event.getBalance());
+            assertTrue(before == null || before.compareTo(event.getBalance()) <= 0);
+        }
+        for (String accountId : accounts) {
+            assertEquals(accountService.getBalance(accountId), lastBalance.get(accountId));
+        }
+    }
+
+    @Test
+    public void testListenersAttachedToOneLedgerAllReceiveChanges() throws InterruptedException {
+        List<String> calls = new ArrayList<>();
+        LedgerListener counting = new LedgerListener() {
+            @Override
+            public void accountSaved(Account account) {
+                calls.add("account");
+            }
+
+            @Override
+            public void transactionRecorded(Transaction transaction) {
+                calls.add("transaction");
+            }
+        };
+        accountRepository.addLedgerListener(counting);
+        transactionService.addLedgerListener(counting);
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        feed.subscribe(recorder, 1_000, OverflowPolicy.FAIL);
+
+        Account account = accountService.createAccount("CUST1", AccountType.CHECKING, new BigDecimal("1.00"));
+        accountService.deposit(account.getAccountId(), new BigDecimal("1.00"), null);
+        accountRepository.removeLedgerListener(counting);
+        transactionService.removeLedgerListener(counting);
+        accountService.deposit(account.getAccountId(), new BigDecimal("1.00"), null);
+        feed.close();
+        assertTrue(recorder.done.await(10, TimeUnit.SECONDS));
+
+        assertEquals(4, calls.size());
+        assertEquals(6, recorder.events.size());
+    }
+
+    @Test
+    public void testSlowSubscriberDropsOldestWithoutStallingWrites() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder slow = new Recorder(Long.MAX_VALUE) {
+            @Override
+            public void onNext(LedgerEvent item) {
+                awaitQuietly(release);
+                super.onNext(item);
+            }
+        };
+        feed.subscribe(slow, 8, OverflowPolicy.DROP_OLDEST);
+        Account account = accountService.createAccount("CUST1", AccountType.CHECKING, new BigDecimal("1.00"));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            accountService.deposit(account.getAccountId(), new BigDecimal("1.00"), null);
+        }
+        assertTrue("writes were held up by the subscriber",
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        assertTrue(feed.getDroppedCount() > 1_900);
+
+        release.countDown();
+        feed.close();
+        assertTrue(slow.done.await(10, TimeUnit.SECONDS));
+        LedgerEvent last = slow.events.get(slow.events.size() - 1);
+        assertEquals(new BigDecimal("1001.00"), last.getBalance());
+        assertTrue(slow.events.size() <= 8 + 1);
+    }
+
+    @Test
+    public void testFailPolicySignalsOverflowAndUnsubscribes() throws InterruptedException {
+        Recorder idle = new Recorder(0);
+        feed.subscribe(idle, 4, OverflowPolicy.FAIL);
+        Account account = accountService.createAccount("CUST1", AccountType.CHECKING, new BigDecimal("1.00"));
+        for (int i = 0; i < 5; i++) {
+            accountService.deposit(account.getAccountId(), new BigDecimal("1.00"), null);
+        }
+
+        assertTrue(idle.done.await(10, TimeUnit.SECONDS));
+        assertTrue(idle.error instanceof LedgerOverflowException);
+        assertEquals(0, feed.getSubscriberCount());
+    }
+
+    @Test
+    public void testDeliveryRespectsDemand() throws InterruptedException {
+        Recorder recorder = new Recorder(3);
+        feed.subscribe(recorder);
+        Account account = accountService.createAccount("CUST1", AccountType.CHECKING, new BigDecimal("1.00"));
+        accountService.deposit(account.getAccountId(), new BigDecimal("1.00"), null);
+        accountService.deposit(account.getAccountId(), new BigDecimal("1.00"), null);
+        Thread.sleep(200);
+        assertEquals(3, recorder.events.size());
+
+        recorder.subscription.request(10);
+        feed.close();
+        assertTrue(recorder.done.await(10, TimeUnit.SECONDS));
+        assertEquals(6, recorder.events.size());
+        assertEquals(LedgerEvent.Type.TRANSACTION_RECORDED, recorder.events.get(5).getType());
+        assertNotNull(recorder.events.get(5).getTransaction());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Recorder implements Flow.Subscriber<LedgerEvent> {
+        final List<LedgerEvent> events = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        final long initialDemand;
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(LedgerEvent item) {
+            synchronized (events) {
+                events.add(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.id;
+import org.junit.Test;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    public void testIdsAreStrictlyIncreasing() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+        long previous = generator.nextId();
+        for (int i = 0; i < 1_000_000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testIdEmbedsNodeAndTimestamp() {
+        long before = System.currentTimeMillis();
+        long id = new TimeOrderedIdGenerator(513).nextId();
+
+        assertEquals(513, TimeOrderedIdGenerator.nodeId(id));
+        assertTrue(TimeOrderedIdGenerator.timestampMillis(id) >= before);
+    }
+
+    @Test
+    public void testIdsAreUniqueAcrossThreads() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1);
+        int threads = 8;
+        int perThread = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit((Callable<long[]>) () -> {
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextId();
+                        if (i > 0) {
+                            assertTrue(ids[i] > ids[i - 1]);
+                        }
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> all = new HashSet<>(threads * perThread * 2);
+            for (Future<long[]> future : futures) {
+                for (long id : future.get()) {
+                    assertTrue(all.add(id));
+                }
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEncodingRoundTripAndOrdering() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+        long first = generator.nextId();
+        long second = generator.nextId();
+        String firstEncoded = IdEncoding.encode(first);
+        String secondEncoded = IdEncoding.encode(second);
+
+        assertEquals(IdEncoding.ENCODED_LENGTH, firstEncoded.length());
+        assertEquals(first, IdEncoding.decode(firstEncoded));
+        assertEquals(second, IdEncoding.decode(secondEncoded.toLowerCase()));
+        assertTrue(firstEncoded.compareTo(secondEncoded) < 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidNodeId() {
+        new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.bank.jfr;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.TransactionType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.Assert.*;
+
+public class JfrEventsTest {
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private Path dump;
+
+    @Before
+    public void setUp() throws IOException {
+        TransactionRepository transactionRepository = new TransactionRepository();
+        transactionService = new TransactionService(transactionRepository);
+        accountService = new AccountService(new AccountRepository(), transactionService, new ValidationService());
+        dump = Files.createTempFile("bank-events", ".jfr");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dump);
+    }
+
+    @Test
+    public void testAccountOperationsEmitEventsWhenEnabled() throws IOException {
+        Account from;
+        try (Recording recording = new Recording()) {
+            for (String name : new String[] {"com.bank.AccountCreate", "com.bank.Deposit",
+                    "com.bank.Withdraw", "com.bank.Transfer", "com.bank.Interest", "com.bank.RepositoryQuery"}) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+
+            from = accountService.createAccount("CUST-JFR", AccountType.SAVINGS, new BigDecimal("5000.00"));
+            Account to = accountService.createAccount("CUST-JFR", AccountType.CHECKING, new BigDecimal("10.00"));
+            accountService.deposit(from.getAccountId(), new BigDecimal("250.00"), "Paycheck");
+            assertEquals(TransactionOutcome.INSUFFICIENT_FUNDS,
+                accountService.tryWithdraw(to.getAccountId(), new BigDecimal("50.00"), "ATM"));
+            accountService.tryTransfer(from.getAccountId(), to.getAccountId(), new BigDecimal("20000.00"));
+            accountService.tryTransfer(from.getAccountId(), to.getAccountId(), new BigDecimal("12.50"));
+            accountService.applyInterest(from.getAccountId());
+            transactionService.getTransactionsByType(TransactionType.DEPOSIT);
+
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        RecordedEvent deposit = single(events, "com.bank.Deposit");
+        assertEquals(from.getAccountId(), deposit.getString("accountId"));
+        assertEquals("100-1k", deposit.getString("amountBucket"));
+        assertEquals("SUCCESS", deposit.getString("outcome"));
+        assertFalse(deposit.getDuration().isNegative());
+
+        RecordedEvent withdraw = single(events, "com.bank.Withdraw");
+        assertEquals("<100", withdraw.getString("amountBucket"));
+        assertEquals("INSUFFICIENT_FUNDS", withdraw.getString("outcome"));
+
+        List<RecordedEvent> transfers = named(events, "com.bank.Transfer");
+        assertEquals(2, transfers.size());
+        assertTrue(transfers.stream().anyMatch(e -> "10k-100k".equals(e.getString("amountBucket"))
+            && "INSUFFICIENT_FUNDS".equals(e.getString("outcome"))));
+        assertTrue(transfers.stream().anyMatch(e -> "<100".equals(e.getString("amountBucket"))
+            && "SUCCESS".equals(e.getString("outcome"))));
+        assertTrue(transfers.stream().allMatch(e -> e.getString("toAccountId") != null));
+
+        assertEquals(2, named(events, "com.bank.AccountCreate").size());
+        assertEquals("SUCCESS", single(events, "com.bank.Interest").getString("outcome"));
+
+        RecordedEvent query = single(events, "com.bank.RepositoryQuery");
+        assertEquals("transaction.findByType", query.getString("query"));
+        assertEquals("DEPOSIT", query.getString("key"));
+        assertEquals(3, query.getInt("resultCount"));
+    }
+
+    @Test
+    public void testNothingIsRecordedWhileEventsAreDisabled() throws IOException {
+        try (Recording recording = new Recording()) {
+            recording.start();
+            Account account = accountService.createAccount("CUST-JFR", AccountType.SAVINGS, new BigDecimal("100.00"));
+            accountService.deposit(account.getAccountId(), new BigDecimal("1.00"), "Tip");
+            recording.stop();
+            recording.dump(dump);
+        }
+        assertTrue(RecordingFile.readAllEvents(dump).stream()
+            .noneMatch(e -> e.getEventType().getName().startsWith("com.bank.")));
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+            .filter(e -> e.getEventType().getName().equals(name))
+            .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = named(events, name);
+        assertEquals(name, 1, matching.size());
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.loadtest;
+import org.junit.Test;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import static org.junit.Assert.*;
+
+public class LoadTestRunnerTest {
+
+    @Test
+    public void testZipfConcentratesTrafficOnHotAccounts() {
+        ZipfDistribution skewed = new ZipfDistribution(1000, 1.2, 7L);
+        int[] hits = new int[1000];
+        SplittableRandom random = new SplittableRandom(1L);
+        for (int i = 0; i < 100_000; i++) {
+            hits[skewed.sample(random)]++;
+        }
+        int hottest = 0;
+        for (int count : hits) {
+            hottest = Math.max(hottest, count);
+        }
+        // Rank 1 of a 1.2-exponent Zipf over 1000 items draws roughly a sixth of all samples
+        assertTrue("hottest account got " + hottest, hottest > 10_000);
+
+        ZipfDistribution uniform = new ZipfDistribution(1000, 0.0, 7L);
+        int[] uniformHits = new int[1000];
+        for (int i = 0; i < 100_000; i++) {
+            uniformHits[uniform.sample(random)]++;
+        }
+        for (int count : uniformHits) {
+            assertTrue(count < 200);
+        }
+    }
+
+    @Test
+    public void testConcurrentRunKeepsInvariants() throws InterruptedException {
+        LoadTestConfig config = new LoadTestConfig.Builder()
+                .customers(20)
+                .accounts(40)
+                .threads(8)
+                .duration(Duration.ofMillis(500))
+                .skew(1.5)
+                .build();
+
+        LoadTestReport report = new LoadTestRunner(config).run();
+
+        assertTrue(report.getTotalOperations() > 0);
+        assertTrue(report.getCompleted(OperationType.TRANSFER) > 0);
+        for (LoadTestReport.Invariant invariant : report.getInvariants()) {
+            assertTrue(invariant.getName() + ": " + invariant.getDetail(), invariant.isHeld());
+        }
+    }
+
+    @Test
+    public void testArgumentsOverrideDefaults() {
+        LoadTestConfig config = LoadTestConfig.fromArgs(new String[] {
+            "--loadtest", "--accounts=500", "--threads=3", "--duration=2", "--mix=deposit:1,history:0"
+        });
+
+        assertTrue(LoadTestConfig.isRequested(new String[] {"--loadtest"}));
+        assertEquals(500, config.getAccounts());
+        assertEquals(3, config.getThreads());
+        assertEquals(Duration.ofSeconds(2), config.getDuration());
+        assertEquals(Integer.valueOf(1), config.getMix().get(OperationType.DEPOSIT));
+        assertEquals(Integer.valueOf(0), config.getMix().get(OperationType.HISTORY));
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.metrics;
+import org.junit.Test;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.*;
+
+public class ContentionTrackerTest {
+
+    @Test
+    public void testSketchKeepsHeavyHittersAmongManyColdKeys() {
+        HeavyHitters sketch = new HeavyHitters(16);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("cold-" + i, 1, 0, 0);
+            if (i % 4 == 0) {
+                sketch.add("merchant", 1, 1, 1_000);
+            }
+            if (i % 10 == 0) {
+                sketch.add("treasury", 1, 0, 0);
+            }
+        }
+
+        List<AccountContention> entries = sketch.entries();
+        assertEquals(16, entries.size());
+        AccountContention merchant = find(entries, "merchant");
+        AccountContention treasury = find(entries, "treasury");
+        assertNotNull(merchant);
+        assertNotNull(treasury);
+        assertTrue(merchant.getOperations() >= 2_500);
+        assertTrue(merchant.getOperations() - merchant.getOperationsError() <= 2_500);
+        assertTrue(treasury.getOperations() >= 1_000);
+    }
+
+    @Test
+    public void testSketchCountsBoundTrueCountsUnderSkew() {
+        HeavyHitters sketch = new HeavyHitters(32);
+        HeavyHitters merged = new HeavyHitters(32);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            // a few hot keys over a long tail
+            String key = "ACC-" + (random.nextInt(4) == 0 ? random.nextInt(8) : random.nextInt(5_000));
+            sketch.add(key, 1, 0, 0);
+            exact.merge(key, 1L, Long::sum);
+        }
+        merged.addAll(sketch);
+        merged.addAll(sketch);
+
+        long total = 0;
+        for (AccountContention entry : sketch.entries()) {
+            long actual = exact.getOrDefault(entry.getAccountId(), 0L);
+            assertTrue(entry.toString(), entry.getOperations() >= actual);
+            assertTrue(entry.toString(), entry.getOperations() - entry.getOperationsError() <= actual);
+            total += entry.getOperations();
+        }
+        assertEquals(32, sketch.entries().size());
+        assertEquals(50_000, total);
+        for (int hot = 0; hot < 8; hot++) {
+            assertNotNull(find(sketch.entries(), "ACC-" + hot));
+            AccountContention doubled = find(merged.entries(), "ACC-" + hot);
+            assertEquals(2 * find(sketch.entries(), "ACC-" + hot).getOperations(), doubled.getOperations());
+        }
+    }
+
+    @Test
+    public void testTopMergesThreadsAndRanksByWait() throws InterruptedException {
+        ContentionTracker tracker = new ContentionTracker(8);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    tracker.record("busy", false, 0);
+                    tracker.record("hot", i % 10 == 0, i % 10 == 0 ? 5_000 : 0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        tracker.record("hot", true, 1_000);
+
+        List<AccountContention> top = tracker.top(1);
+        assertEquals(1, top.size());
+        assertEquals("hot", top.get(0).getAccountId());
+        assertEquals(4_001, top.get(0).getOperations());
+        assertEquals(401, top.get(0).getContendedAcquisitions());
+        assertEquals(4 * 100 * 5_000L + 1_000, top.get(0).getWaitNanos());
+
+        // Finished threads are folded into one sketch but still counted
+        assertEquals(4_001, tracker.top(2).get(0).getOperations());
+        assertEquals(4_000, tracker.top(2).get(1).getOperations());
+
+        tracker.reset();
+        assertTrue(tracker.top(5).isEmpty());
+    }
+
+    private static AccountContention find(List<AccountContention> entries, String accountId) {
+        for (AccountContention entry : entries) {
+            if (entry.getAccountId().equals(accountId)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bank.metrics;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import javax.management.ObjectName;
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testBucketsKeepRelativePrecision() {
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(index < LatencyHistogram.BUCKETS);
+            assertTrue("value " + value + " above its bucket", value <= upper);
+            assertTrue("bucket too wide for " + value, upper - value <= Math.max(1, value / 16));
+        }
+    }
+
+    @Test
+    public void testQuantilesFromConcurrentWriters() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    histogram.record(i * 1000L);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(4000, snapshot.getCount());
+        assertEquals(500_000, snapshot.getValueAtQuantile(0.5), 500_000 / 16.0);
+        assertEquals(990_000, snapshot.getValueAtQuantile(0.99), 990_000 / 16.0);
+        assertEquals(1_000_000, snapshot.getMax(), 1_000_000 / 16.0);
+        assertEquals(500_500, snapshot.getMean(), 500_500 / 16.0);
+    }
+
+    @Test
+    public void testServiceOperationsRecordLatencyAndOutcomes() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        Metrics.setDefault(registry);
+        try {
+            AccountRepository accountRepository = new AccountRepository();
+            TransactionService transactionService = new TransactionService(new TransactionRepository());
+            AccountService accountService = new AccountService(
+                accountRepository, transactionService, new ValidationService());
+            Account account = accountService.createAccount("CUST-1", AccountType.CHECKING, new BigDecimal("100.00"));
+
+            accountService.deposit(account.getAccountId(), new BigDecimal("50.00"), null);
+            accountService.tryWithdraw(account.getAccountId(), new BigDecimal("500.00"), null);
+            accountService.tryWithdraw(account.getAccountId(), new BigDecimal("20.00"), null);
+            accountRepository.findByCustomerId("CUST-1");
+
+            assertEquals(1, registry.counter("account.deposit.outcome.success").get());
+            assertEquals(1, registry.counter("account.withdraw.outcome.success").get());
+            assertEquals(1, registry.counter("account.withdraw.outcome.insufficient_funds").get());
+            assertEquals(2, registry.histogram("account.withdraw").snapshot().getCount());
+            assertEquals(3, registry.histogram("transaction.record").snapshot().getCount());
+            assertEquals(1, registry.histogram("repository.account.findByCustomerId").snapshot().getCount());
+
+            String snapshot = registry.getSnapshot();
+            assertTrue(snapshot.contains("account.withdraw.outcome.insufficient_funds 1\n"));
+            assertTrue(snapshot.contains("account.withdraw_count 2\n"));
+            assertTrue(snapshot.contains("account.deposit_nanos{quantile=\"0.999\"} "));
+
+            Object jmxCount = ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName(Metrics.OBJECT_NAME), "getLatencyNanos",
+                new Object[] {"account.withdraw", 1.0}, new String[] {"java.lang.String", "double"});
+            assertEquals(registry.getLatencyNanos("account.withdraw", 1.0), jmxCount);
+        } finally {
+            Metrics.setDefault(new MetricsRegistry());
+        }
+    }
+
+    @Test
+    public void testHttpEndpointServesSnapshot() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("requests").add(7);
+        registry.gauge("queue.depth", () -> 3);
+
+        try (MetricsHttpEndpoint endpoint = MetricsHttpEndpoint.start(new InetSocketAddress("127.0.0.1", 0), registry)) {
+            URL url = new URL("http://127.0.0.1:" + endpoint.getPort() + "/metrics");
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals(200, connection.getResponseCode());
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = connection.getInputStream()) {
+                byte[] buffer = new byte[1024];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    body.write(buffer, 0, read);
+                }
+            }
+            String text = new String(body.toByteArray(), StandardCharsets.UTF_8);
+            assertTrue(text.contains("requests 7\n"));
+            assertTrue(text.contains("queue.depth 3\n"));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.bank.perf;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import static org.junit.Assert.*;
+
+/**
+ * Guards bytes allocated per call against the allowances in
+ * {@code allocation-budgets.properties}, and writes the measurements to
+ * {@code target/allocation-report.txt}. Raise a budget only together with
+ * the change that justifies it.
+ */
+public class AllocationBudgetTest {
+    private static final Logger BANK_LOGGER = Logger.getLogger("com.bank");
+    private static final Map<String, String> REPORT = new TreeMap<>();
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private static Properties budgets;
+    private static Level previousLevel;
+
+    private final AllocationMeter meter = new AllocationMeter(20_000, 10_000, 5);
+
+    @BeforeClass
+    public static void loadBudgets() throws IOException {
+        Assume.assumeTrue("Thread allocation counters are not available on this JVM", AllocationMeter.isSupported());
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull("allocation-budgets.properties is missing", in);
+            budgets.load(in);
+        }
+        // Audit events are measured separately; here we budget the operations themselves
+        previousLevel = BANK_LOGGER.getLevel();
+        BANK_LOGGER.setLevel(Level.WARNING);
+    }
+
+    @AfterClass
+    public static void writeReport() throws IOException {
+        BANK_LOGGER.setLevel(previousLevel);
+        if (REPORT.isEmpty()) {
+            return;
+        }
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-16s %10s %10s %8s%n",
+            "operation", "bytes/call", "budget", "status"));
+        for (String line : REPORT.values()) {
+            report.append(line).append('\n');
+        }
+        System.out.print(report);
+        Path target = Paths.get("target");
+        if (Files.isDirectory(target)) {
+            Files.write(target.resolve("allocation-report.txt"), report.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testDepositWithinBudget() {
+        Fixture fixture = new Fixture();
+        String accountId = fixture.open(new BigDecimal("100.00"));
+        assertWithinBudget("deposit", () -> fixture.accountService.deposit(accountId, AMOUNT, "Deposit"));
+    }
+
+    @Test
+    public void testWithdrawWithinBudget() {
+        Fixture fixture = new Fixture();
+        String accountId = fixture.open(new BigDecimal("1000000.00"));
+        assertWithinBudget("withdraw", () -> fixture.accountService.withdraw(accountId, AMOUNT, "Withdrawal"));
+    }
+
+    @Test
+    public void testTransferWithinBudget() {
+        Fixture fixture = new Fixture();
+        String first = fixture.open(new BigDecimal("1000000.00"));
+        String second = fixture.open(new BigDecimal("1000000.00"));
+        boolean[] forward = {true};
+        assertWithinBudget("transfer", () -> {
+            if (forward[0]) {
+                fixture.accountService.transfer(first, second, AMOUNT);
+            } else {
+                fixture.accountService.transfer(second, first, AMOUNT);
+            }
+            forward[0] = !forward[0];
+        });
+    }
+
+    @Test
+    public void testGetBalanceWithinBudget() {
+        Fixture fixture = new Fixture();
+        String accountId = fixture.open(new BigDecimal("100.00"));
+        assertWithinBudget("getBalance", () -> fixture.accountService.getBalance(accountId));
+    }
+
+    @Test
+    public void testFindByAccountIdWithinBudget() {
+        Fixture fixture = new Fixture();
+        String[] accountIds = new String[50];
+        for (int i = 0; i < accountIds.length; i++) {
+            accountIds[i] = fixture.open(new BigDecimal("100.00"));
+            for (int d = 0; d < 9; d++) {
+                fixture.accountService.deposit(accountIds[i], AMOUNT, null);
+            }
+        }
+        int[] next = {0};
+        // 500 stored transactions, 10 returned per call
+        assertWithinBudget("findByAccountId", () ->
+            fixture.transactionRepository.findByAccountId(accountIds[next[0]++ % accountIds.length]));
+    }
+
+    private void assertWithinBudget(String operation, Runnable call) {
+        String configured = budgets.getProperty(operation);
+        assertNotNull("No allocation budget configured for " + operation, configured);
+        long budget = Long.parseLong(configured.trim());
+        long measured = meter.bytesPerCall(call);
+        boolean withinBudget = measured <= budget;
+        REPORT.put(operation, String.format(Locale.ROOT, "%-16s %10d %10d %8s",
+            operation, measured, budget, withinBudget ? "OK" : "OVER"));
+        assertTrue(operation + " allocated " + measured + " bytes per call, budget is " + budget, withinBudget);
+    }
+
+    private static final class Fixture {
+        private final TransactionRepository transactionRepository = new TransactionRepository();
+        private final AccountService accountService = new AccountService(new AccountRepository(),
+            new TransactionService(transactionRepository), new ValidationService());
+
+        String open(BigDecimal balance) {
+            Account account = accountService.createAccount("CUST-ALLOC", AccountType.CHECKING, balance);
+            return account.getAccountId();
+        }
+    }
+}
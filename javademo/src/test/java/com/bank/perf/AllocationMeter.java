@@ -0,0 +1,56 @@
+package com.bank.perf;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures bytes allocated by the current thread per call of an operation,
+ * using HotSpot's {@code com.sun.management.ThreadMXBean}.
+ */
+final class AllocationMeter {
+    private static final java.lang.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final int warmupCalls;
+    private final int measuredCalls;
+    private final int rounds;
+
+    AllocationMeter(int warmupCalls, int measuredCalls, int rounds) {
+        this.warmupCalls = warmupCalls;
+        this.measuredCalls = measuredCalls;
+        this.rounds = rounds;
+    }
+
+    static boolean isSupported() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return false;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Returns the lowest per-call average over the measured rounds. Allocation
+     * noise (map resizes, JIT deoptimization) only ever adds bytes, so the
+     * minimum is the most stable figure.
+     */
+    long bytesPerCall(Runnable operation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < warmupCalls; i++) {
+            operation.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < measuredCalls; i++) {
+                operation.run();
+            }
+            long after = threads.getThreadAllocatedBytes(threadId);
+            best = Math.min(best, (after - before) / measuredCalls);
+        }
+        return best;
+    }
+}
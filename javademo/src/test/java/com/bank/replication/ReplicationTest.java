@@ -0,0 +1,281 @@
+package com.bank.replication;
+
+import com.bank.metrics.MetricsRegistry;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.Transaction;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.LedgerSnapshot;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ReplicationTest {
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private TransactionService transactionService;
+    private AccountService accountService;
+    private MetricsRegistry metrics;
+    private ReplicationPrimary primary;
+    private ReplicationStandby standby;
+
+    @Before
+    public void setUp() {
+        accountRepository = new AccountRepository();
+        transactionRepository = new TransactionRepository();
+        transactionService = new TransactionService(transactionRepository);
+        accountService = new AccountService(accountRepository, transactionService, new ValidationService());
+        metrics = new MetricsRegistry();
+    }
+
+    @After
+    public void tearDown() {
+        if (standby != null) {
+            standby.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+    }
+
+    @Test
+    public void testStandbyAppliesWritesAndServesReads() throws Exception {
+        startPrimary(AckMode.ASYNC);
+        startStandby();
+        List<String> accountIds = openAccounts(5);
+        for (int i = 0; i < 50; i++) {
+            accountService.tryTransfer(accountIds.get(i % 5), accountIds.get((i + 1) % 5), new BigDecimal("3.00"));
+            accountService.deposit(accountIds.get(i % 5), new BigDecimal("1.25"), "Deposit");
+        }
+
+        awaitCaughtUp();
+
+        for (String accountId : accountIds) {
+            assertEquals(accountService.getBalance(accountId), standby.getBalance(accountId));
+            assertEquals(transactionService.getAccountTransactions(accountId).size(),
+                standby.getAccountTransactions(accountId).size());
+            assertEquals(transactionService.getRecentTransactions(accountId, 5).get(0).getTransactionId(),
+                standby.getRecentTransactions(accountId, 5).get(0).getTransactionId());
+        }
+        assertEquals(0, standby.getLagRecords());
+        assertEquals(0, primary.getLagRecords());
+        assertEquals(Long.valueOf(0), metrics.getGauges().get("replication.standby.lag.records"));
+    }
+
+    @Test
+    public void testNewStandbyIsSeededWithExistingState() throws Exception {
+        startPrimary(AckMode.ASYNC);
+        List<String> accountIds = openAccounts(3);
+        accountService.withdraw(accountIds.get(0), new BigDecimal("40.00"), "ATM");
+        accountService.deactivateAccount(accountIds.get(2));
+
+        startStandby();
+        awaitCaughtUp();
+        accountService.deposit(accountIds.get(1), new BigDecimal("5.00"), "After seeding");
+        awaitCaughtUp();
+
+        assertEquals(new BigDecimal("60.00"), standby.getBalance(accountIds.get(0)));
+        assertEquals(new BigDecimal("105.00"), standby.getBalance(accountIds.get(1)));
+        assertFalse(standby.findAccount(accountIds.get(2)).isActive());
+        Transaction latest = standby.getRecentTransactions(accountIds.get(1), 1).get(0);
+        assertEquals("After seeding", latest.getDescription());
+    }
+
+    @Test
+    public void testSemiSyncWriteIsOnStandbyWhenItReturns() throws Exception {
+        startPrimary(AckMode.SEMI_SYNC);
+        startStandby();
+        await(() -> primary.getStandbyCount() == 1 && standby.getAppliedSequence() == primary.getLastSequence());
+
+        String accountId = openAccounts(1).get(0);
+        for (int i = 0; i < 20; i++) {
+            accountService.deposit(accountId, new BigDecimal("1.00"), "Deposit");
+            assertEquals(accountService.getBalance(accountId), standby.getBalance(accountId));
+        }
+        assertEquals(0, metrics.counter("replication.primary.semiSyncTimeouts").get());
+    }
+
+    @Test
+    public void testSemiSyncFallsBackWhenStandbyStopsAcking() throws Exception {
+        primary = new ReplicationPrimary.Builder()
+            .address(new InetSocketAddress("127.0.0.1", 0))
+            .accountRepository(accountRepository)
+            .transactionRepository(transactionRepository)
+            .ackMode(AckMode.SEMI_SYNC)
+            .ackTimeout(Duration.ofMillis(100))
+            .metrics(metrics)
+            .start()
+            .attachTo(accountRepository, transactionService);
+        try (Socket silent = new Socket("127.0.0.1", primary.getPort())) {
+            DataOutputStream hello = new DataOutputStream(silent.getOutputStream());
+            hello.writeLong(0);
+            hello.writeLong(0);
+            hello.flush();
+            await(() -> primary.getStandbyCount() == 1);
+
+            long start = System.nanoTime();
+            String accountId = openAccounts(1).get(0);
+            assertTrue(System.nanoTime() - start >= Duration.ofMillis(100).toNanos());
+            assertEquals(1, metrics.counter("replication.primary.semiSyncTimeouts").get());
+
+            start = System.nanoTime();
+            accountService.deposit(accountId, new BigDecimal("1.00"), "Deposit");
+            assertTrue(System.nanoTime() - start < Duration.ofMillis(100).toNanos());
+            assertEquals(1, metrics.counter("replication.primary.semiSyncTimeouts").get());
+        }
+    }
+
+    @Test
+    public void testPromotedStandbyTakesOverWithoutReload() throws Exception {
+        startPrimary(AckMode.ASYNC);
+        startStandby();
+        List<String> accountIds = openAccounts(4);
+        accountService.transfer(accountIds.get(0), accountIds.get(3), new BigDecimal("25.00"));
+        awaitCaughtUp();
+        primary.close();
+
+        long start = System.nanoTime();
+        AccountService promoted = standby.promote();
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(2).toNanos());
+
+        assertEquals(new BigDecimal("75.00"), promoted.getBalance(accountIds.get(0)));
+        promoted.deposit(accountIds.get(3), new BigDecimal("10.00"), "First write after failover");
+        assertEquals(new BigDecimal("135.00"), promoted.getBalance(accountIds.get(3)));
+        Account opened = promoted.createAccount("CUST-NEW", AccountType.SAVINGS, new BigDecimal("1.00"));
+        assertEquals(5, promoted.getAllAccounts().size());
+        assertEquals(new BigDecimal("1.00"), promoted.getBalance(opened.getAccountId()));
+    }
+
+    @Test
+    public void testStandbySnapshotsNeverShowHalfATransfer() throws Exception {
+        // a batch of three records would split every transfer if its legs were journaled apart
+        primary = new ReplicationPrimary.Builder()
+            .address(new InetSocketAddress("127.0.0.1", 0))
+            .accountRepository(accountRepository)
+            .transactionRepository(transactionRepository)
+            .maxBatch(3)
+            .metrics(metrics)
+            .start()
+            .attachTo(accountRepository, transactionService);
+        startStandby();
+        List<String> accountIds = openAccounts(2);
+        awaitCaughtUp();
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<BigDecimal> torn = new ArrayList<>();
+        Thread reader = new Thread(() -> {
+            while (writing.get()) {
+                try (LedgerSnapshot snapshot = standby.openSnapshot()) {
+                    BigDecimal total = snapshot.getTotalBalance();
+                    if (total.compareTo(new BigDecimal("200.00")) != 0) {
+                        torn.add(total);
+                    }
+                }
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 500; i++) {
+                accountService.transfer(accountIds.get(i % 2), accountIds.get((i + 1) % 2), new BigDecimal("7.00"));
+            }
+            awaitCaughtUp();
+        } finally {
+            writing.set(false);
+            reader.join();
+        }
+        assertTrue("torn totals " + torn, torn.isEmpty());
+        assertEquals(accountService.getBalance(accountIds.get(0)), standby.getBalance(accountIds.get(0)));
+    }
+
+    @Test
+    public void testJournalReadsConcurrentAppendsInSequenceOrder() throws Exception {
+        ReplicationJournal journal = new ReplicationJournal(32_768);
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    journal.append(new byte[] {1});
+                }
+            });
+            writers[t].start();
+        }
+        // a sender sees every record once, in order, without gaps
+        long next = 1;
+        while (next <= 20_000) {
+            List<JournalRecord> batch = journal.read(next, 64, 100);
+            assertNotNull("fell behind at " + next, batch);
+            for (JournalRecord record : batch) {
+                assertEquals(next++, record.sequence);
+            }
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(20_000, journal.getLastSequence());
+        assertTrue(journal.read(20_001, 64, 10).isEmpty());
+
+        ReplicationJournal small = new ReplicationJournal(4);
+        for (int i = 0; i < 10; i++) {
+            small.append(new byte[] {1});
+        }
+        assertNull(small.read(6, 64, 0));
+        assertEquals(4, small.read(7, 64, 0).size());
+    }
+
+    private void startPrimary(AckMode ackMode) throws IOException {
+        primary = new ReplicationPrimary.Builder()
+            .address(new InetSocketAddress("127.0.0.1", 0))
+            .accountRepository(accountRepository)
+            .transactionRepository(transactionRepository)
+            .ackMode(ackMode)
+            .maxBatch(16)
+            .metrics(metrics)
+            .start()
+            .attachTo(accountRepository, transactionService);
+    }
+
+    private void startStandby() {
+        standby = new ReplicationStandby.Builder()
+            .primary(new InetSocketAddress("127.0.0.1", primary.getPort()))
+            .retryInterval(Duration.ofMillis(50))
+            .metrics(metrics)
+            .start();
+    }
+
+    private List<String> openAccounts(int count) {
+        List<String> accountIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accountIds.add(accountService.createAccount("CUST-" + i, AccountType.CHECKING,
+                new BigDecimal("100.00")).getAccountId());
+        }
+        return accountIds;
+    }
+
+    private void awaitCaughtUp() throws InterruptedException {
+        await(() -> standby.isConnected() && standby.getAppliedSequence() == primary.getLastSequence());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.bank.repository;
+
+import com.bank.model.Customer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CustomerNameIndexTest {
+    private CustomerRepository repository;
+
+    @Before
+    public void setUp() {
+        repository = new CustomerRepository();
+    }
+
+    @Test
+    public void testPrefixMatchesRankShorterCompletionsFirst() {
+        save("C1", "Jonathan", "Miller");
+        save("C2", "Jon", "Baker");
+        save("C3", "Joan", "Smith");
+        save("C4", "Maria", "Jones");
+
+        // Joan is one edit away, so it comes after every prefix match
+        assertEquals(Arrays.asList("C2", "C4", "C1", "C3"), search("jon", 10));
+        assertEquals(Arrays.asList("C2"), search("jon", 1));
+    }
+
+    @Test
+    public void testTyposStillMatchButRankBelowExactNames() {
+        save("C1", "John", "Smith");
+        save("C2", "Jhon", "Smyth");
+        save("C3", "Alexander", "Hamilton");
+
+        assertEquals(Arrays.asList("C2", "C1"), search("jhon", 10));
+        assertEquals(Arrays.asList("C1", "C2"), search("smith", 10));
+        assertEquals(Arrays.asList("C3"), search("alexnadre", 10));
+        assertEquals(Arrays.asList("C3"), search("hamliton", 10));
+        assertTrue(search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    public void testEveryQueryWordMustMatchAName() {
+        save("C1", "Mary", "Smith");
+        save("C2", "Mary", "Johnson");
+        save("C3", "Peter", "Smith");
+
+        assertEquals(Arrays.asList("C1"), search("Mary Smith", 10));
+        assertEquals(Arrays.asList("C1"), search("smi mar", 10));
+        assertEquals(Arrays.asList("C2"), search("mary jonson", 10));
+        assertTrue(search("peter johnson", 10).isEmpty());
+    }
+
+    @Test
+    public void testNamesAreFoldedForCaseAccentsAndPunctuation() {
+        save("C1", "Zoë", "O'Brien");
+        save("C2", "Anne-Marie", "Dupont");
+
+        assertEquals(Arrays.asList("C1"), search("ZOE obrien", 10));
+        assertEquals(Arrays.asList("C2"), search("marie", 10));
+        assertEquals(Arrays.asList("C2"), search("anne marie dupont", 10));
+    }
+
+    @Test
+    public void testIndexFollowsRenamesDeletesAndBulkSaves() {
+        save("C1", "Grace", "Hopper");
+        assertEquals(Arrays.asList("C1"), search("hopper", 10));
+
+        save("C1", "Grace", "Murray");
+        assertTrue(search("hopper", 10).isEmpty());
+        assertEquals(Arrays.asList("C1"), search("murray", 10));
+
+        repository.deleteById("C1");
+        assertTrue(search("grace", 10).isEmpty());
+
+        List<Customer> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(customer("B" + i, "Bulk" + i, "Loaded"));
+        }
+        repository.saveAll(batch);
+        assertEquals(10, search("loaded", 10).size());
+        assertEquals("B42", search("bulk42", 10).get(0));
+
+        repository.clear();
+        assertTrue(search("loaded", 10).isEmpty());
+    }
+
+    @Test
+    public void testRenamedCustomerStillMatchesNearItsOldName() {
+        save("X", "John", "Smith");
+        save("X", "John", "Smyth");
+
+        // the stale "smith" posting must not hide the typo match on "smyth"
+        assertEquals(Arrays.asList("X"), search("smith", 10));
+        assertEquals(Arrays.asList("X"), search("smyth", 10));
+    }
+
+    @Test
+    public void testRenamedCustomerKeepsItsIndexingOrderForTies() {
+        save("C1", "Ann", "Kay");
+        save("C2", "Bob", "Lee");
+        save("C3", "Cat", "Lee");
+        save("C1", "Ann", "Lee");
+        repository.deleteById("C2");
+        save("C2", "Bob", "Lee");
+
+        assertEquals(Arrays.asList("C1"), search("lee", 1));
+        assertEquals(Arrays.asList("C1", "C2", "C3"), search("lee", 10));
+    }
+
+    @Test
+    public void testTopKOverManyCustomersKeepsBestMatches() {
+        List<Customer> batch = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            batch.add(customer("C" + i, i % 2 == 0 ? "Johnathan" : "Johnson", "Family" + (i % 500)));
+        }
+        batch.add(customer("EXACT", "John", "Family7"));
+        repository.saveAll(batch);
+
+        List<String> top = search("john", 5);
+        assertEquals(5, top.size());
+        assertEquals("EXACT", top.get(0));
+        // "johnson" is a closer completion than "johnathan"; ties keep indexing order
+        assertEquals(Arrays.asList("C1", "C3", "C5", "C7"), top.subList(1, 5));
+        assertEquals(Arrays.asList("EXACT", "C7"), search("family7 john", 2));
+    }
+
+    @Test
+    public void testEditDistanceCountsTranspositionsAsOneEdit() {
+        assertEquals(0, CustomerNameIndex.editDistance("smith", "smith", 2));
+        assertEquals(1, CustomerNameIndex.editDistance("smtih", "smith", 2));
+        assertEquals(2, CustomerNameIndex.editDistance("smyht", "smith", 2));
+        assertEquals(3, CustomerNameIndex.editDistance("jones", "smith", 2));
+    }
+
+    private List<String> search(String query, int limit) {
+        return repository.searchByName(query, limit).stream()
+            .map(Customer::getCustomerId)
+            .collect(Collectors.toList());
+    }
+
+    private void save(String customerId, String firstName, String lastName) {
+        repository.save(customer(customerId, firstName, lastName));
+    }
+
+    private static Customer customer(String customerId, String firstName, String lastName) {
+        return new Customer.Builder()
+            .customerId(customerId)
+            .firstName(firstName)
+            .lastName(lastName)
+            .email(customerId.toLowerCase() + "@example.com")
+            .phoneNumber("+1234567890")
+            .dateOfBirth(LocalDate.of(1980, 1, 1))
+            .build();
+    }
+}
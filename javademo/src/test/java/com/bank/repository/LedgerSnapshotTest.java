@@ -0,0 +1,166 @@
+package com.bank.repository;
+
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LedgerSnapshotTest {
+    private AccountRepository accountRepository;
+    private AccountService accountService;
+
+    @Before
+    public void setUp() {
+        accountRepository = new AccountRepository();
+        accountService = new AccountService(accountRepository,
+            new TransactionService(new TransactionRepository()), new ValidationService());
+    }
+
+    @Test
+    public void testSnapshotIgnoresLaterWrites() {
+        Account account = accountService.createAccount("CUST-1", AccountType.CHECKING, new BigDecimal("100.00"));
+
+        try (LedgerSnapshot before = accountService.openSnapshot()) {
+            accountService.deposit(account.getAccountId(), new BigDecimal("50.00"), "Deposit");
+            Account opened = accountService.createAccount("CUST-1", AccountType.SAVINGS, new BigDecimal("10.00"));
+
+            assertEquals(new BigDecimal("100.00"), before.findById(account.getAccountId()).get().getBalance());
+            assertFalse(before.findById(opened.getAccountId()).isPresent());
+            assertEquals(1, before.findAll().size());
+            assertEquals(new BigDecimal("100.00"), before.getTotalBalance());
+
+            try (LedgerSnapshot after = accountService.openSnapshot()) {
+                assertTrue(after.getVersion() > before.getVersion());
+                assertEquals(new BigDecimal("150.00"), after.findById(account.getAccountId()).get().getBalance());
+                assertEquals(2, after.findByCustomerId("CUST-1").size());
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotCopiesAreDetached() {
+        Account account = accountService.createAccount("CUST-1", AccountType.CHECKING, new BigDecimal("100.00"));
+        try (LedgerSnapshot snapshot = accountService.openSnapshot()) {
+            snapshot.findById(account.getAccountId()).get().deposit(new BigDecimal("1.00"));
+
+            assertEquals(new BigDecimal("100.00"), snapshot.findById(account.getAccountId()).get().getBalance());
+        }
+    }
+
+    @Test
+    public void testDeletedAccountStaysVisibleToOlderSnapshot() {
+        Account account = accountService.createAccount("CUST-1", AccountType.CHECKING, new BigDecimal("100.00"));
+        LedgerSnapshot before = accountRepository.snapshot();
+
+        accountRepository.deleteById(account.getAccountId());
+
+        try (LedgerSnapshot after = accountRepository.snapshot()) {
+            assertFalse(after.findById(account.getAccountId()).isPresent());
+        }
+        assertTrue(before.findById(account.getAccountId()).isPresent());
+        before.close();
+        assertNull(accountRepository.versionChain(account.getAccountId()));
+    }
+
+    @Test
+    public void testVersionsReclaimedWhenSnapshotCloses() {
+        Account account = accountService.createAccount("CUST-1", AccountType.CHECKING, new BigDecimal("100.00"));
+        String accountId = account.getAccountId();
+        for (int i = 0; i < 5; i++) {
+            accountService.deposit(accountId, new BigDecimal("1.00"), "Deposit");
+        }
+        assertEquals(1, chainLength(accountId));
+
+        LedgerSnapshot snapshot = accountRepository.snapshot();
+        for (int i = 0; i < 5; i++) {
+            accountService.deposit(accountId, new BigDecimal("1.00"), "Deposit");
+        }
+        assertEquals(6, chainLength(accountId));
+        assertEquals(new BigDecimal("105.00"), snapshot.getTotalBalance());
+
+        snapshot.close();
+        assertEquals(1, chainLength(accountId));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosedSnapshotRejectsReads() {
+        LedgerSnapshot snapshot = accountRepository.snapshot();
+        snapshot.close();
+        snapshot.findAll();
+    }
+
+    @Test
+    public void testTotalsBalanceWhileTransfersRun() throws Exception {
+        List<String> accountIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accountIds.add(accountService.createAccount("CUST-" + i, AccountType.CHECKING,
+                new BigDecimal("1000.00")).getAccountId());
+        }
+        BigDecimal expected = new BigDecimal("20000.00");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger transfers = new AtomicInteger();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            Thread writer = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    int from = random.nextInt(accountIds.size());
+                    int to = (from + 1 + random.nextInt(accountIds.size() - 1)) % accountIds.size();
+                    if (accountService.tryTransfer(accountIds.get(from), accountIds.get(to),
+                            new BigDecimal(random.nextInt(1, 50))).isSuccess()) {
+                        transfers.incrementAndGet();
+                    }
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+
+        try {
+            for (int report = 0; report < 300; report++) {
+                try (LedgerSnapshot snapshot = accountService.openSnapshot()) {
+                    BigDecimal total = BigDecimal.ZERO;
+                    for (Account account : snapshot.findAll()) {
+                        total = total.add(account.getBalance());
+                    }
+                    assertEquals(0, expected.compareTo(total));
+                    assertEquals(0, expected.compareTo(snapshot.getTotalBalance()));
+                }
+            }
+        } catch (Throwable e) {
+            failure.set(e);
+        } finally {
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+
+        assertNull(failure.get());
+        assertTrue(transfers.get() > 0);
+        for (String accountId : accountIds) {
+            assertEquals(1, chainLength(accountId));
+        }
+    }
+
+    private int chainLength(String accountId) {
+        int length = 0;
+        for (AccountVersion node = accountRepository.versionChain(accountId); node != null; node = node.older) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,217 @@
+package com.bank.repository;
+
+import com.bank.time.ManualClock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ReadThroughCacheTest {
+
+    @Test
+    public void testLoadsOnceThenServesHits() {
+        AtomicInteger loads = new AtomicInteger();
+        ReadThroughCache<String, String> cache = new ReadThroughCache.Builder<String, String>()
+            .loader(key -> {
+                loads.incrementAndGet();
+                return "value-" + key;
+            })
+            .build();
+
+        assertEquals("value-a", cache.get("a"));
+        assertEquals("value-a", cache.get("a"));
+        assertEquals("value-a", cache.get("a"));
+
+        assertEquals(1, loads.get());
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    public void testAbsentKeysAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        ReadThroughCache<String, String> cache = new ReadThroughCache.Builder<String, String>()
+            .loader(key -> {
+                loads.incrementAndGet();
+                return null;
+            })
+            .build();
+
+        assertNull(cache.get("missing"));
+        assertNull(cache.get("missing"));
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getEstimatedSize());
+    }
+
+    @Test
+    public void testWeightNeverExceedsMaximum() {
+        ReadThroughCache<Integer, Integer> cache = new ReadThroughCache.Builder<Integer, Integer>()
+            .loader(key -> key)
+            .maximumWeight(50)
+            .build();
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get(i);
+            assertTrue(cache.getWeightedSize() <= 50);
+        }
+        assertEquals(950, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testFrequentKeysSurviveScan() {
+        ReadThroughCache<Integer, Integer> cache = new ReadThroughCache.Builder<Integer, Integer>()
+            .loader(key -> key)
+            .maximumWeight(100)
+            .build();
+        for (int round = 0; round < 10; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                cache.get(hot);
+            }
+        }
+        cache.cleanUp();
+
+        for (int cold = 1000; cold < 5000; cold++) {
+            cache.get(cold);
+        }
+
+        int hotRetained = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            if (cache.getIfPresent(hot) != null) {
+                hotRetained++;
+            }
+        }
+        assertTrue("hot keys retained: " + hotRetained, hotRetained >= 45);
+    }
+
+    @Test
+    public void testWeigherBoundsTotalWeight() {
+        ReadThroughCache<String, List<Integer>> cache = new ReadThroughCache.Builder<String, List<Integer>>()
+            .loader(key -> listOf(Integer.parseInt(key)))
+            .weigher((key, value) -> value.size())
+            .maximumWeight(100)
+            .build();
+
+        cache.get("40");
+        cache.get("30");
+        assertEquals(70, cache.getWeightedSize());
+        cache.get("50");
+        assertTrue(cache.getWeightedSize() <= 100);
+
+        assertEquals(500, cache.get("500").size());
+        assertNull(cache.getIfPresent("500"));
+    }
+
+    @Test
+    public void testRefreshAheadServesStaleValueWhileReloading() {
+        ManualClock clock = new ManualClock(LocalDateTime.of(2025, 1, 1, 0, 0));
+        AtomicReference<String> store = new AtomicReference<>("v1");
+        ReadThroughCache<String, String> cache = new ReadThroughCache.Builder<String, String>()
+            .loader(key -> store.get())
+            .refreshAfterWrite(Duration.ofMinutes(5))
+            .refreshExecutor(Runnable::run)
+            .clock(clock)
+            .build();
+
+        assertEquals("v1", cache.get("k"));
+        store.set("v2");
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals("v1", cache.get("k"));
+        assertEquals(0, cache.getStats().getRefreshCount());
+
+        clock.advance(Duration.ofMinutes(5));
+        assertEquals("v1", cache.get("k"));
+        assertEquals("v2", cache.get("k"));
+        assertEquals(1, cache.getStats().getRefreshCount());
+    }
+
+    @Test
+    public void testRefreshDropsKeysRemovedFromStore() {
+        ManualClock clock = new ManualClock(LocalDateTime.of(2025, 1, 1, 0, 0));
+        Map<String, String> store = new ConcurrentHashMap<>();
+        store.put("k", "v1");
+        ReadThroughCache<String, String> cache = new ReadThroughCache.Builder<String, String>()
+            .loader(store::get)
+            .refreshAfterWrite(Duration.ofSeconds(1))
+            .refreshExecutor(Runnable::run)
+            .clock(clock)
+            .build();
+
+        cache.get("k");
+        store.remove("k");
+        clock.advance(Duration.ofSeconds(2));
+        cache.get("k");
+
+        assertNull(cache.getIfPresent("k"));
+        assertEquals(0, cache.getWeightedSize());
+    }
+
+    @Test
+    public void testPutAndInvalidate() {
+        ReadThroughCache<String, String> cache = new ReadThroughCache.Builder<String, String>()
+            .loader(key -> "loaded")
+            .build();
+
+        cache.put("k", "written");
+        assertEquals("written", cache.get("k"));
+        cache.invalidate("k");
+        assertNull(cache.getIfPresent("k"));
+        assertEquals("loaded", cache.get("k"));
+        assertEquals(1, cache.getWeightedSize());
+    }
+
+    @Test
+    public void testConcurrentReadersKeepCacheConsistent() throws Exception {
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache.Builder<Integer, String>()
+            .loader(String::valueOf)
+            .maximumWeight(100)
+            .build();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    int key = random.nextInt(10) < 8 ? random.nextInt(50) : random.nextInt(1000);
+                    if (!String.valueOf(key).equals(cache.get(key))) {
+                        failure.compareAndSet(null, new AssertionError("wrong value for " + key));
+                    }
+                    if (i % 1000 == 0) {
+                        cache.invalidate(key);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        cache.cleanUp();
+        assertTrue(cache.getWeightedSize() <= 100);
+        assertEquals(cache.getWeightedSize(), cache.getEstimatedSize());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLoaderIsRequired() {
+        new ReadThroughCache.Builder<String, String>().build();
+    }
+
+    private static List<Integer> listOf(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
@@ -1,13 +1,20 @@
 package com.bank.service;
 import com.bank.exception.AccountNotFoundException;
 import com.bank.exception.InsufficientFundsException;
+import com.bank.exception.InvalidTransactionException;
+import com.bank.metrics.AccountContention;
+import com.bank.metrics.ContentionTracker;
 import com.bank.model.Account;
 import com.bank.model.AccountType;
 import com.bank.repository.AccountRepository;
 import com.bank.repository.TransactionRepository;
+import com.bank.time.ManualClock;
 import org.junit.Before;
 import org.junit.Test;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 import static org.junit.Assert.*;
 
 public class AccountServiceTest {
@@ -140,6 +147,135 @@ public class AccountServiceTest {
         Account updated = accountService.getAccount(account.getAccountId());
         assertFalse(updated.isActive());
     }
-}
 
+    @Test
+    public void testOperationsUseInjectedClock() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 9, 30);
+        ManualClock clock = new ManualClock(start);
+        TransactionService clockedTransactions = new TransactionService(new TransactionRepository(), clock);
+        AccountService clockedService = new AccountService(
+                accountRepository, clockedTransactions, validationService, clock);
+
+        Account account = clockedService.createAccount(
+                "CUST-001",
+                AccountType.CHECKING,
+                new BigDecimal("500.00")
+        );
+        assertEquals(start, account.getCreatedAt());
+
+        clock.advance(Duration.ofMinutes(10));
+        clockedService.deposit(account.getAccountId(), new BigDecimal("50.00"), "Clocked deposit");
+
+        assertEquals(start.plusMinutes(10), clockedService.getAccount(account.getAccountId()).getLastModifiedAt());
+        assertEquals(start.plusMinutes(10),
+                clockedTransactions.getAccountTransactions(account.getAccountId()).get(0).getTimestamp());
+    }
+
+    @Test
+    public void testTryWithdrawReturnsOutcomes() {
+        Account account = accountService.createAccount(
+                "CUST-001",
+                AccountType.CHECKING,
+                new BigDecimal("100.00")
+        );
+        String accountId = account.getAccountId();
+
+        assertEquals(TransactionOutcome.INSUFFICIENT_FUNDS,
+                accountService.tryWithdraw(accountId, new BigDecimal("200.00"), "Test"));
+        assertEquals(TransactionOutcome.INVALID_AMOUNT,
+                accountService.tryWithdraw(accountId, new BigDecimal("-1.00"), "Test"));
+        assertEquals(TransactionOutcome.ACCOUNT_NOT_FOUND,
+                accountService.tryWithdraw("NON-EXISTENT", new BigDecimal("1.00"), "Test"));
+        assertEquals(new BigDecimal("100.00"), accountService.getBalance(accountId));
+
+        assertEquals(TransactionOutcome.SUCCESS,
+                accountService.tryWithdraw(accountId, new BigDecimal("40.00"), "Test"));
+        assertEquals(new BigDecimal("60.00"), accountService.getBalance(accountId));
+
+        accountService.deactivateAccount(accountId);
+        assertEquals(TransactionOutcome.ACCOUNT_INACTIVE,
+                accountService.tryWithdraw(accountId, new BigDecimal("1.00"), "Test"));
+    }
+
+    @Test
+    public void testTryTransferReturnsOutcomes() {
+        Account account1 = accountService.createAccount(
+                "CUST-001",
+                AccountType.SAVINGS,
+                new BigDecimal("1000.00")
+        );
+        Account account2 = accountService.createAccount(
+                "CUST-002",
+                AccountType.CHECKING,
+                new BigDecimal("500.00")
+        );
+
+        assertEquals(TransactionOutcome.SAME_ACCOUNT, accountService.tryTransfer(
+                account1.getAccountId(), account1.getAccountId(), new BigDecimal("1.00")));
+        assertEquals(TransactionOutcome.INSUFFICIENT_FUNDS, accountService.tryTransfer(
+                account2.getAccountId(), account1.getAccountId(), new BigDecimal("600.00")));
+        assertEquals(TransactionOutcome.SUCCESS, accountService.tryTransfer(
+                account1.getAccountId(), account2.getAccountId(), new BigDecimal("250.00")));
+
+        assertEquals(new BigDecimal("750.00"), accountService.getBalance(account1.getAccountId()));
+        assertEquals(new BigDecimal("750.00"), accountService.getBalance(account2.getAccountId()));
+    }
+
+    @Test
+    public void testThrowingWrappersKeepExceptionDetails() {
+        Account account = accountService.createAccount(
+                "CUST-001",
+                AccountType.CHECKING,
+                new BigDecimal("100.00")
+        );
+        try {
+            accountService.withdraw(account.getAccountId(), new BigDecimal("150.00"), "Test");
+            fail("Expected InsufficientFundsException");
+        } catch (InsufficientFundsException e) {
+            assertEquals(new BigDecimal("150.00"), e.getRequestedAmount());
+            assertEquals(new BigDecimal("100.00"), e.getAvailableBalance());
+        }
+        try {
+            accountService.transfer(account.getAccountId(), "NON-EXISTENT", new BigDecimal("1.00"));
+            fail("Expected AccountNotFoundException");
+        } catch (AccountNotFoundException e) {
+            assertEquals("NON-EXISTENT", e.getAccountId());
+        }
+        try {
+            accountService.transfer(account.getAccountId(), account.getAccountId(), new BigDecimal("1.00"));
+            fail("Expected InvalidTransactionException");
+        } catch (InvalidTransactionException e) {
+            assertEquals("Cannot transfer to the same account", e.getMessage());
+        }
+        try {
+            accountService.withdraw(account.getAccountId(), new BigDecimal("2000000.00"), "Test");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Withdrawal amount cannot exceed 1000000.00", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testAccountLocksReportContendedWaits() throws InterruptedException {
+        ContentionTracker tracker = new ContentionTracker();
+        AccountLocks locks = new AccountLocks(tracker);
+        locks.lock("HOT-ACCOUNT");
+        Thread waiter = new Thread(() -> {
+            locks.lock("HOT-ACCOUNT");
+            locks.unlock("HOT-ACCOUNT");
+        });
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(20);
+        locks.unlock("HOT-ACCOUNT");
+        waiter.join();
 
+        AccountContention hot = tracker.top(1).get(0);
+        assertEquals("HOT-ACCOUNT", hot.getAccountId());
+        assertEquals(2, hot.getOperations());
+        assertEquals(1, hot.getContendedAcquisitions());
+        assertTrue(hot.getWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+}
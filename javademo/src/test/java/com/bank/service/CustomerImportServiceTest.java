@@ -0,0 +1,103 @@
+package com.bank.service;
+import com.bank.model.Customer;
+import com.bank.repository.CustomerRepository;
+import com.bank.time.ManualClock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class CustomerImportServiceTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private CustomerRepository customerRepository;
+    private CustomerImportService importService;
+
+    @Before
+    public void setUp() {
+        customerRepository = new CustomerRepository();
+        importService = new CustomerImportService(customerRepository,
+                new ManualClock(LocalDateTime.of(2024, 6, 1, 9, 0)), 2);
+        customerRepository.save(new Customer.Builder()
+                .firstName("Existing")
+                .lastName("Customer")
+                .email("existing@email.com")
+                .phoneNumber("+1234567890")
+                .dateOfBirth(LocalDate.of(1980, 1, 1))
+                .build());
+    }
+
+    private File csv(String... lines) throws Exception {
+        File file = folder.newFile();
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void testImportReportsRowErrors() throws Exception {
+        File file = csv(
+                "email,firstName,lastName,phoneNumber,dateOfBirth,address",
+                "john.doe@email.com,John,Doe,+1234567890,1990-01-15,\"123 Main St, City, State 12345\"",
+                "not-an-email,Bad,Email,+1234567890,1990-01-15,",
+                "",
+                "jane@email.com,Jane,Smith,+1234567890,2015-01-01,",
+                "JOHN.DOE@email.com,Johnny,Doe,+1234567890,1990-01-15,",
+                "Existing@Email.com,Dup,Existing,+1234567890,1990-01-15,",
+                "amy@email.com,Amy,\"O\"\"Neil\",+1234567890,not-a-date,",
+                "amy@email.com,Amy,\"O\"\"Neil\",+1234567890,1985-05-05,");
+
+        ImportReport report = importService.importCsv(file.toPath());
+
+        assertEquals(7, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(5, report.getRejectedRows());
+        List<Long> errorLines = new ArrayList<>();
+        report.getErrors().forEach(error -> errorLines.add(error.getLineNumber()));
+        assertEquals(Arrays.asList(3L, 5L, 6L, 7L, 8L), errorLines);
+        assertEquals("Valid email is required", report.getErrors().get(0).getMessage());
+        assertTrue(report.getErrors().get(2).getMessage().contains("first seen on line 2"));
+        assertTrue(report.getErrors().get(3).getMessage().contains("already exists"));
+
+        Customer john = customerRepository.findByEmail("john.doe@EMAIL.com").get();
+        assertEquals("123 Main St, City, State 12345", john.getAddress());
+        assertEquals(LocalDateTime.of(2024, 6, 1, 9, 0), john.getCreatedAt());
+        assertEquals("O\"Neil", customerRepository.findByEmail("amy@email.com").get().getLastName());
+        assertEquals(3, customerRepository.count());
+        assertTrue(report.getRowsPerSecond() > 0);
+    }
+
+    @Test
+    public void testLargeImportAcrossBatches() throws Exception {
+        CustomerImportService batched = new CustomerImportService(customerRepository,
+                new ManualClock(LocalDateTime.of(2024, 6, 1, 9, 0)), 1_000);
+        List<String> lines = new ArrayList<>();
+        lines.add("firstName,lastName,email,phoneNumber,dateOfBirth");
+        for (int i = 0; i < 25_000; i++) {
+            lines.add("First" + i + ",Last" + i + ",user" + (i % 20_000) + "@email.com,+1234567890,1970-01-01");
+        }
+        File file = folder.newFile();
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+
+        ImportReport report = batched.importCsv(file.toPath());
+
+        assertEquals(25_000, report.getTotalRows());
+        assertEquals(20_000, report.getImportedRows());
+        assertEquals(5_000, report.getRejectedRows());
+        assertEquals(20_001, customerRepository.count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingRequiredColumn() throws Exception {
+        importService.importCsv(csv("firstName,lastName,email").toPath());
+    }
+}
@@ -5,6 +5,7 @@ import com.bank.repository.TransactionRepository;
 import org.junit.Before;
 import org.junit.Test;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import static org.junit.Assert.*;
 
@@ -97,5 +98,42 @@ public class TransactionServiceTest {
         assertEquals(1, deposits.size());
         assertEquals(TransactionType.DEPOSIT, deposits.get(0).getType());
     }
-}
 
+    @Test
+    public void testGetRecentTransactionsNewestFirst() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 1; i <= 30; i++) {
+            transactionService.recordTransaction("ACC-001", TransactionType.DEPOSIT,
+                    new BigDecimal("10.00"), new BigDecimal(i * 10), "Deposit " + i, start.plusMinutes(i));
+        }
+
+        List<Transaction> recent = transactionService.getRecentTransactions("ACC-001", 10);
+        assertEquals(10, recent.size());
+        assertEquals("Deposit 30", recent.get(0).getDescription());
+        assertEquals("Deposit 21", recent.get(9).getDescription());
+
+        List<Transaction> beyondRing = transactionService.getRecentTransactions("ACC-001", 25);
+        assertEquals(25, beyondRing.size());
+        assertEquals(transactionService.getAccountTransactions("ACC-001").subList(0, 25), beyondRing);
+        assertTrue(transactionService.getRecentTransactions("ACC-404", 10).isEmpty());
+    }
+
+    @Test
+    public void testGetRecentTransactionsOrdersBackdatedRecords() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 9, 0);
+        for (int i = 0; i < 20; i++) {
+            transactionService.recordTransaction("ACC-001", TransactionType.DEPOSIT,
+                    new BigDecimal("1.00"), new BigDecimal("1.00"), "Daily", start.plusDays(i));
+        }
+        transactionService.recordTransaction("ACC-001", TransactionType.FEE,
+                new BigDecimal("1.00"), new BigDecimal("1.00"), "Backdated", start.plusDays(17).minusHours(1));
+        transactionService.recordTransaction("ACC-001", TransactionType.FEE,
+                new BigDecimal("1.00"), new BigDecimal("1.00"), "Too old", start.minusDays(1));
+
+        List<Transaction> recent = transactionService.getRecentTransactions("ACC-001", 5);
+        List<Transaction> history = transactionService.getAccountTransactions("ACC-001");
+        assertEquals(history.subList(0, 5), recent);
+        assertEquals("Backdated", recent.get(3).getDescription());
+        assertEquals(history.subList(0, 16), transactionService.getRecentTransactions("ACC-001", 16));
+    }
+}
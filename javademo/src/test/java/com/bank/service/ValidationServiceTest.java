@@ -0,0 +1,149 @@
+package com.bank.service;
+import com.bank.exception.VelocityLimitExceededException;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.TransactionType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.time.ManualClock;
+import com.bank.util.SlidingWindowCounter;
+import org.junit.Before;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+
+public class ValidationServiceTest {
+    private ManualClock clock;
+    private AccountService accountService;
+
+    @Before
+    public void setUp() {
+        clock = new ManualClock(LocalDateTime.of(2024, 6, 1, 9, 0));
+        List<VelocityLimit> limits = Arrays.asList(
+                new VelocityLimit.Builder()
+                        .scope(VelocityLimit.Scope.ACCOUNT)
+                        .operations(TransactionType.WITHDRAWAL, TransactionType.TRANSFER)
+                        .maxCount(20)
+                        .maxAmount(new BigDecimal("10000.00"))
+                        .window(Duration.ofHours(24))
+                        .build(),
+                new VelocityLimit.Builder()
+                        .scope(VelocityLimit.Scope.CUSTOMER)
+                        .operations(TransactionType.WITHDRAWAL)
+                        .maxAmount(new BigDecimal("15000.00"))
+                        .build());
+        ValidationService validationService = new ValidationService(limits, clock);
+        TransactionService transactionService = new TransactionService(new TransactionRepository(), clock);
+        accountService = new AccountService(new AccountRepository(), transactionService, validationService, clock);
+    }
+
+    @Test
+    public void testMaxCountPerAccount() {
+        Account account = accountService.createAccount("CUST-001", AccountType.CHECKING, new BigDecimal("5000.00"));
+        for (int i = 0; i < 20; i++) {
+            accountService.withdraw(account.getAccountId(), new BigDecimal("1.00"), "ATM");
+        }
+        try {
+            accountService.withdraw(account.getAccountId(), new BigDecimal("1.00"), "ATM");
+            fail("Expected velocity limit to reject the 21st withdrawal");
+        } catch (VelocityLimitExceededException e) {
+            assertEquals(account.getAccountId(), e.getSubjectId());
+        }
+        assertEquals(new BigDecimal("4980.00"), accountService.getBalance(account.getAccountId()));
+    }
+
+    @Test
+    public void testMaxAmountWindowRollsOver() {
+        Account account = accountService.createAccount("CUST-001", AccountType.CHECKING, new BigDecimal("50000.00"));
+        Account other = accountService.createAccount("CUST-002", AccountType.CHECKING, new BigDecimal("0.01"));
+
+        accountService.withdraw(account.getAccountId(), new BigDecimal("6000.00"), "Cash");
+        accountService.transfer(account.getAccountId(), other.getAccountId(), new BigDecimal("4000.00"));
+        try {
+            accountService.withdraw(account.getAccountId(), new BigDecimal("0.01"), "Cash");
+            fail("Expected velocity limit to reject withdrawal over $10,000");
+        } catch (VelocityLimitExceededException expected) {
+            // expected
+        }
+
+        clock.advance(Duration.ofHours(25));
+        accountService.withdraw(account.getAccountId(), new BigDecimal("9000.00"), "Cash");
+        assertEquals(new BigDecimal("31000.00"), accountService.getBalance(account.getAccountId()));
+    }
+
+    @Test
+    public void testCustomerLimitSpansAccounts() {
+        Account first = accountService.createAccount("CUST-001", AccountType.CHECKING, new BigDecimal("20000.00"));
+        Account second = accountService.createAccount("CUST-001", AccountType.SAVINGS, new BigDecimal("20000.00"));
+
+        accountService.withdraw(first.getAccountId(), new BigDecimal("9000.00"), "Cash");
+        try {
+            accountService.withdraw(second.getAccountId(), new BigDecimal("7000.00"), "Cash");
+            fail("Expected customer velocity limit to reject withdrawal");
+        } catch (VelocityLimitExceededException e) {
+            assertEquals("CUST-001", e.getSubjectId());
+        }
+        // The account limit must not keep the rejected attempt
+        accountService.withdraw(second.getAccountId(), new BigDecimal("6000.00"), "Cash");
+    }
+
+    @Test
+    public void testReversedTransferOutReturnsItsAllowance() {
+        Account account = accountService.createAccount("CUST-001", AccountType.CHECKING, new BigDecimal("50000.00"));
+        String accountId = account.getAccountId();
+
+        long debitedAt = clock.millis();
+        assertEquals(TransactionOutcome.SUCCESS, accountService.tryTransferOut(accountId, new BigDecimal("8000.00"), "Out"));
+        assertEquals(TransactionOutcome.VELOCITY_LIMIT_EXCEEDED,
+            accountService.tryTransferOut(accountId, new BigDecimal("3000.00"), "Out"));
+
+        clock.advance(Duration.ofMinutes(5));
+        accountService.reverseTransferOut(accountId, new BigDecimal("8000.00"), "Reversed", debitedAt);
+        assertEquals(TransactionOutcome.SUCCESS, accountService.tryTransferOut(accountId, new BigDecimal("9000.00"), "Out"));
+        assertEquals(new BigDecimal("41000.00"), accountService.getBalance(accountId));
+
+        // a debit that has already aged out of the window leaves nothing to return
+        debitedAt = clock.millis();
+        clock.advance(Duration.ofHours(25));
+        accountService.reverseTransferOut(accountId, new BigDecimal("9000.00"), "Reversed", debitedAt);
+        assertEquals(TransactionOutcome.SUCCESS, accountService.tryTransferOut(accountId, new BigDecimal("10000.00"), "Out"));
+        assertEquals(TransactionOutcome.VELOCITY_LIMIT_EXCEEDED,
+            accountService.tryTransferOut(accountId, new BigDecimal("0.01"), "Out"));
+    }
+
+    @Test
+    public void testSlidingWindowNeverExceedsLimitUnderContention() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 60);
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        if (counter.tryAdd(1_000, 1, 100, 5_000, 0)) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(accepted.get() <= 5_000);
+        assertEquals(accepted.get(), counter.count(1_000));
+        assertEquals(0, counter.count(1_000 + 60_000));
+    }
+}
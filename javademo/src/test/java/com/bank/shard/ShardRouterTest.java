@@ -0,0 +1,351 @@
+package com.bank.shard;
+
+import com.bank.model.AccountType;
+import com.bank.service.TransactionOutcome;
+import com.bank.wire.WireClient;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ShardRouterTest {
+    private static final Pattern LISTENING = Pattern.compile("Shard node listening on port (\\d+)");
+
+    private final List<ShardNode> nodes = new ArrayList<>();
+    private final List<Process> processes = new ArrayList<>();
+    private Path intentLog;
+
+    @Before
+    public void setUp() throws IOException {
+        intentLog = Files.createTempFile("intent", ".log");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (ShardNode node : nodes) {
+            node.close();
+        }
+        for (Process process : processes) {
+            process.destroyForcibly();
+        }
+        Files.deleteIfExists(intentLog);
+    }
+
+    @Test
+    public void testRingSpreadsKeysAndMovesOnlyToNewNode() {
+        ConsistentHashRing ring = ConsistentHashRing.of(Arrays.asList("a", "b", "c"), 128);
+        ConsistentHashRing grown = ring.withNode("d");
+        Map<String, Integer> owned = new HashMap<>();
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String key = "ACC-" + i;
+            owned.merge(ring.nodeFor(key), 1, Integer::sum);
+            if (!ring.nodeFor(key).equals(grown.nodeFor(key))) {
+                assertEquals("d", grown.nodeFor(key));
+                moved++;
+            }
+        }
+        for (int count : owned.values()) {
+            assertTrue("Unbalanced ring: " + owned, count > 2_500 && count < 4_200);
+        }
+        assertTrue("Moved " + moved, moved > 1_500 && moved < 3_500);
+        assertEquals(ring.nodeFor("ACC-1"), ConsistentHashRing.of(Arrays.asList("c", "b", "a"), 128).nodeFor("ACC-1"));
+    }
+
+    @Test
+    public void testCrossShardTransfersConserveTotal() throws IOException {
+        try (ShardRouter router = router(startNode(), startNode())) {
+            List<String> accountIds = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                accountIds.add(router.createAccount("CUST-" + i, AccountType.CHECKING, new BigDecimal("100.00")));
+            }
+            assertEquals(2, accountIds.stream().map(router::nodeFor).distinct().count());
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int crossShard = 0;
+            for (int i = 0; i < 200; i++) {
+                String from = accountIds.get(random.nextInt(accountIds.size()));
+                String to = accountIds.get(random.nextInt(accountIds.size()));
+                if (from.equals(to)) {
+                    continue;
+                }
+                if (!router.nodeFor(from).equals(router.nodeFor(to))) {
+                    crossShard++;
+                }
+                router.tryTransfer(from, to, new BigDecimal(random.nextInt(1, 40)));
+            }
+
+            assertTrue(crossShard > 0);
+            assertEquals(0, new BigDecimal("2000.00").compareTo(total(router, accountIds)));
+            assertEquals(0, router.getPendingIntentCount());
+            for (ShardNode node : nodes) {
+                assertEquals(0, node.getPreparedCount());
+            }
+        }
+    }
+
+    @Test
+    public void testDeclinedCrossShardTransferReleasesHold() throws IOException {
+        try (ShardRouter router = router(startNode(), startNode())) {
+            String[] pair = crossShardPair(router);
+
+            assertEquals(TransactionOutcome.INSUFFICIENT_FUNDS,
+                router.tryTransfer(pair[0], pair[1], new BigDecimal("500.00")));
+            assertEquals(TransactionOutcome.ACCOUNT_NOT_FOUND,
+                router.tryTransfer(pair[0], "missing", new BigDecimal("10.00")));
+
+            assertEquals(new BigDecimal("100.00"), router.getBalance(pair[0]));
+            assertEquals(new BigDecimal("100.00"), router.getBalance(pair[1]));
+            assertEquals(0, router.getPendingIntentCount());
+        }
+    }
+
+    @Test
+    public void testRecoveryAbortsUndecidedTransfer() throws Exception {
+        ShardNode n1 = startNode();
+        ShardNode n2 = startNode();
+        String[] pair;
+        try (ShardRouter router = router(n1, n2)) {
+            pair = crossShardPair(router);
+        }
+        ShardNode source = nodeOwning(pair[0], n1, n2);
+        // a coordinator that crashed after preparing the debit and before deciding
+        try (IntentLog log = IntentLog.open(intentLog);
+             WireClient client = WireClient.connect(new InetSocketAddress("127.0.0.1", source.getPort()))) {
+            log.beginTransfer("tx-crashed", pair[0], pair[1], 4000);
+            assertTrue(client.request(ShardProtocol.PREPARE_DEBIT, pair[0],
+                ShardProtocol.legFields("tx-crashed", 4000)).get(5, TimeUnit.SECONDS).isSuccess());
+        }
+        assertEquals(new BigDecimal("60.00"), source.getAccountService().getBalance(pair[0]));
+
+        try (ShardRouter router = router(n1, n2)) {
+            assertEquals(0, router.getPendingIntentCount());
+            assertEquals(new BigDecimal("100.00"), router.getBalance(pair[0]));
+            assertEquals(new BigDecimal("100.00"), router.getBalance(pair[1]));
+        }
+        assertEquals(0, source.getPreparedCount());
+    }
+
+    @Test
+    public void testRecoveryDeliversLoggedCommit() throws Exception {
+        ShardNode n1 = startNode();
+        ShardNode n2 = startNode();
+        String[] pair;
+        try (ShardRouter router = router(n1, n2)) {
+            pair = crossShardPair(router);
+        }
+        ShardNode source = nodeOwning(pair[0], n1, n2);
+        ShardNode target = source == n1 ? n2 : n1;
+        try (IntentLog log = IntentLog.open(intentLog);
+             WireClient from = WireClient.connect(new InetSocketAddress("127.0.0.1", source.getPort()));
+             WireClient to = WireClient.connect(new InetSocketAddress("127.0.0.1", target.getPort()))) {
+            log.beginTransfer("tx-decided", pair[0], pair[1], 2500);
+            from.request(ShardProtocol.PREPARE_DEBIT, pair[0], ShardProtocol.legFields("tx-decided", 2500))
+                .get(5, TimeUnit.SECONDS);
+            to.request(ShardProtocol.PREPARE_CREDIT, pair[1], ShardProtocol.legFields("tx-decided", 2500))
+                .get(5, TimeUnit.SECONDS);
+            log.decide("tx-decided", true);
+        }
+
+        try (ShardRouter router = router(n1, n2)) {
+            assertEquals(0, router.getPendingIntentCount());
+            assertEquals(new BigDecimal("75.00"), router.getBalance(pair[0]));
+            assertEquals(new BigDecimal("125.00"), router.getBalance(pair[1]));
+        }
+    }
+
+    @Test
+    public void testLoggedDecisionIsNeverFlipped() throws Exception {
+        try (IntentLog log = IntentLog.open(intentLog)) {
+            log.beginTransfer("tx-presumed", "ACC-1", "ACC-2", 100);
+            assertFalse(log.decide("tx-presumed", false));
+            assertFalse(log.decide("tx-presumed", true));
+            log.compact();
+            assertFalse(log.decide("tx-presumed", true));
+        }
+        try (IntentLog log = IntentLog.open(intentLog)) {
+            assertEquals(1, log.pending().size());
+            assertEquals(Boolean.FALSE, log.pending().get(0).committed);
+        }
+    }
+
+    @Test
+    public void testFinishedIntentsAreCompactedAway() throws Exception {
+        try (IntentLog log = IntentLog.open(intentLog, 100)) {
+            log.beginTransfer("tx-open", "ACC-1", "ACC-2", 100);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> writers = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int writer = t;
+                    writers.add(executor.submit(() -> {
+                        for (int i = 0; i < 250; i++) {
+                            String txId = "tx-" + writer + "-" + i;
+                            log.beginTransfer(txId, "ACC-1", "ACC-2", 100);
+                            assertTrue(log.decide(txId, true));
+                            log.done(txId);
+                        }
+                    }));
+                }
+                for (Future<?> future : writers) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertTrue(log.decide("tx-open", true));
+        }
+        // 1,000 finished transfers leave at most one compaction interval of records behind
+        assertTrue(Files.readAllLines(intentLog).size() <= 3 * 100 + 2);
+        try (IntentLog log = IntentLog.open(intentLog)) {
+            assertEquals(1, log.pending().size());
+            assertEquals("tx-open", log.pending().get(0).txId);
+            assertEquals(Boolean.TRUE, log.pending().get(0).committed);
+        }
+    }
+
+    @Test
+    public void testAddNodeRebalancesAcrossProcesses() throws Exception {
+        Map<String, InetSocketAddress> started = new HashMap<>();
+        for (String nodeId : Arrays.asList("p1", "p2", "p3")) {
+            started.put(nodeId, spawnNode());
+        }
+        try (ShardRouter router = new ShardRouter.Builder()
+                .node("p1", started.get("p1"))
+                .node("p2", started.get("p2"))
+                .intentLog(intentLog)
+                .start()) {
+            List<String> accountIds = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                accountIds.add(router.createAccount("CUST-" + i, AccountType.SAVINGS, new BigDecimal("50.00")));
+            }
+            for (int i = 0; i + 1 < accountIds.size(); i += 2) {
+                router.tryTransfer(accountIds.get(i), accountIds.get(i + 1), new BigDecimal("20.00"));
+            }
+            Map<String, String> before = new HashMap<>();
+            Map<String, BigDecimal> balances = new HashMap<>();
+            for (String accountId : accountIds) {
+                before.put(accountId, router.nodeFor(accountId));
+                balances.put(accountId, router.getBalance(accountId));
+            }
+
+            int moved = router.addNode("p3", started.get("p3"));
+
+            assertTrue(moved > 0 && moved < accountIds.size());
+            int onNewNode = 0;
+            for (String accountId : accountIds) {
+                String owner = router.nodeFor(accountId);
+                if (owner.equals("p3")) {
+                    onNewNode++;
+                } else {
+                    assertEquals(before.get(accountId), owner);
+                }
+                assertEquals(balances.get(accountId), router.getBalance(accountId));
+            }
+            assertEquals(moved, onNewNode);
+            assertEquals(0, new BigDecimal("3000.00").compareTo(total(router, accountIds)));
+
+            String[] pair = crossShardPair(router, accountIds);
+            assertEquals(TransactionOutcome.SUCCESS, router.tryTransfer(pair[0], pair[1], new BigDecimal("5.00")));
+            assertEquals(0, new BigDecimal("3000.00").compareTo(total(router, accountIds)));
+        }
+    }
+
+    private ShardNode startNode() throws IOException {
+        ShardNode node = new ShardNode.Builder().address(new InetSocketAddress("127.0.0.1", 0)).workerThreads(2).start();
+        nodes.add(node);
+        return node;
+    }
+
+    private ShardRouter router(ShardNode n1, ShardNode n2) throws IOException {
+        return new ShardRouter.Builder()
+            .node("n1", new InetSocketAddress("127.0.0.1", n1.getPort()))
+            .node("n2", new InetSocketAddress("127.0.0.1", n2.getPort()))
+            .intentLog(intentLog)
+            .start();
+    }
+
+    private ShardNode nodeOwning(String accountId, ShardNode n1, ShardNode n2) {
+        return n1.getAccountService().getAllAccounts().stream()
+            .anyMatch(account -> account.getAccountId().equals(accountId)) ? n1 : n2;
+    }
+
+    private String[] crossShardPair(ShardRouter router) {
+        List<String> accountIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accountIds.add(router.createAccount("CUST-" + i, AccountType.CHECKING, new BigDecimal("100.00")));
+        }
+        return crossShardPair(router, accountIds);
+    }
+
+    private String[] crossShardPair(ShardRouter router, List<String> accountIds) {
+        for (String from : accountIds) {
+            for (String to : accountIds) {
+                if (!router.nodeFor(from).equals(router.nodeFor(to))) {
+                    return new String[] {from, to};
+                }
+            }
+        }
+        throw new AssertionError("All accounts landed on one node");
+    }
+
+    private static BigDecimal total(ShardRouter router, List<String> accountIds) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (String accountId : accountIds) {
+            total = total.add(router.getBalance(accountId));
+        }
+        return total;
+    }
+
+    private InetSocketAddress spawnNode() throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "com.bank.BankingApplication", "--shard-node=0")
+            .redirectErrorStream(true)
+            .start();
+        processes.add(process);
+        BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = output.readLine()) != null) {
+            Matcher matcher = LISTENING.matcher(line);
+            if (matcher.find()) {
+                // keep draining so the node never blocks on a full pipe
+                Thread drain = new Thread(() -> {
+                    try {
+                        while (output.readLine() != null) {
+                            // discard
+                        }
+                    } catch (IOException e) {
+                        // process ended
+                    }
+                }, "shard-node-output");
+                drain.setDaemon(true);
+                drain.start();
+                return new InetSocketAddress("127.0.0.1", Integer.parseInt(matcher.group(1)));
+            }
+        }
+        throw new IOException("Shard node exited before listening");
+    }
+}
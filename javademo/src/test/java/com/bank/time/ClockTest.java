@@ -0,0 +1,66 @@
+package com.bank.time;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.*;
+
+public class ClockTest {
+
+    @Test
+    public void testManualClockOnlyMovesWhenAdvanced() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 9, 30);
+        ManualClock clock = new ManualClock(start);
+
+        assertEquals(start, clock.now());
+        assertEquals(start, clock.now());
+
+        clock.advance(Duration.ofSeconds(90));
+        assertEquals(start.plusSeconds(90), clock.now());
+        assertEquals(start.plusSeconds(90).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), clock.millis());
+    }
+
+    @Test
+    public void testManualClockMillisAgreeWithNowInItsZone() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 9, 30);
+        ManualClock tokyo = new ManualClock(start, ZoneId.of("Asia/Tokyo"));
+        ManualClock utc = new ManualClock(start, ZoneOffset.UTC);
+
+        assertEquals(start, tokyo.now());
+        assertEquals(Duration.ofHours(9).toMillis(), utc.millis() - tokyo.millis());
+    }
+
+    @Test
+    public void testCachedClockAdvancesInBackground() throws InterruptedException {
+        try (CachedClock clock = new CachedClock(1, TimeUnit.MILLISECONDS)) {
+            long first = clock.millis();
+            LocalDateTime firstTime = clock.now();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (clock.millis() == first && System.currentTimeMillis() < deadline) {
+                Thread.sleep(2);
+            }
+            assertTrue(clock.millis() > first);
+            assertFalse(clock.now().isBefore(firstTime));
+        }
+    }
+
+    @Test
+    public void testAccountLastModifiedIsMonotonic() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 9, 30);
+        Account account = new Account.Builder()
+                .customerId("CUST-001")
+                .accountType(AccountType.SAVINGS)
+                .lastModifiedAt(start)
+                .build();
+
+        account.deposit(new BigDecimal("10.00"), start.plusMinutes(5));
+        account.deposit(new BigDecimal("10.00"), start.plusMinutes(1));
+
+        assertEquals(start.plusMinutes(5), account.getLastModifiedAt());
+    }
+}
@@ -0,0 +1,191 @@
+package com.bank.trace;
+import com.bank.exception.InsufficientFundsException;
+import com.bank.model.Account;
+import com.bank.model.AccountType;
+import com.bank.model.Customer;
+import com.bank.model.TransactionType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.CustomerRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.CustomerService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import com.bank.service.VelocityLimit;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.Assert.*;
+
+public class TraceReplayTest {
+
+    @Test
+    public void testTraceRoundTripsArgumentsAndResults() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TraceWriter writer = new TraceWriter(bytes)) {
+            recordSession(writer);
+        }
+
+        List<TraceRecord> records = readAll(bytes);
+
+        assertEquals(8, records.size());
+        TraceRecord createCustomer = records.get(0);
+        assertEquals(TraceOperation.CREATE_CUSTOMER, createCustomer.getOperation());
+        assertEquals("ann@example.com", createCustomer.getArgument(2));
+        assertEquals(LocalDate.of(1985, 3, 14), createCustomer.getArgument(4));
+        assertNull(createCustomer.getArgument(5));
+
+        TraceRecord createAccount = records.get(1);
+        assertEquals(AccountType.SAVINGS, createAccount.getArgument(1));
+        assertEquals(new BigDecimal("1000.00"), createAccount.getArgument(2));
+        assertEquals(createCustomer.getResult(), createAccount.getArgument(0));
+
+        // withdraw delegates to tryWithdraw internally but is traced once
+        TraceRecord failedWithdraw = records.get(4);
+        assertEquals(TraceOperation.WITHDRAW, failedWithdraw.getOperation());
+        assertEquals(TraceRecord.ResultKind.EXCEPTION, failedWithdraw.getResultKind());
+        assertEquals(InsufficientFundsException.class.getName(), failedWithdraw.getResult());
+
+        assertEquals(TransactionOutcome.SUCCESS, records.get(5).getResult());
+        assertEquals(0, new BigDecimal("1100.00").compareTo((BigDecimal) records.get(7).getResult()));
+        for (TraceRecord record : records) {
+            assertTrue(record.getDurationNanos() > 0);
+        }
+    }
+
+    @Test
+    public void testReplayAgainstFreshInstanceMatchesRecording() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TraceWriter writer = new TraceWriter(bytes)) {
+            recordConcurrentSession(writer);
+        }
+        List<TraceRecord> records = readAll(bytes);
+
+        AccountRepository accountRepository = new AccountRepository();
+        TransactionRepository transactionRepository = new TransactionRepository();
+        AccountService accountService = new AccountService(accountRepository,
+            new TransactionService(transactionRepository), new ValidationService());
+        CustomerService customerService = new CustomerService(new CustomerRepository(), new ValidationService());
+
+        ReplayReport report = new TraceReplayer(accountService, customerService)
+            .replay(records, TraceReplayer.Pacing.AS_FAST_AS_POSSIBLE);
+
+        assertEquals(records.size(), report.getReplayed());
+        assertEquals(report.getMismatchSamples().toString(), 0, report.getMismatches());
+        assertEquals(4, accountRepository.count());
+        assertEquals(2 * (2 + 20 + 2 * 20), transactionRepository.count());
+        assertTrue(report.getReplayedLatency(TraceOperation.DEPOSIT).getCount() > 0);
+    }
+
+    @Test
+    public void testReplayFlagsDivergingResults() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TraceWriter writer = new TraceWriter(bytes)) {
+            recordSession(writer);
+        }
+
+        VelocityLimit smallWithdrawals = new VelocityLimit.Builder()
+                .operations(TransactionType.WITHDRAWAL)
+                .maxAmount(new BigDecimal("50.00"))
+                .build();
+        AccountService accountService = new AccountService(new AccountRepository(),
+            new TransactionService(new TransactionRepository()),
+            new ValidationService(Collections.singletonList(smallWithdrawals)));
+        CustomerService customerService = new CustomerService(new CustomerRepository(), new ValidationService());
+
+        ReplayReport report = new TraceReplayer(accountService, customerService)
+            .replay(readAll(bytes), TraceReplayer.Pacing.ORIGINAL_RATE);
+
+        assertTrue(report.getMismatches() > 0);
+        assertTrue(report.getMismatchSamples().get(0).contains("VELOCITY_LIMIT_EXCEEDED"));
+    }
+
+    @Test
+    public void testUnencodableRecordDisablesWriterWithoutCorruptingTrace() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TraceWriter writer = new TraceWriter(bytes)) {
+            writer.write(new TraceRecord(TraceOperation.DEPOSIT, 1, 0, 10,
+                new Object[] {"ACC-1", new BigDecimal("5.00"), "Salary"}, TraceRecord.ResultKind.VOID, null));
+            writer.write(new TraceRecord(TraceOperation.DEPOSIT, 1, 20, 10,
+                new Object[] {"ACC-2", new Object(), null}, TraceRecord.ResultKind.VOID, null));
+            assertNotNull(writer.getFailure());
+            writer.write(new TraceRecord(TraceOperation.DEPOSIT, 1, 40, 10,
+                new Object[] {"ACC-2", new BigDecimal("1.00"), null}, TraceRecord.ResultKind.VOID, null));
+        }
+
+        List<TraceRecord> records = readAll(bytes);
+
+        assertEquals(1, records.size());
+        assertEquals("Salary", records.get(0).getArgument(2));
+    }
+
+    private static void recordSession(TraceWriter writer) {
+        ValidationService validation = new ValidationService();
+        AccountService accounts = new TracingAccountService(new AccountRepository(),
+            new TransactionService(new TransactionRepository()), validation, writer);
+        CustomerService customers = new TracingCustomerService(new CustomerRepository(), validation, writer);
+
+        Customer customer = customers.createCustomer("Ann", "Lee", "ann@example.com", "5551234567",
+            LocalDate.of(1985, 3, 14), null);
+        Account savings = accounts.createAccount(customer.getCustomerId(), AccountType.SAVINGS, new BigDecimal("1000.00"));
+        Account checking = accounts.createAccount(customer.getCustomerId(), AccountType.CHECKING, new BigDecimal("50.00"));
+        accounts.deposit(savings.getAccountId(), new BigDecimal("200.00"), "Salary");
+        try {
+            accounts.withdraw(checking.getAccountId(), new BigDecimal("75.00"), null);
+            fail("Expected insufficient funds");
+        } catch (InsufficientFundsException expected) {
+            // recorded as an exception result
+        }
+        accounts.tryWithdraw(savings.getAccountId(), new BigDecimal("100.00"), null);
+        accounts.deactivateAccount(checking.getAccountId());
+        accounts.getBalance(savings.getAccountId());
+    }
+
+    // Two threads own separate accounts, so replay results do not depend on interleaving
+    private static void recordConcurrentSession(TraceWriter writer) throws InterruptedException {
+        ValidationService validation = new ValidationService();
+        AccountService accounts = new TracingAccountService(new AccountRepository(),
+            new TransactionService(new TransactionRepository()), validation, writer);
+        CustomerService customers = new TracingCustomerService(new CustomerRepository(), validation, writer);
+        Customer customer = customers.createCustomer("Bo", "Kim", "bo@example.com", "5550000000",
+            LocalDate.of(1990, 1, 1), "1 Main St");
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            threads.add(new Thread(() -> {
+                Account from = accounts.createAccount(customer.getCustomerId(), AccountType.CHECKING,
+                    new BigDecimal("500.00"));
+                Account to = accounts.createAccount(customer.getCustomerId(), AccountType.SAVINGS,
+                    new BigDecimal("10.00"));
+                for (int i = 0; i < 20; i++) {
+                    accounts.deposit(from.getAccountId(), new BigDecimal("5.00"), null);
+                    accounts.tryTransfer(from.getAccountId(), to.getAccountId(), new BigDecimal("30.00"));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static List<TraceRecord> readAll(ByteArrayOutputStream bytes) throws IOException {
+        List<TraceRecord> records = new ArrayList<>();
+        try (TraceReader reader = new TraceReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            TraceRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,91 @@
+package com.bank.util;
+import org.junit.Test;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.*;
+
+public class CurrencyFormatterTest {
+    private static final Locale[] LOCALES = {
+        Locale.US, Locale.FRANCE, Locale.UK, Locale.GERMANY, Locale.JAPAN,
+        new Locale("de", "CH"), new Locale("en", "IN"), new Locale("ar", "EG")
+    };
+
+    private static List<BigDecimal> sampleAmounts() {
+        List<BigDecimal> amounts = new ArrayList<>();
+        String[] fixed = {"0", "0.00", "0.005", "0.015", "0.025", "-0.004", "1", "12.3", "999.995",
+            "1000", "1234.56", "-1234.56", "1234567.891", "-98765432.105", "1000000.00",
+            "123456789012345678.99", "-123456789012345678901.5"};
+        for (String value : fixed) {
+            amounts.add(new BigDecimal(value));
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            amounts.add(BigDecimal.valueOf(random.nextLong() % 100_000_000_000L, random.nextInt(5)));
+        }
+        return amounts;
+    }
+
+    @Test
+    public void testMatchesNumberFormatCurrencyInstance() {
+        for (Locale locale : LOCALES) {
+            NumberFormat expected = NumberFormat.getCurrencyInstance(locale);
+            for (BigDecimal amount : sampleAmounts()) {
+                assertEquals(locale + " " + amount, expected.format(amount), CurrencyFormatter.format(amount, locale));
+            }
+        }
+    }
+
+    @Test
+    public void testFormatWithSymbolMatchesStringFormat() {
+        Locale original = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            for (Locale locale : new Locale[] {Locale.US, Locale.GERMANY, Locale.FRANCE}) {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+                for (BigDecimal amount : sampleAmounts()) {
+                    assertEquals(locale + " " + amount, "USD " + String.format("%,.2f", amount),
+                            CurrencyFormatter.formatWithSymbol(amount, "USD"));
+                }
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, original);
+        }
+    }
+
+    @Test
+    public void testFormatToAppendsIntoCallerBuffer() {
+        StringBuilder out = new StringBuilder("Balance: ");
+        CurrencyFormatter.formatTo(new BigDecimal("1234.5"), Locale.US, out);
+        out.append(" / ");
+        CurrencyFormatter.formatCentsTo(-123456L, Locale.US, out);
+        assertEquals("Balance: $1,234.50 / -$1,234.56", out.toString());
+    }
+
+    @Test
+    public void testConcurrentFormatting() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        BigDecimal amount = BigDecimal.valueOf(i * 7919L, 2);
+                        assertEquals("$" + String.format(Locale.US, "%,.2f", amount),
+                                CurrencyFormatter.formatUSD(amount));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.bank.wire;
+import com.bank.model.AccountType;
+import com.bank.repository.AccountRepository;
+import com.bank.repository.TransactionRepository;
+import com.bank.service.AccountService;
+import com.bank.service.TransactionOutcome;
+import com.bank.service.TransactionService;
+import com.bank.service.ValidationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+
+public class WireServerTest {
+    private AccountService accountService;
+    private WireServer server;
+    private WireClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        accountService = new AccountService(new AccountRepository(),
+                new TransactionService(new TransactionRepository()), new ValidationService());
+        server = new WireServer.Builder()
+                .address(new InetSocketAddress("127.0.0.1", 0))
+                .workerThreads(4)
+                .maxInFlight(64)
+                .accountService(accountService)
+                .start();
+        client = WireClient.connect(new InetSocketAddress("127.0.0.1", server.getPort()));
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testOperationsRoundTrip() throws Exception {
+        String from = accountService.createAccount("CUST001", AccountType.CHECKING, new BigDecimal("100.00")).getAccountId();
+        String to = accountService.createAccount("CUST002", AccountType.CHECKING, new BigDecimal("1.00")).getAccountId();
+
+        assertEquals(new BigDecimal("100.00"), get(client.getBalance(from)).getBalance());
+        assertEquals(new BigDecimal("125.50"), get(client.deposit(from, new BigDecimal("25.50"))).getBalance());
+
+        WireResponse declined = get(client.withdraw(to, new BigDecimal("5.00")));
+        assertEquals(TransactionOutcome.INSUFFICIENT_FUNDS, declined.getOutcome());
+        assertEquals(new BigDecimal("1.00"), declined.getBalance());
+
+        WireResponse transfer = get(client.transfer(from, to, new BigDecimal("20.00")));
+        assertTrue(transfer.isSuccess());
+        assertEquals(new BigDecimal("105.50"), transfer.getBalance());
+        assertEquals(new BigDecimal("21.00"), accountService.getBalance(to));
+
+        WireResponse missing = get(client.getBalance("NOPE"));
+        assertEquals(TransactionOutcome.ACCOUNT_NOT_FOUND, missing.getOutcome());
+        assertNull(missing.getBalance());
+        assertEquals(TransactionOutcome.INVALID_AMOUNT,
+                get(client.deposit(from, new BigDecimal("-1.00"))).getOutcome());
+    }
+
+    @Test
+    public void testManyPipelinedRequestsOnOneConnection() throws Exception {
+        String accountId = accountService.createAccount("CUST001", AccountType.CHECKING, new BigDecimal("10.00")).getAccountId();
+        List<CompletableFuture<WireResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            futures.add(client.deposit(accountId, new BigDecimal("0.01")));
+        }
+
+        Set<Integer> requestIds = new HashSet<>();
+        for (CompletableFuture<WireResponse> future : futures) {
+            WireResponse response = get(future);
+            assertTrue(response.toString(), response.isSuccess());
+            requestIds.add(response.getRequestId());
+        }
+        assertEquals(2_000, requestIds.size());
+        assertEquals(new BigDecimal("30.00"), accountService.getBalance(accountId));
+        assertEquals(0, client.getPendingCount());
+    }
+
+    @Test
+    public void testConcurrentClientsConserveMoney() throws Exception {
+        String a = accountService.createAccount("CUST001", AccountType.CHECKING, new BigDecimal("500.00")).getAccountId();
+        String b = accountService.createAccount("CUST002", AccountType.CHECKING, new BigDecimal("500.00")).getAccountId();
+        Thread[] threads = new Thread[4];
+        List<Throwable> errors = new ArrayList<>();
+        for (int t = 0; t < threads.length; t++) {
+            boolean forward = t % 2 == 0;
+            threads[t] = new Thread(() -> {
+                try (WireClient own = WireClient.connect(new InetSocketAddress("127.0.0.1", server.getPort()))) {
+                    List<CompletableFuture<WireResponse>> futures = new ArrayList<>();
+                    for (int i = 0; i < 250; i++) {
+                        futures.add(forward ? own.transfer(a, b, new BigDecimal("1.00"))
+                                : own.transfer(b, a, new BigDecimal("1.00")));
+                    }
+                    for (CompletableFuture<WireResponse> future : futures) {
+                        get(future);
+                    }
+                } catch (Exception | AssertionError e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(errors.toString(), errors.isEmpty());
+        assertEquals(new BigDecimal("1000.00"), accountService.getBalance(a).add(accountService.getBalance(b)));
+    }
+
+    @Test
+    public void testPendingRequestsFailWhenServerGoesAway() throws Exception {
+        server.close();
+        CompletableFuture<WireResponse> future = client.getBalance("ANY");
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected the request to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testPipelinedFramesStayWithinInFlightCap() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        WireExtension slow = (requestId, opcode, accountId, fields) -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(), 0);
+        };
+        try (WireServer capped = new WireServer.Builder()
+                .address(new InetSocketAddress("127.0.0.1", 0))
+                .workerThreads(16)
+                .maxInFlight(4)
+                .accountService(accountService)
+                .extension(slow)
+                .start();
+             WireClient own = WireClient.connect(new InetSocketAddress("127.0.0.1", capped.getPort()))) {
+            List<CompletableFuture<WireResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(own.request((byte) 100, "ACC", ByteBuffer.allocate(0)));
+            }
+            for (CompletableFuture<WireResponse> future : futures) {
+                assertTrue(get(future).isSuccess());
+            }
+        }
+        assertTrue("peak " + peak.get(), peak.get() <= 4);
+    }
+
+    @Test
+    public void testClientThatStopsReadingStopsBeingServed() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        char[] detail = new char[8_000];
+        Arrays.fill(detail, 'x');
+        String largeDetail = new String(detail);
+        WireExtension large = (requestId, opcode, accountId, fields) -> {
+            executed.incrementAndGet();
+            return WireProtocol.response(requestId, (byte) TransactionOutcome.SUCCESS.ordinal(), 0, largeDetail);
+        };
+        int requests = 2_000;
+        try (WireServer capped = new WireServer.Builder()
+                .address(new InetSocketAddress("127.0.0.1", 0))
+                .workerThreads(4)
+                .maxInFlight(16)
+                .accountService(accountService)
+                .extension(large)
+                .start();
+             Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress("127.0.0.1", capped.getPort()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            for (int requestId = 1; requestId <= requests; requestId++) {
+                out.writeInt(4 + 1 + 2);
+                out.writeInt(requestId);
+                out.writeByte(100);
+                out.writeShort(0);
+            }
+            out.flush();
+
+            // with nobody reading, only what fits in the socket buffers gets served
+            int served;
+            do {
+                served = executed.get();
+                Thread.sleep(300);
+            } while (executed.get() != served);
+            assertTrue("served " + served, served < requests / 2);
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            for (int i = 0; i < requests; i++) {
+                byte[] frame = new byte[in.readInt()];
+                in.readFully(frame);
+            }
+            assertEquals(requests, executed.get());
+        }
+    }
+
+    @Test
+    public void testUndecodableResponseFailsPendingCalls() throws Exception {
+        try (ServerSocket fake = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            WireClient own = WireClient.connect(new InetSocketAddress("127.0.0.1", fake.getLocalPort()));
+            try (Socket accepted = fake.accept()) {
+                CompletableFuture<WireResponse> first = own.getBalance("ACC");
+                CompletableFuture<WireResponse> second = own.getBalance("ACC");
+                DataOutputStream out = new DataOutputStream(accepted.getOutputStream());
+                out.writeInt(4 + 1 + 8);
+                out.writeInt(1);
+                out.writeByte(99);
+                out.writeLong(0);
+                out.flush();
+
+                for (CompletableFuture<WireResponse> future : Arrays.asList(first, second)) {
+                    try {
+                        future.get(5, TimeUnit.SECONDS);
+                        fail("Expected the request to fail");
+                    } catch (ExecutionException e) {
+                        assertTrue(e.getCause() instanceof IOException);
+                    }
+                }
+                assertTrue(own.getBalance("ACC").isCompletedExceptionally());
+            } finally {
+                own.close();
+            }
+        }
+    }
+
+    @Test
+    public void testPipelinedResponsesAreDecodedWithinTheirFrames() throws Exception {
+        try (ServerSocket fake = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            WireClient own = WireClient.connect(new InetSocketAddress("127.0.0.1", fake.getLocalPort()));
+            try (Socket accepted = fake.accept()) {
+                CompletableFuture<WireResponse> first = own.getBalance("ACC");
+                CompletableFuture<WireResponse> second = own.getBalance("ACC");
+                DataOutputStream out = new DataOutputStream(accepted.getOutputStream());
+                // both responses in one write, neither carrying a detail string
+                for (int requestId = 1; requestId <= 2; requestId++) {
+                    out.writeInt(4 + 1 + 8);
+                    out.writeInt(requestId);
+                    out.writeByte(TransactionOutcome.SUCCESS.ordinal());
+                    out.writeLong(requestId * 100L);
+                }
+                out.flush();
+
+                assertEquals(100L, get(first).getBalanceCents());
+                assertNull(get(first).getDetail());
+                assertEquals(200L, get(second).getBalanceCents());
+            } finally {
+                own.close();
+            }
+        }
+    }
+
+    private static WireResponse get(CompletableFuture<WireResponse> future)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+}